@@ -26,6 +26,7 @@ import org.javacord.api.entity.user.User;
 import org.javacord.api.entity.user.UserStatus;
 import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.listener.GloballyAttachableListenerManager;
+import org.javacord.api.util.cache.MessageCacheBudget;
 import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.api.util.ratelimit.Ratelimiter;
 
@@ -33,6 +34,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -156,6 +158,21 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     boolean isDefaultAutomaticMessageCacheCleanupEnabled();
 
+    /**
+     * Sets the budget for the messages that are cached in all channels together.
+     * Messages which are already cached count towards the new budget, too.
+     *
+     * @param budget The budget.
+     */
+    void setMessageCacheBudget(MessageCacheBudget budget);
+
+    /**
+     * Gets the budget for the messages that are cached in all channels together.
+     *
+     * @return The budget for the messages that are cached in all channels together.
+     */
+    MessageCacheBudget getMessageCacheBudget();
+
     /**
      * Gets the current shard of the bot, starting with <code>0</code>.
      *
@@ -317,6 +334,39 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     int getReconnectDelay(int attempt);
 
+    /**
+     * Sets how many listener tasks of one dispatch queue are executed in a row at most.
+     * Events of the same server, and events of no server, are dispatched sequentially. Executing several of their
+     * listener tasks in a row on one thread saves scheduling overhead, executing fewer lets the listeners of other
+     * servers run sooner if the thread pool is busy. The default is {@code 32}.
+     *
+     * @param maxTasks The maximum amount of listener tasks executed in a row, must be at least {@code 1}.
+     */
+    void setListenerBatchSize(int maxTasks);
+
+    /**
+     * Gets how many listener tasks of one dispatch queue are executed in a row at most.
+     *
+     * @return The maximum amount of listener tasks executed in a row.
+     */
+    int getListenerBatchSize();
+
+    /**
+     * Sets the time after which no further listener task of the same dispatch queue is started in a row.
+     * The task that exceeds the time is not interrupted. The default is 10 milliseconds.
+     *
+     * @param quantum The time after which no further listener task is started in a row.
+     * @see #setListenerBatchSize(int)
+     */
+    void setListenerBatchQuantum(Duration quantum);
+
+    /**
+     * Gets the time after which no further listener task of the same dispatch queue is started in a row.
+     *
+     * @return The time after which no further listener task is started in a row.
+     */
+    Duration getListenerBatchQuantum();
+
     /**
      * Gets the application info of the bot.
      * The method only works for bot accounts.
@@ -5,12 +5,18 @@ import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.ChainableGloballyAttachableListenerManager;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CachePolicy;
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.api.util.gateway.FileSessionStore;
+import org.javacord.api.util.gateway.SessionStore;
 import org.javacord.api.util.internal.DelegateFactory;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.OriginTrackingMode;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -65,6 +71,7 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
      * Login given shards to the account with the given token.
      * It is invalid to call {@link #setCurrentShard(int)} with
      * anything but {@code 0} before calling this method.
+     * Shards are identified in parallel as far as the {@code max_concurrency} of the account allows it.
      *
      * @param shards The shards to connect, starting with {@code 0}!
      * @return A collection of {@link CompletableFuture}s which contain the {@code DiscordApi}s for the shards.
@@ -176,6 +183,201 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
         return this;
     }
 
+    /**
+     * Sets how the origin of REST requests is tracked.
+     * The origin is added as cause to exceptions of REST requests, so that you can see which part of your code
+     * caused the exception. Capturing it is expensive though, so bots that send a lot of requests might want to
+     * disable it.
+     * The default is {@link OriginTrackingMode#FULL}.
+     *
+     * @param originTrackingMode The origin tracking mode.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setOriginTrackingMode(OriginTrackingMode originTrackingMode) {
+        delegate.setOriginTrackingMode(originTrackingMode);
+        return this;
+    }
+
+    /**
+     * Gets how the origin of REST requests is tracked.
+     *
+     * @return The origin tracking mode.
+     * @see #setOriginTrackingMode(OriginTrackingMode)
+     */
+    public OriginTrackingMode getOriginTrackingMode() {
+        return delegate.getOriginTrackingMode();
+    }
+
+    /**
+     * Sets which entities are cached.
+     * Bots on many servers can save a lot of heap by not caching members, presences, voice states, emojis or
+     * messages they do not need. Methods that rely on the cache of a disabled entity type behave as if the
+     * entities did not exist, e.g. {@link org.javacord.api.entity.server.Server#getMembers()} is empty if members
+     * are not cached.
+     * The default is {@link CachePolicy#all()}.
+     *
+     * @param cachePolicy The cache policy.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setCachePolicy(CachePolicy cachePolicy) {
+        delegate.setCachePolicy(cachePolicy);
+        return this;
+    }
+
+    /**
+     * Gets which entities are cached.
+     *
+     * @return The cache policy.
+     * @see #setCachePolicy(CachePolicy)
+     */
+    public CachePolicy getCachePolicy() {
+        return delegate.getCachePolicy();
+    }
+
+    /**
+     * Sets how the central executor service of the {@link DiscordApi#getThreadPool() thread pool} creates threads.
+     * Bots with slow listeners can limit the amount of threads with a
+     * {@link ThreadPoolConfiguration#bounded(int, int) bounded} configuration, or use
+     * {@link ThreadPoolConfiguration#virtualThreads() virtual threads} on Java 21 or later. A
+     * {@link ThreadPoolConfiguration#withShared(boolean) shared} configuration uses the same threads for all shards
+     * that are logged in by this builder.
+     * The default is {@link ThreadPoolConfiguration#unbounded()}.
+     *
+     * @param threadPoolConfiguration The thread pool configuration.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setThreadPoolConfiguration(ThreadPoolConfiguration threadPoolConfiguration) {
+        delegate.setThreadPoolConfiguration(threadPoolConfiguration);
+        return this;
+    }
+
+    /**
+     * Gets how the central executor service of the thread pool creates threads.
+     *
+     * @return The thread pool configuration.
+     * @see #setThreadPoolConfiguration(ThreadPoolConfiguration)
+     */
+    public ThreadPoolConfiguration getThreadPoolConfiguration() {
+        return delegate.getThreadPoolConfiguration();
+    }
+
+    /**
+     * Sets whether the shards that are logged in by this builder share their infrastructure.
+     * Shards in the same JVM then use the same http client with its connection pool, the same executor services and
+     * schedulers, and the same JSON mapper, which lowers the amount of threads, TLS handshakes and memory per shard.
+     * Caches, listeners, event dispatching and the gateway connection of each shard stay separate.
+     *
+     * <p>The shared infrastructure is created with the proxy, certificate, user cache and thread pool settings of the
+     * first shard that logs in, and is shut down once all shards that use it are disconnected. It is replaced for
+     * later logins if any of these settings changed. The thread pool is shared regardless of
+     * {@link ThreadPoolConfiguration#isShared()}.
+     * The default is {@code false}.
+     *
+     * @param sharedShardContext Whether the shards share their infrastructure.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setSharedShardContext(boolean sharedShardContext) {
+        delegate.setSharedShardContext(sharedShardContext);
+        return this;
+    }
+
+    /**
+     * Checks whether the shards that are logged in by this builder share their infrastructure.
+     *
+     * @return Whether the shards share their infrastructure.
+     * @see #setSharedShardContext(boolean)
+     */
+    public boolean isSharedShardContext() {
+        return delegate.isSharedShardContext();
+    }
+
+    /**
+     * Sets whether the shards that {@link #setSharedShardContext(boolean) share their infrastructure} also share the
+     * users they cache.
+     * The name, avatar, activity and status of a user who is cached by several shards then exist only once, and a
+     * change is only applied once. Every shard still has its own {@link org.javacord.api.entity.user.User} object,
+     * which belongs to the shard's {@link DiscordApi} instance, and dispatches its own events.
+     * This has no effect if the shards do not share their infrastructure.
+     * The default is {@code false}.
+     *
+     * @param sharedUserCache Whether the shards share the users they cache.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setSharedUserCache(boolean sharedUserCache) {
+        delegate.setSharedUserCache(sharedUserCache);
+        return this;
+    }
+
+    /**
+     * Checks whether the shards that share their infrastructure also share the users they cache.
+     *
+     * @return Whether the shards share the users they cache.
+     * @see #setSharedUserCache(boolean)
+     */
+    public boolean isSharedUserCache() {
+        return delegate.isSharedUserCache();
+    }
+
+    /**
+     * Sets the store for the gateway sessions of the shards.
+     * The sessions are stored while the shards are connected and when they disconnect. After a restart, the shards
+     * resume their stored sessions instead of identifying again, so Discord does not send all servers again and the
+     * startup is much faster. If Discord does not accept a stored session anymore, the shard identifies as usual.
+     *
+     * <p>As a resumed session only receives the events that were missed, a stored session is only resumed if the
+     * cache was restored from a snapshot of it, see {@link #setCacheSnapshotDirectory(Path)}. Otherwise, the stored
+     * session is deleted and the shard identifies as usual.
+     *
+     * <p>An easy implementation is available with the {@link FileSessionStore}.
+     * By default, no session store is set.
+     *
+     * @param sessionStore The session store or {@code null} to not store the sessions.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setSessionStore(SessionStore sessionStore) {
+        delegate.setSessionStore(sessionStore);
+        return this;
+    }
+
+    /**
+     * Gets the store for the gateway sessions of the shards.
+     *
+     * @return The session store.
+     * @see #setSessionStore(SessionStore)
+     */
+    public Optional<SessionStore> getSessionStore() {
+        return delegate.getSessionStore();
+    }
+
+    /**
+     * Sets the directory for snapshots of the cache.
+     * When a shard with a session store disconnects, it writes a snapshot of its cached servers, channels, roles,
+     * emojis, members and presences to this directory. After a restart, the snapshot is restored before the stored
+     * session is resumed, so the cache is available right away and is kept up to date by the missed events.
+     *
+     * <p>A snapshot is only restored if it was written for the stored session, otherwise the shard identifies and
+     * starts with an empty cache as usual. Messages are not included in the snapshot.
+     * Snapshots are only written and restored together with a session store, see
+     * {@link #setSessionStore(SessionStore)}. By default, no snapshots are written.
+     *
+     * @param directory The directory for the snapshots or {@code null} to not write snapshots.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setCacheSnapshotDirectory(Path directory) {
+        delegate.setCacheSnapshotDirectory(directory);
+        return this;
+    }
+
+    /**
+     * Gets the directory for snapshots of the cache.
+     *
+     * @return The directory for the snapshots.
+     * @see #setCacheSnapshotDirectory(Path)
+     */
+    public Optional<Path> getCacheSnapshotDirectory() {
+        return delegate.getCacheSnapshotDirectory();
+    }
+
     /**
      * Sets the token which is required for the login process.
      * A tutorial on how to get the token can be found in the
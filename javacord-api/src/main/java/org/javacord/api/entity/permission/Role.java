@@ -58,6 +58,7 @@ public interface Role extends DiscordEntity, Mentionable, Nameable, Permissionab
 
     /**
      * Gets a collection with all users who have this role.
+     * The cached members of the server are scanned for the role on every call.
      *
      * @return A collection with all users who have this role.
      */
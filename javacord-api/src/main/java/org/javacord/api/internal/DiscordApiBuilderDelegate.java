@@ -5,10 +5,15 @@ import org.javacord.api.DiscordApi;
 import org.javacord.api.DiscordApiBuilder;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CachePolicy;
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.api.util.gateway.SessionStore;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.OriginTrackingMode;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -57,6 +62,104 @@ public interface DiscordApiBuilderDelegate {
      */
     void setTrustAllCertificates(boolean trustAllCertificates);
 
+    /**
+     * Sets how the origin of REST requests is tracked.
+     *
+     * @param originTrackingMode The origin tracking mode.
+     */
+    void setOriginTrackingMode(OriginTrackingMode originTrackingMode);
+
+    /**
+     * Gets how the origin of REST requests is tracked.
+     *
+     * @return The origin tracking mode.
+     */
+    OriginTrackingMode getOriginTrackingMode();
+
+    /**
+     * Sets which entities are cached.
+     *
+     * @param cachePolicy The cache policy.
+     */
+    void setCachePolicy(CachePolicy cachePolicy);
+
+    /**
+     * Gets which entities are cached.
+     *
+     * @return The cache policy.
+     */
+    CachePolicy getCachePolicy();
+
+    /**
+     * Sets how the central executor service of the thread pool creates threads.
+     *
+     * @param threadPoolConfiguration The thread pool configuration.
+     */
+    void setThreadPoolConfiguration(ThreadPoolConfiguration threadPoolConfiguration);
+
+    /**
+     * Gets how the central executor service of the thread pool creates threads.
+     *
+     * @return The thread pool configuration.
+     */
+    ThreadPoolConfiguration getThreadPoolConfiguration();
+
+    /**
+     * Sets whether the shards that are logged in by this builder share their infrastructure.
+     *
+     * @param sharedShardContext Whether the shards share their infrastructure.
+     */
+    void setSharedShardContext(boolean sharedShardContext);
+
+    /**
+     * Checks whether the shards that are logged in by this builder share their infrastructure.
+     *
+     * @return Whether the shards share their infrastructure.
+     */
+    boolean isSharedShardContext();
+
+    /**
+     * Sets whether the shards that share their infrastructure also share the users they cache.
+     *
+     * @param sharedUserCache Whether the shards share the users they cache.
+     */
+    void setSharedUserCache(boolean sharedUserCache);
+
+    /**
+     * Checks whether the shards that share their infrastructure also share the users they cache.
+     *
+     * @return Whether the shards share the users they cache.
+     */
+    boolean isSharedUserCache();
+
+    /**
+     * Sets the store for the gateway sessions of the shards.
+     *
+     * @param sessionStore The session store or {@code null} to not store the sessions.
+     */
+    void setSessionStore(SessionStore sessionStore);
+
+    /**
+     * Gets the store for the gateway sessions of the shards.
+     *
+     * @return The session store.
+     */
+    Optional<SessionStore> getSessionStore();
+
+    /**
+     * Sets the directory for snapshots of the cache.
+     *
+     * @param directory The directory for the snapshots or {@code null} to not write snapshots.
+     */
+    void setCacheSnapshotDirectory(Path directory);
+
+    /**
+     * Gets the directory for snapshots of the cache.
+     *
+     * @return The directory for the snapshots.
+     */
+    Optional<Path> getCacheSnapshotDirectory();
+
     /**
      * Sets the token.
      *
@@ -0,0 +1,28 @@
+package org.javacord.api.util.cache;
+
+/**
+ * This enum contains all modes that decide how entities of a specific type are cached.
+ *
+ * @see CachePolicy
+ */
+public enum CacheMode {
+
+    /**
+     * All entities are cached and missing ones are actively requested from Discord.
+     * For members of large servers, this means that they are requested in chunks after the server became available.
+     */
+    FULL,
+
+    /**
+     * Only the entities that Discord sends on its own are cached, nothing is actively requested.
+     * For entity types that are never requested in advance, this is the same as {@link #FULL}.
+     */
+    ON_DEMAND,
+
+    /**
+     * The entities are not cached at all.
+     * Events that need the previous state of an entity to detect a change are not dispatched.
+     */
+    DISABLED
+
+}
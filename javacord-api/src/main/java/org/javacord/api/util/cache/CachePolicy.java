@@ -0,0 +1,189 @@
+package org.javacord.api.util.cache;
+
+import java.util.Objects;
+
+/**
+ * A policy that decides which entities are cached.
+ * Bots on many servers which do not need members, presences, voice states, emojis or messages can reduce their heap
+ * usage considerably by not caching them. Servers, channels and roles are always cached.
+ *
+ * <p>A policy is immutable, all {@code with...} methods return a new policy.
+ */
+public final class CachePolicy {
+
+    private static final CachePolicy ALL = new CachePolicy(
+            CacheMode.FULL, CacheMode.FULL, CacheMode.FULL, CacheMode.FULL, CacheMode.FULL);
+
+    private static final CachePolicy NONE = new CachePolicy(
+            CacheMode.DISABLED, CacheMode.DISABLED, CacheMode.DISABLED, CacheMode.DISABLED, CacheMode.DISABLED);
+
+    private final CacheMode members;
+    private final CacheMode presences;
+    private final CacheMode voiceStates;
+    private final CacheMode emojis;
+    private final CacheMode messages;
+
+    /**
+     * Creates a new cache policy.
+     *
+     * @param members How members are cached.
+     * @param presences How presences are cached.
+     * @param voiceStates How voice states are cached.
+     * @param emojis How custom emojis are cached.
+     * @param messages How messages are cached.
+     */
+    private CachePolicy(
+            CacheMode members, CacheMode presences, CacheMode voiceStates, CacheMode emojis, CacheMode messages) {
+        this.members = Objects.requireNonNull(members, "members cannot be null");
+        this.presences = Objects.requireNonNull(presences, "presences cannot be null");
+        this.voiceStates = Objects.requireNonNull(voiceStates, "voiceStates cannot be null");
+        this.emojis = Objects.requireNonNull(emojis, "emojis cannot be null");
+        this.messages = Objects.requireNonNull(messages, "messages cannot be null");
+    }
+
+    /**
+     * Gets a policy that caches everything.
+     * This is the default policy.
+     *
+     * @return A policy that caches everything.
+     */
+    public static CachePolicy all() {
+        return ALL;
+    }
+
+    /**
+     * Gets a policy that caches none of the configurable entities.
+     * Servers, channels and roles are still cached.
+     *
+     * @return A policy that caches none of the configurable entities.
+     */
+    public static CachePolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Gets how members are cached.
+     * This includes their nicknames, roles and joined-at timestamps.
+     *
+     * @return How members are cached.
+     */
+    public CacheMode getMembers() {
+        return members;
+    }
+
+    /**
+     * Gets how presences (statuses and activities of users) are cached.
+     *
+     * @return How presences are cached.
+     */
+    public CacheMode getPresences() {
+        return presences;
+    }
+
+    /**
+     * Gets how voice states (connected voice channels, muted and deafened states) are cached.
+     * The muted and deafened states are part of the cached members, so they are only known for cached members.
+     *
+     * @return How voice states are cached.
+     */
+    public CacheMode getVoiceStates() {
+        return voiceStates;
+    }
+
+    /**
+     * Gets how custom emojis of servers are cached.
+     *
+     * @return How custom emojis are cached.
+     */
+    public CacheMode getEmojis() {
+        return emojis;
+    }
+
+    /**
+     * Gets how messages are cached.
+     * Messages that are cached forever are always cached.
+     *
+     * @return How messages are cached.
+     */
+    public CacheMode getMessages() {
+        return messages;
+    }
+
+    /**
+     * Creates a copy of this policy with the given mode for members.
+     *
+     * @param members How members are cached.
+     * @return The new policy.
+     */
+    public CachePolicy withMembers(CacheMode members) {
+        return new CachePolicy(members, presences, voiceStates, emojis, messages);
+    }
+
+    /**
+     * Creates a copy of this policy with the given mode for presences.
+     *
+     * @param presences How presences are cached.
+     * @return The new policy.
+     */
+    public CachePolicy withPresences(CacheMode presences) {
+        return new CachePolicy(members, presences, voiceStates, emojis, messages);
+    }
+
+    /**
+     * Creates a copy of this policy with the given mode for voice states.
+     *
+     * @param voiceStates How voice states are cached.
+     * @return The new policy.
+     */
+    public CachePolicy withVoiceStates(CacheMode voiceStates) {
+        return new CachePolicy(members, presences, voiceStates, emojis, messages);
+    }
+
+    /**
+     * Creates a copy of this policy with the given mode for custom emojis.
+     *
+     * @param emojis How custom emojis are cached.
+     * @return The new policy.
+     */
+    public CachePolicy withEmojis(CacheMode emojis) {
+        return new CachePolicy(members, presences, voiceStates, emojis, messages);
+    }
+
+    /**
+     * Creates a copy of this policy with the given mode for messages.
+     *
+     * @param messages How messages are cached.
+     * @return The new policy.
+     */
+    public CachePolicy withMessages(CacheMode messages) {
+        return new CachePolicy(members, presences, voiceStates, emojis, messages);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CachePolicy)) {
+            return false;
+        }
+        CachePolicy that = (CachePolicy) o;
+        return members == that.members
+                && presences == that.presences
+                && voiceStates == that.voiceStates
+                && emojis == that.emojis
+                && messages == that.messages;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(members, presences, voiceStates, emojis, messages);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachePolicy (members: %s, presences: %s, voiceStates: %s, emojis: %s, messages: %s)",
+                members, presences, voiceStates, emojis, messages);
+    }
+
+}
@@ -45,4 +45,27 @@ public interface MessageCache {
      */
     void setAutomaticCleanupEnabled(boolean automaticCleanupEnabled);
 
+    /**
+     * Gets how often a message of this channel was looked up and found in the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Gets how often a message of this channel was looked up and not found in the cache.
+     *
+     * @return The amount of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Gets how many messages were removed from the cache because of its capacity, the storage time, the global
+     * {@link MessageCacheBudget} or a shortage of memory.
+     * Messages that were removed because they got deleted are not included.
+     *
+     * @return The amount of evicted messages.
+     */
+    long getEvictionCount();
+
 }
@@ -0,0 +1,125 @@
+package org.javacord.api.util.cache;
+
+import java.util.Objects;
+
+/**
+ * A limit for the messages that are cached in all channels together.
+ * The capacity and storage time of the {@link MessageCache} of each channel still apply, the budget only limits the
+ * total. If the budget is exceeded, messages are evicted across all channels. Messages which are used rarely are
+ * evicted before messages which are used often, e.g. because they get edited or reacted to. Messages which are cached
+ * forever are not included in the budget.
+ *
+ * <p>A budget is immutable.
+ */
+public final class MessageCacheBudget {
+
+    private static final MessageCacheBudget UNLIMITED = new MessageCacheBudget(-1, -1);
+
+    private final long maxMessages;
+    private final long maxBytes;
+
+    /**
+     * Creates a new message cache budget.
+     *
+     * @param maxMessages The maximum amount of messages or {@code -1}.
+     * @param maxBytes The maximum estimated size of all messages in bytes or {@code -1}.
+     */
+    private MessageCacheBudget(long maxMessages, long maxBytes) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets a budget without a limit.
+     * This is the default budget.
+     *
+     * @return A budget without a limit.
+     */
+    public static MessageCacheBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Gets a budget that limits the amount of messages.
+     *
+     * @param maxMessages The maximum amount of messages in all channels together.
+     * @return A budget that limits the amount of messages.
+     */
+    public static MessageCacheBudget ofMessages(long maxMessages) {
+        if (maxMessages < 0) {
+            throw new IllegalArgumentException("maxMessages cannot be negative");
+        }
+        return new MessageCacheBudget(maxMessages, -1);
+    }
+
+    /**
+     * Gets a budget that limits the estimated size of the messages.
+     * The size of a message is estimated from its content, embeds, attachments and reactions.
+     *
+     * @param maxBytes The maximum estimated size of the messages in all channels together in bytes.
+     * @return A budget that limits the estimated size of the messages.
+     */
+    public static MessageCacheBudget ofBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes cannot be negative");
+        }
+        return new MessageCacheBudget(-1, maxBytes);
+    }
+
+    /**
+     * Checks if the budget has no limit.
+     *
+     * @return Whether the budget has no limit or not.
+     */
+    public boolean isUnlimited() {
+        return maxMessages < 0 && maxBytes < 0;
+    }
+
+    /**
+     * Checks if the budget limits the estimated size of the messages instead of their amount.
+     *
+     * @return Whether the budget limits the estimated size of the messages or not.
+     */
+    public boolean isWeighted() {
+        return maxBytes >= 0;
+    }
+
+    /**
+     * Gets the limit of the budget.
+     * This is either the maximum amount of messages or their maximum estimated size in bytes, depending on
+     * {@link #isWeighted()}.
+     *
+     * @return The limit or {@code -1} if the budget has no limit.
+     */
+    public long getLimit() {
+        return isWeighted() ? maxBytes : maxMessages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MessageCacheBudget)) {
+            return false;
+        }
+        MessageCacheBudget that = (MessageCacheBudget) o;
+        return maxMessages == that.maxMessages && maxBytes == that.maxBytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxMessages, maxBytes);
+    }
+
+    @Override
+    public String toString() {
+        if (isUnlimited()) {
+            return "MessageCacheBudget (unlimited)";
+        }
+        return isWeighted()
+                ? String.format("MessageCacheBudget (maxBytes: %d)", maxBytes)
+                : String.format("MessageCacheBudget (maxMessages: %d)", maxMessages);
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.javacord.api.util.concurrent;
+
+/**
+ * This enum contains all policies for tasks that are submitted to a bounded executor service which is saturated,
+ * i.e. all of its threads are busy and its queue is full.
+ *
+ * @see ThreadPoolConfiguration#bounded(int, int)
+ */
+public enum RejectionPolicy {
+
+    /**
+     * The task is executed by the thread that submitted it.
+     * Listeners are then called by the thread that handles the packets of their server, so the packets of the
+     * server wait until the listeners are done.
+     */
+    CALLER_RUNS,
+
+    /**
+     * The task is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+     * Listeners of events that could not be submitted are submitted again after a short delay, which grows while the
+     * executor service stays saturated. Asynchronous tasks of Javacord itself, e.g. requesting several batches of
+     * messages, are run by additional threads instead, as they would not complete otherwise.
+     * This is the default for {@link ThreadPoolConfiguration#bounded(int, int) bounded} configurations.
+     */
+    ABORT
+
+}
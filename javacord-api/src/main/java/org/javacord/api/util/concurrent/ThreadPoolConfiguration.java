@@ -0,0 +1,186 @@
+package org.javacord.api.util.concurrent;
+
+import java.util.Objects;
+
+/**
+ * A configuration of the central executor service of the {@link ThreadPool}, which calls the listeners and runs
+ * other asynchronous tasks of Javacord.
+ * The schedulers, the REST executor service and the single thread executor services are not affected.
+ *
+ * <p>A configuration is immutable, all {@code with...} methods return a new configuration.
+ */
+public final class ThreadPoolConfiguration {
+
+    private static final ThreadPoolConfiguration UNBOUNDED =
+            new ThreadPoolConfiguration(false, Integer.MAX_VALUE, 0, RejectionPolicy.ABORT, false);
+
+    private static final ThreadPoolConfiguration VIRTUAL_THREADS =
+            new ThreadPoolConfiguration(true, Integer.MAX_VALUE, 0, RejectionPolicy.ABORT, false);
+
+    private final boolean virtualThreads;
+    private final int maximumThreads;
+    private final int queueSize;
+    private final RejectionPolicy rejectionPolicy;
+    private final boolean shared;
+
+    /**
+     * Creates a new thread pool configuration.
+     *
+     * @param virtualThreads Whether a virtual thread is started for every task.
+     * @param maximumThreads The maximum amount of threads.
+     * @param queueSize The amount of tasks that wait for a thread if all threads are busy.
+     * @param rejectionPolicy What happens to tasks if all threads are busy and the queue is full.
+     * @param shared Whether all shards that are logged in by the same builder share the thread pool.
+     */
+    private ThreadPoolConfiguration(boolean virtualThreads, int maximumThreads, int queueSize,
+                                    RejectionPolicy rejectionPolicy, boolean shared) {
+        this.virtualThreads = virtualThreads;
+        this.maximumThreads = maximumThreads;
+        this.queueSize = queueSize;
+        this.rejectionPolicy = Objects.requireNonNull(rejectionPolicy, "rejectionPolicy cannot be null");
+        this.shared = shared;
+    }
+
+    /**
+     * Gets a configuration that starts new threads whenever all threads are busy.
+     * Idle threads are terminated after a minute.
+     * This is the default configuration.
+     *
+     * @return A configuration without a limit of threads.
+     */
+    public static ThreadPoolConfiguration unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Gets a configuration with a fixed maximum amount of threads.
+     * If all threads are busy, tasks wait in a queue of the given size. If the queue is full too, the tasks are
+     * rejected and listeners are called once a thread is free again, see {@link #withRejectionPolicy(RejectionPolicy)}.
+     * Idle threads are terminated after a minute.
+     *
+     * @param maximumThreads The maximum amount of threads.
+     * @param queueSize The amount of tasks that wait for a thread if all threads are busy.
+     * @return A configuration with a limit of threads.
+     */
+    public static ThreadPoolConfiguration bounded(int maximumThreads, int queueSize) {
+        if (maximumThreads < 1) {
+            throw new IllegalArgumentException("maximumThreads must be at least 1");
+        }
+        if (queueSize < 0) {
+            throw new IllegalArgumentException("queueSize cannot be negative");
+        }
+        return new ThreadPoolConfiguration(false, maximumThreads, queueSize, RejectionPolicy.ABORT, false);
+    }
+
+    /**
+     * Gets a configuration that starts a new virtual thread for every task.
+     * Virtual threads are cheap to create and to block, so listeners that block, e.g. by joining REST requests, do
+     * not need a platform thread each.
+     * Virtual threads are only available on Java 21 or later, on earlier versions {@link #unbounded()} is used
+     * instead.
+     *
+     * @return A configuration that uses virtual threads.
+     */
+    public static ThreadPoolConfiguration virtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Checks whether a new virtual thread is started for every task.
+     *
+     * @return Whether a new virtual thread is started for every task.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Gets the maximum amount of threads.
+     * {@link Integer#MAX_VALUE} means that there is no limit.
+     *
+     * @return The maximum amount of threads.
+     */
+    public int getMaximumThreads() {
+        return maximumThreads;
+    }
+
+    /**
+     * Gets the amount of tasks that wait for a thread if all threads are busy.
+     *
+     * @return The size of the queue.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Gets what happens to tasks if all threads are busy and the queue is full.
+     * This only applies to {@link #bounded(int, int) bounded} configurations.
+     *
+     * @return The rejection policy.
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Checks whether all shards that are logged in by the same builder share the thread pool.
+     * The shared thread pool is shut down once all shards that use it are disconnected.
+     *
+     * @return Whether the thread pool is shared between shards.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Creates a copy of this configuration with the given rejection policy.
+     *
+     * @param rejectionPolicy What happens to tasks if all threads are busy and the queue is full.
+     * @return The new configuration.
+     */
+    public ThreadPoolConfiguration withRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        return new ThreadPoolConfiguration(virtualThreads, maximumThreads, queueSize, rejectionPolicy, shared);
+    }
+
+    /**
+     * Creates a copy of this configuration which is shared, or not, between all shards that are logged in by the same
+     * builder.
+     * A shared thread pool keeps the amount of threads of bots with many shards in one JVM down.
+     *
+     * @param shared Whether the thread pool is shared between shards.
+     * @return The new configuration.
+     */
+    public ThreadPoolConfiguration withShared(boolean shared) {
+        return new ThreadPoolConfiguration(virtualThreads, maximumThreads, queueSize, rejectionPolicy, shared);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ThreadPoolConfiguration)) {
+            return false;
+        }
+        ThreadPoolConfiguration that = (ThreadPoolConfiguration) o;
+        return virtualThreads == that.virtualThreads
+                && maximumThreads == that.maximumThreads
+                && queueSize == that.queueSize
+                && rejectionPolicy == that.rejectionPolicy
+                && shared == that.shared;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(virtualThreads, maximumThreads, queueSize, rejectionPolicy, shared);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ThreadPoolConfiguration (virtualThreads: %s, maximumThreads: %d, queueSize: %d, "
+                        + "rejectionPolicy: %s, shared: %s)",
+                virtualThreads, maximumThreads, queueSize, rejectionPolicy, shared);
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.javacord.api.util.gateway;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * A session store which stores the session of every shard in a small file in a directory.
+ *
+ * <p>Files are replaced atomically where the file system supports it, so a crash while saving never leaves a broken
+ * session behind. The directory should only be used by one bot, as the files are only named by their shard.
+ * Errors while reading or writing the files are thrown as {@link UncheckedIOException}s.
+ */
+public class FileSessionStore implements SessionStore {
+
+    private static final String SESSION_ID_KEY = "session_id";
+    private static final String SEQUENCE_KEY = "seq";
+
+    private final Path directory;
+
+    /**
+     * Creates a new file session store.
+     *
+     * @param directory The directory of the session files. It is created if it does not exist.
+     */
+    public FileSessionStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+    }
+
+    /**
+     * Gets the directory of the session files.
+     *
+     * @return The directory of the session files.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the file of the session of a shard.
+     *
+     * @param shard The shard.
+     * @param totalShards The total amount of shards.
+     * @return The file of the session.
+     */
+    private Path getFile(int shard, int totalShards) {
+        return directory.resolve(String.format("session-%d-of-%d.properties", shard, totalShards));
+    }
+
+    @Override
+    public Optional<GatewaySession> load(int shard, int totalShards) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(getFile(shard, totalShards), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String sessionId = properties.getProperty(SESSION_ID_KEY);
+        String sequence = properties.getProperty(SEQUENCE_KEY);
+        if (sessionId == null || sequence == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new GatewaySession(sessionId, Integer.parseInt(sequence)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(int shard, int totalShards, GatewaySession session) {
+        Properties properties = new Properties();
+        properties.setProperty(SESSION_ID_KEY, session.getSessionId());
+        properties.setProperty(SEQUENCE_KEY, Integer.toString(session.getSequence()));
+        Path file = getFile(shard, totalShards);
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    properties.store(writer, null);
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(int shard, int totalShards) {
+        try {
+            Files.deleteIfExists(getFile(shard, totalShards));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
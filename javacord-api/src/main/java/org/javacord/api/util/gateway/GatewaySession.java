@@ -0,0 +1,65 @@
+package org.javacord.api.util.gateway;
+
+import java.util.Objects;
+
+/**
+ * A gateway session of a shard, which can be resumed as long as Discord did not invalidate it.
+ */
+public final class GatewaySession {
+
+    private final String sessionId;
+    private final int sequence;
+
+    /**
+     * Creates a new gateway session.
+     *
+     * @param sessionId The id of the session.
+     * @param sequence The sequence number of the last received dispatch packet.
+     */
+    public GatewaySession(String sessionId, int sequence) {
+        this.sessionId = Objects.requireNonNull(sessionId, "sessionId cannot be null");
+        this.sequence = sequence;
+    }
+
+    /**
+     * Gets the id of the session.
+     *
+     * @return The id of the session.
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the sequence number of the last received dispatch packet.
+     *
+     * @return The sequence number of the last received dispatch packet.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GatewaySession)) {
+            return false;
+        }
+        GatewaySession that = (GatewaySession) o;
+        return sequence == that.sequence && sessionId.equals(that.sessionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sessionId, sequence);
+    }
+
+    @Override
+    public String toString() {
+        // The session id is not included, as it allows to resume the session
+        return String.format("GatewaySession (sequence: %d)", sequence);
+    }
+
+}
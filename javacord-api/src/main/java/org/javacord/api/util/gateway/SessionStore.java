@@ -0,0 +1,44 @@
+package org.javacord.api.util.gateway;
+
+import java.util.Optional;
+
+/**
+ * Stores the gateway sessions of shards, so that they can be resumed after a restart instead of identifying again.
+ *
+ * <p>The sessions are saved after they were established, periodically while they are running and when disconnecting.
+ * On startup, a shard tries to resume its stored session first. If Discord does not accept it anymore, the shard
+ * identifies as usual.
+ *
+ * <p>A stored session allows to receive the events of the bot, so it has to be stored as securely as the token.
+ *
+ * @see FileSessionStore
+ */
+public interface SessionStore {
+
+    /**
+     * Loads the stored session of a shard.
+     *
+     * @param shard The shard, starting with {@code 0}.
+     * @param totalShards The total amount of shards.
+     * @return The stored session or an empty optional if there is none.
+     */
+    Optional<GatewaySession> load(int shard, int totalShards);
+
+    /**
+     * Stores the session of a shard, replacing the stored session of the shard.
+     *
+     * @param shard The shard, starting with {@code 0}.
+     * @param totalShards The total amount of shards.
+     * @param session The session.
+     */
+    void save(int shard, int totalShards, GatewaySession session);
+
+    /**
+     * Deletes the stored session of a shard, e.g. because Discord invalidated it.
+     *
+     * @param shard The shard, starting with {@code 0}.
+     * @param totalShards The total amount of shards.
+     */
+    void delete(int shard, int totalShards);
+
+}
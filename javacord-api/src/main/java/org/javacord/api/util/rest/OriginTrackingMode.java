@@ -0,0 +1,22 @@
+package org.javacord.api.util.rest;
+
+/**
+ * This enum contains all modes for tracking the origin of REST requests.
+ * The origin is the stack trace of the code that caused a request and is added as cause to exceptions like
+ * {@link org.javacord.api.exception.DiscordException}s, to find out which part of your code caused the exception.
+ */
+public enum OriginTrackingMode {
+
+    /**
+     * The origin is not tracked at all.
+     * Exceptions of REST requests have no cause that points to your code, but creating requests is considerably
+     * cheaper, as no stack trace has to be captured.
+     */
+    DISABLED,
+
+    /**
+     * The stack trace of the origin is captured for every request.
+     */
+    FULL
+
+}
@@ -0,0 +1,246 @@
+package org.javacord.core.util;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the member caches of a server backed by boxed and by primitive long-keyed collections.
+ *
+ * <p>The caches are the ones {@code ServerImpl} used to keep per member: members, nicknames and joined-at timestamps
+ * by user id and the sets of (self-)muted and (self-)deafened users. The footprint benchmark fills them for a
+ * synthetic server and reports the retained heap per member as secondary result {@code bytesPerMember}. The member,
+ * nickname and timestamp objects exist before the measurement, so only the overhead of the collections is counted.
+ * The serial collector makes the used heap after a full collection exact, so a single measurement iteration is
+ * enough. JMH sums the secondary result over all iterations, so it must not be run with more of them.
+ * The lookup benchmark measures the cost of looking up members by their id.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+UseSerialGC"})
+public class ConcurrentLongHashMapBenchmark {
+
+    @Param({"BOXED", "PRIMITIVE"})
+    private String implementation;
+
+    @Param({"250000"})
+    private int members;
+
+    private long[] userIds;
+    private Object[] users;
+    private String[] nicknames;
+    private Instant[] joinedAtTimestamps;
+    private MemberCaches caches;
+
+    /**
+     * Creates the members of the synthetic server and fills the caches for the lookup benchmark.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        userIds = new long[members];
+        users = new Object[members];
+        nicknames = new String[members];
+        joinedAtTimestamps = new Instant[members];
+        long timestamp = System.currentTimeMillis() - 1_420_070_400_000L;
+        for (int i = 0; i < members; i++) {
+            // Snowflakes of users that registered one after another
+            timestamp -= random.nextInt(100_000);
+            userIds[i] = (timestamp << 22) | random.nextInt(1 << 22);
+            users[i] = new Object();
+            // About a tenth of the members has a nickname
+            nicknames[i] = random.nextInt(10) == 0 ? "nickname" + i : null;
+            joinedAtTimestamps[i] = Instant.ofEpochMilli(timestamp);
+        }
+        caches = fill();
+    }
+
+    /**
+     * Fills new caches and reports the heap they retain.
+     *
+     * @param footprint The secondary results.
+     * @return The caches.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1, time = 1)
+    @Measurement(iterations = 1, time = 1)
+    public MemberCaches footprint(Footprint footprint) {
+        long before = usedHeap();
+        MemberCaches caches = fill();
+        long after = usedHeap();
+        footprint.bytesPerMember = (after - before) / (double) members;
+        return caches;
+    }
+
+    /**
+     * Looks up every member by its id.
+     *
+     * @param blackhole The blackhole to consume the members.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @OperationsPerInvocation(250_000)
+    public void lookup(Blackhole blackhole) {
+        for (int i = 0; i < 250_000; i++) {
+            blackhole.consume(caches.getMember(userIds[i % members]));
+        }
+    }
+
+    private MemberCaches fill() {
+        MemberCaches caches = "BOXED".equals(implementation) ? new BoxedMemberCaches() : new PrimitiveMemberCaches();
+        for (int i = 0; i < members; i++) {
+            caches.addMember(userIds[i], users[i], nicknames[i], joinedAtTimestamps[i], (i % 20) == 0);
+        }
+        return caches;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     * The secondary results of the footprint benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        /**
+         * The retained heap of the caches per member in bytes.
+         */
+        public double bytesPerMember;
+
+    }
+
+    /**
+     * The member caches of a server.
+     */
+    public interface MemberCaches {
+
+        /**
+         * Adds a member.
+         *
+         * @param userId The id of the member.
+         * @param user The member.
+         * @param nickname The nickname of the member, may be {@code null}.
+         * @param joinedAt When the member joined.
+         * @param inVoice Whether the member is (self-)muted and (self-)deafened.
+         */
+        void addMember(long userId, Object user, String nickname, Instant joinedAt, boolean inVoice);
+
+        /**
+         * Gets a member.
+         *
+         * @param userId The id of the member.
+         * @return The member.
+         */
+        Object getMember(long userId);
+
+    }
+
+    /**
+     * The caches as they used to be, with boxed keys.
+     */
+    private static class BoxedMemberCaches implements MemberCaches {
+
+        private final Map<Long, Object> members = new ConcurrentHashMap<>();
+        private final Map<Long, String> nicknames = new ConcurrentHashMap<>();
+        private final Map<Long, Instant> joinedAtTimestamps = new ConcurrentHashMap<>();
+        private final Set<Long> selfMuted = new ConcurrentSkipListSet<>();
+        private final Set<Long> selfDeafened = new ConcurrentSkipListSet<>();
+        private final Set<Long> muted = new ConcurrentSkipListSet<>();
+        private final Set<Long> deafened = new ConcurrentSkipListSet<>();
+
+        @Override
+        public void addMember(long userId, Object user, String nickname, Instant joinedAt, boolean inVoice) {
+            members.put(userId, user);
+            if (nickname != null) {
+                nicknames.put(userId, nickname);
+            }
+            joinedAtTimestamps.put(userId, joinedAt);
+            if (inVoice) {
+                selfMuted.add(userId);
+                selfDeafened.add(userId);
+                muted.add(userId);
+                deafened.add(userId);
+            }
+        }
+
+        @Override
+        public Object getMember(long userId) {
+            return members.get(userId);
+        }
+
+    }
+
+    /**
+     * The caches backed by primitive long-keyed collections.
+     */
+    private static class PrimitiveMemberCaches implements MemberCaches {
+
+        private final ConcurrentLongHashMap<Object> members = new ConcurrentLongHashMap<>();
+        private final ConcurrentLongHashMap<String> nicknames = new ConcurrentLongHashMap<>();
+        private final ConcurrentLongHashMap<Instant> joinedAtTimestamps = new ConcurrentLongHashMap<>();
+        private final ConcurrentLongHashSet selfMuted = new ConcurrentLongHashSet();
+        private final ConcurrentLongHashSet selfDeafened = new ConcurrentLongHashSet();
+        private final ConcurrentLongHashSet muted = new ConcurrentLongHashSet();
+        private final ConcurrentLongHashSet deafened = new ConcurrentLongHashSet();
+
+        @Override
+        public void addMember(long userId, Object user, String nickname, Instant joinedAt, boolean inVoice) {
+            members.put(userId, user);
+            if (nickname != null) {
+                nicknames.put(userId, nickname);
+            }
+            joinedAtTimestamps.put(userId, joinedAt);
+            if (inVoice) {
+                selfMuted.add(userId);
+                selfDeafened.add(userId);
+                muted.add(userId);
+                deafened.add(userId);
+            }
+        }
+
+        @Override
+        public Object getMember(long userId) {
+            return members.get(userId);
+        }
+
+    }
+
+}
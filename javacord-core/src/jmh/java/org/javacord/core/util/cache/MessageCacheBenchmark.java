@@ -0,0 +1,187 @@
+package org.javacord.core.util.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the message cache of a channel backed by a sorted list and by a {@link SnowflakeRingBuffer}.
+ *
+ * <p>The list is how {@code MessageCacheImpl} used to store messages: it checks for duplicates with a linear scan,
+ * removes cleared references and inserts with a binary search. It only evicted messages in the cleanup every minute,
+ * here it removes the oldest message after every insert to stay at the capacity, as it would in the steady state.
+ * Both caches are full when the benchmark starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCacheBenchmark {
+
+    @Param({"LIST", "RING"})
+    private String implementation;
+
+    @Param({"50", "1000", "10000"})
+    private int capacity;
+
+    private MessageStore store;
+    private long nextId;
+
+    /**
+     * Fills the cache up to its capacity.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        store = "LIST".equals(implementation) ? new ListMessageStore(capacity) : new RingMessageStore(capacity);
+        nextId = 1L << 22;
+        for (int i = 0; i < capacity; i++) {
+            store.add(new StubMessage(nextId));
+            nextId += 1L << 22;
+        }
+    }
+
+    /**
+     * Adds a new message, which evicts the oldest one.
+     */
+    @Benchmark
+    public void addNewMessage() {
+        store.add(new StubMessage(nextId));
+        nextId += 1L << 22;
+    }
+
+    /**
+     * Adds a message which is already cached, like a message that is fetched again.
+     */
+    @Benchmark
+    public void addCachedMessage() {
+        store.add(new StubMessage(nextId - ((long) (capacity / 2) << 22)));
+    }
+
+    /**
+     * A message with nothing but an id.
+     */
+    public static class StubMessage implements Comparable<StubMessage> {
+
+        private final long id;
+
+        /**
+         * Creates a new message.
+         *
+         * @param id The id of the message.
+         */
+        public StubMessage(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(StubMessage other) {
+            return Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StubMessage && ((StubMessage) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+
+    }
+
+    /**
+     * The storage of a message cache.
+     */
+    public interface MessageStore {
+
+        /**
+         * Adds a message.
+         *
+         * @param message The message.
+         */
+        void add(StubMessage message);
+
+    }
+
+    /**
+     * The storage as it used to be.
+     */
+    private static class ListMessageStore implements MessageStore {
+
+        private final List<Reference<? extends StubMessage>> messages = new ArrayList<>();
+        private final ReferenceQueue<StubMessage> queue = new ReferenceQueue<>();
+        private final int capacity;
+
+        private ListMessageStore(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void add(StubMessage message) {
+            synchronized (messages) {
+                if (messages.stream().map(Reference::get).anyMatch(message::equals)) {
+                    return;
+                }
+                messages.removeIf(messageRef -> messageRef.get() == null);
+                Reference<StubMessage> messageRef = new SoftReference<>(message, queue);
+                int pos = Collections.binarySearch(messages, messageRef, Comparator.comparing(Reference::get));
+                if (pos < 0) {
+                    pos = -pos - 1;
+                }
+                messages.add(pos, messageRef);
+                if (messages.size() > capacity) {
+                    messages.remove(0);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The storage backed by a ring buffer.
+     */
+    private static class RingMessageStore implements MessageStore {
+
+        private final SnowflakeRingBuffer<Reference<StubMessage>> messages;
+        private final ReferenceQueue<StubMessage> queue = new ReferenceQueue<>();
+
+        private RingMessageStore(int capacity) {
+            messages = new SnowflakeRingBuffer<>(capacity);
+        }
+
+        @Override
+        public void add(StubMessage message) {
+            synchronized (messages) {
+                int index = messages.indexOf(message.id);
+                if (index < 0) {
+                    messages.add(message.id, new SoftReference<>(message, queue));
+                } else if (messages.get(index).get() == null) {
+                    messages.set(index, new SoftReference<>(message, queue));
+                }
+            }
+        }
+
+    }
+
+}
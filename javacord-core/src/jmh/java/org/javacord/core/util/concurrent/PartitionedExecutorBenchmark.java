@@ -0,0 +1,93 @@
+package org.javacord.core.util.concurrent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the packet handling throughput of the partitioned handler executor depending on the amount of lanes.
+ *
+ * <p>Every invocation handles a burst of packets that are spread over the servers of a large shard. The work per
+ * packet simulates the cache update of a packet handler. With one lane, this is the behavior of the former single
+ * "Handlers Processor" thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionedExecutorBenchmark {
+
+    private static final int PACKETS_PER_BURST = 10_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int lanes;
+
+    @Param({"2500"})
+    private int servers;
+
+    @Param({"500"})
+    private int workPerPacket;
+
+    private ThreadPoolImpl threadPool;
+    private PartitionedExecutor executor;
+    private long[] serverIds;
+
+    /**
+     * Creates the executor and the server ids of the packets.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        threadPool = new ThreadPoolImpl();
+        executor = new PartitionedExecutor(threadPool, "Benchmark Handlers Processor", lanes);
+        Random random = new Random(42);
+        serverIds = new long[PACKETS_PER_BURST];
+        for (int i = 0; i < PACKETS_PER_BURST; i++) {
+            serverIds[i] = 400_000_000_000_000_000L + random.nextInt(servers);
+        }
+    }
+
+    /**
+     * Shuts down the thread pool of the executor.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Handles a burst of packets and waits until all of them are handled.
+     *
+     * @throws InterruptedException If the benchmark thread is interrupted.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PACKETS_PER_BURST)
+    public void handlePackets() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(PACKETS_PER_BURST);
+        for (long serverId : serverIds) {
+            executor.execute(serverId, () -> {
+                Blackhole.consumeCPU(workPerPacket);
+                handled.countDown();
+            });
+        }
+        handled.await();
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.javacord.core.util.event;
+
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.DiscordApiSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the listener throughput of the event dispatcher depending on the batch size.
+ *
+ * <p>Every invocation dispatches a burst of events with one cheap listener each, spread over a few busy servers.
+ * With a batch size of {@code 1}, every listener task is submitted to the executor service on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    private static final int EVENTS_PER_BURST = 1000;
+
+    @Param({"1", "8", "32"})
+    private int batchSize;
+
+    @Param({"1", "10"})
+    private int servers;
+
+    @Param({"100"})
+    private int workPerListener;
+
+    private DiscordApiImpl api;
+    private EventDispatcher dispatcher;
+    private DispatchQueueSelector[] selectors;
+
+    /**
+     * Creates an api instance and the queue selectors of the servers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl(new DiscordApiSettings().setToken("fakeBotToken"));
+        dispatcher = api.getEventDispatcher();
+        dispatcher.setBatchSize(batchSize);
+        selectors = new DispatchQueueSelector[servers];
+        for (int i = 0; i < servers; i++) {
+            selectors[i] = new DispatchQueueSelector() { };
+        }
+    }
+
+    /**
+     * Disconnects the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Dispatches a burst of events and waits until all listeners were called.
+     *
+     * @throws InterruptedException If the benchmark thread is interrupted.
+     */
+    @Benchmark
+    public void dispatchBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(EVENTS_PER_BURST);
+        List<CountDownLatch> listeners = Collections.singletonList(done);
+        for (int i = 0; i < EVENTS_PER_BURST; i++) {
+            dispatcher.dispatchEvent(selectors[i % servers], listeners, latch -> {
+                Blackhole.consumeCPU(workPerListener);
+                latch.countDown();
+            });
+        }
+        done.await();
+    }
+
+}
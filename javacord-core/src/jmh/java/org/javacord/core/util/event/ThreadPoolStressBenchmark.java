@@ -0,0 +1,127 @@
+package org.javacord.core.util.event;
+
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.DiscordApiSettings;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stresses the central executor service with a burst of events whose listeners block for a millisecond each, like
+ * listeners that wait for a REST request.
+ *
+ * <p>The burst is spread over many servers, so the event dispatcher can run up to one listener per server at the
+ * same time. Besides the time of a burst, the peak amount of platform threads and the mean latency from dispatching
+ * an event until its listener is called are printed at the end of each trial. Virtual threads fall back to the
+ * unbounded executor service before Java 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadPoolStressBenchmark {
+
+    private static final int EVENTS_PER_BURST = 10_000;
+
+    @Param({"unbounded", "bounded", "virtual"})
+    private String configuration;
+
+    @Param({"1000"})
+    private int servers;
+
+    private DiscordApiImpl api;
+    private EventDispatcher dispatcher;
+    private DispatchQueueSelector[] selectors;
+
+    private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    private final LongAdder latencyNanos = new LongAdder();
+    private long calledListeners;
+    private int peakThreads;
+
+    /**
+     * Creates an api instance with the configured thread pool and the queue selectors of the servers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ThreadPoolConfiguration threadPoolConfiguration;
+        switch (configuration) {
+            case "bounded":
+                threadPoolConfiguration = ThreadPoolConfiguration.bounded(64, EVENTS_PER_BURST);
+                break;
+            case "virtual":
+                threadPoolConfiguration = ThreadPoolConfiguration.virtualThreads();
+                break;
+            default:
+                threadPoolConfiguration = ThreadPoolConfiguration.unbounded();
+                break;
+        }
+        api = new DiscordApiImpl(new DiscordApiSettings()
+                .setToken("fakeBotToken")
+                .setThreadPool(new ThreadPoolImpl(threadPoolConfiguration)));
+        dispatcher = api.getEventDispatcher();
+        selectors = new DispatchQueueSelector[servers];
+        for (int i = 0; i < servers; i++) {
+            selectors[i] = new DispatchQueueSelector() { };
+        }
+    }
+
+    /**
+     * Prints the peak amount of platform threads and the mean listener latency, then disconnects the api instance.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nPeak platform threads: %d, mean listener latency: %.3f ms%n",
+                peakThreads, latencyNanos.sum() / 1_000_000.0 / calledListeners);
+        api.disconnect();
+    }
+
+    /**
+     * Dispatches a burst of events and waits until all listeners were called.
+     *
+     * @throws InterruptedException If the benchmark thread is interrupted.
+     */
+    @Benchmark
+    public void dispatchBurst() throws InterruptedException {
+        threadMxBean.resetPeakThreadCount();
+        CountDownLatch done = new CountDownLatch(EVENTS_PER_BURST);
+        List<CountDownLatch> listeners = Collections.singletonList(done);
+        for (int i = 0; i < EVENTS_PER_BURST; i++) {
+            long dispatchNanoTime = System.nanoTime();
+            dispatcher.dispatchEvent(selectors[i % servers], listeners, latch -> {
+                latencyNanos.add(System.nanoTime() - dispatchNanoTime);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        done.await();
+        peakThreads = Math.max(peakThreads, threadMxBean.getPeakThreadCount());
+        calledListeners += EVENTS_PER_BURST;
+    }
+
+}
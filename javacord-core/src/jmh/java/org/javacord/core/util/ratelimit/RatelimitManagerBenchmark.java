@@ -0,0 +1,143 @@
+package org.javacord.core.util.ratelimit;
+
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.rest.RestEndpoint;
+import org.javacord.core.util.rest.RestMethod;
+import org.javacord.core.util.rest.RestRequest;
+import org.javacord.core.util.rest.RestRequestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link RatelimitManager#queueRequest(RestRequest)} depending on the amount of threads
+ * that queue requests at the same time.
+ *
+ * <p>The requests are spread over a large amount of buckets, like it is the case for a bot that sends messages to
+ * many channels at once. The requests complete immediately without doing any http call, so the measured time is the
+ * bucket lookup, the queueing and the claiming of the buckets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatelimitManagerBenchmark {
+
+    @Param({"10000"})
+    private int buckets;
+
+    private DiscordApiImpl api;
+    private RatelimitManager ratelimitManager;
+    private RestRequest<?>[] requests;
+
+    /**
+     * Creates the ratelimit manager and one request for every bucket.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl("fakeBotToken", null, null, null, null, false);
+        ratelimitManager = new RatelimitManager(api);
+        requests = new RestRequest<?>[buckets];
+        for (int i = 0; i < buckets; i++) {
+            requests[i] = new CompletedRequest(api).setUrlParameters(Long.toString(400_000_000_000_000_000L + i));
+        }
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Queues a request for a random bucket with one thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public void queueRequest1Thread() {
+        queueRandomRequest();
+    }
+
+    /**
+     * Queues a request for a random bucket with 4 threads.
+     */
+    @Benchmark
+    @Threads(4)
+    public void queueRequest4Threads() {
+        queueRandomRequest();
+    }
+
+    /**
+     * Queues a request for a random bucket with 16 threads.
+     */
+    @Benchmark
+    @Threads(16)
+    public void queueRequest16Threads() {
+        queueRandomRequest();
+    }
+
+    /**
+     * Queues a request for a random bucket with 64 threads.
+     */
+    @Benchmark
+    @Threads(64)
+    public void queueRequest64Threads() {
+        queueRandomRequest();
+    }
+
+    /**
+     * Queues a request for a random bucket.
+     */
+    private void queueRandomRequest() {
+        ratelimitManager.queueRequest(requests[ThreadLocalRandom.current().nextInt(requests.length)]);
+    }
+
+    /**
+     * A request that is done as soon as it gets executed, so that it can be queued again and again.
+     */
+    private static class CompletedRequest extends RestRequest<Void> {
+
+        private static final CompletableFuture<RestRequestResult> COMPLETED_RESULT =
+                CompletableFuture.completedFuture(null);
+
+        /**
+         * Creates a new completed request.
+         *
+         * @param api The api which is used for this request.
+         */
+        private CompletedRequest(DiscordApiImpl api) {
+            super(api, RestMethod.POST, RestEndpoint.MESSAGE);
+        }
+
+        @Override
+        public CompletableFuture<RestRequestResult> getResult() {
+            return COMPLETED_RESULT;
+        }
+
+        @Override
+        public CompletableFuture<RestRequestResult> executeAsync() {
+            return COMPLETED_RESULT;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.javacord.core.util.rest;
+
+import org.javacord.api.exception.DiscordException;
+import org.javacord.api.util.rest.OriginTrackingMode;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.DiscordApiSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the costs of creating and executing rest requests depending on the origin tracking mode.
+ *
+ * <p>The requests complete immediately without doing any http call, so the measured time is the creation of the
+ * request including the capturing of its origin and the way through the ratelimit manager. Failing requests also
+ * include turning the origin into the cause of the exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestRequestBenchmark {
+
+    @Param({"DISABLED", "FULL"})
+    private OriginTrackingMode originTrackingMode;
+
+    private DiscordApiImpl api;
+
+    /**
+     * Creates an api instance with the origin tracking mode.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new DiscordApiImpl(new DiscordApiSettings()
+                .setToken("fakeBotToken")
+                .setOriginTrackingMode(originTrackingMode));
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Creates a request.
+     *
+     * @return The created request.
+     */
+    @Benchmark
+    public RestRequest<Void> createRequest() {
+        return new RestRequest<Void>(api, RestMethod.POST, RestEndpoint.MESSAGE).setUrlParameters("1");
+    }
+
+    /**
+     * Creates and executes a request that succeeds.
+     *
+     * @return The result of the request.
+     */
+    @Benchmark
+    public Void executeRequest() {
+        return new CompletingRequest(api, false).execute(result -> null).join();
+    }
+
+    /**
+     * Creates and executes a request that fails.
+     *
+     * @return The exception of the request.
+     */
+    @Benchmark
+    public Throwable executeFailingRequest() {
+        try {
+            new CompletingRequest(api, true).execute(result -> null).join();
+            throw new AssertionError("The request did not fail");
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    /**
+     * A request that completes as soon as it gets executed.
+     */
+    private static class CompletingRequest extends RestRequest<Void> {
+
+        private final boolean failing;
+
+        /**
+         * Creates a new completing request.
+         *
+         * @param api The api which is used for this request.
+         * @param failing Whether the request should fail with an exception.
+         */
+        private CompletingRequest(DiscordApiImpl api, boolean failing) {
+            super(api, RestMethod.POST, RestEndpoint.MESSAGE);
+            this.failing = failing;
+            setUrlParameters("1");
+        }
+
+        @Override
+        public CompletableFuture<RestRequestResult> executeAsync() {
+            CompletableFuture<RestRequestResult> result = new CompletableFuture<>();
+            if (failing) {
+                result.completeExceptionally(new DiscordException(getOrigin(), "Benchmark failure", null, null));
+            } else {
+                getResult().complete(null);
+                result.complete(null);
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -8,8 +8,14 @@ import org.javacord.api.DiscordApi;
 import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CachePolicy;
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.api.util.gateway.SessionStore;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.OriginTrackingMode;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
+import org.javacord.core.util.gateway.IdentifyRateLimiter;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.logging.PrivacyProtectionLogger;
 import org.javacord.core.util.rest.RestEndpoint;
@@ -19,6 +25,7 @@ import org.javacord.core.util.rest.RestRequestResult;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -72,6 +79,56 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
      */
     private volatile boolean trustAllCertificates = false;
 
+    /**
+     * How the origin of REST requests is tracked.
+     */
+    private volatile OriginTrackingMode originTrackingMode = OriginTrackingMode.FULL;
+
+    /**
+     * Which entities are cached.
+     */
+    private volatile CachePolicy cachePolicy = CachePolicy.all();
+
+    /**
+     * How the central executor service of the thread pool creates threads.
+     */
+    private volatile ThreadPoolConfiguration threadPoolConfiguration = ThreadPoolConfiguration.unbounded();
+
+    /**
+     * The thread pool which is shared by the created shards if the thread pool configuration is shared.
+     */
+    private ThreadPoolImpl sharedThreadPool;
+
+    /**
+     * Whether the created shards share their infrastructure.
+     */
+    private volatile boolean sharedShardContext = false;
+
+    /**
+     * Whether the created shards share the data of their users if they share their infrastructure.
+     */
+    private volatile boolean sharedUserCache = false;
+
+    /**
+     * The store for the gateway sessions of the created shards.
+     */
+    private volatile SessionStore sessionStore = null;
+
+    /**
+     * The directory for snapshots of the caches of the created shards.
+     */
+    private volatile Path cacheSnapshotDirectory = null;
+
+    /**
+     * The shard context of the created shards if they share their infrastructure.
+     */
+    private ShardContext shardContext;
+
+    /**
+     * Whether the amount of shards that may identify at the same time was requested already.
+     */
+    private volatile boolean maxConcurrencyRequested = false;
+
     /**
      * The token which is used to login. Must be present in order to login!
      */
@@ -156,22 +213,102 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
 
     @Override
     public CompletableFuture<DiscordApi> login() {
+        return login(currentShard.get());
+    }
+
+    /**
+     * Logs in the given shard.
+     *
+     * @param shard The shard to log in.
+     * @return A future which contains the api instance of the shard once it is ready.
+     */
+    private CompletableFuture<DiscordApi> login(int shard) {
         prepareListeners();
-        logger.debug("Creating shard {} of {}", currentShard.get() + 1, totalShards.get());
+        logger.debug("Creating shard {} of {}", shard + 1, totalShards.get());
         CompletableFuture<DiscordApi> future = new CompletableFuture<>();
         if (token == null) {
             future.completeExceptionally(new IllegalArgumentException("You cannot login without a token!"));
             return future;
         }
+        ThreadPoolImpl threadPool;
+        ShardContext shardContext = null;
+        synchronized (this) {
+            if (sharedShardContext) {
+                threadPool = joinShardContext();
+                shardContext = this.shardContext;
+            } else {
+                threadPool = createThreadPool();
+            }
+        }
         try (CloseableThreadContext.Instance closeableThreadContextInstance =
-                     CloseableThreadContext.put("shard", Integer.toString(currentShard.get()))) {
-            new DiscordApiImpl(accountType, token, currentShard.get(), totalShards.get(), waitForServersOnStartup,
-                    globalRatelimiter, proxySelector, proxy, proxyAuthenticator, trustAllCertificates, future, null,
-                    preparedListeners, preparedUnspecifiedListeners);
+                     CloseableThreadContext.put("shard", Integer.toString(shard))) {
+            new DiscordApiImpl(new DiscordApiSettings()
+                    .setAccountType(accountType)
+                    .setToken(token)
+                    .setShard(shard, totalShards.get())
+                    .setWaitForServersOnStartup(waitForServersOnStartup)
+                    .setGlobalRatelimiter(globalRatelimiter)
+                    .setProxySelector(proxySelector)
+                    .setProxy(proxy)
+                    .setProxyAuthenticator(proxyAuthenticator)
+                    .setTrustAllCertificates(trustAllCertificates)
+                    .setReady(future)
+                    .setListeners(preparedListeners, preparedUnspecifiedListeners)
+                    .setOriginTrackingMode(originTrackingMode)
+                    .setCachePolicy(cachePolicy)
+                    .setThreadPool(threadPool)
+                    .setShardContext(shardContext)
+                    .setSessionStore(sessionStore)
+                    .setCacheSnapshotDirectory(cacheSnapshotDirectory));
         }
         return future;
     }
 
+    /**
+     * Joins the shard context of the created shards with a new shard.
+     * A new shard context is created if there is none yet, the previous one is closed already, or any of its
+     * settings changed. The shards of a shard context always share their thread pool, so the new shard context uses a
+     * new shared thread pool, which is also shared by later shards with a shared thread pool configuration.
+     *
+     * @return The thread pool of the new shard.
+     */
+    private synchronized ThreadPoolImpl joinShardContext() {
+        ThreadPoolConfiguration configuration = threadPoolConfiguration.withShared(true);
+        boolean sharedUsers = sharedUserCache;
+        if (shardContext != null && shardContext.hasSettings(
+                configuration, proxySelector, proxy, proxyAuthenticator, trustAllCertificates, sharedUsers)) {
+            Optional<ThreadPoolImpl> threadPool = shardContext.join();
+            if (threadPool.isPresent()) {
+                return threadPool.get();
+            }
+        }
+        sharedThreadPool = new ThreadPoolImpl(configuration);
+        shardContext = new ShardContext(
+                sharedThreadPool, proxySelector, proxy, proxyAuthenticator, trustAllCertificates, sharedUsers);
+        return shardContext.join().orElseThrow(AssertionError::new);
+    }
+
+    /**
+     * Creates the thread pool of a new shard.
+     * Shards of a shared thread pool configuration use the same executor services until all of them disconnected.
+     *
+     * @return The thread pool of the new shard.
+     */
+    private synchronized ThreadPoolImpl createThreadPool() {
+        ThreadPoolConfiguration configuration = threadPoolConfiguration;
+        if (!configuration.isShared()) {
+            return new ThreadPoolImpl(configuration);
+        }
+        if (sharedThreadPool != null && sharedThreadPool.getConfiguration().equals(configuration)) {
+            Optional<ThreadPoolImpl> threadPool = sharedThreadPool.share();
+            if (threadPool.isPresent()) {
+                return threadPool.get();
+            }
+        }
+        sharedThreadPool = new ThreadPoolImpl(configuration);
+        return sharedThreadPool.share().orElseThrow(AssertionError::new);
+    }
+
     /**
      * Compile pre-registered listeners into proper collections for DiscordApi creation.
      */
@@ -230,6 +367,11 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
 
         Collection<CompletableFuture<DiscordApi>> result = new ArrayList<>(shards.length);
         int currentShard = getCurrentShard();
+        // Shards of different identify rate limit buckets are logged in in parallel, so the buckets must be known
+        CompletableFuture<Void> maxConcurrencyFuture = (shards.length > 1) && (currentShard == 0)
+                ? requestMaxConcurrency()
+                : CompletableFuture.completedFuture(null);
+        AtomicInteger readyShards = new AtomicInteger();
         for (int shard : shards) {
             if (currentShard != 0) {
                 CompletableFuture<DiscordApi> future = new CompletableFuture<>();
@@ -238,13 +380,50 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
                 result.add(future);
                 continue;
             }
-            setCurrentShard(shard);
-            result.add(login());
+            CompletableFuture<DiscordApi> future = maxConcurrencyFuture.thenCompose(nothing -> login(shard));
+            future.thenAccept(api -> logger.info("Shard {} is ready ({} of {} shards ready)",
+                    shard, readyShards.incrementAndGet(), shards.length));
+            result.add(future);
         }
-        setCurrentShard(currentShard);
         return result;
     }
 
+    /**
+     * Requests how many shards may identify at the same time and configures the identify rate limiter accordingly.
+     * If it was requested already, or the request fails, the current configuration is kept.
+     *
+     * @return A future which is completed once the identify rate limiter is configured.
+     */
+    private CompletableFuture<Void> requestMaxConcurrency() {
+        if (token == null || maxConcurrencyRequested) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DiscordApiImpl api = new DiscordApiImpl(
+                token, globalRatelimiter, proxySelector, proxy, proxyAuthenticator, trustAllCertificates);
+        return new RestRequest<JsonNode>(api, RestMethod.GET, RestEndpoint.GATEWAY_BOT)
+                .execute(RestRequestResult::getJsonBody)
+                .thenAccept(resultJson -> setMaxConcurrency(api, resultJson))
+                .exceptionally(t -> {
+                    logger.warn("Failed to request how many shards may identify at the same time, "
+                            + "identifying them one after another", t);
+                    return null;
+                })
+                .whenComplete((nothing, throwable) -> api.disconnect());
+    }
+
+    /**
+     * Configures the identify rate limiter with the session start limit of a {@code /gateway/bot} response.
+     *
+     * @param api The api instance of the request.
+     * @param botGateway The body of the {@code /gateway/bot} response.
+     */
+    private void setMaxConcurrency(DiscordApiImpl api, JsonNode botGateway) {
+        int maxConcurrency = botGateway.path("session_start_limit").path("max_concurrency").asInt(1);
+        IdentifyRateLimiter.forAccount(api.getPrefixedToken()).setMaxConcurrency(maxConcurrency);
+        maxConcurrencyRequested = true;
+        logger.debug("Up to {} shards may identify at the same time", maxConcurrency);
+    }
+
     @Override
     public void setGlobalRatelimiter(Ratelimiter ratelimiter) {
         globalRatelimiter = ratelimiter;
@@ -270,6 +449,77 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
         this.trustAllCertificates = trustAllCertificates;
     }
 
+    @Override
+    public void setOriginTrackingMode(OriginTrackingMode originTrackingMode) {
+        this.originTrackingMode = originTrackingMode;
+    }
+
+    @Override
+    public OriginTrackingMode getOriginTrackingMode() {
+        return originTrackingMode;
+    }
+
+    @Override
+    public void setCachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = Objects.requireNonNull(cachePolicy, "cachePolicy cannot be null");
+    }
+
+    @Override
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    @Override
+    public void setThreadPoolConfiguration(ThreadPoolConfiguration threadPoolConfiguration) {
+        this.threadPoolConfiguration =
+                Objects.requireNonNull(threadPoolConfiguration, "threadPoolConfiguration cannot be null");
+    }
+
+    @Override
+    public ThreadPoolConfiguration getThreadPoolConfiguration() {
+        return threadPoolConfiguration;
+    }
+
+    @Override
+    public void setSharedShardContext(boolean sharedShardContext) {
+        this.sharedShardContext = sharedShardContext;
+    }
+
+    @Override
+    public boolean isSharedShardContext() {
+        return sharedShardContext;
+    }
+
+    @Override
+    public void setSharedUserCache(boolean sharedUserCache) {
+        this.sharedUserCache = sharedUserCache;
+    }
+
+    @Override
+    public boolean isSharedUserCache() {
+        return sharedUserCache;
+    }
+
+    @Override
+    public void setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    @Override
+    public Optional<SessionStore> getSessionStore() {
+        return Optional.ofNullable(sessionStore);
+    }
+
+    @Override
+    public void setCacheSnapshotDirectory(Path directory) {
+        cacheSnapshotDirectory = directory;
+    }
+
+    @Override
+    public Optional<Path> getCacheSnapshotDirectory() {
+        return Optional.ofNullable(cacheSnapshotDirectory);
+    }
+
     @Override
     public void setToken(String token) {
         this.token = token;
@@ -355,6 +605,7 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
                 .thenAccept(resultJson -> {
                     DiscordWebSocketAdapter.setGateway(resultJson.get("url").asText());
                     setTotalShards(resultJson.get("shards").asInt());
+                    setMaxConcurrency(api, resultJson);
                     retryAttempt.set(0);
                     future.complete(null);
                 })
@@ -2,6 +2,7 @@ package org.javacord.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Dispatcher;
 import okhttp3.Dns;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -28,9 +29,12 @@ import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
-import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.api.util.cache.CachePolicy;
+import org.javacord.api.util.cache.MessageCacheBudget;
 import org.javacord.api.util.event.ListenerManager;
+import org.javacord.api.util.gateway.SessionStore;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.OriginTrackingMode;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.activity.ApplicationInfoImpl;
 import org.javacord.core.entity.emoji.CustomEmojiImpl;
@@ -40,14 +44,22 @@ import org.javacord.core.entity.message.MessageSetImpl;
 import org.javacord.core.entity.message.UncachedMessageUtilImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
+import org.javacord.core.entity.user.UserData;
 import org.javacord.core.entity.user.UserImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.util.ClassHelper;
 import org.javacord.core.util.Cleanupable;
+import org.javacord.core.util.ConcurrentLongHashMap;
+import org.javacord.core.util.ConcurrentLongMultimap;
+import org.javacord.core.util.cache.GlobalMessageCache;
+import org.javacord.core.util.cache.MessageCacheImpl;
+import org.javacord.core.util.cache.WeakEntityRegistry;
+import org.javacord.core.util.concurrent.PartitionedExecutor;
 import org.javacord.core.util.concurrent.ThreadPoolImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.event.EventDispatcher;
 import org.javacord.core.util.event.ListenerManagerImpl;
+import org.javacord.core.util.event.ListenerSnapshot;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
 import org.javacord.core.util.http.ProxyAuthenticator;
 import org.javacord.core.util.http.TrustAllTrustManager;
@@ -57,28 +69,27 @@ import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -97,7 +108,13 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     /**
      * The thread pool which is used internally.
      */
-    private final ThreadPoolImpl threadPool = new ThreadPoolImpl();
+    private final ThreadPoolImpl threadPool;
+
+    /**
+     * The executor for asynchronous packet handlers.
+     * Packets of the same server or private channel are handled in order, packets of different servers in parallel.
+     */
+    private final PartitionedExecutor packetHandlerExecutor;
 
     /**
      * The http client for this instance.
@@ -112,7 +129,22 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     /**
      * The object mapper for this instance.
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The shard context whose http client and object mapper this instance uses, or {@code null} if it has its own.
+     */
+    private final ShardContext shardContext;
+
+    /**
+     * The store for the gateway session, or {@code null} if the session is not stored.
+     */
+    private final SessionStore sessionStore;
+
+    /**
+     * The directory for snapshots of the cache, or {@code null} if no snapshots are written.
+     */
+    private final Path cacheSnapshotDirectory;
 
     /**
      * The ratelimit manager for this bot.
@@ -174,6 +206,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private boolean defaultAutomaticMessageCacheCleanupEnabled = true;
 
+    /**
+     * The global message cache which keeps the messages of all channels within the budget.
+     * It is {@code null} if the budget is unlimited.
+     */
+    private volatile GlobalMessageCache globalMessageCache = null;
+
     /**
      * The function to calculate the reconnect delay.
      */
@@ -220,6 +258,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private final boolean trustAllCertificates;
 
+    /**
+     * How the origin of REST requests is tracked.
+     */
+    private final OriginTrackingMode originTrackingMode;
+
+    /**
+     * Which entities are cached.
+     */
+    private final CachePolicy cachePolicy;
+
     /**
      * The user of the connected account.
      */
@@ -241,36 +289,24 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private volatile Long timeOffset = null;
 
     /**
-     * A map which contains all users.
-     */
-    private final Map<Long, WeakReference<User>> users = Collections.synchronizedMap(new ConcurrentHashMap<>());
-
-    /**
-     * A map to retrieve user IDs by the weak ref that point to the respective
-     * user or used to point to it for usage in the users cleanup,
-     * as at cleanup time the weak ref is already emptied.
-     */
-    private final Map<Reference<? extends User>, Long> userIdByRef = Collections.synchronizedMap(new WeakHashMap<>());
-
-    /**
-     * The queue that is notified if a user became weakly-reachable.
+     * A registry which contains all users.
      */
-    private final ReferenceQueue<User> usersCleanupQueue = new ReferenceQueue<>();
+    private final WeakEntityRegistry<User> users = new WeakEntityRegistry<>();
 
     /**
      * Allows for a quick lookup for channels by their id.
      */
-    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<Channel> channels = new ConcurrentLongHashMap<>();
 
     /**
      * A map which contains all servers that are ready.
      */
-    private final ConcurrentHashMap<Long, Server> servers = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<Server> servers = new ConcurrentLongHashMap<>();
 
     /**
      * A map which contains all servers that are not ready.
      */
-    private final ConcurrentHashMap<Long, Server> nonReadyServers = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<Server> nonReadyServers = new ConcurrentLongHashMap<>();
 
     /**
      * A set with all unavailable servers.
@@ -278,47 +314,43 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private final HashSet<Long> unavailableServers = new HashSet<>();
 
     /**
-     * A map with all known custom emoji.
-     */
-    private final ConcurrentHashMap<Long, KnownCustomEmoji> customEmojis = new ConcurrentHashMap<>();
-
-    /**
-     * A map with all cached messages.
+     * The ids of the servers of which a user is a cached member, by the id of the user.
      */
-    private final Map<Long, WeakReference<Message>> messages = Collections.synchronizedMap(new ConcurrentHashMap<>());
+    private final ConcurrentLongMultimap serverIdsByMemberId = new ConcurrentLongMultimap();
 
     /**
-     * A map to retrieve message IDs by the weak ref that point to the respective
-     * message or used to point to it for usage in the messages cleanup,
-     * as at cleanup time the weak ref is already emptied.
+     * A map with all known custom emoji.
      */
-    private final Map<Reference<? extends Message>, Long> messageIdByRef
-            = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentLongHashMap<KnownCustomEmoji> customEmojis = new ConcurrentLongHashMap<>();
 
     /**
-     * The queue that is notified if a message became weakly-reachable.
+     * A registry with all cached messages.
      */
-    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+    private final WeakEntityRegistry<Message> messages = new WeakEntityRegistry<>();
 
     /**
-     * A map which contains all globally attachable listeners.
+     * A map which contains snapshots of all globally attachable listeners.
      * The key is the class of the listener.
+     * The snapshots are replaced while holding the lock of this map, but are read without locking.
      */
-    private final Map<Class<? extends GloballyAttachableListener>,
-            Map<GloballyAttachableListener, ListenerManagerImpl<? extends GloballyAttachableListener>>>
-            listeners = Collections.synchronizedMap(new ConcurrentHashMap<>());
+    private final ConcurrentHashMap<Class<? extends GloballyAttachableListener>,
+            ListenerSnapshot<GloballyAttachableListener>> listeners = new ConcurrentHashMap<>();
 
     /**
      * A map which contains all listeners which are assigned to a specific object instead of being global.
      * The key of the outer map is the class which the listener was registered to (e.g. Message.class).
-     * The key of the first inner map is the id of the object.
-     * The key of the second inner map is the class of the listener.
-     * The key of the third inner map is the listener itself.
-     * The final value is the listener manager.
+     * The key of the inner map is the id of the object.
+     * The value of the inner map is an unmodifiable map from the class of the listener to the snapshot of the
+     * listeners, which is replaced as a whole while holding the lock of the outer map, but is read without locking.
+     */
+    private final ConcurrentHashMap<Class<?>, ConcurrentLongHashMap<Map<Class<? extends ObjectAttachableListener>,
+            ListenerSnapshot<ObjectAttachableListener>>>> objectListeners = new ConcurrentHashMap<>();
+
+    /**
+     * A map which contains the amount of registered listeners, globally or to any object, by their listener class.
+     * It allows handlers to check cheaply whether an event has to be created and dispatched at all.
      */
-    private final Map<Class<?>, Map<Long, Map<Class<? extends ObjectAttachableListener>,
-            Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>>>>>
-            objectListeners = Collections.synchronizedMap(new ConcurrentHashMap<>());
+    private final ConcurrentHashMap<Class<?>, AtomicInteger> listenerCounts = new ConcurrentHashMap<>();
 
     /**
      * Creates a new discord api instance that can be used for auto-ratelimited REST calls,
@@ -371,8 +403,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             CompletableFuture<DiscordApi> ready
     ) {
         this(accountType, token, currentShard, totalShards, waitForServersOnStartup, globalRatelimiter,
-                proxySelector, proxy, proxyAuthenticator, trustAllCertificates, ready, null,
-                Collections.emptyMap(), Collections.emptyList());
+                proxySelector, proxy, proxyAuthenticator, trustAllCertificates, ready, null);
     }
 
     /**
@@ -407,93 +438,73 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             boolean trustAllCertificates,
             CompletableFuture<DiscordApi> ready,
             Dns dns) {
-        this(accountType, token, currentShard, totalShards, waitForServersOnStartup, globalRatelimiter,
-                proxySelector, proxy, proxyAuthenticator, trustAllCertificates, ready, dns, Collections.emptyMap(),
-                Collections.emptyList());
+        this(new DiscordApiSettings()
+                .setAccountType(accountType)
+                .setToken(token)
+                .setShard(currentShard, totalShards)
+                .setWaitForServersOnStartup(waitForServersOnStartup)
+                .setGlobalRatelimiter(globalRatelimiter)
+                .setProxySelector(proxySelector)
+                .setProxy(proxy)
+                .setProxyAuthenticator(proxyAuthenticator)
+                .setTrustAllCertificates(trustAllCertificates)
+                .setReady(ready)
+                .setDns(dns));
     }
 
     /**
      * Creates a new discord api instance.
-     * @param accountType             The account type of the instance.
-     * @param token                   The token used to connect without any account type specific prefix.
-     * @param currentShard            The current shard the bot should connect to.
-     * @param totalShards             The total amount of shards.
-     * @param waitForServersOnStartup Whether Javacord should wait for all servers
-     *                                to become available on startup or not.
-     * @param globalRatelimiter       The ratelimiter used for global ratelimits.
-     * @param proxySelector           The proxy selector which should be used to determine the proxies that should be
-     *                                used to connect to the Discord REST API and websocket.
-     * @param proxy                   The proxy which should be used to connect to the Discord REST API and websocket.
-     * @param proxyAuthenticator      The authenticator that should be used to authenticate against proxies that require
-     *                                it.
-     * @param trustAllCertificates    Whether to trust all SSL certificates.
-     * @param ready                   The future which will be completed when the connection to Discord was successful.
-     * @param dns                     The DNS instance to use in the OkHttp client. This should only be used in testing.
-     * @param listenerSourceMap       The functions to create listeners for pre-registration.
-     * @param unspecifiedListeners    The listeners of unspecified types to pre-register.
+     *
+     * @param settings The settings of the instance.
      */
     @SuppressWarnings("unchecked")
-    public DiscordApiImpl(
-            AccountType accountType,
-            String token,
-            int currentShard,
-            int totalShards,
-            boolean waitForServersOnStartup,
-            Ratelimiter globalRatelimiter,
-            ProxySelector proxySelector,
-            Proxy proxy,
-            Authenticator proxyAuthenticator,
-            boolean trustAllCertificates,
-            CompletableFuture<DiscordApi> ready,
-            Dns dns,
-            Map<Class<? extends GloballyAttachableListener>,
-                    List<Function<DiscordApi,GloballyAttachableListener>>
-                    > listenerSourceMap,
-            List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners) {
+    public DiscordApiImpl(DiscordApiSettings settings) {
+        AccountType accountType = settings.getAccountType();
+        ProxySelector proxySelector = settings.getProxySelector();
+        Proxy proxy = settings.getProxy();
+        Authenticator proxyAuthenticator = settings.getProxyAuthenticator();
+        boolean trustAllCertificates = settings.isTrustAllCertificates();
+        CompletableFuture<DiscordApi> ready = settings.getReady();
+        ThreadPoolImpl threadPool = settings.getThreadPool() == null ? new ThreadPoolImpl() : settings.getThreadPool();
+        ShardContext shardContext = settings.getShardContext();
+        Map<Class<? extends GloballyAttachableListener>, List<Function<DiscordApi, GloballyAttachableListener>>>
+                listenerSourceMap = settings.getListenerSourceMap();
+        List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners =
+                settings.getUnspecifiedListeners();
+
         this.accountType = accountType;
-        this.token = token;
-        this.currentShard = currentShard;
-        this.totalShards = totalShards;
-        this.waitForServersOnStartup = waitForServersOnStartup;
-        this.globalRatelimiter = globalRatelimiter;
+        this.token = settings.getToken();
+        this.currentShard = settings.getCurrentShard();
+        this.totalShards = settings.getTotalShards();
+        this.waitForServersOnStartup = settings.isWaitForServersOnStartup();
+        this.globalRatelimiter = settings.getGlobalRatelimiter();
         this.proxySelector = proxySelector;
         this.proxy = proxy;
         this.proxyAuthenticator = proxyAuthenticator;
         this.trustAllCertificates = trustAllCertificates;
+        this.originTrackingMode = settings.getOriginTrackingMode();
+        this.cachePolicy = settings.getCachePolicy();
+        this.threadPool = threadPool;
+        this.packetHandlerExecutor =
+                new PartitionedExecutor(threadPool, "Handlers Processor", Runtime.getRuntime().availableProcessors());
         this.reconnectDelayProvider = x ->
                 (int) Math.round(Math.pow(x, 1.5) - (1 / (1 / (0.1 * x) + 1)) * Math.pow(x, 1.5));
 
-        if ((proxySelector != null) && (proxy != null)) {
-            throw new IllegalStateException("proxy and proxySelector must not be configured both");
-        }
-
-        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
-                .addInterceptor(chain -> chain.proceed(chain.request()
-                        .newBuilder()
-                        .addHeader("User-Agent", Javacord.USER_AGENT)
-                        .build()))
-                .addInterceptor(
-                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
-                )
-                .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
-                .proxy(proxy);
-        if (proxySelector != null) {
-            httpClientBuilder.proxySelector(proxySelector);
-        }
-        if (dns != null) {
-            httpClientBuilder.dns(dns);
-        }
-        if (trustAllCertificates) {
-            logger.warn("All SSL certificates are trusted when connecting to the Discord API and websocket. "
-                    + "This increases the risk of man-in-the-middle attacks!");
-            TrustAllTrustManager trustManager = new TrustAllTrustManager();
-            httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
+        this.shardContext = shardContext;
+        this.sessionStore = settings.getSessionStore();
+        this.cacheSnapshotDirectory = settings.getCacheSnapshotDirectory();
+        if (shardContext == null) {
+            this.httpClient =
+                    createHttpClient(proxySelector, proxy, proxyAuthenticator, trustAllCertificates, settings.getDns());
+            this.objectMapper = new ObjectMapper();
+        } else {
+            this.httpClient = shardContext.getHttpClient();
+            this.objectMapper = shardContext.getObjectMapper();
         }
-        this.httpClient = httpClientBuilder.build();
         this.eventDispatcher = new EventDispatcher(this);
 
         if (ready != null) {
-            getThreadPool().getExecutorService().submit(() -> {
+            getThreadPool().getInternalExecutor().execute(() -> {
                 try {
                     this.websocketAdapter = new DiscordWebSocketAdapter(this);
                     this.websocketAdapter.isReady().whenComplete((readyReceived, throwable) -> {
@@ -538,38 +549,6 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 }
             });
 
-            // After minimum JDK 9 is required this can be switched to use a Cleaner
-            getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-                try {
-                    for (Reference<? extends User> userRef = usersCleanupQueue.poll();
-                            userRef != null;
-                            userRef = usersCleanupQueue.poll()) {
-                        Long userId = userIdByRef.remove(userRef);
-                        if (userId != null) {
-                            users.remove(userId, userRef);
-                        }
-                    }
-                } catch (Throwable t) {
-                    logger.error("Failed to process users cleanup queue!", t);
-                }
-            }, 30, 30, TimeUnit.SECONDS);
-
-            // After minimum JDK 9 is required this can be switched to use a Cleaner
-            getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-                try {
-                    for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
-                            messageRef != null;
-                            messageRef = messagesCleanupQueue.poll()) {
-                        Long messageId = messageIdByRef.remove(messageRef);
-                        if (messageId != null) {
-                            messages.remove(messageId, messageRef);
-                        }
-                    }
-                } catch (Throwable t) {
-                    logger.error("Failed to process messages cleanup queue!", t);
-                }
-            }, 30, 30, TimeUnit.SECONDS);
-
             // Add shutdown hook
             ready.thenAccept(api -> {
                 WeakReference<DiscordApi> discordApiReference = new WeakReference<>(api);
@@ -585,6 +564,54 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         }
     }
 
+    /**
+     * Creates an http client for the Discord REST API.
+     *
+     * @param proxySelector        The proxy selector which should be used to determine the proxies that should be
+     *                             used to connect to the Discord REST API and websocket.
+     * @param proxy                The proxy which should be used to connect to the Discord REST API and websocket.
+     * @param proxyAuthenticator   The authenticator that should be used to authenticate against proxies that require
+     *                             it.
+     * @param trustAllCertificates Whether to trust all SSL certificates.
+     * @param dns                  The DNS instance to use in the OkHttp client. This should only be used in testing.
+     * @return The new http client.
+     */
+    public static OkHttpClient createHttpClient(ProxySelector proxySelector, Proxy proxy,
+                                                Authenticator proxyAuthenticator, boolean trustAllCertificates,
+                                                Dns dns) {
+        if ((proxySelector != null) && (proxy != null)) {
+            throw new IllegalStateException("proxy and proxySelector must not be configured both");
+        }
+
+        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                .addInterceptor(chain -> chain.proceed(chain.request()
+                        .newBuilder()
+                        .addHeader("User-Agent", Javacord.USER_AGENT)
+                        .build()))
+                .addInterceptor(
+                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
+                )
+                .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
+                .proxy(proxy);
+        // All requests go to the same host, so only the ratelimits should limit the amount of concurrent requests
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequests());
+        httpClientBuilder.dispatcher(dispatcher);
+        if (proxySelector != null) {
+            httpClientBuilder.proxySelector(proxySelector);
+        }
+        if (dns != null) {
+            httpClientBuilder.dns(dns);
+        }
+        if (trustAllCertificates) {
+            logger.warn("All SSL certificates are trusted when connecting to the Discord API and websocket. "
+                    + "This increases the risk of man-in-the-middle attacks!");
+            TrustAllTrustManager trustManager = new TrustAllTrustManager();
+            httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
+        }
+        return httpClientBuilder.build();
+    }
+
     /**
      * Gets the used {@link OkHttpClient http client} for this api instance.
      *
@@ -597,6 +624,15 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return httpClient;
     }
 
+    /**
+     * Gets the executor which is used by asynchronous packet handlers.
+     *
+     * @return The executor which is used by asynchronous packet handlers.
+     */
+    public PartitionedExecutor getPacketHandlerExecutor() {
+        return packetHandlerExecutor;
+    }
+
     /**
      * Gets the event dispatcher which is used to dispatch events.
      *
@@ -629,28 +665,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * This method is only meant to be called after receiving a READY packet.
      */
     public void purgeCache() {
-        synchronized (users) {
-            users.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .map(Cleanupable.class::cast)
-                    .forEach(Cleanupable::cleanup);
-            users.clear();
-        }
-        userIdByRef.clear();
+        users.values().stream()
+                .map(Cleanupable.class::cast)
+                .forEach(Cleanupable::cleanup);
+        users.clear();
         servers.values().stream()
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
         servers.clear();
+        nonReadyServers.values().stream()
+                .map(Cleanupable.class::cast)
+                .forEach(Cleanupable::cleanup);
+        nonReadyServers.clear();
         channels.values().stream()
                 .filter(Cleanupable.class::isInstance)
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
         channels.clear();
         unavailableServers.clear();
+        serverIdsByMemberId.clear();
         customEmojis.clear();
         messages.clear();
-        messageIdByRef.clear();
         timeOffset = null;
     }
 
@@ -686,6 +721,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     public void addServerToCache(ServerImpl server) {
         // Remove in case, there's an old instance in cache
         removeServerFromCache(server.getId());
+        // The old instance removed the members it shares with the new instance from the index
+        server.getMembers().forEach(member -> addServerMember(server.getId(), member.getId()));
 
         nonReadyServers.put(server.getId(), server);
         server.addServerReadyConsumer(s -> {
@@ -701,33 +738,64 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param serverId The id of the server to remove.
      */
     public void removeServerFromCache(long serverId) {
-        servers.computeIfPresent(serverId, (key, server) -> {
+        servers.computeIfPresent(serverId, server -> {
             ((Cleanupable) server).cleanup();
             return null;
         });
-        nonReadyServers.computeIfPresent(serverId, (key, server) -> {
+        nonReadyServers.computeIfPresent(serverId, server -> {
             ((Cleanupable) server).cleanup();
             return null;
         });
     }
 
+    /**
+     * Adds a member of a server to the index of mutual servers.
+     *
+     * @param serverId The id of the server.
+     * @param userId The id of the member.
+     */
+    public void addServerMember(long serverId, long userId) {
+        serverIdsByMemberId.put(userId, serverId);
+    }
+
+    /**
+     * Removes a member of a server from the index of mutual servers.
+     *
+     * @param serverId The id of the server.
+     * @param userId The id of the member.
+     */
+    public void removeServerMember(long serverId, long userId) {
+        serverIdsByMemberId.remove(userId, serverId);
+    }
+
+    /**
+     * Gets all ready servers of which the user with the given id is a cached member.
+     *
+     * @param userId The id of the user.
+     * @return The mutual servers.
+     */
+    public Collection<Server> getMutualServers(long userId) {
+        long[] serverIds = serverIdsByMemberId.get(userId);
+        List<Server> mutualServers = new ArrayList<>(serverIds.length);
+        for (long serverId : serverIds) {
+            Server server = servers.get(serverId);
+            if (server != null) {
+                mutualServers.add(server);
+            }
+        }
+        return Collections.unmodifiableList(mutualServers);
+    }
+
     /**
      * Adds the given user to the cache.
      *
      * @param user The user to add.
      */
     public void addUserToCache(User user) {
-        users.compute(user.getId(), (key, value) -> {
-            Optional.ofNullable(value)
-                    .map(Reference::get)
-                    .filter(oldUser -> oldUser != user)
-                    .map(Cleanupable.class::cast)
-                    .ifPresent(Cleanupable::cleanup);
-
-            WeakReference<User> result = new WeakReference<>(user, usersCleanupQueue);
-            userIdByRef.put(result, key);
-            return result;
-        });
+        User oldUser = users.put(user.getId(), user);
+        if (oldUser != null && oldUser != user) {
+            ((Cleanupable) oldUser).cleanup();
+        }
     }
 
     /**
@@ -748,7 +816,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param channelId The id of the channel to remove.
      */
     public void removeChannelFromCache(long channelId) {
-        channels.computeIfPresent(channelId, (key, channel) -> {
+        channels.computeIfPresent(channelId, channel -> {
             if (channel instanceof Cleanupable) {
                 ((Cleanupable) channel).cleanup();
             }
@@ -810,14 +878,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public User getOrCreateUser(JsonNode data) {
         long id = Long.parseLong(data.get("id").asText());
-        synchronized (users) {
-            return getCachedUserById(id).orElseGet(() -> {
-                if (!data.has("username")) {
-                    throw new IllegalStateException("Couldn't get or created user. Please inform the developer!");
-                }
-                return new UserImpl(this, data);
-            });
+        return users.getOrCreate(id, key -> {
+            if (!data.has("username")) {
+                throw new IllegalStateException("Couldn't get or created user. Please inform the developer!");
+            }
+            return new UserImpl(this, data);
+        });
+    }
+
+    /**
+     * Gets the data of a user which is shared by the shards of the shard context or creates it.
+     * If the users are not shared, new data is created for this instance.
+     *
+     * @param id The id of the user.
+     * @param data The json data of the user.
+     * @return The data of the user.
+     */
+    public UserData getOrCreateUserData(long id, JsonNode data) {
+        if (shardContext == null) {
+            return new UserData(data);
         }
+        return shardContext.getOrCreateUserData(id, data);
     }
 
     /**
@@ -875,9 +956,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public Message getOrCreateMessage(TextChannel channel, JsonNode data) {
         long id = Long.parseLong(data.get("id").asText());
-        synchronized (messages) {
-            return getCachedMessageById(id).orElseGet(() -> new MessageImpl(this, channel, data));
-        }
+        return messages.getOrCreate(id, key -> new MessageImpl(this, channel, data));
     }
 
     /**
@@ -886,14 +965,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param message The message to add.
      */
     public void addMessageToCache(Message message) {
-        messages.compute(message.getId(), (key, value) -> {
-            if ((value == null) || (value.get() == null)) {
-                WeakReference<Message> result = new WeakReference<>(message, messagesCleanupQueue);
-                messageIdByRef.put(result, key);
-                return result;
-            }
-            return value;
-        });
+        messages.putIfAbsent(message.getId(), message);
     }
 
     /**
@@ -902,10 +974,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param messageId The id of the message to remove.
      */
     public void removeMessageFromCache(long messageId) {
-        WeakReference<Message> messageRef = messages.remove(messageId);
-        if (messageRef != null) {
-            messageIdByRef.remove(messageRef, messageId);
-        }
+        messages.remove(messageId);
     }
 
     /**
@@ -924,13 +993,26 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     @SuppressWarnings("unchecked")
     public <T extends ObjectAttachableListener> ListenerManager<T> addObjectListener(
             Class<?> objectClass, long objectId, Class<T> listenerClass, T listener) {
-        Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>> listeners =
-                objectListeners
-                        .computeIfAbsent(objectClass, key -> new ConcurrentHashMap<>())
-                        .computeIfAbsent(objectId, key -> new ConcurrentHashMap<>())
-                        .computeIfAbsent(listenerClass, c -> Collections.synchronizedMap(new LinkedHashMap<>()));
-        return (ListenerManager<T>) listeners.computeIfAbsent(
-                listener, key -> new ListenerManagerImpl<>(this, listener, listenerClass, objectClass, objectId));
+        synchronized (objectListeners) {
+            ConcurrentLongHashMap<Map<Class<? extends ObjectAttachableListener>,
+                    ListenerSnapshot<ObjectAttachableListener>>> objects =
+                    objectListeners.computeIfAbsent(objectClass, key -> new ConcurrentLongHashMap<>());
+            Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>>
+                    snapshots = objects.get(objectId);
+            ListenerSnapshot<ObjectAttachableListener> snapshot = snapshots == null
+                    ? ListenerSnapshot.empty()
+                    : snapshots.getOrDefault(listenerClass, ListenerSnapshot.empty());
+            ListenerManagerImpl<? extends ObjectAttachableListener> listenerManager = snapshot.getManager(listener);
+            if (listenerManager == null) {
+                listenerManager = new ListenerManagerImpl<>(this, listener, listenerClass, objectClass, objectId);
+                Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>>
+                        newSnapshots = snapshots == null ? new HashMap<>() : new HashMap<>(snapshots);
+                newSnapshots.put(listenerClass, snapshot.with(listenerManager));
+                objects.put(objectId, Collections.unmodifiableMap(newSnapshots));
+                updateListenerCount(listenerClass, 1);
+            }
+            return (ListenerManager<T>) listenerManager;
+        }
     }
 
     /**
@@ -944,43 +1026,44 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public <T extends ObjectAttachableListener> void removeObjectListener(
             Class<?> objectClass, long objectId, Class<T> listenerClass, T listener) {
+        if (objectClass == null) {
+            return;
+        }
+        ListenerManagerImpl<? extends ObjectAttachableListener> listenerManager;
         synchronized (objectListeners) {
-            if (objectClass == null) {
-                return;
-            }
-            Map<Long, Map<Class<? extends ObjectAttachableListener>, Map<ObjectAttachableListener,
-                    ListenerManagerImpl<? extends ObjectAttachableListener>>>> objectListener =
-                    objectListeners.get(objectClass);
-            if (objectListener == null) {
-                return;
-            }
-            Map<Class<? extends ObjectAttachableListener>, Map<ObjectAttachableListener,
-                    ListenerManagerImpl<? extends ObjectAttachableListener>>> listeners = objectListener.get(objectId);
-            if (listeners == null) {
-                return;
-            }
-            Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>> classListeners =
-                    listeners.get(listenerClass);
-            if (classListeners == null) {
+            ConcurrentLongHashMap<Map<Class<? extends ObjectAttachableListener>,
+                    ListenerSnapshot<ObjectAttachableListener>>> objects = objectListeners.get(objectClass);
+            if (objects == null) {
                 return;
             }
-            ListenerManagerImpl<? extends ObjectAttachableListener> listenerManager = classListeners.get(listener);
+            Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>>
+                    snapshots = objects.get(objectId);
+            ListenerSnapshot<ObjectAttachableListener> snapshot =
+                    snapshots == null ? null : snapshots.get(listenerClass);
+            listenerManager = snapshot == null ? null : snapshot.getManager(listener);
             if (listenerManager == null) {
                 return;
             }
-            classListeners.remove(listener);
-            listenerManager.removed();
             // Clean it up
-            if (classListeners.isEmpty()) {
-                listeners.remove(listenerClass);
-                if (listeners.isEmpty()) {
-                    objectListener.remove(objectId);
-                    if (objectListener.isEmpty()) {
-                        objectListeners.remove(objectClass);
-                    }
+            Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>>
+                    newSnapshots = new HashMap<>(snapshots);
+            ListenerSnapshot<ObjectAttachableListener> newSnapshot = snapshot.without(listener);
+            if (newSnapshot.isEmpty()) {
+                newSnapshots.remove(listenerClass);
+            } else {
+                newSnapshots.put(listenerClass, newSnapshot);
+            }
+            if (!newSnapshots.isEmpty()) {
+                objects.put(objectId, Collections.unmodifiableMap(newSnapshots));
+            } else {
+                objects.remove(objectId);
+                if (objects.isEmpty()) {
+                    objectListeners.remove(objectClass);
                 }
             }
+            updateListenerCount(listenerClass, -1);
         }
+        listenerManager.removed();
     }
 
     /**
@@ -993,25 +1076,28 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         if (objectClass == null) {
             return;
         }
+        Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>> snapshots;
         synchronized (objectListeners) {
-            Map<Long, Map<Class<? extends ObjectAttachableListener>,
-                    Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>>>>
-                    objects = objectListeners.get(objectClass);
+            ConcurrentLongHashMap<Map<Class<? extends ObjectAttachableListener>,
+                    ListenerSnapshot<ObjectAttachableListener>>> objects = objectListeners.get(objectClass);
             if (objects == null) {
                 return;
             }
-            // Remove all listeners
-            objects.computeIfPresent(objectId, (id, listeners) -> {
-                listeners.values().stream()
-                        .flatMap(map -> map.values().stream())
-                        .forEach(ListenerManagerImpl::removed);
-                listeners.clear();
-                return null;
-            });
+            snapshots = objects.remove(objectId);
             // Cleanup
             if (objects.isEmpty()) {
                 objectListeners.remove(objectClass);
             }
+            if (snapshots != null) {
+                snapshots.forEach((listenerClass, snapshot) ->
+                        updateListenerCount(listenerClass, -snapshot.getListeners().size()));
+            }
+        }
+        // Remove all listeners
+        if (snapshots != null) {
+            snapshots.values().stream()
+                    .flatMap(snapshot -> snapshot.getManagers().stream())
+                    .forEach(ListenerManagerImpl::removed);
         }
     }
 
@@ -1030,13 +1116,13 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Class<?> objectClass, long objectId) {
         return Collections.unmodifiableMap(Optional.ofNullable(objectClass)
                 .map(objectListeners::get)
-                .map(objectListener -> objectListener.get(objectId))
+                .map(objects -> objects.get(objectId))
                 .map(Map::entrySet)
                 .map(Set::stream)
                 .map(entryStream -> entryStream
                         .flatMap(entry -> entry
                                 .getValue()
-                                .keySet()
+                                .getListeners()
                                 .stream()
                                 .map(listener -> new SimpleEntry<>((T) listener, (Class<T>) entry.getKey()))))
                 .map(entryStream -> entryStream
@@ -1047,6 +1133,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     /**
      * Gets all object listeners of the given class.
+     * The returned list is a snapshot, getting it neither locks nor copies the listeners.
      *
      * @param objectClass The class of the object.
      * @param objectId The id of the object.
@@ -1057,13 +1144,18 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     @SuppressWarnings("unchecked")
     public <T extends ObjectAttachableListener> List<T> getObjectListeners(
             Class<?> objectClass, long objectId, Class<T> listenerClass) {
-        return Collections.unmodifiableList((List<T>) Optional.ofNullable(objectClass)
-                .map(objectListeners::get)
-                .map(objectListener -> objectListener.get(objectId))
-                .map(listeners -> listeners.get(listenerClass))
-                .map(Map::keySet)
-                .map(ArrayList::new)
-                .orElseGet(ArrayList::new));
+        if (objectClass == null) {
+            return Collections.emptyList();
+        }
+        ConcurrentLongHashMap<Map<Class<? extends ObjectAttachableListener>,
+                ListenerSnapshot<ObjectAttachableListener>>> objects = objectListeners.get(objectClass);
+        if (objects == null) {
+            return Collections.emptyList();
+        }
+        Map<Class<? extends ObjectAttachableListener>, ListenerSnapshot<ObjectAttachableListener>> snapshots =
+                objects.get(objectId);
+        ListenerSnapshot<ObjectAttachableListener> snapshot = snapshots == null ? null : snapshots.get(listenerClass);
+        return snapshot == null ? Collections.emptyList() : (List<T>) snapshot.getListeners();
     }
 
     @Override
@@ -1072,7 +1164,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return Collections.unmodifiableMap(listeners.entrySet().stream()
                 .flatMap(entry -> entry
                         .getValue()
-                        .keySet()
+                        .getListeners()
                         .stream()
                         .map(listener -> new SimpleEntry<>((T) listener, (Class<T>) entry.getKey())))
                 .collect(Collectors.groupingBy(Entry::getKey,
@@ -1082,11 +1174,31 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends GloballyAttachableListener> List<T> getListeners(Class<T> listenerClass) {
-        return Collections.unmodifiableList((List<T>) Optional.ofNullable(listenerClass)
-                .map(listeners::get)
-                .map(Map::keySet)
-                .map(ArrayList::new)
-                .orElseGet(ArrayList::new));
+        ListenerSnapshot<GloballyAttachableListener> snapshot =
+                listenerClass == null ? null : listeners.get(listenerClass);
+        return snapshot == null ? Collections.emptyList() : (List<T>) snapshot.getListeners();
+    }
+
+    /**
+     * Checks if any listener of the given class is registered, globally or to any object.
+     * This check neither locks nor allocates, so handlers can use it to skip events nobody listens to.
+     *
+     * @param listenerClass The listener class.
+     * @return Whether any listener of the given class is registered or not.
+     */
+    public boolean hasListeners(Class<?> listenerClass) {
+        AtomicInteger count = listenerCounts.get(listenerClass);
+        return count != null && count.get() > 0;
+    }
+
+    /**
+     * Updates the amount of registered listeners of the given class.
+     *
+     * @param listenerClass The listener class.
+     * @param delta The amount of added listeners, negative for removed listeners.
+     */
+    private void updateListenerCount(Class<?> listenerClass, int delta) {
+        listenerCounts.computeIfAbsent(listenerClass, key -> new AtomicInteger()).addAndGet(delta);
     }
 
     @Override
@@ -1100,7 +1212,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     }
 
     @Override
-    public ThreadPool getThreadPool() {
+    public ThreadPoolImpl getThreadPool() {
         return threadPool;
     }
 
@@ -1133,6 +1245,24 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return Optional.ofNullable(globalRatelimiter);
     }
 
+    /**
+     * Gets the store for the gateway session.
+     *
+     * @return The store for the gateway session.
+     */
+    public Optional<SessionStore> getSessionStore() {
+        return Optional.ofNullable(sessionStore);
+    }
+
+    /**
+     * Gets the directory for snapshots of the cache.
+     *
+     * @return The directory for snapshots of the cache.
+     */
+    public Optional<Path> getCacheSnapshotDirectory() {
+        return Optional.ofNullable(cacheSnapshotDirectory);
+    }
+
     @Override
     public void setMessageCacheSize(int capacity, int storageTimeInSeconds) {
         this.defaultMessageCacheCapacity = capacity;
@@ -1171,6 +1301,35 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return defaultAutomaticMessageCacheCleanupEnabled;
     }
 
+    @Override
+    public void setMessageCacheBudget(MessageCacheBudget budget) {
+        Objects.requireNonNull(budget, "budget cannot be null");
+        GlobalMessageCache newGlobalMessageCache = budget.isUnlimited() ? null : new GlobalMessageCache(budget);
+        globalMessageCache = newGlobalMessageCache;
+        if (newGlobalMessageCache != null) {
+            getChannels().stream()
+                    .filter(TextChannel.class::isInstance)
+                    .map(TextChannel.class::cast)
+                    .forEach(channel -> ((MessageCacheImpl) channel.getMessageCache())
+                            .addToGlobalCache(newGlobalMessageCache));
+        }
+    }
+
+    @Override
+    public MessageCacheBudget getMessageCacheBudget() {
+        GlobalMessageCache globalMessageCache = this.globalMessageCache;
+        return globalMessageCache == null ? MessageCacheBudget.unlimited() : globalMessageCache.getBudget();
+    }
+
+    /**
+     * Gets the global message cache which keeps the messages of all channels within the budget.
+     *
+     * @return The global message cache or an empty optional if the budget is unlimited.
+     */
+    public Optional<GlobalMessageCache> getGlobalMessageCache() {
+        return Optional.ofNullable(globalMessageCache);
+    }
+
     @Override
     public int getCurrentShard() {
         return currentShard;
@@ -1224,6 +1383,24 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return trustAllCertificates;
     }
 
+    /**
+     * Gets how the origin of REST requests is tracked.
+     *
+     * @return How the origin of REST requests is tracked.
+     */
+    public OriginTrackingMode getOriginTrackingMode() {
+        return originTrackingMode;
+    }
+
+    /**
+     * Gets which entities are cached.
+     *
+     * @return Which entities are cached.
+     */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
     @Override
     public void updateStatus(UserStatus status) {
         if (status == null) {
@@ -1320,8 +1497,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                     threadPool.getDaemonScheduler().schedule(threadPool::shutdown, 1, TimeUnit.MINUTES);
                 }
                 disconnectCalled = true;
-                httpClient.dispatcher().executorService().shutdown();
-                httpClient.connectionPool().evictAll();
+                // The http client of a shard context is closed once the thread pools of all its shards are shut down
+                if (shardContext == null) {
+                    httpClient.dispatcher().executorService().shutdown();
+                    httpClient.connectionPool().evictAll();
+                }
             }
         }
     }
@@ -1339,6 +1519,26 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return reconnectDelayProvider.apply(attempt);
     }
 
+    @Override
+    public void setListenerBatchSize(int maxTasks) {
+        eventDispatcher.setBatchSize(maxTasks);
+    }
+
+    @Override
+    public int getListenerBatchSize() {
+        return eventDispatcher.getBatchSize();
+    }
+
+    @Override
+    public void setListenerBatchQuantum(Duration quantum) {
+        eventDispatcher.setBatchQuantum(quantum);
+    }
+
+    @Override
+    public Duration getListenerBatchQuantum() {
+        return eventDispatcher.getBatchQuantum();
+    }
+
     @Override
     public CompletableFuture<ApplicationInfo> getApplicationInfo() {
         return new RestRequest<ApplicationInfo>(this, RestMethod.GET, RestEndpoint.SELF_INFO)
@@ -1375,17 +1575,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Collection<User> getCachedUsers() {
-        synchronized (users) {
-            return Collections.unmodifiableCollection(users.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList()));
-        }
+        return Collections.unmodifiableCollection(users.values());
     }
 
     @Override
     public Optional<User> getCachedUserById(long id) {
-        return Optional.ofNullable(users.get(id)).map(Reference::get);
+        return Optional.ofNullable(users.get(id));
     }
 
     @Override
@@ -1399,12 +1594,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public MessageSet getCachedMessages() {
-        synchronized (messages) {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList()));
-        }
+        return new MessageSetImpl(messages.values());
     }
 
     /**
@@ -1414,13 +1604,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @return A set of cached messages satisfying the condition.
      */
     public MessageSet getCachedMessagesWhere(Predicate<Message> filter) {
-        synchronized (messages) {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .collect(Collectors.toList()));
-        }
+        return new MessageSetImpl(messages.values().stream()
+                .filter(filter)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -1430,18 +1616,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param action The action to be applied to the messages.
      */
     public void forEachCachedMessageWhere(Predicate<Message> filter, Consumer<Message> action) {
-        synchronized (messages) {
-            messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .forEach(action);
-        }
+        messages.values().stream()
+                .filter(filter)
+                .forEach(action);
     }
 
     @Override
     public Optional<Message> getCachedMessageById(long id) {
-        return Optional.ofNullable(messages.get(id)).map(Reference::get);
+        return Optional.ofNullable(messages.get(id));
     }
 
     @Override
@@ -1489,30 +1671,38 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends GloballyAttachableListener> ListenerManager<T> addListener(Class<T> listenerClass, T listener) {
-        return (ListenerManager<T>) listeners
-                .computeIfAbsent(listenerClass, key -> Collections.synchronizedMap(new LinkedHashMap<>()))
-                .computeIfAbsent(listener, key -> new ListenerManagerImpl<>(this, listener, listenerClass));
+        synchronized (listeners) {
+            ListenerSnapshot<GloballyAttachableListener> snapshot =
+                    listeners.getOrDefault(listenerClass, ListenerSnapshot.empty());
+            ListenerManagerImpl<? extends GloballyAttachableListener> listenerManager = snapshot.getManager(listener);
+            if (listenerManager == null) {
+                listenerManager = new ListenerManagerImpl<>(this, listener, listenerClass);
+                listeners.put(listenerClass, snapshot.with(listenerManager));
+                updateListenerCount(listenerClass, 1);
+            }
+            return (ListenerManager<T>) listenerManager;
+        }
     }
 
     @Override
     public <T extends GloballyAttachableListener> void removeListener(Class<T> listenerClass, T listener) {
+        ListenerManagerImpl<? extends GloballyAttachableListener> listenerManager;
         synchronized (listeners) {
-            Map<GloballyAttachableListener, ListenerManagerImpl<? extends GloballyAttachableListener>> classListeners =
-                    listeners.get(listenerClass);
-            if (classListeners == null) {
-                return;
-            }
-            ListenerManagerImpl<? extends GloballyAttachableListener> listenerManager = classListeners.get(listener);
+            ListenerSnapshot<GloballyAttachableListener> snapshot = listeners.get(listenerClass);
+            listenerManager = snapshot == null ? null : snapshot.getManager(listener);
             if (listenerManager == null) {
                 return;
             }
-            classListeners.remove(listener);
-            listenerManager.removed();
             // Clean it up
-            if (classListeners.isEmpty()) {
+            ListenerSnapshot<GloballyAttachableListener> newSnapshot = snapshot.without(listener);
+            if (newSnapshot.isEmpty()) {
                 listeners.remove(listenerClass);
+            } else {
+                listeners.put(listenerClass, newSnapshot);
             }
+            updateListenerCount(listenerClass, -1);
         }
+        listenerManager.removed();
     }
 
     @Override
@@ -0,0 +1,351 @@
+package org.javacord.core;
+
+import okhttp3.Dns;
+import org.javacord.api.AccountType;
+import org.javacord.api.DiscordApi;
+import org.javacord.api.listener.GloballyAttachableListener;
+import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CachePolicy;
+import org.javacord.api.util.gateway.SessionStore;
+import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.OriginTrackingMode;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * The settings of a new {@link DiscordApiImpl} instance.
+ * All settings have defaults, so only the settings that differ from them have to be set.
+ * A settings instance is only meant to create a single api instance.
+ */
+public class DiscordApiSettings {
+
+    private AccountType accountType = AccountType.BOT;
+    private String token;
+    private int currentShard = 0;
+    private int totalShards = 1;
+    private boolean waitForServersOnStartup = false;
+    private Ratelimiter globalRatelimiter;
+    private ProxySelector proxySelector;
+    private Proxy proxy;
+    private Authenticator proxyAuthenticator;
+    private boolean trustAllCertificates = false;
+    private CompletableFuture<DiscordApi> ready;
+    private Dns dns;
+    private Map<Class<? extends GloballyAttachableListener>, List<Function<DiscordApi, GloballyAttachableListener>>>
+            listenerSourceMap = Collections.emptyMap();
+    private List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners = Collections.emptyList();
+    private OriginTrackingMode originTrackingMode = OriginTrackingMode.FULL;
+    private CachePolicy cachePolicy = CachePolicy.all();
+    private ThreadPoolImpl threadPool;
+    private ShardContext shardContext;
+    private SessionStore sessionStore;
+    private Path cacheSnapshotDirectory;
+
+    /**
+     * Sets the account type of the instance.
+     * The default is {@link AccountType#BOT}.
+     *
+     * @param accountType The account type of the instance.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setAccountType(AccountType accountType) {
+        this.accountType = Objects.requireNonNull(accountType, "accountType cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the token used to connect without any account type specific prefix.
+     *
+     * @param token The token.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setToken(String token) {
+        this.token = token;
+        return this;
+    }
+
+    /**
+     * Sets the current shard the bot should connect to and the total amount of shards.
+     * The default is shard {@code 0} of {@code 1}.
+     *
+     * @param currentShard The current shard.
+     * @param totalShards The total amount of shards.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setShard(int currentShard, int totalShards) {
+        this.currentShard = currentShard;
+        this.totalShards = totalShards;
+        return this;
+    }
+
+    /**
+     * Sets whether Javacord should wait for all servers to become available on startup or not.
+     * The default is {@code false}.
+     *
+     * @param waitForServersOnStartup Whether to wait for all servers on startup.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setWaitForServersOnStartup(boolean waitForServersOnStartup) {
+        this.waitForServersOnStartup = waitForServersOnStartup;
+        return this;
+    }
+
+    /**
+     * Sets the ratelimiter used for global ratelimits.
+     *
+     * @param globalRatelimiter The ratelimiter, or {@code null} if there is none.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setGlobalRatelimiter(Ratelimiter globalRatelimiter) {
+        this.globalRatelimiter = globalRatelimiter;
+        return this;
+    }
+
+    /**
+     * Sets the proxy selector which should be used to determine the proxies that should be used to connect to the
+     * Discord REST API and websocket.
+     *
+     * @param proxySelector The proxy selector.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setProxySelector(ProxySelector proxySelector) {
+        this.proxySelector = proxySelector;
+        return this;
+    }
+
+    /**
+     * Sets the proxy which should be used to connect to the Discord REST API and websocket.
+     *
+     * @param proxy The proxy.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setProxy(Proxy proxy) {
+        this.proxy = proxy;
+        return this;
+    }
+
+    /**
+     * Sets the authenticator that should be used to authenticate against proxies that require it.
+     *
+     * @param proxyAuthenticator The proxy authenticator.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setProxyAuthenticator(Authenticator proxyAuthenticator) {
+        this.proxyAuthenticator = proxyAuthenticator;
+        return this;
+    }
+
+    /**
+     * Sets whether to trust all SSL certificates.
+     * The default is {@code false}.
+     *
+     * @param trustAllCertificates Whether to trust all SSL certificates.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setTrustAllCertificates(boolean trustAllCertificates) {
+        this.trustAllCertificates = trustAllCertificates;
+        return this;
+    }
+
+    /**
+     * Sets the future which will be completed when the connection to Discord was successful.
+     * If it is not set, the instance does not connect to the Discord WebSocket.
+     *
+     * @param ready The future.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setReady(CompletableFuture<DiscordApi> ready) {
+        this.ready = ready;
+        return this;
+    }
+
+    /**
+     * Sets the DNS instance to use in the OkHttp client. This should only be used in testing.
+     *
+     * @param dns The DNS instance.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setDns(Dns dns) {
+        this.dns = dns;
+        return this;
+    }
+
+    /**
+     * Sets the listeners which are registered once the instance is ready.
+     *
+     * @param listenerSourceMap The functions to create listeners for pre-registration.
+     * @param unspecifiedListeners The listeners of unspecified types to pre-register.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setListeners(
+            Map<Class<? extends GloballyAttachableListener>,
+                    List<Function<DiscordApi, GloballyAttachableListener>>> listenerSourceMap,
+            List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners) {
+        this.listenerSourceMap = Objects.requireNonNull(listenerSourceMap, "listenerSourceMap cannot be null");
+        this.unspecifiedListeners = Objects.requireNonNull(unspecifiedListeners, "unspecifiedListeners cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets how the origin of REST requests is tracked.
+     * The default is {@link OriginTrackingMode#FULL}.
+     *
+     * @param originTrackingMode The origin tracking mode.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setOriginTrackingMode(OriginTrackingMode originTrackingMode) {
+        this.originTrackingMode = Objects.requireNonNull(originTrackingMode, "originTrackingMode cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets which entities are cached.
+     * The default is {@link CachePolicy#all()}.
+     *
+     * @param cachePolicy The cache policy.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setCachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = Objects.requireNonNull(cachePolicy, "cachePolicy cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the thread pool which is used internally, it is shut down after disconnecting.
+     * If it is not set, a new thread pool with the default configuration is created.
+     *
+     * @param threadPool The thread pool.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setThreadPool(ThreadPoolImpl threadPool) {
+        this.threadPool = threadPool;
+        return this;
+    }
+
+    /**
+     * Sets the shard context whose http client and object mapper should be used.
+     * If it is not set, they are created for the instance.
+     *
+     * @param shardContext The shard context.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setShardContext(ShardContext shardContext) {
+        this.shardContext = shardContext;
+        return this;
+    }
+
+    /**
+     * Sets the store for the gateway session.
+     * If it is not set, the session is not stored.
+     *
+     * @param sessionStore The session store.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+        return this;
+    }
+
+    /**
+     * Sets the directory for snapshots of the cache.
+     * If it is not set, no snapshots are written.
+     *
+     * @param cacheSnapshotDirectory The directory.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiSettings setCacheSnapshotDirectory(Path cacheSnapshotDirectory) {
+        this.cacheSnapshotDirectory = cacheSnapshotDirectory;
+        return this;
+    }
+
+    AccountType getAccountType() {
+        return accountType;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    int getCurrentShard() {
+        return currentShard;
+    }
+
+    int getTotalShards() {
+        return totalShards;
+    }
+
+    boolean isWaitForServersOnStartup() {
+        return waitForServersOnStartup;
+    }
+
+    Ratelimiter getGlobalRatelimiter() {
+        return globalRatelimiter;
+    }
+
+    ProxySelector getProxySelector() {
+        return proxySelector;
+    }
+
+    Proxy getProxy() {
+        return proxy;
+    }
+
+    Authenticator getProxyAuthenticator() {
+        return proxyAuthenticator;
+    }
+
+    boolean isTrustAllCertificates() {
+        return trustAllCertificates;
+    }
+
+    CompletableFuture<DiscordApi> getReady() {
+        return ready;
+    }
+
+    Dns getDns() {
+        return dns;
+    }
+
+    Map<Class<? extends GloballyAttachableListener>, List<Function<DiscordApi, GloballyAttachableListener>>>
+            getListenerSourceMap() {
+        return listenerSourceMap;
+    }
+
+    List<Function<DiscordApi, GloballyAttachableListener>> getUnspecifiedListeners() {
+        return unspecifiedListeners;
+    }
+
+    OriginTrackingMode getOriginTrackingMode() {
+        return originTrackingMode;
+    }
+
+    CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    ThreadPoolImpl getThreadPool() {
+        return threadPool;
+    }
+
+    ShardContext getShardContext() {
+        return shardContext;
+    }
+
+    SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    Path getCacheSnapshotDirectory() {
+        return cacheSnapshotDirectory;
+    }
+
+}
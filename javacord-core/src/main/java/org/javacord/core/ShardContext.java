@@ -0,0 +1,185 @@
+package org.javacord.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.core.entity.user.UserData;
+import org.javacord.core.util.cache.WeakEntityRegistry;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The infrastructure which is shared by the shards in the same JVM.
+ *
+ * <p>The shards of a shard context use the same http client with its connection pool and dispatcher, the same
+ * executor services and schedulers and the same object mapper. Their caches, event dispatchers, websockets and other
+ * state stay separate. Optionally, the shards also share the data of the users they cache, so that every user exists
+ * once, no matter how many shards cache it. The shard context is closed together with its shared thread pool, i.e.
+ * once the thread pools of all shards are shut down.
+ */
+public class ShardContext {
+
+    /**
+     * The thread pool whose executor services and schedulers are shared.
+     */
+    private final ThreadPoolImpl threadPool;
+
+    /**
+     * The proxy selector of the http client.
+     */
+    private final ProxySelector proxySelector;
+
+    /**
+     * The proxy of the http client.
+     */
+    private final Proxy proxy;
+
+    /**
+     * The proxy authenticator of the http client.
+     */
+    private final Authenticator proxyAuthenticator;
+
+    /**
+     * Whether the http client trusts all SSL certificates.
+     */
+    private final boolean trustAllCertificates;
+
+    /**
+     * The shared http client.
+     */
+    private final OkHttpClient httpClient;
+
+    /**
+     * The shared object mapper.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The data of the users which is shared by the shards, or {@code null} if every shard has its own.
+     * The data of a user is kept as long as any shard caches the user.
+     */
+    private final WeakEntityRegistry<UserData> users;
+
+    /**
+     * Creates a new shard context.
+     *
+     * @param threadPool The thread pool whose executor services and schedulers are shared. The shard context is
+     *                   closed once it is shut down.
+     * @param proxySelector The proxy selector which should be used to determine the proxies that should be used to
+     *                      connect to the Discord REST API.
+     * @param proxy The proxy which should be used to connect to the Discord REST API.
+     * @param proxyAuthenticator The authenticator that should be used to authenticate against proxies that require it.
+     * @param trustAllCertificates Whether to trust all SSL certificates.
+     * @param sharedUsers Whether the shards share the data of their users.
+     */
+    public ShardContext(ThreadPoolImpl threadPool, ProxySelector proxySelector, Proxy proxy,
+                        Authenticator proxyAuthenticator, boolean trustAllCertificates, boolean sharedUsers) {
+        this.threadPool = threadPool;
+        this.proxySelector = proxySelector;
+        this.proxy = proxy;
+        this.proxyAuthenticator = proxyAuthenticator;
+        this.trustAllCertificates = trustAllCertificates;
+        httpClient = DiscordApiImpl.createHttpClient(
+                proxySelector, proxy, proxyAuthenticator, trustAllCertificates, null);
+        users = sharedUsers ? new WeakEntityRegistry<>() : null;
+        threadPool.addShutdownListener(this::close);
+    }
+
+    /**
+     * Joins this shard context with a new shard.
+     * The shard leaves the shard context again once its thread pool is shut down, usually by disconnecting.
+     *
+     * @return The thread pool of the new shard or an empty optional if this shard context is closed already.
+     */
+    public Optional<ThreadPoolImpl> join() {
+        return threadPool.share();
+    }
+
+    /**
+     * Closes this shard context after the thread pools of all shards were shut down.
+     */
+    private void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Checks whether this shard context is closed.
+     *
+     * @return Whether this shard context is closed.
+     */
+    public boolean isClosed() {
+        return threadPool.isShutdown();
+    }
+
+    /**
+     * Checks whether this shard context was created with the given settings.
+     *
+     * @param threadPoolConfiguration The configuration of the central executor service.
+     * @param proxySelector The proxy selector of the http client.
+     * @param proxy The proxy of the http client.
+     * @param proxyAuthenticator The proxy authenticator of the http client.
+     * @param trustAllCertificates Whether the http client trusts all SSL certificates.
+     * @param sharedUsers Whether the shards share the data of their users.
+     * @return Whether this shard context was created with the given settings.
+     */
+    public boolean hasSettings(ThreadPoolConfiguration threadPoolConfiguration, ProxySelector proxySelector,
+                               Proxy proxy, Authenticator proxyAuthenticator, boolean trustAllCertificates,
+                               boolean sharedUsers) {
+        return threadPool.getConfiguration().equals(threadPoolConfiguration)
+                && this.proxySelector == proxySelector
+                && Objects.equals(this.proxy, proxy)
+                && this.proxyAuthenticator == proxyAuthenticator
+                && this.trustAllCertificates == trustAllCertificates
+                && isSharingUsers() == sharedUsers;
+    }
+
+    /**
+     * Checks whether the shards share the data of their users.
+     *
+     * @return Whether the shards share the data of their users.
+     */
+    public boolean isSharingUsers() {
+        return users != null;
+    }
+
+    /**
+     * Gets the data of a user which is shared by the shards or creates it.
+     * If the shards do not share the data of their users, new data is created every time.
+     *
+     * @param id The id of the user.
+     * @param data The json data of the user.
+     * @return The data of the user.
+     */
+    public UserData getOrCreateUserData(long id, JsonNode data) {
+        if (users == null) {
+            return new UserData(data);
+        }
+        return users.getOrCreate(id, key -> new UserData(data));
+    }
+
+    /**
+     * Gets the shared http client.
+     *
+     * @return The shared http client.
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Gets the shared object mapper.
+     *
+     * @return The shared object mapper.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+}
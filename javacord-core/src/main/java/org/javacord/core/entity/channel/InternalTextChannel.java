@@ -12,6 +12,7 @@ import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.message.MessageSetImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.listener.channel.InternalTextChannelAttachableListenerManager;
+import org.javacord.core.util.cache.MessageCacheImpl;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
@@ -52,7 +53,7 @@ public interface InternalTextChannel extends TextChannel, InternalTextChannelAtt
 
     @Override
     default CompletableFuture<Message> getMessageById(long id) {
-        return getApi().getCachedMessageById(id)
+        return ((MessageCacheImpl) getMessageCache()).getMessageById(id)
                 .map(CompletableFuture::completedFuture)
                 .orElseGet(() -> new RestRequest<Message>(getApi(), RestMethod.GET, RestEndpoint.MESSAGE)
                 .setUrlParameters(getIdAsString(), Long.toUnsignedString(id))
@@ -5,15 +5,14 @@ import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.Permissionable;
 import org.javacord.api.entity.channel.ServerChannel;
-import org.javacord.api.entity.permission.PermissionState;
 import org.javacord.api.entity.permission.PermissionType;
 import org.javacord.api.entity.permission.Permissions;
-import org.javacord.api.entity.permission.PermissionsBuilder;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.server.invite.RichInvite;
 import org.javacord.api.entity.user.User;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.permission.PermissionCalculator;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
@@ -222,47 +221,53 @@ public abstract class ServerChannelImpl implements ServerChannel, InternalServer
 
     @Override
     public Permissions getEffectiveOverwrittenPermissions(User user) {
-        PermissionsBuilder builder = new PermissionsBuilder(PermissionsImpl.EMPTY_PERMISSIONS);
-        Server server = getServer();
-        Role everyoneRole = server.getEveryoneRole();
-        Permissions everyoneRolePermissionOverwrites = getOverwrittenPermissions(everyoneRole);
-        for (PermissionType type : PermissionType.values()) {
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
-            }
-        }
-        List<Role> rolesOfUser = new ArrayList<>(server.getRoles(user));
-        rolesOfUser.remove(everyoneRole);
-        List<Permissions> permissionOverwrites = rolesOfUser.stream()
-                .map(this::getOverwrittenPermissions)
-                .collect(Collectors.toList());
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.DENIED) {
-                    builder.setState(type, PermissionState.DENIED);
-                }
-            }
-        }
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.ALLOWED) {
-                    builder.setState(type, PermissionState.ALLOWED);
-                }
+        List<Permissions> roleOverwrites = new ArrayList<>();
+        overwrittenRolePermissions.forEach((roleId, permissions) -> {
+            if (roleId != server.getId() && server.hasRole(user, roleId)) {
+                roleOverwrites.add(permissions);
             }
+        });
+        return PermissionCalculator.getEffectiveOverwrites(
+                overwrittenRolePermissions.getOrDefault(server.getId(), PermissionsImpl.EMPTY_PERMISSIONS),
+                roleOverwrites,
+                overwrittenUserPermissions.getOrDefault(user.getId(), PermissionsImpl.EMPTY_PERMISSIONS));
+    }
+
+    /**
+     * Gets the bitmask of the permission types the user is effectively allowed in this channel.
+     *
+     * @param user The user.
+     * @return The bitmask of the effectively allowed permission types.
+     */
+    public int getEffectiveAllowedBitmask(User user) {
+        if (server.isOwner(user)) {
+            return PermissionCalculator.ALL_PERMISSIONS;
         }
-        for (PermissionType type : PermissionType.values()) {
-            Permissions permissions = getOverwrittenPermissions(user);
-            if (permissions.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (permissions.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
-            }
+        return server.getPermissionCache().get(user.getId(), id, () -> PermissionCalculator.getEffectiveAllowed(
+                server.getAllowedBitmask(user), getEffectiveOverwrittenPermissions(user)));
+    }
+
+    @Override
+    public Permissions getEffectivePermissions(User user) {
+        if (server.isOwner(user)) {
+            return server.getPermissions(user);
         }
-        return builder.build();
+        return new PermissionsImpl(getEffectiveAllowedBitmask(user));
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionCalculator.hasAll(getEffectiveAllowedBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionCalculator.hasAny(getEffectiveAllowedBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return (getEffectiveAllowedBitmask(user) & permission.getValue()) != 0;
     }
 
     @Override
@@ -282,7 +282,7 @@ public class MessageBuilderDelegateImpl implements MessageBuilderDelegate {
         if (!attachments.isEmpty() || (embed != null && embed.requiresAttachments())) {
             CompletableFuture<Message> future = new CompletableFuture<>();
             // We access files etc. so this should be async
-            channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+            ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
                 try {
                     MultipartBody.Builder multipartBodyBuilder = new MultipartBody.Builder()
                             .setType(MultipartBody.FORM)
@@ -91,7 +91,7 @@ public class MessageSetImpl implements MessageSet {
      */
     private static CompletableFuture<MessageSet> getMessages(TextChannel channel, int limit, long before, long after) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 // get the initial batch with the first <= 100 messages
                 int initialBatchSize = ((limit % 100) == 0) ? 100 : limit % 100;
@@ -174,7 +174,7 @@ public class MessageSetImpl implements MessageSet {
     private static CompletableFuture<MessageSet> getMessagesUntil(
             TextChannel channel, Predicate<Message> condition, long before, long after) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -217,7 +217,7 @@ public class MessageSetImpl implements MessageSet {
     private static CompletableFuture<MessageSet> getMessagesWhile(
             TextChannel channel, Predicate<Message> condition, long before, long after) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -439,7 +439,7 @@ public class MessageSetImpl implements MessageSet {
      */
     public static CompletableFuture<MessageSet> getMessagesAround(TextChannel channel, int limit, long around) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 // calculate the half limit.
                 int halfLimit = limit / 2;
@@ -494,7 +494,7 @@ public class MessageSetImpl implements MessageSet {
     public static CompletableFuture<MessageSet> getMessagesAroundUntil(
             TextChannel channel, Predicate<Message> condition, long around) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -528,7 +528,7 @@ public class MessageSetImpl implements MessageSet {
     public static CompletableFuture<MessageSet> getMessagesAroundWhile(
             TextChannel channel, Predicate<Message> condition, long around) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -650,7 +650,7 @@ public class MessageSetImpl implements MessageSet {
      */
     public static CompletableFuture<MessageSet> getMessagesBetween(TextChannel channel, long from, long to) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 future.complete(new MessageSetImpl(getMessagesBetweenAsStream(channel, from, to)
                                                            .collect(Collectors.toList())));
@@ -676,7 +676,7 @@ public class MessageSetImpl implements MessageSet {
     public static CompletableFuture<MessageSet> getMessagesBetweenUntil(
             TextChannel channel, Predicate<Message> condition, long from, long to) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -707,7 +707,7 @@ public class MessageSetImpl implements MessageSet {
     public static CompletableFuture<MessageSet> getMessagesBetweenWhile(
             TextChannel channel, Predicate<Message> condition, long from, long to) {
         CompletableFuture<MessageSet> future = new CompletableFuture<>();
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
+        ((DiscordApiImpl) channel.getApi()).getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 List<Message> messages = new ArrayList<>();
                 Optional<Message> untilMessage =
@@ -343,7 +343,7 @@ public class UncachedMessageUtilImpl implements UncachedMessageUtil, InternalUnc
     @Override
     public CompletableFuture<List<User>> getUsersWhoReactedWithEmoji(long channelId, long messageId, Emoji emoji) {
         CompletableFuture<List<User>> future = new CompletableFuture<>();
-        api.getThreadPool().getExecutorService().submit(() -> {
+        api.getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 final String value = emoji.asUnicodeEmoji().orElseGet(() -> emoji.asCustomEmoji()
                         .map(e -> e.getName() + ":" + e.getIdAsString()).orElse("UNKNOWN"));
@@ -0,0 +1,138 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.core.util.ConcurrentLongHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntSupplier;
+
+/**
+ * Memoizes the allowed permission bitmasks of the members of a server, both for the server itself and per channel.
+ *
+ * <p>Every change of roles or permission overwrites must {@link #invalidate() invalidate} the cache. A change of a
+ * member, e.g. of its roles, only affects the permissions of that member and must {@link #invalidate(long) invalidate}
+ * only its bitmasks. A bitmask that was calculated while the cache got invalidated is not used, because it may be
+ * based on outdated data.
+ */
+public class PermissionCache {
+
+    /**
+     * The scope id of the bitmasks for the server itself.
+     */
+    public static final long SERVER_SCOPE = 0;
+
+    /**
+     * The amount of bitmasks after which the cache is cleared, to not keep one for every member and channel.
+     */
+    private static final int MAX_ENTRIES = 10_000;
+
+    /**
+     * The binary logarithm of the amount of user versions.
+     */
+    private static final int USER_VERSION_BITS = 8;
+
+    /**
+     * The memoized bitmasks.
+     * The key combines the user id and the scope id, collisions are detected with the ids in the entry.
+     */
+    private final ConcurrentLongHashMap<Entry> entries = new ConcurrentLongHashMap<>();
+
+    /**
+     * The version of the cache, incremented on every invalidation.
+     */
+    private final AtomicInteger version = new AtomicInteger();
+
+    /**
+     * The versions of the users, spread over a fixed amount of slots by the hash of the user id.
+     * The version of a slot is incremented whenever a user of it is invalidated, which also invalidates the bitmasks
+     * of the other users of the slot, but keeps the amount of versions bounded.
+     */
+    private final AtomicIntegerArray userVersions = new AtomicIntegerArray(1 << USER_VERSION_BITS);
+
+    /**
+     * Gets the memoized bitmask for the given user and scope or calculates it.
+     *
+     * @param userId The id of the user.
+     * @param scopeId The id of the channel or {@link #SERVER_SCOPE} for the server.
+     * @param calculation The calculation of the bitmask.
+     * @return The bitmask.
+     */
+    public int get(long userId, long scopeId, IntSupplier calculation) {
+        long key = userId ^ Long.rotateLeft(scopeId, 32);
+        int userVersionIndex = userVersionIndex(userId);
+        int currentVersion = version.get();
+        int currentUserVersion = userVersions.get(userVersionIndex);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == currentVersion && entry.userVersion == currentUserVersion
+                && entry.userId == userId && entry.scopeId == scopeId) {
+            return entry.bitmask;
+        }
+        int bitmask = calculation.getAsInt();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(userId, scopeId, currentVersion, currentUserVersion, bitmask));
+        return bitmask;
+    }
+
+    /**
+     * Invalidates all memoized bitmasks.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (!entries.isEmpty()) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Invalidates the memoized bitmasks of the given user.
+     *
+     * @param userId The id of the user.
+     */
+    public void invalidate(long userId) {
+        userVersions.incrementAndGet(userVersionIndex(userId));
+    }
+
+    /**
+     * Gets the index of the version of the given user.
+     * It is chosen by the highest bits of the hash, as the lowest bits of ids are the same for many users.
+     *
+     * @param userId The id of the user.
+     * @return The index of the version of the user.
+     */
+    private static int userVersionIndex(long userId) {
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - USER_VERSION_BITS));
+    }
+
+    /**
+     * A memoized bitmask.
+     */
+    private static class Entry {
+
+        private final long userId;
+        private final long scopeId;
+        private final int version;
+        private final int userVersion;
+        private final int bitmask;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param userId The id of the user.
+         * @param scopeId The id of the scope.
+         * @param version The version of the cache the bitmask was calculated in.
+         * @param userVersion The version of the user the bitmask was calculated in.
+         * @param bitmask The bitmask.
+         */
+        private Entry(long userId, long scopeId, int version, int userVersion, int bitmask) {
+            this.userId = userId;
+            this.scopeId = scopeId;
+            this.version = version;
+            this.userVersion = userVersion;
+            this.bitmask = bitmask;
+        }
+
+    }
+
+}
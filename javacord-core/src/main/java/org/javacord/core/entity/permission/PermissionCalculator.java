@@ -0,0 +1,125 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
+
+/**
+ * Calculates permissions with bitmask arithmetic on the allowed and denied bitmasks of permissions.
+ *
+ * <p>The results are the same as the ones of the default methods in {@code Server} and {@code ServerChannel}, which
+ * set the state of every permission type one after another.
+ */
+public final class PermissionCalculator {
+
+    /**
+     * A bitmask with all known permission types.
+     */
+    public static final int ALL_PERMISSIONS = toBitmask(PermissionType.values());
+
+    private PermissionCalculator() {
+        throw new UnsupportedOperationException("You cannot create an instance of this class");
+    }
+
+    /**
+     * Combines the given permission types into a bitmask.
+     *
+     * @param types The permission types.
+     * @return The bitmask.
+     */
+    public static int toBitmask(PermissionType... types) {
+        int bitmask = 0;
+        for (PermissionType type : types) {
+            bitmask |= type.getValue();
+        }
+        return bitmask;
+    }
+
+    /**
+     * Gets the bitmask of the types which are {@link org.javacord.api.entity.permission.PermissionState#ALLOWED}
+     * in the given permissions.
+     *
+     * @param permissions The permissions.
+     * @return The bitmask of the allowed types.
+     */
+    public static int getAllowed(Permissions permissions) {
+        return permissions.getAllowedBitmask() & ALL_PERMISSIONS;
+    }
+
+    /**
+     * Gets the bitmask of the types which are {@link org.javacord.api.entity.permission.PermissionState#DENIED}
+     * in the given permissions. Types which are both allowed and denied count as allowed.
+     *
+     * @param permissions The permissions.
+     * @return The bitmask of the denied types.
+     */
+    public static int getDenied(Permissions permissions) {
+        return permissions.getDeniedBitmask() & ~permissions.getAllowedBitmask() & ALL_PERMISSIONS;
+    }
+
+    /**
+     * Calculates the effective overwritten permissions of a user in a channel.
+     * The overwrite of the everyone role is applied first, then the denied and after them the allowed types of the
+     * overwrites of the user's roles and finally the overwrite of the user.
+     *
+     * @param everyoneOverwrite The overwrite of the everyone role.
+     * @param roleOverwrites The overwrites of the user's roles, without the everyone role.
+     * @param userOverwrite The overwrite of the user.
+     * @return The effective overwritten permissions.
+     */
+    public static Permissions getEffectiveOverwrites(
+            Permissions everyoneOverwrite, Iterable<Permissions> roleOverwrites, Permissions userOverwrite) {
+        int allowed = getAllowed(everyoneOverwrite);
+        int denied = getDenied(everyoneOverwrite);
+
+        int roleAllowed = 0;
+        int roleDenied = 0;
+        for (Permissions roleOverwrite : roleOverwrites) {
+            roleAllowed |= getAllowed(roleOverwrite);
+            roleDenied |= getDenied(roleOverwrite);
+        }
+        allowed = (allowed & ~roleDenied) | roleAllowed;
+        denied = (denied | roleDenied) & ~roleAllowed;
+
+        int userAllowed = getAllowed(userOverwrite);
+        int userDenied = getDenied(userOverwrite);
+        allowed = (allowed & ~userDenied) | userAllowed;
+        denied = (denied | userDenied) & ~userAllowed;
+
+        return new PermissionsImpl(allowed, denied);
+    }
+
+    /**
+     * Calculates the effectively allowed types of a user in a channel.
+     *
+     * @param baseAllowed The bitmask of the types the user is allowed on the server.
+     * @param effectiveOverwrites The effective overwritten permissions of the user in the channel.
+     * @return The bitmask of the effectively allowed types.
+     */
+    public static int getEffectiveAllowed(int baseAllowed, Permissions effectiveOverwrites) {
+        return (baseAllowed & ~effectiveOverwrites.getDeniedBitmask()) | effectiveOverwrites.getAllowedBitmask();
+    }
+
+    /**
+     * Checks if the given bitmask contains all of the given types.
+     *
+     * @param bitmask The bitmask.
+     * @param types The types.
+     * @return Whether the bitmask contains all types or not.
+     */
+    public static boolean hasAll(int bitmask, PermissionType... types) {
+        int required = toBitmask(types);
+        return (bitmask & required) == required;
+    }
+
+    /**
+     * Checks if the given bitmask contains any of the given types.
+     *
+     * @param bitmask The bitmask.
+     * @param types The types.
+     * @return Whether the bitmask contains any of the types or not.
+     */
+    public static boolean hasAny(int bitmask, PermissionType... types) {
+        return (bitmask & toBitmask(types)) != 0;
+    }
+
+}
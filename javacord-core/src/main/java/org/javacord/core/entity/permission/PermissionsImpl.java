@@ -36,14 +36,8 @@ public class PermissionsImpl implements Permissions {
      */
     public PermissionsImpl(int allow) {
         this.allowed = allow;
-        int tempDenied = 0;
-        for (PermissionType type : PermissionType.values()) {
-            if (!type.isSet(allow)) {
-                // set everything which is not allowed to denied.
-                tempDenied = type.set(tempDenied, true);
-            }
-        }
-        this.denied = tempDenied;
+        // set everything which is not allowed to denied.
+        this.denied = PermissionCalculator.ALL_PERMISSIONS & ~allow;
     }
 
     @Override
@@ -16,9 +16,7 @@ import org.javacord.core.util.rest.RestRequest;
 
 import java.awt.Color;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -82,11 +80,6 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
      */
     private final boolean managed;
 
-    /**
-     * A collection with all users with this role.
-     */
-    private final Collection<User> users = new HashSet<>();
-
     /**
      * Creates a new role object.
      *
@@ -107,24 +100,6 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
         this.managed = data.get("managed").asBoolean(false);
     }
 
-    /**
-     * Adds a user to the role.
-     *
-     * @param user The user to add.
-     */
-    public void addUserToCache(User user) {
-        users.add(user);
-    }
-
-    /**
-     * Removes a user from the role.
-     *
-     * @param user The user to remove.
-     */
-    public void removeUserFromCache(User user) {
-        users.remove(user);
-    }
-
     /**
      * Gets the color of the role as {@code int}.
      *
@@ -233,7 +208,7 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
         if (isEveryoneRole()) {
             return getServer().getMembers();
         }
-        return Collections.unmodifiableCollection(users);
+        return server.getMembersWithRole(id);
     }
 
     @Override
@@ -0,0 +1,223 @@
+package org.javacord.core.entity.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javacord.api.entity.user.User;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The cached state of a member of a server.
+ * It keeps everything a server knows about a member in one compact object, instead of spreading it over several
+ * maps and sets that each box the user id. Instances are immutable, changes replace the member in the server.
+ */
+final class Member {
+
+    /**
+     * The flag for a self-muted member.
+     */
+    static final int SELF_MUTED = 1;
+
+    /**
+     * The flag for a self-deafened member.
+     */
+    static final int SELF_DEAFENED = 1 << 1;
+
+    /**
+     * The flag for a muted member.
+     */
+    static final int MUTED = 1 << 2;
+
+    /**
+     * The flag for a deafened member.
+     */
+    static final int DEAFENED = 1 << 3;
+
+    /**
+     * The role ids of members without roles, shared to not create an empty array for each of them.
+     */
+    private static final long[] NO_ROLES = new long[0];
+
+    /**
+     * The joined-at timestamp of members for which it is unknown.
+     */
+    private static final long UNKNOWN_JOINED_AT = Long.MIN_VALUE;
+
+    /**
+     * The user.
+     */
+    private final User user;
+
+    /**
+     * The nickname, may be {@code null}.
+     */
+    private final String nickname;
+
+    /**
+     * The sorted ids of the roles, without the everyone role.
+     */
+    private final long[] roleIds;
+
+    /**
+     * The voice state flags.
+     */
+    private final byte voiceStateFlags;
+
+    /**
+     * The epoch millis when the user joined the server.
+     */
+    private final long joinedAt;
+
+    /**
+     * Creates a new member.
+     *
+     * @param user The user.
+     * @param nickname The nickname, may be {@code null}.
+     * @param roleIds The sorted ids of the roles.
+     * @param voiceStateFlags The voice state flags.
+     * @param joinedAt The epoch millis when the user joined the server.
+     */
+    private Member(User user, String nickname, long[] roleIds, int voiceStateFlags, long joinedAt) {
+        this.user = user;
+        this.nickname = nickname;
+        this.roleIds = roleIds;
+        this.voiceStateFlags = (byte) voiceStateFlags;
+        this.joinedAt = joinedAt;
+    }
+
+    /**
+     * Creates a member from a guild member json object.
+     *
+     * @param user The user of the member.
+     * @param data The json data of the member.
+     * @return The member.
+     */
+    static Member fromJson(User user, JsonNode data) {
+        String nickname = data.hasNonNull("nick") ? data.get("nick").asText() : null;
+        long[] roleIds = data.has("roles") ? toRoleIds(data.get("roles")) : NO_ROLES;
+        int voiceStateFlags = 0;
+        if (data.path("mute").asBoolean(false)) {
+            voiceStateFlags |= MUTED;
+        }
+        if (data.path("deaf").asBoolean(false)) {
+            voiceStateFlags |= DEAFENED;
+        }
+        long joinedAt = data.hasNonNull("joined_at")
+                ? OffsetDateTime.parse(data.get("joined_at").asText()).toInstant().toEpochMilli()
+                : UNKNOWN_JOINED_AT;
+        return new Member(user, nickname, roleIds, voiceStateFlags, joinedAt);
+    }
+
+    /**
+     * Converts a json array of role ids into a sorted array.
+     *
+     * @param roles The json array of role ids.
+     * @return The sorted role ids.
+     */
+    static long[] toRoleIds(JsonNode roles) {
+        if (roles.size() == 0) {
+            return NO_ROLES;
+        }
+        long[] roleIds = new long[roles.size()];
+        for (int i = 0; i < roleIds.length; i++) {
+            roleIds[i] = roles.get(i).asLong();
+        }
+        Arrays.sort(roleIds);
+        return roleIds;
+    }
+
+    /**
+     * Gets the user.
+     *
+     * @return The user.
+     */
+    User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the nickname.
+     *
+     * @return The nickname.
+     */
+    Optional<String> getNickname() {
+        return Optional.ofNullable(nickname);
+    }
+
+    /**
+     * Creates a copy of this member with the given nickname.
+     *
+     * @param nickname The nickname, may be {@code null}.
+     * @return The new member.
+     */
+    Member withNickname(String nickname) {
+        return new Member(user, nickname, roleIds, voiceStateFlags, joinedAt);
+    }
+
+    /**
+     * Gets the sorted ids of the roles, without the everyone role.
+     * The returned array must not be modified.
+     *
+     * @return The ids of the roles.
+     */
+    long[] getRoleIds() {
+        return roleIds;
+    }
+
+    /**
+     * Checks if the member has the role with the given id.
+     *
+     * @param roleId The id of the role.
+     * @return Whether the member has the role or not.
+     */
+    boolean hasRole(long roleId) {
+        return Arrays.binarySearch(roleIds, roleId) >= 0;
+    }
+
+    /**
+     * Creates a copy of this member with the given roles.
+     *
+     * @param roleIds The sorted ids of the roles.
+     * @return The new member.
+     */
+    Member withRoleIds(long[] roleIds) {
+        return new Member(user, nickname, roleIds.length == 0 ? NO_ROLES : roleIds, voiceStateFlags, joinedAt);
+    }
+
+    /**
+     * Checks if the given voice state flag is set.
+     *
+     * @param flag The flag.
+     * @return Whether the flag is set or not.
+     */
+    boolean hasVoiceStateFlag(int flag) {
+        return (voiceStateFlags & flag) != 0;
+    }
+
+    /**
+     * Creates a copy of this member with the given voice state flag set or cleared.
+     *
+     * @param flag The flag.
+     * @param set Whether the flag should be set or cleared.
+     * @return The new member or this member if the flag did not change.
+     */
+    Member withVoiceStateFlag(int flag, boolean set) {
+        int flags = set ? (voiceStateFlags | flag) : (voiceStateFlags & ~flag);
+        if (flags == voiceStateFlags) {
+            return this;
+        }
+        return new Member(user, nickname, roleIds, flags, joinedAt);
+    }
+
+    /**
+     * Gets the timestamp when the user joined the server.
+     *
+     * @return The timestamp when the user joined the server.
+     */
+    Optional<Instant> getJoinedAtTimestamp() {
+        return joinedAt == UNKNOWN_JOINED_AT ? Optional.empty() : Optional.of(Instant.ofEpochMilli(joinedAt));
+    }
+
+}
@@ -20,6 +20,8 @@ import org.javacord.api.entity.channel.ServerChannel;
 import org.javacord.api.entity.channel.ServerTextChannel;
 import org.javacord.api.entity.channel.ServerVoiceChannel;
 import org.javacord.api.entity.emoji.KnownCustomEmoji;
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Ban;
 import org.javacord.api.entity.server.DefaultMessageNotificationLevel;
@@ -31,6 +33,8 @@ import org.javacord.api.entity.server.invite.RichInvite;
 import org.javacord.api.entity.user.User;
 import org.javacord.api.entity.user.UserStatus;
 import org.javacord.api.entity.webhook.Webhook;
+import org.javacord.api.util.cache.CacheMode;
+import org.javacord.api.util.cache.CachePolicy;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.IconImpl;
 import org.javacord.core.entity.activity.ActivityImpl;
@@ -38,12 +42,16 @@ import org.javacord.core.entity.auditlog.AuditLogImpl;
 import org.javacord.core.entity.channel.ChannelCategoryImpl;
 import org.javacord.core.entity.channel.ServerTextChannelImpl;
 import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
+import org.javacord.core.entity.permission.PermissionCache;
+import org.javacord.core.entity.permission.PermissionCalculator;
+import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
 import org.javacord.core.entity.user.UserImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.listener.server.InternalServerAttachableListenerManager;
 import org.javacord.core.util.Cleanupable;
+import org.javacord.core.util.ConcurrentLongHashMap;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.rest.RestEndpoint;
@@ -54,7 +62,6 @@ import org.javacord.core.util.rest.RestRequestResult;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Instant;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -63,10 +70,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -179,47 +183,22 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     /**
      * A map with all roles of the server.
      */
-    private final ConcurrentHashMap<Long, Role> roles = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<Role> roles = new ConcurrentLongHashMap<>();
 
     /**
      * A map with all channels of the server.
      */
-    private final ConcurrentHashMap<Long, ServerChannel> channels = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<ServerChannel> channels = new ConcurrentLongHashMap<>();
 
     /**
-     * A map with all members of the server.
+     * A map with all members of the server. The key is the user id.
      */
-    private final ConcurrentHashMap<Long, User> members = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<Member> members = new ConcurrentLongHashMap<>();
 
     /**
-     * A map with all nicknames. The key is the user id.
+     * The memoized permissions of the members.
      */
-    private final ConcurrentHashMap<Long, String> nicknames = new ConcurrentHashMap<>();
-
-    /**
-     * A set with all members that are self-muted.
-     */
-    private final Set<Long> selfMuted = new ConcurrentSkipListSet<>();
-
-    /**
-     * A set with all members that are self-deafened.
-     */
-    private final Set<Long> selfDeafened = new ConcurrentSkipListSet<>();
-
-    /**
-     * A set with all members that are muted.
-     */
-    private final Set<Long> muted = new ConcurrentSkipListSet<>();
-
-    /**
-     * A set with all members that are deafened.
-     */
-    private final Set<Long> deafened = new ConcurrentSkipListSet<>();
-
-    /**
-     * A map with all joinedAt instants. The key is the user id.
-     */
-    private final ConcurrentHashMap<Long, Instant> joinedAtTimestamps = new ConcurrentHashMap<>();
+    private final PermissionCache permissionCache = new PermissionCache();
 
     /**
      * A list with all custom emojis from this server.
@@ -234,6 +213,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public ServerImpl(DiscordApiImpl api, JsonNode data) {
         this.api = api;
+        CachePolicy cachePolicy = api.getCachePolicy();
 
         id = Long.parseLong(data.get("id").asText());
         name = data.get("name").asText();
@@ -305,7 +285,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             addMembers(data.get("members"));
         }
 
-        if (data.hasNonNull("voice_states")) {
+        if (data.hasNonNull("voice_states") && cachePolicy.getVoiceStates() != CacheMode.DISABLED) {
             for (JsonNode voiceStateJson : data.get("voice_states")) {
                 ServerVoiceChannelImpl channel =
                         (ServerVoiceChannelImpl) getVoiceChannelById(voiceStateJson.get("channel_id").asLong())
@@ -314,18 +294,26 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             }
         }
 
-        if ((isLarge() || api.getAccountType() == AccountType.CLIENT) && getMembers().size() < getMemberCount()) {
-            api.getWebSocketAdapter().queueRequestGuildMembers(this);
+        if (cachePolicy.getMembers() != CacheMode.FULL) {
+            // Missing members are not requested, so there is nothing to wait for
+            ready = true;
+        } else if ((isLarge() || api.getAccountType() == AccountType.CLIENT)
+                && getMembers().size() < getMemberCount()) {
+            // Servers restored from a cache snapshot are created before the websocket adapter,
+            // their missing members are requested after the session was resumed
+            if (api.getWebSocketAdapter() != null) {
+                api.getWebSocketAdapter().queueRequestGuildMembers(this);
+            }
         }
 
-        if (data.has("emojis")) {
+        if (data.has("emojis") && cachePolicy.getEmojis() != CacheMode.DISABLED) {
             for (JsonNode emojiJson : data.get("emojis")) {
                 KnownCustomEmoji emoji = api.getOrCreateKnownCustomEmoji(this, emojiJson);
                 addCustomEmoji(emoji);
             }
         }
 
-        if (data.has("presences")) {
+        if (data.has("presences") && cachePolicy.getPresences() != CacheMode.DISABLED) {
             for (JsonNode presenceJson : data.get("presences")) {
                 long userId = Long.parseLong(presenceJson.get("user").get("id").asText());
                 UserImpl user = api.getCachedUserById(userId)
@@ -395,6 +383,15 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         }
     }
 
+    /**
+     * Gets the id of the owner of the server.
+     *
+     * @return The id of the owner of the server.
+     */
+    public long getOwnerId() {
+        return ownerId;
+    }
+
     /**
      * Gets the icon hash of the server.
      *
@@ -492,6 +489,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public void setOwnerId(long ownerId) {
         this.ownerId = ownerId;
+        invalidatePermissions();
     }
 
     /**
@@ -531,6 +529,10 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         if ((oldChannel instanceof Cleanupable) && (oldChannel != channel)) {
             ((Cleanupable) oldChannel).cleanup();
         }
+        if (oldChannel != null && oldChannel != channel) {
+            // The new channel may have other permission overwrites
+            invalidatePermissions();
+        }
     }
 
     /**
@@ -539,7 +541,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param channelId The id of the channel to remove.
      */
     public void removeChannelFromCache(long channelId) {
-        channels.computeIfPresent(channelId, (key, channel) -> {
+        channels.computeIfPresent(channelId, channel -> {
             if (channel instanceof Cleanupable) {
                 ((Cleanupable) channel).cleanup();
             }
@@ -554,6 +556,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public void removeRole(long roleId) {
         roles.remove(roleId);
+        invalidatePermissions();
     }
 
     /**
@@ -586,6 +589,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             return getRoleById(id).orElseGet(() -> {
                 Role role = new RoleImpl(api, this, data);
                 this.roles.put(role.getId(), role);
+                invalidatePermissions();
                 return role;
             });
         }
@@ -652,15 +656,9 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param user The user to remove.
      */
     public void removeMember(User user) {
-        long userId = user.getId();
-        members.remove(userId);
-        nicknames.remove(userId);
-        selfMuted.remove(userId);
-        selfDeafened.remove(userId);
-        muted.remove(userId);
-        deafened.remove(userId);
-        getRoles().forEach(role -> ((RoleImpl) role).removeUserFromCache(user));
-        joinedAtTimestamps.remove(userId);
+        members.remove(user.getId());
+        api.removeServerMember(getId(), user.getId());
+        permissionCache.invalidate(user.getId());
     }
 
     /**
@@ -672,28 +670,23 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     /**
      * Adds a member to the server.
+     * Does nothing if members are not cached, unless it is the own member, which is needed for permission checks.
      *
      * @param member The user to add.
      */
     public void addMember(JsonNode member) {
-        User user = api.getOrCreateUser(member.get("user"));
-        members.put(user.getId(), user);
-        if (member.hasNonNull("nick")) {
-            nicknames.put(user.getId(), member.get("nick").asText());
-        }
-        if (member.hasNonNull("mute")) {
-            setMuted(user.getId(), member.get("mute").asBoolean());
+        if (api.getCachePolicy().getMembers() == CacheMode.DISABLED && !isYourself(member.get("user"))) {
+            return;
         }
-        if (member.hasNonNull("deaf")) {
-            setDeafened(user.getId(), member.get("deaf").asBoolean());
-        }
-
-        for (JsonNode roleIds : member.get("roles")) {
-            long roleId = Long.parseLong(roleIds.asText());
-            getRoleById(roleId).map(role -> ((RoleImpl) role)).ifPresent(role -> role.addUserToCache(user));
-        }
-
-        joinedAtTimestamps.put(user.getId(), OffsetDateTime.parse(member.get("joined_at").asText()).toInstant());
+        User user = api.getOrCreateUser(member.get("user"));
+        Member newMember = Member.fromJson(user, member);
+        // The self muted and self deafened flags are only sent with voice states, so they are kept
+        members.compute(user.getId(), oldMember -> oldMember == null ? newMember : newMember
+                .withVoiceStateFlag(Member.SELF_MUTED, oldMember.hasVoiceStateFlag(Member.SELF_MUTED))
+                .withVoiceStateFlag(Member.SELF_DEAFENED, oldMember.hasVoiceStateFlag(Member.SELF_DEAFENED)));
+        api.addServerMember(getId(), user.getId());
+        // The roles of a member only affect its own permissions
+        permissionCache.invalidate(user.getId());
 
         synchronized (readyConsumers) {
             if (!ready && members.size() == getMemberCount()) {
@@ -704,6 +697,17 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         }
     }
 
+    /**
+     * Checks if the given user is the user of the connected account.
+     *
+     * @param user The json data of the user.
+     * @return Whether the user is the user of the connected account.
+     */
+    private boolean isYourself(JsonNode user) {
+        User yourself = api.getYourself();
+        return yourself != null && yourself.getId() == user.get("id").asLong();
+    }
+
     /**
      * Increments the member count.
      */
@@ -718,7 +722,150 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param nickname The nickname to set.
      */
     public void setNickname(User user, String nickname) {
-        nicknames.compute(user.getId(), (key, value) -> nickname);
+        members.computeIfPresent(user.getId(), member -> member.withNickname(nickname));
+    }
+
+    /**
+     * Sets the roles of the user.
+     * Roles of users that are not cached as members are not tracked.
+     *
+     * @param user The user.
+     * @param roles The roles of the user, without the everyone role.
+     */
+    public void setRoles(User user, Collection<Role> roles) {
+        long[] roleIds = roles.stream()
+                .filter(role -> !role.isEveryoneRole())
+                .mapToLong(Role::getId)
+                .sorted()
+                .toArray();
+        members.computeIfPresent(user.getId(), member -> member.withRoleIds(roleIds));
+        permissionCache.invalidate(user.getId());
+    }
+
+    /**
+     * Checks if the user is a cached member with the role with the given id.
+     *
+     * @param user The user.
+     * @param roleId The id of the role, not the everyone role.
+     * @return Whether the user has the role or not.
+     */
+    public boolean hasRole(User user, long roleId) {
+        Member member = members.get(user.getId());
+        return member != null && member.hasRole(roleId) && roles.containsKey(roleId);
+    }
+
+    /**
+     * Checks if the own member has the given role.
+     * Unlike {@link Role#getUsers()}, this does not scan the members of the server.
+     *
+     * @param role The role of this server.
+     * @return Whether the own member has the role or not.
+     */
+    public boolean doYouHaveRole(Role role) {
+        User yourself = api.getYourself();
+        if (yourself == null) {
+            return false;
+        }
+        return role.isEveryoneRole() ? members.containsKey(yourself.getId()) : hasRole(yourself, role.getId());
+    }
+
+    /**
+     * Gets the memoized permissions of the members.
+     *
+     * @return The memoized permissions of the members.
+     */
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Invalidates the memoized permissions of the members.
+     * This must be called whenever roles, their permissions or permission overwrites of channels change. Changes of a
+     * single member only invalidate the permissions of that member.
+     */
+    public void invalidatePermissions() {
+        permissionCache.invalidate();
+    }
+
+    /**
+     * Gets the bitmask of the permission types the user is allowed on this server.
+     *
+     * @param user The user.
+     * @return The bitmask of the allowed permission types.
+     */
+    public int getAllowedBitmask(User user) {
+        long userId = user.getId();
+        if (userId == ownerId) {
+            return PermissionCalculator.ALL_PERMISSIONS;
+        }
+        return permissionCache.get(userId, PermissionCache.SERVER_SCOPE, () -> calculateAllowedBitmask(userId));
+    }
+
+    /**
+     * Calculates the bitmask of the permission types the member with the given id is allowed on this server.
+     *
+     * @param userId The id of the user.
+     * @return The bitmask of the allowed permission types.
+     */
+    private int calculateAllowedBitmask(long userId) {
+        Member member = members.get(userId);
+        if (member == null) {
+            return 0;
+        }
+        int allowed = getRoleAllowedBitmask(getId());
+        for (long roleId : member.getRoleIds()) {
+            allowed |= getRoleAllowedBitmask(roleId);
+        }
+        return allowed;
+    }
+
+    /**
+     * Gets the bitmask of the permission types allowed by the role with the given id.
+     *
+     * @param roleId The id of the role.
+     * @return The bitmask of the allowed permission types or {@code 0} if the role is unknown.
+     */
+    private int getRoleAllowedBitmask(long roleId) {
+        Role role = roles.get(roleId);
+        return role == null ? 0 : PermissionCalculator.getAllowed(role.getPermissions());
+    }
+
+    /**
+     * Gets all cached members with the role with the given id.
+     * This scans all cached members of the server.
+     *
+     * @param roleId The id of the role.
+     * @return The members with the role.
+     */
+    public Collection<User> getMembersWithRole(long roleId) {
+        return Collections.unmodifiableList(members.values().stream()
+                .filter(member -> member.hasRole(roleId))
+                .map(Member::getUser)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Sets a voice state flag of the member with the given id.
+     * The voice state of users that are not cached as members is not tracked.
+     *
+     * @param userId The id of the user.
+     * @param flag The flag.
+     * @param set Whether the flag should be set or cleared.
+     */
+    private void setVoiceStateFlag(long userId, int flag, boolean set) {
+        members.computeIfPresent(userId, member -> member.withVoiceStateFlag(flag, set));
+    }
+
+    /**
+     * Checks if a voice state flag of the member with the given id is set.
+     *
+     * @param userId The id of the user.
+     * @param flag The flag.
+     * @return Whether the flag is set or not.
+     */
+    private boolean hasVoiceStateFlag(long userId, int flag) {
+        Member member = members.get(userId);
+        return member != null && member.hasVoiceStateFlag(flag);
     }
 
     /**
@@ -728,11 +875,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param muted Whether the user with the given id is self-muted or not.
      */
     public void setSelfMuted(long userId, boolean muted) {
-        if (muted) {
-            selfMuted.add(userId);
-        } else {
-            selfMuted.remove(userId);
-        }
+        setVoiceStateFlag(userId, Member.SELF_MUTED, muted);
     }
 
     /**
@@ -742,11 +885,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param deafened Whether the user with the given id is self-deafened or not.
      */
     public void setSelfDeafened(long userId, boolean deafened) {
-        if (deafened) {
-            selfDeafened.add(userId);
-        } else {
-            selfDeafened.remove(userId);
-        }
+        setVoiceStateFlag(userId, Member.SELF_DEAFENED, deafened);
     }
 
     /**
@@ -756,11 +895,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param muted Whether the user with the given id is muted or not.
      */
     public void setMuted(long userId, boolean muted) {
-        if (muted) {
-            this.muted.add(userId);
-        } else {
-            this.muted.remove(userId);
-        }
+        setVoiceStateFlag(userId, Member.MUTED, muted);
     }
 
     /**
@@ -770,11 +905,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param deafened Whether the user with the given id is deafened or not.
      */
     public void setDeafened(long userId, boolean deafened) {
-        if (deafened) {
-            this.deafened.add(userId);
-        } else {
-            this.deafened.remove(userId);
-        }
+        setVoiceStateFlag(userId, Member.DEAFENED, deafened);
     }
 
     /**
@@ -828,32 +959,34 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Optional<String> getNickname(User user) {
-        return Optional.ofNullable(nicknames.get(user.getId()));
+        Member member = members.get(user.getId());
+        return member == null ? Optional.empty() : member.getNickname();
     }
 
     @Override
     public boolean isSelfMuted(long userId) {
-        return selfMuted.contains(userId);
+        return hasVoiceStateFlag(userId, Member.SELF_MUTED);
     }
 
     @Override
     public boolean isSelfDeafened(long userId) {
-        return selfDeafened.contains(userId);
+        return hasVoiceStateFlag(userId, Member.SELF_DEAFENED);
     }
 
     @Override
     public boolean isMuted(long userId) {
-        return muted.contains(userId);
+        return hasVoiceStateFlag(userId, Member.MUTED);
     }
 
     @Override
     public boolean isDeafened(long userId) {
-        return deafened.contains(userId);
+        return hasVoiceStateFlag(userId, Member.DEAFENED);
     }
 
     @Override
     public Optional<Instant> getJoinedAtTimestamp(User user) {
-        return Optional.ofNullable(joinedAtTimestamps.get(user.getId()));
+        Member member = members.get(user.getId());
+        return member == null ? Optional.empty() : member.getJoinedAtTimestamp();
     }
 
     @Override
@@ -974,12 +1107,14 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Collection<User> getMembers() {
-        return Collections.unmodifiableList(new ArrayList<>(members.values()));
+        return Collections.unmodifiableList(members.values().stream()
+                .map(Member::getUser)
+                .collect(Collectors.toList()));
     }
 
     @Override
     public Optional<User> getMemberById(long id) {
-        return Optional.ofNullable(members.get(id));
+        return Optional.ofNullable(members.get(id)).map(Member::getUser);
     }
 
     @Override
@@ -994,6 +1129,51 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public List<Role> getRoles(User user) {
+        Member member = members.get(user.getId());
+        if (member == null) {
+            return Collections.emptyList();
+        }
+        List<Role> userRoles = new ArrayList<>();
+        getRoleById(getId()).ifPresent(userRoles::add);
+        for (long roleId : member.getRoleIds()) {
+            getRoleById(roleId).ifPresent(userRoles::add);
+        }
+        userRoles.sort(Comparator.comparingInt(Role::getPosition));
+        return Collections.unmodifiableList(userRoles);
+    }
+
+    @Override
+    public boolean isOwner(User user) {
+        return user.getId() == ownerId;
+    }
+
+    @Override
+    public Permissions getPermissions(User user) {
+        return new PermissionsImpl(getAllowedBitmask(user), 0);
+    }
+
+    @Override
+    public Collection<PermissionType> getAllowedPermissions(User user) {
+        return getPermissions(user).getAllowedPermission();
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionCalculator.hasAll(getAllowedBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionCalculator.hasAny(getAllowedBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return (getAllowedBitmask(user) & permission.getValue()) != 0;
+    }
+
     @Override
     public Optional<Role> getRoleById(long id) {
         return Optional.ofNullable(roles.get(id));
@@ -1141,7 +1321,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     @Override
     public CompletableFuture<AuditLog> getAuditLogBefore(int limit, AuditLogEntry before, AuditLogActionType type) {
         CompletableFuture<AuditLog> future = new CompletableFuture<>();
-        api.getThreadPool().getExecutorService().submit(() -> {
+        api.getThreadPool().getInternalExecutor().execute(() -> {
             try {
                 AuditLogImpl auditLog = new AuditLogImpl(this);
                 boolean requestMore = true;
@@ -1239,6 +1419,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public void cleanup() {
+        members.values().forEach(member -> api.removeServerMember(getId(), member.getUser().getId()));
         channels.values().stream()
                 .map(ServerChannel::getId)
                 .forEach(api::removeChannelFromCache);
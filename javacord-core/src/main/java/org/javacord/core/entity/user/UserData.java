@@ -0,0 +1,68 @@
+package org.javacord.core.entity.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * The data of a user which is the same on all shards.
+ *
+ * <p>If the shards of a {@link org.javacord.core.ShardContext} share their users, every shard that caches a user has
+ * its own {@link UserImpl}, but all of them use the same user data. Otherwise, every user has its own data.
+ */
+public class UserData {
+
+    /**
+     * Whether the user is a bot account or not.
+     */
+    private final boolean bot;
+
+    /**
+     * The current state of the user.
+     */
+    private volatile UserState state;
+
+    /**
+     * Creates new user data.
+     *
+     * @param data The json data of the user.
+     */
+    public UserData(JsonNode data) {
+        String avatarHash = null;
+        if (data.has("avatar") && !data.get("avatar").isNull()) {
+            avatarHash = data.get("avatar").asText();
+        }
+        state = new UserState(data.get("username").asText(), data.get("discriminator").asText(), avatarHash);
+        bot = data.has("bot") && data.get("bot").asBoolean();
+    }
+
+    /**
+     * Checks whether the user is a bot account or not.
+     *
+     * @return Whether the user is a bot account or not.
+     */
+    public boolean isBot() {
+        return bot;
+    }
+
+    /**
+     * Gets the current state of the user.
+     *
+     * @return The current state of the user.
+     */
+    public UserState getState() {
+        return state;
+    }
+
+    /**
+     * Updates the state of the user.
+     *
+     * @param updater The function which creates the new state from the current one.
+     * @return The new state of the user.
+     */
+    public synchronized UserState update(UnaryOperator<UserState> updater) {
+        state = updater.apply(state);
+        return state;
+    }
+
+}
@@ -9,6 +9,7 @@ import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.Icon;
 import org.javacord.api.entity.activity.Activity;
 import org.javacord.api.entity.channel.PrivateChannel;
+import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 import org.javacord.api.entity.user.UserStatus;
 import org.javacord.core.DiscordApiImpl;
@@ -23,11 +24,11 @@ import org.javacord.core.util.rest.RestRequest;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 /**
  * The implementation of {@link User}.
@@ -49,45 +50,20 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      */
     private final long id;
 
-    /**
-     * The name of the user.
-     */
-    private volatile String name;
-
     /**
      * The private channel with the given user.
      */
     private volatile PrivateChannel channel = null;
 
     /**
-     * The avatar hash of the user. Might be <code>null</code>!
-     */
-    private volatile String avatarHash = null;
-
-    /**
-     * The discriminator of the user.
-     */
-    private volatile String discriminator;
-
-    /**
-     * Whether the user is a bot account or not.
-     */
-    private final boolean bot;
-
-    /**
-     * The activity of the user.
-     */
-    private volatile Activity activity = null;
-
-    /**
-     * The status of the user.
+     * The data of the user, which might be shared with the other shards.
      */
-    private volatile UserStatus status = UserStatus.OFFLINE;
+    private final UserData data;
 
     /**
-     * The status of the user on a given client.
+     * The state of the user which was seen last by this shard.
      */
-    private final Map<DiscordClient, UserStatus> clientStatus = new ConcurrentHashMap<>();
+    private volatile UserState seenState;
 
     /**
      * Creates a new user.
@@ -99,12 +75,8 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
         this.api = api;
 
         id = Long.parseLong(data.get("id").asText());
-        name = data.get("username").asText();
-        discriminator = data.get("discriminator").asText();
-        if (data.has("avatar") && !data.get("avatar").isNull()) {
-            avatarHash = data.get("avatar").asText();
-        }
-        bot = data.has("bot") && data.get("bot").asBoolean();
+        this.data = api.getOrCreateUserData(id, data);
+        seenState = this.data.getState();
 
         api.addUserToCache(this);
     }
@@ -123,13 +95,34 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
         }
     }
 
+    /**
+     * Gets the state of the user which was seen last by this shard.
+     * If the user data is shared with other shards, the current state might contain changes which this shard did not
+     * see yet. Comparing both states detects every change exactly once per shard.
+     *
+     * @return The state of the user which was seen last by this shard.
+     */
+    public UserState getSeenState() {
+        return seenState;
+    }
+
+    /**
+     * Updates the state of the user.
+     * The new state is the state which was seen last by this shard afterwards.
+     *
+     * @param updater The function which creates the new state from the current one.
+     */
+    private void updateState(UnaryOperator<UserState> updater) {
+        seenState = data.update(updater);
+    }
+
     /**
      * Sets the activity of the user.
      *
      * @param activity The activity to set.
      */
     public void setActivity(Activity activity) {
-        this.activity = activity;
+        updateState(state -> state.withActivity(activity));
     }
 
     /**
@@ -138,7 +131,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @param status The status to set.
      */
     public void setStatus(UserStatus status) {
-        this.status = status;
+        updateState(state -> state.withStatus(status));
     }
 
     /**
@@ -148,7 +141,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @param status The status to set.
      */
     public void setClientStatus(DiscordClient client, UserStatus status) {
-        clientStatus.put(client, status);
+        updateState(state -> state.withClientStatus(client, status));
     }
 
     /**
@@ -157,7 +150,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @param name The name to set.
      */
     public void setName(String name) {
-        this.name = name;
+        updateState(state -> state.withName(name));
     }
 
     /**
@@ -166,7 +159,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @param discriminator The discriminator to set.
      */
     public void setDiscriminator(String discriminator) {
-        this.discriminator = discriminator;
+        updateState(state -> state.withDiscriminator(discriminator));
     }
 
     /**
@@ -176,7 +169,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @return The avatar hash of the user.
      */
     public String getAvatarHash() {
-        return avatarHash;
+        return data.getState().getAvatarHash();
     }
 
     /**
@@ -185,7 +178,7 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
      * @param avatarHash The avatar hash to set.
      */
     public void setAvatarHash(String avatarHash) {
-        this.avatarHash = avatarHash;
+        updateState(state -> state.withAvatarHash(avatarHash));
     }
 
     /**
@@ -205,32 +198,32 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
 
     @Override
     public String getName() {
-        return name;
+        return data.getState().getName();
     }
 
     @Override
     public String getDiscriminator() {
-        return discriminator;
+        return data.getState().getDiscriminator();
     }
 
     @Override
     public boolean isBot() {
-        return bot;
+        return data.isBot();
     }
 
     @Override
     public Optional<Activity> getActivity() {
-        return Optional.ofNullable(activity);
+        return Optional.ofNullable(data.getState().getActivity());
     }
 
     @Override
     public UserStatus getStatus() {
-        return status;
+        return data.getState().getStatus();
     }
 
     @Override
     public UserStatus getStatusOnClient(DiscordClient client) {
-        return clientStatus.getOrDefault(client, UserStatus.OFFLINE);
+        return data.getState().getStatusOnClient(client);
     }
 
     /**
@@ -263,12 +256,13 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
 
     @Override
     public Icon getAvatar() {
-        return getAvatar(api, avatarHash, discriminator, id);
+        UserState state = data.getState();
+        return getAvatar(api, state.getAvatarHash(), state.getDiscriminator(), id);
     }
 
     @Override
     public boolean hasDefaultAvatar() {
-        return avatarHash == null;
+        return data.getState().getAvatarHash() == null;
     }
 
     @Override
@@ -286,6 +280,11 @@ public class UserImpl implements User, Cleanupable, InternalUserAttachableListen
                 .execute(result -> getOrCreateChannel(result.getJsonBody()));
     }
 
+    @Override
+    public Collection<Server> getMutualServers() {
+        return api.getMutualServers(getId());
+    }
+
     @Override
     public DiscordApi getApi() {
         return api;
@@ -0,0 +1,213 @@
+package org.javacord.core.entity.user;
+
+import org.javacord.api.entity.DiscordClient;
+import org.javacord.api.entity.activity.Activity;
+import org.javacord.api.entity.user.UserStatus;
+
+/**
+ * An immutable snapshot of the changeable properties of a user.
+ *
+ * <p>Every change creates a new snapshot, so a shard can compare the snapshot it saw last with the current one to
+ * detect changes which were applied by other shards.
+ */
+public final class UserState {
+
+    /**
+     * All user statuses by their ordinal.
+     */
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    /**
+     * The amount of bits of the status of one client in {@link #clientStatus}.
+     */
+    private static final int CLIENT_STATUS_BITS = 3;
+
+    /**
+     * The mask of the status of one client in {@link #clientStatus}.
+     */
+    private static final int CLIENT_STATUS_MASK = (1 << CLIENT_STATUS_BITS) - 1;
+
+    /**
+     * The client status of a user who is offline on all clients.
+     */
+    private static final int OFFLINE_CLIENT_STATUS;
+
+    static {
+        int offlineClientStatus = 0;
+        for (DiscordClient client : DiscordClient.values()) {
+            offlineClientStatus |= UserStatus.OFFLINE.ordinal() << (client.ordinal() * CLIENT_STATUS_BITS);
+        }
+        OFFLINE_CLIENT_STATUS = offlineClientStatus;
+    }
+
+    private final String name;
+    private final String discriminator;
+    private final String avatarHash;
+    private final Activity activity;
+    private final UserStatus status;
+
+    /**
+     * The statuses of the user on all clients, {@value #CLIENT_STATUS_BITS} bits per client.
+     */
+    private final int clientStatus;
+
+    /**
+     * Creates a new user state of a user who is offline.
+     *
+     * @param name The name of the user.
+     * @param discriminator The discriminator of the user.
+     * @param avatarHash The avatar hash of the user. Might be {@code null}.
+     */
+    public UserState(String name, String discriminator, String avatarHash) {
+        this(name, discriminator, avatarHash, null, UserStatus.OFFLINE, OFFLINE_CLIENT_STATUS);
+    }
+
+    /**
+     * Creates a new user state.
+     *
+     * @param name The name of the user.
+     * @param discriminator The discriminator of the user.
+     * @param avatarHash The avatar hash of the user. Might be {@code null}.
+     * @param activity The activity of the user. Might be {@code null}.
+     * @param status The status of the user.
+     * @param clientStatus The statuses of the user on all clients.
+     */
+    private UserState(String name, String discriminator, String avatarHash, Activity activity, UserStatus status,
+                      int clientStatus) {
+        this.name = name;
+        this.discriminator = discriminator;
+        this.avatarHash = avatarHash;
+        this.activity = activity;
+        this.status = status;
+        this.clientStatus = clientStatus;
+    }
+
+    /**
+     * Gets the name of the user.
+     *
+     * @return The name of the user.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the discriminator of the user.
+     *
+     * @return The discriminator of the user.
+     */
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * Gets the avatar hash of the user.
+     *
+     * @return The avatar hash of the user. Might be {@code null}.
+     */
+    public String getAvatarHash() {
+        return avatarHash;
+    }
+
+    /**
+     * Gets the activity of the user.
+     *
+     * @return The activity of the user. Might be {@code null}.
+     */
+    public Activity getActivity() {
+        return activity;
+    }
+
+    /**
+     * Gets the status of the user.
+     *
+     * @return The status of the user.
+     */
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the status of the user on the given client.
+     *
+     * @param client The client.
+     * @return The status of the user on the client.
+     */
+    public UserStatus getStatusOnClient(DiscordClient client) {
+        return STATUSES[(clientStatus >>> (client.ordinal() * CLIENT_STATUS_BITS)) & CLIENT_STATUS_MASK];
+    }
+
+    /**
+     * Checks whether the status of the user on any client differs from the given state.
+     *
+     * @param other The other state.
+     * @return Whether the status of the user on any client differs.
+     */
+    public boolean hasOtherClientStatus(UserState other) {
+        return clientStatus != other.clientStatus;
+    }
+
+    /**
+     * Creates a copy of this state with the given name.
+     *
+     * @param name The name of the user.
+     * @return The new state.
+     */
+    public UserState withName(String name) {
+        return new UserState(name, discriminator, avatarHash, activity, status, clientStatus);
+    }
+
+    /**
+     * Creates a copy of this state with the given discriminator.
+     *
+     * @param discriminator The discriminator of the user.
+     * @return The new state.
+     */
+    public UserState withDiscriminator(String discriminator) {
+        return new UserState(name, discriminator, avatarHash, activity, status, clientStatus);
+    }
+
+    /**
+     * Creates a copy of this state with the given avatar hash.
+     *
+     * @param avatarHash The avatar hash of the user. Might be {@code null}.
+     * @return The new state.
+     */
+    public UserState withAvatarHash(String avatarHash) {
+        return new UserState(name, discriminator, avatarHash, activity, status, clientStatus);
+    }
+
+    /**
+     * Creates a copy of this state with the given activity.
+     *
+     * @param activity The activity of the user. Might be {@code null}.
+     * @return The new state.
+     */
+    public UserState withActivity(Activity activity) {
+        return new UserState(name, discriminator, avatarHash, activity, status, clientStatus);
+    }
+
+    /**
+     * Creates a copy of this state with the given status.
+     *
+     * @param status The status of the user.
+     * @return The new state.
+     */
+    public UserState withStatus(UserStatus status) {
+        return new UserState(name, discriminator, avatarHash, activity, status, clientStatus);
+    }
+
+    /**
+     * Creates a copy of this state with the given status on the given client.
+     *
+     * @param client The client.
+     * @param status The status of the user on the client.
+     * @return The new state.
+     */
+    public UserState withClientStatus(DiscordClient client, UserStatus status) {
+        int shift = client.ordinal() * CLIENT_STATUS_BITS;
+        int clientStatus = (this.clientStatus & ~(CLIENT_STATUS_MASK << shift)) | (status.ordinal() << shift);
+        return new UserState(name, discriminator, avatarHash, activity, this.status, clientStatus);
+    }
+
+}
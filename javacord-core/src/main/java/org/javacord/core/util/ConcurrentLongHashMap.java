@@ -0,0 +1,433 @@
+package org.javacord.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * A thread-safe hash map with primitive {@code long} keys.
+ *
+ * <p>Most caches are indexed by the ids of the entities. Boxing these ids and wrapping every entry in a node like
+ * {@link java.util.concurrent.ConcurrentHashMap} does costs more memory than the references to the entities
+ * themselves. This map stores its keys and values in two arrays with open addressing instead.
+ *
+ * <p>Reads do not block, they are optimistic and only fall back to a read lock if a write happened concurrently.
+ * Writes are serialized by a single lock, so this map is meant for caches that are read a lot more than written.
+ * The functions given to the {@code compute...} methods are called while holding this lock and must not access
+ * this map. Null values are not permitted.
+ *
+ * @param <V> The type of the values.
+ */
+public class ConcurrentLongHashMap<V> {
+
+    /**
+     * The default initial capacity, must be a power of two.
+     */
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * The lock that guards all fields.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * The keys of the entries, a slot is used if the value with the same index is not {@code null}.
+     */
+    private long[] keys;
+
+    /**
+     * The values of the entries.
+     */
+    private Object[] values;
+
+    /**
+     * The amount of entries.
+     */
+    private int size;
+
+    /**
+     * Creates a new map with the default initial capacity.
+     */
+    public ConcurrentLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new map.
+     *
+     * @param expectedSize The expected amount of entries.
+     */
+    public ConcurrentLongHashMap(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Gets the value for the given key.
+     *
+     * @param key The key.
+     * @return The value or {@code null} if there is no value for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object value = find(keys, values, key);
+            if (lock.validate(stamp)) {
+                return (V) value;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return (V) find(keys, values, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if the map contains a value for the given key.
+     *
+     * @param key The key.
+     * @return Whether the map contains a value for the key or not.
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The previous value or {@code null} if there was no value for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value cannot be null");
+        long stamp = lock.writeLock();
+        try {
+            return (V) putLocked(key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key The key.
+     * @return The removed value or {@code null} if there was no value for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(key);
+            if (slot < 0) {
+                return null;
+            }
+            Object oldValue = values[slot];
+            removeAt(slot);
+            return (V) oldValue;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the value for the given key or computes and adds it if there is none.
+     *
+     * @param key The key.
+     * @param mappingFunction The function to compute the value. If it returns {@code null}, nothing is added.
+     * @return The current value or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(key);
+            if (slot >= 0) {
+                return (V) values[slot];
+            }
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                putLocked(key, value);
+            }
+            return value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Computes a new value for the given key if there is a value for it.
+     *
+     * @param key The key.
+     * @param remappingFunction The function to compute the new value from the current one.
+     *                          If it returns {@code null}, the value is removed.
+     * @return The new value or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfPresent(long key, Function<? super V, ? extends V> remappingFunction) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(key);
+            if (slot < 0) {
+                return null;
+            }
+            V value = remappingFunction.apply((V) values[slot]);
+            if (value == null) {
+                removeAt(slot);
+            } else {
+                values[slot] = value;
+            }
+            return value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Computes a new value for the given key from its current value.
+     *
+     * @param key The key.
+     * @param remappingFunction The function to compute the new value from the current one, which is {@code null} if
+     *                          there is none. If it returns {@code null}, the value is removed.
+     * @return The new value or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V compute(long key, Function<? super V, ? extends V> remappingFunction) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(key);
+            V value = remappingFunction.apply(slot < 0 ? null : (V) values[slot]);
+            if (value == null) {
+                if (slot >= 0) {
+                    removeAt(slot);
+                }
+            } else if (slot >= 0) {
+                values[slot] = value;
+            } else {
+                putLocked(key, value);
+            }
+            return value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the amount of entries.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = this.size;
+        if (stamp != 0 && lock.validate(stamp)) {
+            return size;
+        }
+        stamp = lock.readLock();
+        try {
+            return this.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return Whether the map is empty or not.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets a snapshot of all values.
+     * Changes of the map are not reflected in the returned collection and vice versa.
+     *
+     * @return The values.
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<V> values() {
+        long stamp = lock.readLock();
+        try {
+            Collection<V> result = new ArrayList<>(size);
+            for (Object value : values) {
+                if (value != null) {
+                    result.add((V) value);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            keys = new long[DEFAULT_CAPACITY];
+            values = new Object[DEFAULT_CAPACITY];
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Spreads the bits of the key, as ids that are created close to each other only differ in their low bits.
+     *
+     * @param key The key.
+     * @return The hash of the key.
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Searches the value for the given key.
+     * This may be called without holding the lock, so it has to cope with arrays that are modified concurrently.
+     *
+     * @param keys The keys.
+     * @param values The values.
+     * @param key The key to search.
+     * @return The value or {@code null} if there is no value for the key.
+     */
+    private static Object find(long[] keys, Object[] values, long key) {
+        if (keys.length != values.length) {
+            // The arrays were replaced concurrently, the caller will retry
+            return null;
+        }
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Searches the slot for the given key.
+     * The write lock must be held.
+     *
+     * @param key The key to search.
+     * @return The slot of the key or, if the key is not in the map, {@code -1 - slot} with the slot where the key
+     *         would be inserted.
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1 - index;
+    }
+
+    /**
+     * Associates the value with the key.
+     * The write lock must be held.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The previous value or {@code null} if there was no value for the key.
+     */
+    private Object putLocked(long key, Object value) {
+        int slot = slot(key);
+        if (slot >= 0) {
+            Object oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        if ((size + 1) > keys.length * 3 / 4) {
+            resize(keys.length << 1);
+            slot = slot(key);
+        }
+        slot = -1 - slot;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry in the given slot and moves the following entries of the same probe sequence into the gap.
+     * The write lock must be held.
+     *
+     * @param slot The slot of the entry to remove.
+     */
+    private void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        int index = (slot + 1) & mask;
+        while (values[index] != null) {
+            int home = hash(keys[index]) & mask;
+            // The entry can be moved if the gap is between its home slot and its current slot
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+    }
+
+    /**
+     * Copies all entries into new arrays with the given capacity.
+     * The write lock must be held.
+     *
+     * @param capacity The new capacity, must be a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int index = hash(oldKeys[i]) & mask;
+            while (newValues[index] != null) {
+                index = (index + 1) & mask;
+            }
+            newKeys[index] = oldKeys[i];
+            newValues[index] = oldValues[i];
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+}
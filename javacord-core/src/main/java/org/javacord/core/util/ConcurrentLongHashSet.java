@@ -0,0 +1,60 @@
+package org.javacord.core.util;
+
+/**
+ * A thread-safe hash set of primitive {@code long}s.
+ * It has the same characteristics as {@link ConcurrentLongHashMap}, which backs it.
+ */
+public class ConcurrentLongHashSet {
+
+    /**
+     * The map that backs this set.
+     */
+    private final ConcurrentLongHashMap<Boolean> map = new ConcurrentLongHashMap<>();
+
+    /**
+     * Adds the value to the set.
+     *
+     * @param value The value to add.
+     * @return Whether the set did not already contain the value.
+     */
+    public boolean add(long value) {
+        return map.put(value, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Removes the value from the set.
+     *
+     * @param value The value to remove.
+     * @return Whether the set contained the value.
+     */
+    public boolean remove(long value) {
+        return map.remove(value) != null;
+    }
+
+    /**
+     * Checks if the set contains the value.
+     *
+     * @param value The value.
+     * @return Whether the set contains the value or not.
+     */
+    public boolean contains(long value) {
+        return map.containsKey(value);
+    }
+
+    /**
+     * Gets the amount of values in the set.
+     *
+     * @return The amount of values in the set.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Removes all values from the set.
+     */
+    public void clear() {
+        map.clear();
+    }
+
+}
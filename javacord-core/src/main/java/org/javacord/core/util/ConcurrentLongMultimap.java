@@ -0,0 +1,131 @@
+package org.javacord.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A thread-safe multimap from primitive {@code long} keys to sets of primitive {@code long} values.
+ *
+ * <p>The values of a key are kept in a sorted array that is replaced on every change. This makes reads cheap and
+ * keeps the footprint small, but changes cost linear time in the amount of values of the key. It is meant for
+ * indexes with few values per key which are read much more often than they are changed.
+ *
+ * <p>The keys are spread over several maps with their own locks, so changes of different keys rarely wait for each
+ * other, e.g. when the members of several servers are added in parallel.
+ */
+public class ConcurrentLongMultimap {
+
+    /**
+     * The values of keys without values.
+     */
+    private static final long[] NO_VALUES = new long[0];
+
+    /**
+     * The binary logarithm of the amount of stripes.
+     */
+    private static final int STRIPE_BITS = 4;
+
+    /**
+     * The sorted values by their key, spread over stripes by the hash of the key.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ConcurrentLongHashMap<long[]>[] stripes = new ConcurrentLongHashMap[1 << STRIPE_BITS];
+
+    /**
+     * Creates a new multimap.
+     */
+    public ConcurrentLongMultimap() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ConcurrentLongHashMap<>();
+        }
+    }
+
+    /**
+     * Gets the stripe of the key.
+     * It is chosen by the highest bits of the hash, as the stripe itself uses the lowest bits.
+     *
+     * @param key The key.
+     * @return The stripe of the key.
+     */
+    private ConcurrentLongHashMap<long[]> stripe(long key) {
+        return stripes[(int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    /**
+     * Adds the value to the values of the key.
+     *
+     * @param key The key.
+     * @param value The value to add.
+     */
+    public void put(long key, long value) {
+        stripe(key).compute(key, values -> {
+            if (values == null) {
+                return new long[] {value};
+            }
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                return values;
+            }
+            int insertionPoint = -index - 1;
+            long[] newValues = new long[values.length + 1];
+            System.arraycopy(values, 0, newValues, 0, insertionPoint);
+            newValues[insertionPoint] = value;
+            System.arraycopy(values, insertionPoint, newValues, insertionPoint + 1, values.length - insertionPoint);
+            return newValues;
+        });
+    }
+
+    /**
+     * Removes the value from the values of the key.
+     *
+     * @param key The key.
+     * @param value The value to remove.
+     */
+    public void remove(long key, long value) {
+        stripe(key).computeIfPresent(key, values -> {
+            int index = Arrays.binarySearch(values, value);
+            if (index < 0) {
+                return values;
+            }
+            if (values.length == 1) {
+                return null;
+            }
+            long[] newValues = new long[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            return newValues;
+        });
+    }
+
+    /**
+     * Gets the sorted values of the key.
+     * The returned array must not be modified.
+     *
+     * @param key The key.
+     * @return The values of the key.
+     */
+    public long[] get(long key) {
+        long[] values = stripe(key).get(key);
+        return values == null ? NO_VALUES : values;
+    }
+
+    /**
+     * Checks if the values of the key contain the value.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return Whether the values of the key contain the value or not.
+     */
+    public boolean containsEntry(long key, long value) {
+        return Arrays.binarySearch(get(key), value) >= 0;
+    }
+
+    /**
+     * Removes all keys and values.
+     */
+    public void clear() {
+        for (ConcurrentLongHashMap<long[]> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+}
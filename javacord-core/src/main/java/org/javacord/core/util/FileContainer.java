@@ -4,6 +4,7 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
 import org.javacord.api.entity.Icon;
+import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.io.FileUtils;
 import org.javacord.core.util.logging.LoggerUtil;
 
@@ -292,7 +293,7 @@ public class FileContainer {
             }
             if (fileAsIcon != null || fileAsUrl != null) {
                 URL url = fileAsUrl == null ? fileAsIcon.getUrl() : fileAsUrl;
-                api.getThreadPool().getExecutorService().submit(() -> {
+                ((DiscordApiImpl) api).getThreadPool().getInternalExecutor().execute(() -> {
                     try {
                         logger.debug("Trying to download file from {}", url);
                         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -0,0 +1,455 @@
+package org.javacord.core.util.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.api.entity.DiscordClient;
+import org.javacord.api.entity.activity.Activity;
+import org.javacord.api.entity.activity.ActivityParty;
+import org.javacord.api.entity.channel.ChannelCategory;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.channel.ServerTextChannel;
+import org.javacord.api.entity.channel.ServerVoiceChannel;
+import org.javacord.api.entity.emoji.KnownCustomEmoji;
+import org.javacord.api.entity.permission.Permissions;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.api.entity.user.UserStatus;
+import org.javacord.api.util.gateway.GatewaySession;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.channel.ServerChannelImpl;
+import org.javacord.core.entity.permission.RoleImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.entity.user.UserImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the cached servers of a shard to a file and restores them from it.
+ *
+ * <p>Every server is written in the shape of its {@code GUILD_CREATE} packet, including its channels, roles, emojis,
+ * members, voice states and presences, so that it is restored by the same code that handles the packet. The servers
+ * are written one after another into a gzip compressed stream and are also restored one after another, so the whole
+ * snapshot is never held in memory.
+ *
+ * <p>A snapshot belongs to the gateway session it was written for. It is only restored if the session that is
+ * resumed is the same and did not receive any dispatch packets after the snapshot was written. Otherwise, the events
+ * that are replayed when resuming would not match the restored cache.
+ */
+public class CacheSnapshot {
+
+    /**
+     * The version of the snapshot format. Snapshots of other versions are not restored.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The discord api instance.
+     */
+    private final DiscordApiImpl api;
+
+    /**
+     * Creates a new cache snapshot.
+     *
+     * @param api The discord api instance whose cache is written or restored.
+     */
+    public CacheSnapshot(DiscordApiImpl api) {
+        this.api = api;
+    }
+
+    /**
+     * Gets the file of the snapshot of the current shard in the given directory.
+     *
+     * @param directory The directory for the snapshots.
+     * @return The file of the snapshot.
+     */
+    public Path getFile(Path directory) {
+        return directory.resolve(String.format("cache-%d-of-%d.json.gz", api.getCurrentShard(), api.getTotalShards()));
+    }
+
+    /**
+     * Writes the cached servers to the given file, replacing the previous snapshot.
+     * No dispatch packets must be handled while the snapshot is written.
+     *
+     * @param file The file of the snapshot.
+     * @param session The session the snapshot is written for.
+     * @throws IOException If the snapshot could not be written.
+     */
+    public void write(Path file, GatewaySession session) throws IOException {
+        ObjectMapper mapper = api.getObjectMapper();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile));
+                    JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                // The header is written first, so outdated snapshots are rejected without reading the servers
+                generator.writeNumberField("version", VERSION);
+                generator.writeStringField("session_id", session.getSessionId());
+                generator.writeNumberField("seq", session.getSequence());
+                // The own user is restored first, as the servers always cache its member
+                User yourself = api.getYourself();
+                if (yourself != null) {
+                    generator.writeFieldName("yourself");
+                    mapper.writeTree(generator, userToJson(yourself));
+                }
+                generator.writeArrayFieldStart("unavailable_servers");
+                for (long serverId : api.getUnavailableServers()) {
+                    generator.writeNumber(serverId);
+                }
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("servers");
+                // The presence of a user is only written with the first of its servers
+                Set<Long> writtenPresences = new HashSet<>();
+                for (Server server : api.getAllServers()) {
+                    mapper.writeTree(generator, serverToJson((ServerImpl) server, writtenPresences));
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Restores the cached servers from the given file, if it was written for the given session.
+     * The cache should be empty before.
+     *
+     * @param file The file of the snapshot.
+     * @param session The session that is resumed.
+     * @return The restored servers or an empty optional if the snapshot does not exist or belongs to another session.
+     * @throws IOException If the snapshot could not be read.
+     */
+    public Optional<List<ServerImpl>> restore(Path file, GatewaySession session) throws IOException {
+        List<ServerImpl> servers = new ArrayList<>();
+        ObjectMapper mapper = api.getObjectMapper();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+                JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            boolean restored = false;
+            int version = -1;
+            String sessionId = null;
+            int sequence = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "version":
+                        version = parser.getIntValue();
+                        break;
+                    case "session_id":
+                        sessionId = parser.getText();
+                        break;
+                    case "seq":
+                        sequence = parser.getIntValue();
+                        break;
+                    case "yourself":
+                        if (!matches(version, sessionId, sequence, session)) {
+                            return Optional.empty();
+                        }
+                        api.setYourself(api.getOrCreateUser(mapper.readTree(parser)));
+                        break;
+                    case "unavailable_servers":
+                        if (!matches(version, sessionId, sequence, session)) {
+                            return Optional.empty();
+                        }
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            api.addUnavailableServerToCache(parser.getLongValue());
+                        }
+                        break;
+                    case "servers":
+                        if (!matches(version, sessionId, sequence, session)) {
+                            return Optional.empty();
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            servers.add(restoreServer(mapper.readTree(parser)));
+                        }
+                        restored = true;
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            return restored ? Optional.of(servers) : Optional.empty();
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Checks if the header of a snapshot matches the resumed session.
+     *
+     * @param version The version of the snapshot.
+     * @param sessionId The id of the session of the snapshot.
+     * @param sequence The sequence of the session of the snapshot.
+     * @param session The session that is resumed.
+     * @return Whether the snapshot matches the resumed session.
+     */
+    private static boolean matches(int version, String sessionId, int sequence, GatewaySession session) {
+        return version == VERSION && session.getSessionId().equals(sessionId) && session.getSequence() == sequence;
+    }
+
+    /**
+     * Restores a server from its json data.
+     *
+     * @param data The json data of the server.
+     * @return The restored server.
+     */
+    private ServerImpl restoreServer(JsonNode data) {
+        ServerImpl server = new ServerImpl(api, data);
+        // The voice state flags of the members do not include the flags the users set themselves
+        if (data.has("voice_states")) {
+            for (JsonNode voiceState : data.get("voice_states")) {
+                long userId = voiceState.get("user_id").asLong();
+                server.setSelfMuted(userId, voiceState.path("self_mute").asBoolean(false));
+                server.setSelfDeafened(userId, voiceState.path("self_deaf").asBoolean(false));
+            }
+        }
+        return server;
+    }
+
+    /**
+     * Creates the json data of a server in the shape of its {@code GUILD_CREATE} packet.
+     *
+     * @param server The server.
+     * @param writtenPresences The ids of the users whose presence was already written.
+     * @return The json data of the server.
+     */
+    private ObjectNode serverToJson(ServerImpl server, Set<Long> writtenPresences) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode()
+                .put("id", server.getIdAsString())
+                .put("name", server.getName())
+                .put("region", server.getRegion().getKey())
+                .put("large", server.isLarge())
+                .put("member_count", server.getMemberCount())
+                .put("owner_id", Long.toUnsignedString(server.getOwnerId()))
+                .put("verification_level", server.getVerificationLevel().getId())
+                .put("explicit_content_filter", server.getExplicitContentFilterLevel().getId())
+                .put("default_message_notifications", server.getDefaultMessageNotificationLevel().getId())
+                .put("mfa_level", server.getMultiFactorAuthenticationLevel().getId())
+                .put("icon", server.getIconHash())
+                .put("splash", server.getSplashHash())
+                .put("afk_timeout", server.getAfkTimeoutInSeconds());
+        server.getAfkChannel().ifPresent(channel -> data.put("afk_channel_id", channel.getId()));
+        server.getSystemChannel().ifPresent(channel -> data.put("system_channel_id", channel.getId()));
+        server.getApplicationId().ifPresent(applicationId -> data.put("application_id", applicationId));
+
+        ArrayNode channels = data.putArray("channels");
+        ArrayNode voiceStates = data.putArray("voice_states");
+        for (ServerChannel channel : server.getUnorderedChannels()) {
+            channels.add(channelToJson((ServerChannelImpl) channel));
+            if (channel instanceof ServerVoiceChannel) {
+                for (long userId : ((ServerVoiceChannel) channel).getConnectedUserIds()) {
+                    voiceStates.addObject()
+                            .put("channel_id", channel.getId())
+                            .put("user_id", userId)
+                            .put("self_mute", server.isSelfMuted(userId))
+                            .put("self_deaf", server.isSelfDeafened(userId));
+                }
+            }
+        }
+
+        ArrayNode roles = data.putArray("roles");
+        for (Role role : server.getRoles()) {
+            roles.addObject()
+                    .put("id", role.getId())
+                    .put("name", role.getName())
+                    .put("position", role.getPosition())
+                    .put("color", ((RoleImpl) role).getColorAsInt())
+                    .put("hoist", role.isDisplayedSeparately())
+                    .put("mentionable", role.isMentionable())
+                    .put("permissions", role.getPermissions().getAllowedBitmask())
+                    .put("managed", role.isManaged());
+        }
+
+        ArrayNode members = data.putArray("members");
+        ArrayNode presences = data.putArray("presences");
+        for (User user : server.getMembers()) {
+            ObjectNode member = members.addObject();
+            member.set("user", userToJson(user));
+            server.getNickname(user).ifPresent(nickname -> member.put("nick", nickname));
+            ArrayNode memberRoles = member.putArray("roles");
+            server.getRoles(user).stream()
+                    .filter(role -> !role.isEveryoneRole())
+                    .forEach(role -> memberRoles.add(role.getId()));
+            server.getJoinedAtTimestamp(user).ifPresent(joinedAt -> member.put("joined_at", joinedAt.toString()));
+            member.put("mute", server.isMuted(user.getId()));
+            member.put("deaf", server.isDeafened(user.getId()));
+
+            if ((user.getStatus() != UserStatus.OFFLINE || user.getActivity().isPresent())
+                    && writtenPresences.add(user.getId())) {
+                presences.add(presenceToJson((UserImpl) user));
+            }
+        }
+
+        ArrayNode emojis = data.putArray("emojis");
+        for (KnownCustomEmoji emoji : server.getCustomEmojis()) {
+            ObjectNode emojiJson = emojis.addObject()
+                    .put("id", emoji.getId())
+                    .put("name", emoji.getName())
+                    .put("animated", emoji.isAnimated())
+                    .put("require_colons", emoji.requiresColons())
+                    .put("managed", emoji.isManaged());
+            emoji.getWhitelistedRoles().ifPresent(whitelist -> {
+                ArrayNode whitelistJson = emojiJson.putArray("roles");
+                whitelist.forEach(role -> whitelistJson.add(role.getId()));
+            });
+        }
+        return data;
+    }
+
+    /**
+     * Creates the json data of a server channel.
+     *
+     * @param channel The channel.
+     * @return The json data of the channel.
+     */
+    private static ObjectNode channelToJson(ServerChannelImpl channel) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode()
+                .put("id", channel.getIdAsString())
+                .put("type", channel.getType().getId())
+                .put("name", channel.getName())
+                .put("position", channel.getRawPosition());
+        ArrayNode permissionOverwrites = data.putArray("permission_overwrites");
+        addPermissionOverwrites(permissionOverwrites, "role", channel.getInternalOverwrittenRolePermissions());
+        addPermissionOverwrites(permissionOverwrites, "member", channel.getInternalOverwrittenUserPermissions());
+
+        if (channel instanceof ServerTextChannel) {
+            ServerTextChannel textChannel = (ServerTextChannel) channel;
+            data.put("nsfw", textChannel.isNsfw())
+                    .put("topic", textChannel.getTopic())
+                    .put("rate_limit_per_user", textChannel.getSlowmodeDelayInSeconds());
+            textChannel.getCategory().ifPresent(category -> data.put("parent_id", category.getIdAsString()));
+        } else if (channel instanceof ServerVoiceChannel) {
+            ServerVoiceChannel voiceChannel = (ServerVoiceChannel) channel;
+            data.put("bitrate", voiceChannel.getBitrate())
+                    .put("user_limit", voiceChannel.getUserLimit().orElse(0));
+            voiceChannel.getCategory().ifPresent(category -> data.put("parent_id", category.getIdAsString()));
+        } else if (channel instanceof ChannelCategory) {
+            data.put("nsfw", ((ChannelCategory) channel).isNsfw());
+        }
+        return data;
+    }
+
+    /**
+     * Adds the given permission overwrites to a json array.
+     *
+     * @param array The json array.
+     * @param type The type of the overwrites.
+     * @param overwrites The overwrites by the id of the role or user.
+     */
+    private static void addPermissionOverwrites(ArrayNode array, String type, Map<Long, Permissions> overwrites) {
+        overwrites.forEach((id, permissions) -> array.addObject()
+                .put("id", Long.toUnsignedString(id))
+                .put("type", type)
+                .put("allow", permissions.getAllowedBitmask())
+                .put("deny", permissions.getDeniedBitmask()));
+    }
+
+    /**
+     * Creates the json data of a user.
+     *
+     * @param user The user.
+     * @return The json data of the user.
+     */
+    private static ObjectNode userToJson(User user) {
+        return JsonNodeFactory.instance.objectNode()
+                .put("id", user.getIdAsString())
+                .put("username", user.getName())
+                .put("discriminator", user.getDiscriminator())
+                .put("avatar", ((UserImpl) user).getAvatarHash())
+                .put("bot", user.isBot());
+    }
+
+    /**
+     * Creates the json data of the presence of a user.
+     *
+     * @param user The user.
+     * @return The json data of the presence.
+     */
+    private static ObjectNode presenceToJson(UserImpl user) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode();
+        data.putObject("user").put("id", user.getIdAsString());
+        data.put("status", user.getStatus().getStatusString());
+        ObjectNode clientStatus = data.putObject("client_status");
+        for (DiscordClient client : DiscordClient.values()) {
+            UserStatus status = user.getStatusOnClient(client);
+            if (status != UserStatus.OFFLINE) {
+                clientStatus.put(client.getName(), status.getStatusString());
+            }
+        }
+        data.set("game", user.getActivity().map(CacheSnapshot::activityToJson).orElse(null));
+        return data;
+    }
+
+    /**
+     * Creates the json data of an activity.
+     * The assets of the activity are not included, they are restored with the next presence update.
+     *
+     * @param activity The activity.
+     * @return The json data of the activity.
+     */
+    private static ObjectNode activityToJson(Activity activity) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode()
+                .put("type", activity.getType().getId())
+                .put("name", activity.getName());
+        activity.getStreamingUrl().ifPresent(url -> data.put("url", url));
+        activity.getDetails().ifPresent(details -> data.put("details", details));
+        activity.getState().ifPresent(state -> data.put("state", state));
+        activity.getApplicationId().ifPresent(applicationId -> data.put("application_id", applicationId));
+        if (activity.getStartTime().isPresent() || activity.getEndTime().isPresent()) {
+            ObjectNode timestamps = data.putObject("timestamps");
+            activity.getStartTime().ifPresent(start -> timestamps.put("start", start.toEpochMilli()));
+            activity.getEndTime().ifPresent(end -> timestamps.put("end", end.toEpochMilli()));
+        }
+        activity.getParty().ifPresent(party -> data.set("party", partyToJson(party)));
+        return data;
+    }
+
+    /**
+     * Creates the json data of the party of an activity.
+     *
+     * @param party The party.
+     * @return The json data of the party.
+     */
+    private static ObjectNode partyToJson(ActivityParty party) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode();
+        party.getId().ifPresent(id -> data.put("id", id));
+        if (party.getCurrentSize().isPresent() && party.getMaximumSize().isPresent()) {
+            data.putArray("size").add(party.getCurrentSize().get()).add(party.getMaximumSize().get());
+        }
+        return data;
+    }
+
+}
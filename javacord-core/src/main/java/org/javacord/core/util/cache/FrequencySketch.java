@@ -0,0 +1,94 @@
+package org.javacord.core.util.cache;
+
+/**
+ * A count-min sketch that estimates how often ids were used recently.
+ *
+ * <p>Every id is counted in four counters of at most {@code 15}, the estimate is the lowest of them. There are
+ * sixteen counters per expected id. After ten increments per expected id all counters are halved, so ids which were
+ * used often a long time ago age out.
+ *
+ * <p>This class is not thread-safe.
+ */
+class FrequencySketch {
+
+    /**
+     * The maximum value of a counter.
+     */
+    private static final int MAX_COUNT = 15;
+
+    /**
+     * The seeds of the four hash functions.
+     */
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    /**
+     * The counters.
+     */
+    private final byte[] counters;
+
+    /**
+     * The amount of increments after which the counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * The amount of increments since the counters were halved.
+     */
+    private int increments = 0;
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param expectedEntries The amount of ids that are expected to be tracked at the same time.
+     */
+    FrequencySketch(long expectedEntries) {
+        long length = Long.highestOneBit(Math.max(64, Math.min(1 << 24, expectedEntries * 16)) - 1) << 1;
+        counters = new byte[(int) length];
+        sampleSize = 10 * counters.length / 16;
+    }
+
+    /**
+     * Counts a use of the id.
+     *
+     * @param id The id.
+     */
+    void increment(long id) {
+        boolean incremented = false;
+        for (long seed : SEEDS) {
+            int index = index(id, seed);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                incremented = true;
+            }
+        }
+        if (incremented && ++increments >= sampleSize) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+            increments /= 2;
+        }
+    }
+
+    /**
+     * Estimates how often the id was used recently.
+     *
+     * @param id The id.
+     * @return The estimated frequency.
+     */
+    int frequency(long id) {
+        int frequency = MAX_COUNT;
+        for (long seed : SEEDS) {
+            frequency = Math.min(frequency, counters[index(id, seed)]);
+        }
+        return frequency;
+    }
+
+    private int index(long id, long seed) {
+        long hash = (id + seed) * seed;
+        hash ^= hash >>> 29;
+        return (int) hash & (counters.length - 1);
+    }
+
+}
@@ -0,0 +1,275 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.message.Message;
+import org.javacord.api.util.cache.MessageCacheBudget;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the messages of all channels within a {@link MessageCacheBudget}.
+ *
+ * <p>The eviction follows W-TinyLFU: new messages enter a small window that is evicted in LRU order. Messages that
+ * leave the window are only admitted to the main area, which is evicted in LRU order as well, if they were used more
+ * often than the message that would have to make room for them. How often messages were used is estimated by a
+ * {@link FrequencySketch}, which also remembers messages that are not cached anymore.
+ *
+ * <p>This class only decides which messages are evicted. The message caches of the channels store the messages and
+ * evict the messages this class returns. They call this class while holding their own lock, so the global cache
+ * never holds a message that was already removed from its channel. To avoid deadlocks, this class never calls the
+ * message caches.
+ */
+public class GlobalMessageCache {
+
+    /**
+     * The share of the budget that is used by the window for new messages.
+     * It is larger than the usual one percent, as recent messages are the most likely ones to be edited or reacted to.
+     */
+    private static final double WINDOW_SHARE = 0.1;
+
+    /**
+     * The estimated size of a message without content, embeds, attachments and reactions in bytes.
+     */
+    private static final int MESSAGE_BASE_SIZE = 600;
+
+    /**
+     * The estimated average size of a message in bytes, used to size the frequency sketch for byte budgets.
+     */
+    private static final int AVERAGE_MESSAGE_SIZE = 1024;
+
+    /**
+     * The budget.
+     */
+    private final MessageCacheBudget budget;
+
+    /**
+     * The maximum total weight of the messages in the window.
+     */
+    private final long windowLimit;
+
+    /**
+     * The window for new messages, in access order.
+     */
+    private final LinkedHashMap<Long, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The main area for messages which left the window, in access order.
+     */
+    private final LinkedHashMap<Long, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The estimated frequencies of the messages.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The total weight of the messages in the window.
+     */
+    private long windowWeight = 0;
+
+    /**
+     * The total weight of the messages in the main area.
+     */
+    private long mainWeight = 0;
+
+    /**
+     * Creates a new global message cache.
+     *
+     * @param budget The budget, must not be unlimited.
+     */
+    public GlobalMessageCache(MessageCacheBudget budget) {
+        if (budget.isUnlimited()) {
+            throw new IllegalArgumentException("The budget must have a limit");
+        }
+        this.budget = budget;
+        windowLimit = (long) (budget.getLimit() * WINDOW_SHARE);
+        sketch = new FrequencySketch(
+                budget.isWeighted() ? budget.getLimit() / AVERAGE_MESSAGE_SIZE : budget.getLimit());
+    }
+
+    /**
+     * Estimates the size of the given message in bytes.
+     *
+     * @param message The message.
+     * @return The estimated size of the message.
+     */
+    public static int estimateSize(Message message) {
+        return MESSAGE_BASE_SIZE
+                + 2 * message.getContent().length()
+                + 800 * message.getEmbeds().size()
+                + 300 * message.getAttachments().size()
+                + 150 * message.getReactions().size();
+    }
+
+    /**
+     * Gets the budget.
+     *
+     * @return The budget.
+     */
+    public MessageCacheBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Adds a message that was added to the cache of a channel.
+     *
+     * @param cache The message cache of the channel.
+     * @param message The message.
+     * @return The messages that must be evicted to stay within the budget, possibly including the added one.
+     */
+    public synchronized List<Entry> add(MessageCacheImpl cache, Message message) {
+        long id = message.getId();
+        sketch.increment(id);
+        if (window.get(id) != null || main.get(id) != null) {
+            return Collections.emptyList();
+        }
+        Entry entry = new Entry(cache, id, budget.isWeighted() ? estimateSize(message) : 1);
+        window.put(id, entry);
+        windowWeight += entry.weight;
+
+        // Messages which leave the window become candidates for the main area
+        Deque<Entry> candidates = new ArrayDeque<>();
+        Iterator<Entry> windowIterator = window.values().iterator();
+        while (windowWeight > windowLimit && windowIterator.hasNext()) {
+            Entry candidate = windowIterator.next();
+            windowIterator.remove();
+            windowWeight -= candidate.weight;
+            main.put(candidate.messageId, candidate);
+            mainWeight += candidate.weight;
+            candidates.add(candidate);
+        }
+
+        List<Entry> evicted = new ArrayList<>();
+        while (windowWeight + mainWeight > budget.getLimit()) {
+            Entry victim = eldest(main);
+            if (victim == null) {
+                victim = eldest(window);
+            } else {
+                Entry candidate = candidates.peekFirst();
+                if (candidate == victim) {
+                    candidates.removeFirst();
+                } else if (candidate != null
+                        && sketch.frequency(candidate.messageId) <= sketch.frequency(victim.messageId)) {
+                    // The candidate is not used more often than the victim, so it is not admitted
+                    candidates.removeFirst();
+                    victim = candidate;
+                }
+            }
+            remove(victim.messageId);
+            evicted.add(victim);
+        }
+        return evicted;
+    }
+
+    /**
+     * Records that a message was used.
+     *
+     * @param messageId The id of the message.
+     */
+    public synchronized void recordAccess(long messageId) {
+        sketch.increment(messageId);
+        if (window.get(messageId) == null) {
+            main.get(messageId);
+        }
+    }
+
+    /**
+     * Removes a message that was removed from the cache of a channel.
+     *
+     * @param messageId The id of the message.
+     */
+    public synchronized void remove(long messageId) {
+        Entry entry = window.remove(messageId);
+        if (entry != null) {
+            windowWeight -= entry.weight;
+            return;
+        }
+        entry = main.remove(messageId);
+        if (entry != null) {
+            mainWeight -= entry.weight;
+        }
+    }
+
+    /**
+     * Checks whether the message with the given id is in the global cache.
+     *
+     * @param messageId The id of the message.
+     * @return Whether the message is in the global cache.
+     */
+    public synchronized boolean contains(long messageId) {
+        return window.containsKey(messageId) || main.containsKey(messageId);
+    }
+
+    /**
+     * Gets the amount of messages.
+     *
+     * @return The amount of messages.
+     */
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /**
+     * Gets the total weight of the messages.
+     * This is the amount of messages or their estimated size in bytes, depending on the budget.
+     *
+     * @return The total weight of the messages.
+     */
+    public synchronized long getWeight() {
+        return windowWeight + mainWeight;
+    }
+
+    private static Entry eldest(Map<Long, Entry> area) {
+        Iterator<Entry> iterator = area.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * A message in the global cache.
+     */
+    public static final class Entry {
+
+        private final MessageCacheImpl cache;
+        private final long messageId;
+        private final int weight;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param cache The message cache of the channel of the message.
+         * @param messageId The id of the message.
+         * @param weight The weight of the message.
+         */
+        private Entry(MessageCacheImpl cache, long messageId, int weight) {
+            this.cache = cache;
+            this.messageId = messageId;
+            this.weight = weight;
+        }
+
+        /**
+         * Gets the message cache of the channel of the message.
+         *
+         * @return The message cache.
+         */
+        public MessageCacheImpl getCache() {
+            return cache;
+        }
+
+        /**
+         * Gets the id of the message.
+         *
+         * @return The id of the message.
+         */
+        public long getMessageId() {
+            return messageId;
+        }
+
+    }
+
+}
@@ -2,7 +2,9 @@ package org.javacord.core.util.cache;
 
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
+import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.message.Message;
+import org.javacord.api.util.cache.CacheMode;
 import org.javacord.api.util.cache.MessageCache;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.Cleanupable;
@@ -15,14 +17,12 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The implementation of {@link MessageCache}.
@@ -35,20 +35,15 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     private static final Logger logger = LoggerUtil.getLogger(MessageCacheImpl.class);
 
     /**
-     * A list with all messages.
+     * The messages ordered by their id, not including messages which are cached forever.
      */
-    private final List<Reference<? extends Message>> messages = new ArrayList<>();
+    private final SnowflakeRingBuffer<MessageReference> messages;
 
     /**
      * The queue that is notified if a message became softly-reachable.
      */
     private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
 
-    /**
-     * The messages cleanup future to be cancelled in {@link #cleanup()}.
-     */
-    private final Future<?> messagesCleanupFuture;
-
     /**
      * A list with all messages that should be cached forever.
      */
@@ -65,14 +60,24 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     private final DiscordApiImpl api;
 
     /**
-     * The maximum amount of stored messages.
+     * The time how long messages should be cached.
      */
-    private volatile int capacity;
+    private volatile int storageTimeInSeconds;
 
     /**
-     * The time how long messages should be cached.
+     * The amount of cache hits.
      */
-    private volatile int storageTimeInSeconds;
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The amount of cache misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The amount of evicted messages.
+     */
+    private final LongAdder evictions = new LongAdder();
 
     /**
      * Creates a new message cache.
@@ -84,53 +89,106 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public MessageCacheImpl(DiscordApi api, int capacity, int storageTimeInSeconds, boolean automaticCleanupEnabled) {
         this.api = (DiscordApiImpl) api;
-        this.capacity = capacity;
+        this.messages = new SnowflakeRingBuffer<>(capacity);
         this.storageTimeInSeconds = storageTimeInSeconds;
 
         setAutomaticCleanupEnabled(automaticCleanupEnabled);
-
-        // After minimum JDK 9 is required this can be switched to use a Cleaner
-        messagesCleanupFuture = api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-            try {
-                int removedMessages = 0;
-                for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
-                         messageRef != null;
-                         messageRef = messagesCleanupQueue.poll()) {
-                    messages.remove(messageRef);
-                    removedMessages++;
-                }
-                if (removedMessages > 0) {
-                    logger.warn("Heap memory was too low to hold all configured messages in the cache. "
-                                + "Removed {} messages from the cache due to memory shortage. "
-                                + "Either increase your heap settings or decrease your message cache settings!",
-                                removedMessages);
-                }
-            } catch (Throwable t) {
-                logger.error("Failed to clean softly referenced messages!", t);
-            }
-        }, 30, 30, TimeUnit.SECONDS);
     }
 
     /**
      * Adds a message to the cache.
+     * If messages are not cached, only messages that are cached forever are added.
+     * If the cache is full, the oldest message is removed. If the global message cache budget is exceeded, messages
+     * are evicted across all channels.
      *
      * @param message The message to add.
      */
     public void addMessage(Message message) {
+        api.addMessageToCache(message);
+        if (message.isCachedForever() || api.getCachePolicy().getMessages() == CacheMode.DISABLED) {
+            // Messages which are cached forever are kept by the list of them, other messages are not kept at all
+            // when messages are not cached, as the api only keeps a weak reference to them
+            return;
+        }
+        long messageId = message.getId();
+        Optional<GlobalMessageCache> globalCache = api.getGlobalMessageCache();
+        List<GlobalMessageCache.Entry> evictedMessages;
         synchronized (messages) {
-            api.addMessageToCache(message);
-            if (messages.stream().map(Reference::get).anyMatch(message::equals)) {
+            removeClearedMessages();
+            int index = messages.indexOf(messageId);
+            if (index >= 0) {
+                if (messages.get(index).get() == null) {
+                    messages.set(index, new MessageReference(message, messagesCleanupQueue));
+                }
+                return;
+            }
+            if (messages.size() >= messages.getCapacity()) {
+                if (messages.size() == 0 || messageId < messages.getId(0)) {
+                    // The message would be the oldest one, so it is evicted right away
+                    return;
+                }
+                evictFirst();
+            }
+            messages.add(messageId, new MessageReference(message, messagesCleanupQueue));
+            if (!globalCache.isPresent()) {
                 return;
             }
-            // Add the message in the correct order
-            messages.removeIf(messageRef -> messageRef.get() == null);
-            Reference<Message> messageRef = new SoftReference<>(message, messagesCleanupQueue);
-            int pos = Collections.binarySearch(messages, messageRef, Comparator.comparing(Reference::get));
-            if (pos < 0) {
-                pos = -pos - 1;
+            // The global cache is updated while holding the lock, so a concurrent removal cannot happen in between
+            evictedMessages = globalCache.get().add(this, message);
+        }
+        // Evicting messages locks other channels, so it must not happen while holding the lock
+        evict(globalCache.get(), evictedMessages);
+    }
+
+    /**
+     * Adds all messages of this cache to the given global message cache.
+     *
+     * @param globalCache The global message cache.
+     */
+    public void addToGlobalCache(GlobalMessageCache globalCache) {
+        List<GlobalMessageCache.Entry> evictedMessages = new ArrayList<>();
+        synchronized (messages) {
+            for (int i = 0; i < messages.size(); i++) {
+                Message message = messages.get(i).get();
+                if (message != null) {
+                    evictedMessages.addAll(globalCache.add(this, message));
+                }
             }
-            messages.add(pos, messageRef);
         }
+        evict(globalCache, evictedMessages);
+    }
+
+    /**
+     * Gets a cached message of this channel by its id and records whether it was a hit or a miss.
+     * Only messages that are held by this cache are hits. Messages that are still known to the api, e.g. because
+     * they are referenced by an event, are returned as well, but count as misses.
+     *
+     * @param messageId The id of the message.
+     * @return The message with the given id.
+     */
+    public Optional<Message> getMessageById(long messageId) {
+        Message message = null;
+        synchronized (messages) {
+            int index = messages.indexOf(messageId);
+            if (index >= 0) {
+                message = messages.get(index).get();
+            }
+        }
+        if (message == null) {
+            synchronized (cacheForeverMessages) {
+                message = cacheForeverMessages.stream()
+                        .filter(cacheForeverMessage -> cacheForeverMessage.getId() == messageId)
+                        .findAny()
+                        .orElse(null);
+            }
+        }
+        if (message == null) {
+            misses.increment();
+            return api.getCachedMessageById(messageId);
+        }
+        hits.increment();
+        api.getGlobalMessageCache().ifPresent(globalCache -> globalCache.recordAccess(messageId));
+        return Optional.of(message);
     }
 
     /**
@@ -140,15 +198,18 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void addCacheForeverMessage(Message message) {
         cacheForeverMessages.add(message);
+        removeMessage(message);
     }
 
     /**
      * Removes a message to be cached forever.
+     * It stays in the cache like any other message.
      *
      * @param message The message to remove.
      */
     public void removeCacheForeverMessage(Message message) {
         cacheForeverMessages.remove(message);
+        addMessage(message);
     }
 
     /**
@@ -158,41 +219,100 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void removeMessage(Message message) {
         synchronized (messages) {
-            messages.removeIf(messageRef -> Objects.equals(messageRef.get(), message));
+            int index = messages.indexOf(message.getId());
+            if (index >= 0) {
+                messages.remove(index);
+                api.getGlobalMessageCache().ifPresent(globalCache -> globalCache.remove(message.getId()));
+            }
         }
     }
 
     /**
      * Cleans the cache.
+     * As the messages are ordered by their id, which contains their creation timestamp, only the messages which are
+     * too old are visited. Messages which were cleared by the garbage collector are removed as well.
      */
     public void clean() {
         Instant minAge = Instant.now().minus(storageTimeInSeconds, ChronoUnit.SECONDS);
         synchronized (messages) {
-            messages.removeIf(messageRef -> Optional.ofNullable(messageRef.get())
-                    .map(message -> !message.isCachedForever() && message.getCreationTimestamp().isBefore(minAge))
-                    .orElse(true));
-            long foreverCachedAmount = messages.stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(Message::isCachedForever)
-                    .count();
-            messages.removeAll(messages.stream()
-                                       .filter(messageRef -> Optional.ofNullable(messageRef.get())
-                                               .map(message -> !message.isCachedForever())
-                                               .orElse(true))
-                                       .limit(Math.max(0, messages.size() - capacity - foreverCachedAmount))
-                                       .collect(Collectors.toList()));
+            removeClearedMessages();
+            while (messages.size() > 0 && DiscordEntity.getCreationTimestamp(messages.getId(0)).isBefore(minAge)) {
+                evictFirst();
+            }
+        }
+    }
+
+    /**
+     * Evicts the given messages, which were chosen by the global message cache, from their channels.
+     * Messages which were added to the global message cache again in the meantime are kept.
+     *
+     * @param globalCache The global message cache.
+     * @param evictedMessages The messages to evict.
+     */
+    private static void evict(GlobalMessageCache globalCache, List<GlobalMessageCache.Entry> evictedMessages) {
+        for (GlobalMessageCache.Entry evictedMessage : evictedMessages) {
+            MessageCacheImpl cache = evictedMessage.getCache();
+            synchronized (cache.messages) {
+                int index = cache.messages.indexOf(evictedMessage.getMessageId());
+                if (index >= 0 && !globalCache.contains(evictedMessage.getMessageId())) {
+                    cache.messages.remove(index);
+                    cache.evictions.increment();
+                }
+            }
         }
     }
 
+    /**
+     * Evicts the oldest message.
+     * Must only be called while holding the lock of the messages.
+     */
+    private void evictFirst() {
+        long messageId = messages.getId(0);
+        messages.removeFirst();
+        removedFromCache(messageId);
+    }
+
+    /**
+     * Counts an evicted message and removes it from the global message cache.
+     *
+     * @param messageId The id of the evicted message.
+     */
+    private void removedFromCache(long messageId) {
+        evictions.increment();
+        api.getGlobalMessageCache().ifPresent(globalCache -> globalCache.remove(messageId));
+    }
+
     @Override
     public int getCapacity() {
-        return capacity;
+        synchronized (messages) {
+            return messages.getCapacity();
+        }
     }
 
     @Override
     public void setCapacity(int capacity) {
-        this.capacity = capacity >= 0 ? capacity : 0;
+        int newCapacity = capacity >= 0 ? capacity : 0;
+        synchronized (messages) {
+            while (messages.size() > newCapacity) {
+                evictFirst();
+            }
+            messages.setCapacity(newCapacity);
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
     }
 
     @Override
@@ -235,7 +355,61 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     @Override
     public void cleanup() {
         setAutomaticCleanupEnabled(false);
-        messagesCleanupFuture.cancel(false);
+        api.getGlobalMessageCache().ifPresent(globalCache -> {
+            synchronized (messages) {
+                for (int i = 0; i < messages.size(); i++) {
+                    globalCache.remove(messages.getId(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes the messages which were cleared by the garbage collector due to memory shortage.
+     * Must be called while holding the lock of {@link #messages}.
+     */
+    private void removeClearedMessages() {
+        int removedMessages = 0;
+        for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
+                 messageRef != null;
+                 messageRef = messagesCleanupQueue.poll()) {
+            long messageId = ((MessageReference) messageRef).id;
+            int index = messages.indexOf(messageId);
+            if (index >= 0 && messages.get(index) == messageRef) {
+                messages.remove(index);
+                removedFromCache(messageId);
+            }
+            removedMessages++;
+        }
+        if (removedMessages > 0) {
+            logger.warn("Heap memory was too low to hold all configured messages in the cache. "
+                        + "Removed {} messages from the cache due to memory shortage. "
+                        + "Either increase your heap settings or decrease your message cache settings!",
+                        removedMessages);
+        }
+    }
+
+    /**
+     * A soft reference to a message which knows the id of the message.
+     */
+    private static class MessageReference extends SoftReference<Message> {
+
+        /**
+         * The id of the message.
+         */
+        private final long id;
+
+        /**
+         * Creates a new message reference.
+         *
+         * @param message The message.
+         * @param queue The queue that is notified if the message became softly-reachable.
+         */
+        private MessageReference(Message message, ReferenceQueue<? super Message> queue) {
+            super(message, queue);
+            id = message.getId();
+        }
+
     }
 
 }
@@ -0,0 +1,267 @@
+package org.javacord.core.util.cache;
+
+import java.util.Arrays;
+
+/**
+ * A ring buffer with a maximum capacity that keeps its values ordered by their snowflake id.
+ *
+ * <p>The ids are kept in a primitive array next to the values, so values are found with a binary search. As new
+ * entities have the highest ids, they are appended in constant time and the oldest entities are evicted from the
+ * head in constant time. Older entities are inserted by shifting the shorter side of the buffer. The arrays grow up to
+ * the capacity when they are needed, so a buffer with a large capacity and few values stays small.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> The type of the values.
+ */
+public class SnowflakeRingBuffer<T> {
+
+    /**
+     * The initial length of the arrays.
+     */
+    private static final int INITIAL_LENGTH = 16;
+
+    /**
+     * The ids of the values.
+     */
+    private long[] ids = new long[0];
+
+    /**
+     * The values.
+     */
+    private Object[] values = new Object[0];
+
+    /**
+     * The position of the value with the lowest id in the arrays.
+     */
+    private int head = 0;
+
+    /**
+     * The amount of values.
+     */
+    private int size = 0;
+
+    /**
+     * The maximum amount of values.
+     */
+    private int capacity;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity The maximum amount of values.
+     */
+    public SnowflakeRingBuffer(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    /**
+     * Gets the amount of values.
+     *
+     * @return The amount of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum amount of values.
+     *
+     * @return The maximum amount of values.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum amount of values.
+     * If there are more values, the ones with the lowest ids are removed.
+     *
+     * @param capacity The maximum amount of values.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+        while (size > this.capacity) {
+            removeFirst();
+        }
+        if (ids.length > this.capacity) {
+            resize(Math.min(ids.length, Math.max(this.capacity, size)));
+        }
+    }
+
+    /**
+     * Searches the position of the given id.
+     *
+     * @param id The id.
+     * @return The position of the id or {@code (-(insertion point) - 1)} if there is no value with this id.
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = ids[physical(mid)];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Gets the id at the given position.
+     *
+     * @param index The position, {@code 0} being the lowest id.
+     * @return The id.
+     */
+    public long getId(int index) {
+        checkIndex(index);
+        return ids[physical(index)];
+    }
+
+    /**
+     * Gets the value at the given position.
+     *
+     * @param index The position, {@code 0} being the lowest id.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) values[physical(index)];
+    }
+
+    /**
+     * Replaces the value at the given position.
+     *
+     * @param index The position, {@code 0} being the lowest id.
+     * @param value The new value.
+     */
+    public void set(int index, T value) {
+        checkIndex(index);
+        values[physical(index)] = value;
+    }
+
+    /**
+     * Adds a value with an id that is not in the buffer yet.
+     * If the buffer is full, the value with the lowest id is removed. If this is the new value itself, it is not
+     * added at all.
+     *
+     * @param id The id of the value.
+     * @param value The value.
+     * @return Whether the value was added or not.
+     */
+    public boolean add(long id, T value) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            throw new IllegalArgumentException("There already is a value with the id " + id);
+        }
+        index = -index - 1;
+        if (size == capacity) {
+            if (index == 0) {
+                return false;
+            }
+            removeFirst();
+            index--;
+        } else if (size == ids.length) {
+            resize(Math.min(capacity, Math.max(INITIAL_LENGTH, ids.length * 2)));
+        }
+        if (index >= size / 2) {
+            // Shift the values after the index to the tail
+            for (int i = size; i > index; i--) {
+                move(i - 1, i);
+            }
+        } else {
+            // Shift the values before the index to the head
+            head = physical(ids.length - 1);
+            for (int i = 0; i < index; i++) {
+                move(i + 1, i);
+            }
+        }
+        int slot = physical(index);
+        ids[slot] = id;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the value at the given position.
+     *
+     * @param index The position, {@code 0} being the lowest id.
+     * @return The removed value.
+     */
+    public T remove(int index) {
+        T value = get(index);
+        if (index >= size / 2) {
+            // Shift the values after the index to the head
+            for (int i = index; i < size - 1; i++) {
+                move(i + 1, i);
+            }
+            values[physical(size - 1)] = null;
+        } else {
+            // Shift the values before the index to the tail
+            for (int i = index; i > 0; i--) {
+                move(i - 1, i);
+            }
+            values[head] = null;
+            head = physical(1);
+        }
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes the value with the lowest id.
+     *
+     * @return The removed value.
+     */
+    public T removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        head = 0;
+        size = 0;
+    }
+
+    private int physical(int index) {
+        int slot = head + index;
+        return slot >= ids.length ? slot - ids.length : slot;
+    }
+
+    private void move(int fromIndex, int toIndex) {
+        int from = physical(fromIndex);
+        int to = physical(toIndex);
+        ids[to] = ids[from];
+        values[to] = values[from];
+    }
+
+    private void resize(int length) {
+        long[] newIds = new long[length];
+        Object[] newValues = new Object[length];
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            newIds[i] = ids[slot];
+            newValues[i] = values[slot];
+        }
+        ids = newIds;
+        values = newValues;
+        head = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.core.util.ConcurrentLongHashMap;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * A registry of entities by their id which does not keep the entities from being garbage-collected.
+ *
+ * <p>Entries of collected entities are removed whenever an entity is added, like in a {@link java.util.WeakHashMap},
+ * so no thread has to poll for them. The references know the id of their entity, so no map from references back to
+ * ids is needed.
+ *
+ * @param <T> The type of the entities.
+ */
+public class WeakEntityRegistry<T> {
+
+    /**
+     * The amount of locks which serialize the creation of entities.
+     * Must be a power of two.
+     */
+    private static final int CREATION_LOCKS = 64;
+
+    /**
+     * The references to the entities by their id.
+     */
+    private final ConcurrentLongHashMap<EntityReference<T>> entities = new ConcurrentLongHashMap<>();
+
+    /**
+     * The queue that is notified if an entity became weakly-reachable.
+     */
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /**
+     * The locks which serialize the creation of entities with the same id.
+     */
+    private final Object[] creationLocks = new Object[CREATION_LOCKS];
+
+    /**
+     * Creates a new registry.
+     */
+    public WeakEntityRegistry() {
+        for (int i = 0; i < CREATION_LOCKS; i++) {
+            creationLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Gets the entity with the given id.
+     *
+     * @param id The id of the entity.
+     * @return The entity or {@code null} if there is none or it was collected.
+     */
+    public T get(long id) {
+        EntityReference<T> reference = entities.get(id);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Gets the entity with the given id or creates it.
+     * Entities with the same id are never created concurrently, entities with different ids usually are. The factory
+     * may add the entity to this registry itself.
+     *
+     * @param id The id of the entity.
+     * @param factory The factory which creates the entity if there is none.
+     * @return The entity.
+     */
+    public T getOrCreate(long id, LongFunction<? extends T> factory) {
+        T entity = get(id);
+        if (entity != null) {
+            return entity;
+        }
+        synchronized (creationLocks[Long.hashCode(id) & (CREATION_LOCKS - 1)]) {
+            entity = get(id);
+            if (entity == null) {
+                entity = factory.apply(id);
+                putIfAbsent(id, entity);
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * Adds an entity, replacing the entity with the same id.
+     *
+     * @param id The id of the entity.
+     * @param entity The entity.
+     * @return The replaced entity or {@code null} if there was none.
+     */
+    public T put(long id, T entity) {
+        expungeStaleEntries();
+        EntityReference<T> reference = entities.put(id, new EntityReference<>(id, entity, queue));
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Adds an entity if there is no entity with the same id.
+     *
+     * @param id The id of the entity.
+     * @param entity The entity.
+     * @return The entity with the id after this call.
+     */
+    public T putIfAbsent(long id, T entity) {
+        expungeStaleEntries();
+        EntityReference<T> reference = entities.compute(id, current -> current == null || current.get() == null
+                ? new EntityReference<>(id, entity, queue)
+                : current);
+        T result = reference.get();
+        // The referent of a new reference cannot be collected yet, as the entity is still strongly reachable
+        return result == null ? entity : result;
+    }
+
+    /**
+     * Removes the entity with the given id.
+     *
+     * @param id The id of the entity.
+     * @return The removed entity or {@code null} if there was none or it was collected.
+     */
+    public T remove(long id) {
+        EntityReference<T> reference = entities.remove(id);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Gets all entities which were not collected.
+     *
+     * @return The entities.
+     */
+    public List<T> values() {
+        Collection<EntityReference<T>> references = entities.values();
+        List<T> values = new ArrayList<>(references.size());
+        for (EntityReference<T> reference : references) {
+            T entity = reference.get();
+            if (entity != null) {
+                values.add(entity);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets the amount of entries, including entries of collected entities which were not removed yet.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * Removes all entities.
+     */
+    public void clear() {
+        entities.clear();
+        while (queue.poll() != null) {
+            // Drain the queue, the entries are gone already
+        }
+    }
+
+    /**
+     * Removes the entries of entities which were collected.
+     */
+    public void expungeStaleEntries() {
+        for (Reference<? extends T> reference = queue.poll(); reference != null; reference = queue.poll()) {
+            EntityReference<?> staleReference = (EntityReference<?>) reference;
+            // The entry may have been replaced by a new entity with the same id in the meantime
+            entities.computeIfPresent(staleReference.id, current -> current == staleReference ? null : current);
+        }
+    }
+
+    /**
+     * A weak reference to an entity which knows the id of the entity.
+     *
+     * @param <T> The type of the entity.
+     */
+    private static class EntityReference<T> extends WeakReference<T> {
+
+        /**
+         * The id of the entity.
+         */
+        private final long id;
+
+        /**
+         * Creates a new entity reference.
+         *
+         * @param id The id of the entity.
+         * @param entity The entity.
+         * @param queue The queue that is notified if the entity became weakly-reachable.
+         */
+        private EntityReference(long id, T entity, ReferenceQueue<? super T> queue) {
+            super(entity, queue);
+            this.id = id;
+        }
+
+    }
+
+}
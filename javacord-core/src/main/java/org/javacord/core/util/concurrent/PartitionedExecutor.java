@@ -0,0 +1,83 @@
+package org.javacord.core.util.concurrent;
+
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An executor that runs tasks with the same partition key sequentially in the order of submission, while tasks with
+ * different partition keys may run in parallel.
+ *
+ * <p>Partition keys are hash-partitioned onto a fixed amount of lanes. Every lane is a single thread executor of the
+ * thread pool, so threads are only created for lanes that are actually used and die again after being idle.
+ */
+public class PartitionedExecutor {
+
+    /**
+     * The lanes of this executor.
+     */
+    private final ExecutorService[] lanes;
+
+    /**
+     * Creates a new partitioned executor.
+     *
+     * @param threadPool The thread pool that provides the single thread executors for the lanes.
+     * @param threadName The thread name of the lanes. The lane number is appended to it.
+     * @param laneCount The amount of lanes.
+     */
+    public PartitionedExecutor(ThreadPool threadPool, String threadName, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount cannot be less than 1!");
+        }
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = threadPool.getSingleThreadExecutorService(threadName + " - " + i);
+        }
+    }
+
+    /**
+     * Executes the given task after all previously submitted tasks with the same partition key.
+     *
+     * @param partitionKey The partition key, e.g. the id of a server.
+     * @param task The task to execute.
+     */
+    public void execute(long partitionKey, Runnable task) {
+        lanes[getLane(partitionKey)].execute(task);
+    }
+
+    /**
+     * Gets a future which is completed after all tasks that were submitted before are executed.
+     *
+     * @return A future which is completed after all previously submitted tasks are executed.
+     */
+    public CompletableFuture<Void> drain() {
+        CompletableFuture<?>[] barriers = new CompletableFuture<?>[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            barriers[i] = CompletableFuture.runAsync(() -> { }, lanes[i]);
+        }
+        return CompletableFuture.allOf(barriers);
+    }
+
+    /**
+     * Gets the amount of lanes of this executor.
+     *
+     * @return The amount of lanes.
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Gets the lane for the given partition key.
+     * The key is mixed first, as the lower bits of snowflakes are not evenly distributed.
+     *
+     * @param partitionKey The partition key.
+     * @return The lane for the given partition key.
+     */
+    private int getLane(long partitionKey) {
+        long hash = partitionKey * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % lanes.length);
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.javacord.core.util.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A view of a scheduler which is shared by several thread pools.
+ *
+ * <p>Shutting down the view does not shut down the shared scheduler, but cancels the periodic tasks which were
+ * scheduled through the view and rejects new tasks. Like for a {@link java.util.concurrent.ScheduledThreadPoolExecutor}
+ * which is shut down, delayed tasks are still executed.
+ */
+class ScheduledExecutorServiceView extends AbstractExecutorService implements ScheduledExecutorService {
+
+    /**
+     * The shared scheduler.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The periodic tasks which were scheduled through this view.
+     */
+    private final Set<ScheduledFuture<?>> periodicTasks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether this view was shut down.
+     */
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new view of a shared scheduler.
+     *
+     * @param scheduler The shared scheduler.
+     */
+    ScheduledExecutorServiceView(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Throws a {@link RejectedExecutionException} if this view was shut down.
+     */
+    private void checkShutdown() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler was shut down");
+        }
+    }
+
+    /**
+     * Remembers a periodic task, so that it can be cancelled once this view is shut down.
+     * Periodic tasks which are done, i.e. were cancelled or failed, are forgotten.
+     *
+     * @param task The periodic task.
+     * @return The periodic task.
+     */
+    private ScheduledFuture<?> addPeriodicTask(ScheduledFuture<?> task) {
+        periodicTasks.removeIf(Future::isDone);
+        periodicTasks.add(task);
+        if (shutdown) {
+            // The view was shut down concurrently, the task might have been missed
+            task.cancel(false);
+        }
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        checkShutdown();
+        return scheduler.schedule(command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        checkShutdown();
+        return scheduler.schedule(callable, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        checkShutdown();
+        return addPeriodicTask(scheduler.scheduleAtFixedRate(command, initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                     TimeUnit unit) {
+        checkShutdown();
+        return addPeriodicTask(scheduler.scheduleWithFixedDelay(command, initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        checkShutdown();
+        scheduler.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        periodicTasks.forEach(task -> task.cancel(false));
+        periodicTasks.clear();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return shutdown;
+    }
+
+}
@@ -1,44 +1,279 @@
 package org.javacord.core.util.concurrent;
 
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.util.concurrent.RejectionPolicy;
 import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration;
+import org.javacord.core.util.logging.LoggerUtil;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The implementation of {@link ThreadPool}.
  */
 public class ThreadPoolImpl implements ThreadPool {
 
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(ThreadPoolImpl.class);
+
     private static final int CORE_POOL_SIZE = 1;
-    private static final int MAXIMUM_POOL_SIZE = Integer.MAX_VALUE;
     private static final int KEEP_ALIVE_TIME = 60;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
+    private static final int REST_POOL_SIZE = 16;
+
+    private final ThreadPoolConfiguration configuration;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService daemonScheduler;
+    private final ThreadPoolExecutor restExecutorService;
+
+    /**
+     * The executor service which runs the internal tasks that the central executor service rejects.
+     */
+    private final ExecutorService overflowExecutorService;
 
-    private final ExecutorService executorService = new ThreadPoolExecutor(
-            CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
-            new ThreadFactory("Javacord - Central ExecutorService - %d", false));
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
-    private final ScheduledExecutorService daemonScheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
     private final ConcurrentHashMap<String, ExecutorService> executorServiceSingleThreads = new ConcurrentHashMap<>();
 
+    /**
+     * The thread pool whose executor services and schedulers this thread pool uses, or {@code null} if it owns them.
+     */
+    private final ThreadPoolImpl sharedPool;
+
+    /**
+     * The amount of thread pools which use the executor services and schedulers of this thread pool.
+     * It is {@code -1} once they are shut down.
+     */
+    private final AtomicInteger sharingPools = new AtomicInteger();
+
+    /**
+     * Whether this thread pool was shut down.
+     */
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    /**
+     * The listeners which are called once the executor services and schedulers of this thread pool are shut down.
+     */
+    private final List<Runnable> shutdownListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new thread pool with an {@link ThreadPoolConfiguration#unbounded() unbounded} executor service.
+     */
+    public ThreadPoolImpl() {
+        this(ThreadPoolConfiguration.unbounded());
+    }
+
+    /**
+     * Creates a new thread pool.
+     *
+     * @param configuration The configuration of the central executor service.
+     */
+    public ThreadPoolImpl(ThreadPoolConfiguration configuration) {
+        this.configuration = configuration;
+        sharedPool = null;
+        executorService = createExecutorService(configuration);
+        scheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
+        daemonScheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
+        restExecutorService = new ThreadPoolExecutor(
+                REST_POOL_SIZE, REST_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new LinkedBlockingQueue<>(),
+                new ThreadFactory("Javacord - REST Executor - %d", false));
+        restExecutorService.allowCoreThreadTimeOut(true);
+        overflowExecutorService = new ThreadPoolExecutor(
+                0, Integer.MAX_VALUE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
+                new ThreadFactory("Javacord - Overflow ExecutorService - %d", false));
+    }
+
+    /**
+     * Creates a new thread pool which uses the executor services and schedulers of the given thread pool.
+     * Only the single thread executor services are its own, as their names are only unique per shard.
+     * The schedulers are views of the shared schedulers, so the periodic tasks of this thread pool are cancelled once
+     * it is shut down.
+     *
+     * @param sharedPool The shared thread pool.
+     */
+    private ThreadPoolImpl(ThreadPoolImpl sharedPool) {
+        this.sharedPool = sharedPool;
+        configuration = sharedPool.configuration;
+        executorService = sharedPool.executorService;
+        scheduler = new ScheduledExecutorServiceView(sharedPool.scheduler);
+        daemonScheduler = new ScheduledExecutorServiceView(sharedPool.daemonScheduler);
+        restExecutorService = sharedPool.restExecutorService;
+        overflowExecutorService = sharedPool.overflowExecutorService;
+    }
+
+    /**
+     * Creates the central executor service.
+     *
+     * @param configuration The configuration of the central executor service.
+     * @return The central executor service.
+     */
+    private static ExecutorService createExecutorService(ThreadPoolConfiguration configuration) {
+        if (configuration.isVirtualThreads()) {
+            Optional<ExecutorService> virtualThreadExecutorService =
+                    createVirtualThreadExecutorService("Javacord - Central ExecutorService - ");
+            if (virtualThreadExecutorService.isPresent()) {
+                return virtualThreadExecutorService.get();
+            }
+            logger.warn("Virtual threads are not available on Java {}, falling back to an unbounded executor service",
+                    System.getProperty("java.version"));
+        }
+        int maximumThreads = configuration.getMaximumThreads();
+        BlockingQueue<Runnable> queue = configuration.getQueueSize() == 0
+                ? new SynchronousQueue<>()
+                : new LinkedBlockingQueue<>(configuration.getQueueSize());
+        RejectedExecutionHandler rejectedExecutionHandler =
+                configuration.getRejectionPolicy() == RejectionPolicy.CALLER_RUNS
+                        ? new ThreadPoolExecutor.CallerRunsPolicy()
+                        : new ThreadPoolExecutor.AbortPolicy();
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(
+                Math.min(CORE_POOL_SIZE, maximumThreads), maximumThreads, KEEP_ALIVE_TIME, TIME_UNIT, queue,
+                new ThreadFactory("Javacord - Central ExecutorService - %d", false), rejectedExecutionHandler);
+        if (queue instanceof LinkedBlockingQueue) {
+            // A thread pool executor only starts threads beyond its core size if the queue is full, so all threads
+            // are core threads which time out instead
+            executorService.setCorePoolSize(maximumThreads);
+            executorService.allowCoreThreadTimeOut(true);
+        }
+        return executorService;
+    }
+
+    /**
+     * Creates an executor service which starts a new virtual thread for every task.
+     * Virtual threads were added in Java 21, so they are looked up reflectively.
+     *
+     * @param namePrefix The prefix of the names of the threads, a counter is appended.
+     * @return The executor service or an empty optional if virtual threads are not available.
+     */
+    private static Optional<ExecutorService> createVirtualThreadExecutorService(String namePrefix) {
+        try {
+            Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            threadBuilder = threadBuilderClass.getMethod("name", String.class, long.class)
+                    .invoke(threadBuilder, namePrefix, 1L);
+            Object threadFactory = threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", java.util.concurrent.ThreadFactory.class)
+                    .invoke(null, threadFactory));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates a thread pool which uses the executor services and schedulers of this thread pool, but has its own
+     * single thread executor services.
+     * The executor services and schedulers are shut down once all thread pools which use them are shut down.
+     *
+     * @return The new thread pool or an empty optional if this thread pool was shut down already.
+     */
+    public Optional<ThreadPoolImpl> share() {
+        while (true) {
+            int current = sharingPools.get();
+            if (current < 0) {
+                return Optional.empty();
+            }
+            if (sharingPools.compareAndSet(current, current + 1)) {
+                return Optional.of(new ThreadPoolImpl(this));
+            }
+        }
+    }
+
+    /**
+     * Gets the configuration of the central executor service.
+     *
+     * @return The configuration of the central executor service.
+     */
+    public ThreadPoolConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Checks whether this thread pool was shut down.
+     *
+     * @return Whether this thread pool was shut down.
+     */
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
     /**
      * Shutdowns the thread pool.
      * This method is called automatically after disconnecting.
+     * The executor services and schedulers of a shared thread pool are only shut down once all thread pools which use
+     * them are shut down.
      */
     public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        executorServiceSingleThreads.values().forEach(ExecutorService::shutdown);
+        if (sharedPool != null) {
+            scheduler.shutdown();
+            daemonScheduler.shutdown();
+            sharedPool.release();
+            return;
+        }
+        sharingPools.set(-1);
         executorService.shutdown();
         scheduler.shutdown();
         daemonScheduler.shutdown();
-        executorServiceSingleThreads.values().forEach(ExecutorService::shutdown);
+        restExecutorService.shutdown();
+        overflowExecutorService.shutdown();
+        shutdownListeners.forEach(this::callShutdownListener);
+    }
+
+    /**
+     * Adds a listener which is called once the executor services and schedulers of this thread pool are shut down.
+     * For a thread pool that is shared, this is once all thread pools which use them are shut down.
+     * The listener is called right away if they are shut down already.
+     *
+     * @param listener The listener.
+     */
+    public void addShutdownListener(Runnable listener) {
+        shutdownListeners.add(listener);
+        if (shutdown.get()) {
+            callShutdownListener(listener);
+        }
+    }
+
+    /**
+     * Calls a shutdown listener unless it was called already.
+     *
+     * @param listener The listener.
+     */
+    private void callShutdownListener(Runnable listener) {
+        if (shutdownListeners.remove(listener)) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Releases the executor services and schedulers of this thread pool after a thread pool which used them was shut
+     * down.
+     */
+    private void release() {
+        if (sharingPools.decrementAndGet() == 0 && sharingPools.compareAndSet(0, -1)) {
+            shutdown();
+        }
     }
 
     @Override
@@ -56,6 +291,47 @@ public class ThreadPoolImpl implements ThreadPool {
         return daemonScheduler;
     }
 
+    /**
+     * Gets the executor for the asynchronous tasks of Javacord itself, e.g. requests that consist of several REST
+     * requests, as opposed to the listeners of the user.
+     * The tasks are run by the central executor service. If it rejects them because it is saturated, they are run by
+     * an overflow executor service that does not reject tasks, as the futures of the tasks would never be completed
+     * otherwise. Tasks are only rejected once the thread pool is shut down.
+     *
+     * @return The executor for the asynchronous tasks of Javacord itself.
+     */
+    public Executor getInternalExecutor() {
+        return this::executeInternalTask;
+    }
+
+    /**
+     * Runs an internal task by the central executor service, or by the overflow executor service if it is saturated.
+     *
+     * @param task The task to run.
+     */
+    private void executeInternalTask(Runnable task) {
+        try {
+            executorService.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (executorService.isShutdown()) {
+                throw e;
+            }
+            logger.debug("The central executor service is saturated, running an internal task by the overflow "
+                    + "executor service");
+            overflowExecutorService.execute(task);
+        }
+    }
+
+    /**
+     * Gets the executor service that sends the REST requests.
+     * It has a fixed maximum amount of threads, as it only blocks while waiting for a global ratelimiter.
+     *
+     * @return The executor service that sends the REST requests.
+     */
+    public ExecutorService getRestExecutorService() {
+        return restExecutorService;
+    }
+
     @Override
     public ExecutorService getSingleThreadExecutorService(String threadName) {
         return executorServiceSingleThreads.computeIfAbsent(threadName, key ->
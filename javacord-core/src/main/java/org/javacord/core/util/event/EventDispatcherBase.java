@@ -6,23 +6,38 @@ import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
  * This class is the base for the class used to dispatch events.
+ *
+ * <p>Every queue selector has its own queue of listener tasks. A queue is drained by at most one runner at a time,
+ * which is submitted to the executor service whenever the queue has tasks and no runner. Dispatching an event only
+ * adds tasks to a lock-free queue and maybe submits a runner. A runner executes a batch of tasks before it releases
+ * its thread, which is limited by the batch size and the batch quantum.
+ *
+ * <p>Every event gets a sequence number when it is dispatched. Lifecycle events (with a {@code null} queue selector)
+ * act as barriers: a lifecycle event is not started before all object-dependent events with a lower sequence number
+ * are finished, and object-dependent events with a higher sequence number are not started before all lifecycle
+ * events with a lower sequence number are finished. To make this possible, events are published in the order of
+ * their sequence numbers, so a thread that dispatches an event waits until the threads that dispatch events with
+ * lower sequence numbers added their tasks. This usually takes a few hundred nanoseconds, but a dispatching thread that
+ * is descheduled by the operating system delays the threads behind it until it runs again.
  */
 public abstract class EventDispatcherBase {
 
@@ -46,34 +61,73 @@ public abstract class EventDispatcherBase {
      */
     private static final int DEBUG_WARNING_DELAY_IN_MILLIS = 500; // 500 milliseconds
 
+    /**
+     * The delay after which a runner that was rejected by a saturated executor service is submitted again.
+     * It doubles with every rejection up to {@link #MAX_RESUBMIT_DELAY_IN_MILLIS}.
+     */
+    private static final long MIN_RESUBMIT_DELAY_IN_MILLIS = 10; // 10 milliseconds
+
+    /**
+     * The maximum delay after which a rejected runner is submitted again.
+     */
+    private static final long MAX_RESUBMIT_DELAY_IN_MILLIS = 1000; // 1 second
+
+    /**
+     * The amount of times a dispatching thread yields while waiting to publish its event before it parks.
+     */
+    private static final int YIELDS_BEFORE_PARKING = 64;
+
+    /**
+     * The maximum time a dispatching thread parks at once while waiting to publish its event.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The sequence number of a queue which is not running a task.
+     */
+    private static final long IDLE = Long.MAX_VALUE;
+
     /**
      * Whether execution time checking should be enabled or not.
      */
     private volatile boolean executionTimeCheckingEnabled = true;
 
+    /**
+     * The maximum amount of tasks a runner executes in a row.
+     */
+    private volatile int batchSize = 32;
+
+    /**
+     * The time in nanoseconds after which a runner does not start another task in a row.
+     */
+    private volatile long batchQuantumNanos = TimeUnit.MILLISECONDS.toNanos(10);
+
     /**
      * The discord api instance.
      */
     private final DiscordApiImpl api;
 
     /**
-     * This map which holds a queue for every object (usually a server) with tasks to call the waiting listeners.
+     * The queues for object-dependent events by their queue selector (usually a server).
+     */
+    private final ConcurrentHashMap<DispatchQueueSelector, DispatchQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * The queue for lifecycle events.
      */
-    private final Map<DispatchQueueSelector, Queue<Runnable>> queuedListenerTasks =
-            Collections.synchronizedMap(new HashMap<>());
+    private final DispatchQueue lifecycleQueue = new DispatchQueue(null);
 
     /**
-     * A list with all objects which currently have a running listener.
+     * The sequence number of the next dispatched event.
      */
-    private final Set<DispatchQueueSelector> runningListeners = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicLong nextSequence = new AtomicLong();
 
     /**
-     * A map with all running listeners as it's key. The value contains an array where the first element is a long
-     * with the start time of the listener (using {@link System#nanoTime()} and the second element is the object
-     * of the listener (usually a server).
+     * The sequence number up to which (exclusive) all events were added to their queues.
+     * Tasks of events with a higher sequence number are not started, so no event can overtake a lifecycle event that
+     * is still being added to its queue.
      */
-    private final Map<AtomicReference<Future<?>>, Object[]> activeListeners =
-            Collections.synchronizedMap(new HashMap<>());
+    private final AtomicLong publishedSequence = new AtomicLong();
 
     /**
      * Creates a new event dispatcher.
@@ -82,59 +136,14 @@ public abstract class EventDispatcherBase {
      */
     protected EventDispatcherBase(DiscordApiImpl api) {
         this.api = api;
-        queuedListenerTasks.put(null, new ConcurrentLinkedQueue<>());
         api.getThreadPool().getScheduler().scheduleAtFixedRate(() -> {
             try {
                 if (!executionTimeCheckingEnabled) {
                     return;
                 }
-                List<DispatchQueueSelector> canceledObjects = new ArrayList<>();
-                synchronized (activeListeners) {
-                    long currentNanoTime = System.nanoTime();
-                    Iterator<Map.Entry<AtomicReference<Future<?>>, Object[]>> iterator =
-                            activeListeners.entrySet().iterator();
-                    while (iterator.hasNext()) {
-                        Map.Entry<AtomicReference<Future<?>>, Object[]> entry = iterator.next();
-                        long difference = currentNanoTime - ((long) entry.getValue()[0]);
-                        DispatchQueueSelector queueSelector = (DispatchQueueSelector) entry.getValue()[1];
-                        if (difference > DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L
-                                && difference < DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L + 201_000_000L) {
-                            logger.debug("Detected a {} which is now running for over {}ms ({}ms). This is"
-                                            + " an unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> DEBUG_WARNING_DELAY_IN_MILLIS,
-                                    () -> (int) (difference / 1_000_000L));
-                        }
-                        if (difference > INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L
-                                && difference < INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L + 201_000_000L) {
-                            logger.warn("Detected a {} which is now running for over {} seconds ({}ms)."
-                                            + " This is a very unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> INFO_WARNING_DELAY_IN_SECONDS,
-                                    () -> (int) (difference / 1_000_000L));
-                        }
-                        if (difference > MAX_EXECUTION_TIME_IN_SECONDS * 1_000_000_000L) {
-                            entry.getKey().get().cancel(true);
-                            logger.error("Interrupted a {}, because it was running over {} seconds! This was most "
-                                            + "likely caused by a deadlock or very heavy computation/blocking "
-                                            + "operations in the listener thread. "
-                                            + "Make sure to not block listener threads!",
-                                    () -> getThreadType(queueSelector), () -> MAX_EXECUTION_TIME_IN_SECONDS);
-                            runningListeners.remove(queueSelector);
-                            iterator.remove();
-                            canceledObjects.add(queueSelector);
-                        }
-                    }
-                }
-                if (canceledObjects.isEmpty()) {
-                    // Inform the dispatchEvent method that it maybe can queue new listeners now
-                    synchronized (queuedListenerTasks) {
-                        queuedListenerTasks.notifyAll();
-                    }
-                }
-                canceledObjects.forEach(this::checkRunningListenersAndStartIfPossible);
+                long currentNanoTime = System.nanoTime();
+                checkExecutionTime(lifecycleQueue, currentNanoTime);
+                queues.values().forEach(queue -> checkExecutionTime(queue, currentNanoTime));
             } catch (Throwable t) {
                 logger.error("Failed to check execution times!", t);
             }
@@ -159,6 +168,72 @@ public abstract class EventDispatcherBase {
         executionTimeCheckingEnabled = enable;
     }
 
+    /**
+     * Sets the maximum amount of tasks of one queue that are executed in a row.
+     *
+     * @param batchSize The maximum amount of tasks executed in a row.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize cannot be less than 1!");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum amount of tasks of one queue that are executed in a row.
+     *
+     * @return The maximum amount of tasks executed in a row.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the time after which no further task of the same queue is started in a row.
+     *
+     * @param batchQuantum The time after which no further task is started in a row.
+     */
+    public void setBatchQuantum(Duration batchQuantum) {
+        if (batchQuantum.isNegative()) {
+            throw new IllegalArgumentException("batchQuantum cannot be negative!");
+        }
+        batchQuantumNanos = batchQuantum.toNanos();
+    }
+
+    /**
+     * Gets the time after which no further task of the same queue is started in a row.
+     *
+     * @return The time after which no further task is started in a row.
+     */
+    public Duration getBatchQuantum() {
+        return Duration.ofNanos(batchQuantumNanos);
+    }
+
+    /**
+     * Appends listeners to a list of listeners.
+     * If one of the lists is empty, the other one is returned without copying it. The lists of listeners are
+     * immutable snapshots, so most events are dispatched without allocating a list of listeners.
+     *
+     * @param listeners     The listeners, must not be modified.
+     * @param moreListeners The listeners to append, must not be modified.
+     * @param <T>           The type of the listeners.
+     * @return A list with all listeners, which must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> List<T> appendListeners(List<T> listeners, List<? extends T> moreListeners) {
+        if (moreListeners.isEmpty()) {
+            return listeners;
+        }
+        if (listeners.isEmpty()) {
+            return (List<T>) moreListeners;
+        }
+        List<T> allListeners = new ArrayList<>(listeners.size() + moreListeners.size());
+        allListeners.addAll(listeners);
+        allListeners.addAll(moreListeners);
+        return allListeners;
+    }
+
     /**
      * Dispatches an event to the given listeners using the provided consumer.
      * Calling this method usually looks like this:
@@ -179,103 +254,137 @@ public abstract class EventDispatcherBase {
      * @param <T>           The type of the listener.
      */
     protected <T> void dispatchEvent(DispatchQueueSelector queueSelector, List<T> listeners, Consumer<T> consumer) {
-        api.getThreadPool().getSingleThreadExecutorService("Event Dispatch Queues Manager").submit(() -> {
-            if (queueSelector != null) { // Object dependent listeners
-                // Don't allow adding of more events while there are unfinished object independent tasks
-                Queue<Runnable> objectIndependentQueue = queuedListenerTasks.get(null);
-                while (!objectIndependentQueue.isEmpty()) {
-                    try {
-                        synchronized (queuedListenerTasks) {
-                            // Just to be on the safe side, we use a timeout of 5 seconds
-                            queuedListenerTasks.wait(5000);
-                        }
-                    } catch (InterruptedException ignored) { }
-                }
+        DispatchQueue queue = queueSelector == null
+                ? lifecycleQueue
+                : queues.computeIfAbsent(queueSelector, DispatchQueue::new);
+        long sequence = nextSequence.getAndIncrement();
+        try {
+            listeners.forEach(
+                    listener -> queue.tasks.add(new ListenerTask(sequence, () -> consumer.accept(listener))));
+        } finally {
+            // The sequence number must be published in any case, as the events after it would never start otherwise
+            publish(sequence);
+        }
+        queue.schedule();
+    }
+
+    /**
+     * Publishes the event with the given sequence number once all events with a lower sequence number are published.
+     * The waiting thread yields at first and then parks for growing times up to {@link #MAX_PARK_NANOS}, so it does
+     * not keep a core busy if the thread it waits for is not running.
+     *
+     * @param sequence The sequence number of the event.
+     */
+    private void publish(long sequence) {
+        for (int attempts = 0; !publishedSequence.compareAndSet(sequence, sequence + 1); attempts++) {
+            if (attempts < YIELDS_BEFORE_PARKING) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(1000L << Math.min(attempts - YIELDS_BEFORE_PARKING, 10),
+                        MAX_PARK_NANOS));
             }
-            Queue<Runnable> queue = queuedListenerTasks.computeIfAbsent(
-                    queueSelector, o -> new ConcurrentLinkedQueue<>());
-            listeners.forEach(listener -> queue.add(() -> consumer.accept(listener)));
-            checkRunningListenersAndStartIfPossible(queueSelector);
-        });
+        }
     }
 
     /**
-     * Checks if there are listeners running for the given object and if
-     * not it takes one from the queue for the object and executes it.
+     * Checks the execution time of the task that is currently running for the given queue.
+     * Logs a warning if it takes unusually long and interrupts it if it takes too long.
      *
-     * <p>If all object-dependent tasks are finished,
-     * object-independent ones will be executed instead
-     * and after all object-independent are finished,
-     * new object-dependent tasks can get queued.
+     * @param queue The queue.
+     * @param currentNanoTime The current time as given by {@link System#nanoTime()}.
+     */
+    private void checkExecutionTime(DispatchQueue queue, long currentNanoTime) {
+        Runner runner = queue.runner.get();
+        if (runner == null || runner.state.get() != Runner.RUNNING_TASK) {
+            return;
+        }
+        long difference = currentNanoTime - runner.taskStartNanoTime;
+        if (difference > DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L
+                && difference < DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L + 201_000_000L) {
+            logger.debug("Detected a {} which is now running for over {}ms ({}ms). This is"
+                            + " an unusually long execution time for a listener task. Make"
+                            + " sure to not do any heavy computations in listener threads!",
+                    () -> getThreadType(queue.selector),
+                    () -> DEBUG_WARNING_DELAY_IN_MILLIS,
+                    () -> (int) (difference / 1_000_000L));
+        }
+        if (difference > INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L
+                && difference < INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L + 201_000_000L) {
+            logger.warn("Detected a {} which is now running for over {} seconds ({}ms)."
+                            + " This is a very unusually long execution time for a listener task. Make"
+                            + " sure to not do any heavy computations in listener threads!",
+                    () -> getThreadType(queue.selector),
+                    () -> INFO_WARNING_DELAY_IN_SECONDS,
+                    () -> (int) (difference / 1_000_000L));
+        }
+        if (difference > MAX_EXECUTION_TIME_IN_SECONDS * 1_000_000_000L
+                && runner.state.compareAndSet(Runner.RUNNING_TASK, Runner.ABANDONED)) {
+            // The abandoned runner stops as soon as its task returns, so a new runner can take over the queue
+            // Runners that were executed by the submitting thread of a saturated executor service have no future
+            if (runner.future != null) {
+                runner.future.cancel(true);
+            }
+            logger.error("Interrupted a {}, because it was running over {} seconds! This was most "
+                            + "likely caused by a deadlock or very heavy computation/blocking "
+                            + "operations in the listener thread. "
+                            + "Make sure to not block listener threads!",
+                    () -> getThreadType(queue.selector), () -> MAX_EXECUTION_TIME_IN_SECONDS);
+            queue.runningSequence = IDLE;
+            queue.runner.compareAndSet(runner, null);
+            queue.schedule();
+            wakeUpAfterTask(queue);
+        }
+    }
+
+    /**
+     * Checks if a lifecycle event with the given sequence number can be started.
+     * This is the case if all object-dependent events with a lower sequence number are finished.
      *
-     * @param queueSelector The object which is used to determine in which thread the consumer should be executed.
-     */
-    private void checkRunningListenersAndStartIfPossible(DispatchQueueSelector queueSelector) {
-        synchronized (queuedListenerTasks) {
-            // if either
-            // - running for object-independent tasks or
-            // - running for object-dependent tasks, but queue is empty or not present
-            Queue<Runnable> queue = queueSelector == null ? null : queuedListenerTasks.get(queueSelector);
-            if (queue == null || queue.isEmpty()) {
-                // if no object-independent tasks to be processed everything is fine, return
-                if (queuedListenerTasks.get(null).isEmpty()) {
-                    return;
-                }
-                // if object-independent tasks to be processed
-                // check whether there are still queued object-dependent tasks
-                boolean moreObjectDependentTasks = queuedListenerTasks.entrySet()
-                        .stream()
-                        .filter(entry -> !entry.getValue().isEmpty())
-                        .anyMatch(entry -> entry.getKey() != null);
-                // if there are object-dependent tasks scheduled or there are still tasks running => retry later
-                if (moreObjectDependentTasks || !runningListeners.isEmpty()) {
-                    return;
-                }
-                // force object-independent task being handled
-                // after all queued object-dependent tasks are finished
-                // and before new object-dependent tasks will get queued
-                queueSelector = null;
-                queue = queuedListenerTasks.get(null);
+     * @param sequence The sequence number of the lifecycle event.
+     * @return Whether the lifecycle event can be started or not.
+     */
+    private boolean canStartLifecycleEvent(long sequence) {
+        for (DispatchQueue queue : queues.values()) {
+            // Read the queued task before the running one. A runner marks a task as running before it dequeues it,
+            // so a task that is not queued anymore is seen as running.
+            ListenerTask head = queue.tasks.peek();
+            if (head != null && head.sequence < sequence) {
+                return false;
             }
-            DispatchQueueSelector finalQueueSelector = queueSelector;
-            Queue<Runnable> taskQueue = queue;
-            // if there is something to execute and there is task running already
-            if (!queue.isEmpty() && runningListeners.add(finalQueueSelector)) {
-                AtomicReference<Future<?>> activeListener = new AtomicReference<>();
-                activeListener.set(api.getThreadPool().getExecutorService().submit(() -> {
-                    if (finalQueueSelector instanceof ServerImpl) {
-                        Object serverReadyNotifier = new Object();
-                        ((ServerImpl) finalQueueSelector)
-                                .addServerReadyConsumer(s -> {
-                                    synchronized (serverReadyNotifier) {
-                                        serverReadyNotifier.notifyAll();
-                                    }
-                                });
-                        while (!((ServerImpl) finalQueueSelector).isReady()) {
-                            try {
-                                synchronized (serverReadyNotifier) {
-                                    serverReadyNotifier.wait(5000);
-                                }
-                            } catch (InterruptedException ignored) { }
-                        }
-                    }
-                    // Add the future to the list of active listeners
-                    activeListeners.put(activeListener, new Object[]{System.nanoTime(), finalQueueSelector});
-                    try {
-                        taskQueue.poll().run();
-                    } catch (Throwable t) {
-                        logger.error("Unhandled exception in {}!", () -> getThreadType(finalQueueSelector), () -> t);
-                    }
-                    activeListeners.remove(activeListener);
-                    runningListeners.remove(finalQueueSelector);
-                    // Inform the dispatchEvent method that it maybe can queue new listeners now
-                    synchronized (queuedListenerTasks) {
-                        queuedListenerTasks.notifyAll();
-                    }
-                    checkRunningListenersAndStartIfPossible(finalQueueSelector);
-                }));
+            if (queue.runningSequence < sequence) {
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * Checks if an object-dependent event with the given sequence number can be started.
+     * This is the case if all lifecycle events with a lower sequence number are finished.
+     *
+     * @param sequence The sequence number of the object-dependent event.
+     * @return Whether the object-dependent event can be started or not.
+     */
+    private boolean canStartObjectDependentEvent(long sequence) {
+        // Read the queued task before the running one, see canStartLifecycleEvent
+        ListenerTask head = lifecycleQueue.tasks.peek();
+        if (head != null && head.sequence < sequence) {
+            return false;
+        }
+        return lifecycleQueue.runningSequence > sequence;
+    }
+
+    /**
+     * Schedules the queues which might have been waiting for the task that was just finished in the given queue.
+     *
+     * @param queue The queue which finished a task.
+     */
+    private void wakeUpAfterTask(DispatchQueue queue) {
+        if (queue == lifecycleQueue) {
+            queues.values().forEach(DispatchQueue::schedule);
+        } else if (!lifecycleQueue.tasks.isEmpty()) {
+            lifecycleQueue.schedule();
+        }
     }
 
     /**
@@ -296,4 +405,234 @@ public abstract class EventDispatcherBase {
         return threadType;
     }
 
+    /**
+     * A task which calls a listener.
+     */
+    private static class ListenerTask {
+
+        /**
+         * The sequence number of the event.
+         */
+        private final long sequence;
+
+        /**
+         * The task.
+         */
+        private final Runnable task;
+
+        /**
+         * Creates a new listener task.
+         *
+         * @param sequence The sequence number of the event.
+         * @param task The task.
+         */
+        private ListenerTask(long sequence, Runnable task) {
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+    }
+
+    /**
+     * The queue of listener tasks for a queue selector.
+     */
+    private class DispatchQueue {
+
+        /**
+         * The queue selector or {@code null} for lifecycle events.
+         */
+        private final DispatchQueueSelector selector;
+
+        /**
+         * The queued tasks. Only the current runner dequeues tasks.
+         */
+        private final Queue<ListenerTask> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The runner which currently drains this queue or {@code null} if there is none.
+         */
+        private final AtomicReference<Runner> runner = new AtomicReference<>();
+
+        /**
+         * Whether the queue waits for its server to become ready or not.
+         */
+        private final AtomicBoolean waitingForServer = new AtomicBoolean();
+
+        /**
+         * The sequence number of the running task or {@link #IDLE}.
+         */
+        private volatile long runningSequence = IDLE;
+
+        /**
+         * Creates a new dispatch queue.
+         *
+         * @param selector The queue selector or {@code null} for lifecycle events.
+         */
+        private DispatchQueue(DispatchQueueSelector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Submits a runner for this queue if it has a task which can be started and no runner.
+         */
+        private void schedule() {
+            if (!canStartNextTask()) {
+                return;
+            }
+            Runner newRunner = new Runner(this);
+            // If there is a runner already, it checks for new tasks after it released the queue
+            if (runner.compareAndSet(null, newRunner)) {
+                submit(newRunner, 0);
+            }
+        }
+
+        /**
+         * Submits the runner of this queue to the executor service.
+         * If the executor service is saturated, the runner stays registered and is submitted again after a delay
+         * which doubles with every rejection, so the tasks of this queue do not wait for the next event for it.
+         *
+         * @param newRunner The runner of this queue.
+         * @param rejections The amount of times the runner was rejected before.
+         */
+        private void submit(Runner newRunner, int rejections) {
+            ExecutorService executorService = api.getThreadPool().getExecutorService();
+            try {
+                newRunner.future = executorService.submit(newRunner);
+                return;
+            } catch (RejectedExecutionException e) {
+                if (executorService.isShutdown()) {
+                    runner.compareAndSet(newRunner, null);
+                    return;
+                }
+            }
+            long delay = Math.min(MIN_RESUBMIT_DELAY_IN_MILLIS << Math.min(rejections, 16),
+                    MAX_RESUBMIT_DELAY_IN_MILLIS);
+            if (rejections == 0) {
+                logger.warn("The executor service rejected a {}, submitting it again in {}ms",
+                        () -> getThreadType(selector), () -> delay);
+            }
+            try {
+                api.getThreadPool().getDaemonScheduler()
+                        .schedule(() -> submit(newRunner, rejections + 1), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The thread pool was shut down
+                runner.compareAndSet(newRunner, null);
+            }
+        }
+
+        /**
+         * Checks if the next task of this queue can be started.
+         *
+         * @return Whether the next task can be started or not.
+         */
+        private boolean canStartNextTask() {
+            ListenerTask head = tasks.peek();
+            if (head == null || head.sequence >= publishedSequence.get()) {
+                // Either there is no task or its event is still being dispatched, the dispatching thread schedules
+                // the queue once it is done
+                return false;
+            }
+            if (selector == null) {
+                return canStartLifecycleEvent(head.sequence);
+            }
+            if (!canStartObjectDependentEvent(head.sequence)) {
+                return false;
+            }
+            if (selector instanceof ServerImpl && !((ServerImpl) selector).isReady()) {
+                if (waitingForServer.compareAndSet(false, true)) {
+                    ((ServerImpl) selector).addServerReadyConsumer(server -> {
+                        waitingForServer.set(false);
+                        schedule();
+                    });
+                }
+                return false;
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Drains a dispatch queue on a thread of the executor service.
+     */
+    private class Runner implements Runnable {
+
+        /**
+         * The state of a runner between tasks.
+         */
+        private static final int IDLE_BETWEEN_TASKS = 0;
+
+        /**
+         * The state of a runner which runs a task.
+         */
+        private static final int RUNNING_TASK = 1;
+
+        /**
+         * The state of a runner whose task took too long. It must not touch its queue anymore.
+         */
+        private static final int ABANDONED = 2;
+
+        /**
+         * The queue of this runner.
+         */
+        private final DispatchQueue queue;
+
+        /**
+         * The state of this runner.
+         */
+        private final AtomicInteger state = new AtomicInteger(IDLE_BETWEEN_TASKS);
+
+        /**
+         * The future of this runner, used to interrupt it.
+         */
+        private volatile Future<?> future;
+
+        /**
+         * The start time of the running task as given by {@link System#nanoTime()}.
+         */
+        private volatile long taskStartNanoTime;
+
+        /**
+         * Creates a new runner.
+         *
+         * @param queue The queue of the runner.
+         */
+        private Runner(DispatchQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            int maxTasks = batchSize;
+            long quantumNanos = batchQuantumNanos;
+            long batchStartNanoTime = System.nanoTime();
+            for (int executedTasks = 0; executedTasks < maxTasks && queue.canStartNextTask(); executedTasks++) {
+                if (executedTasks > 0 && System.nanoTime() - batchStartNanoTime >= quantumNanos) {
+                    break;
+                }
+                // Mark the task as running before it is dequeued, so it is always visible to canStartLifecycleEvent
+                ListenerTask task = queue.tasks.peek();
+                queue.runningSequence = task.sequence;
+                queue.tasks.poll();
+                taskStartNanoTime = System.nanoTime();
+                state.set(RUNNING_TASK);
+                try {
+                    task.task.run();
+                } catch (Throwable t) {
+                    logger.error("Unhandled exception in {}!", () -> getThreadType(queue.selector), () -> t);
+                }
+                if (!state.compareAndSet(RUNNING_TASK, IDLE_BETWEEN_TASKS)) {
+                    // The task took too long and was interrupted, another runner took over the queue
+                    return;
+                }
+                queue.runningSequence = IDLE;
+            }
+            queue.runner.set(null);
+            // Check for tasks which were added while this runner was still registered
+            queue.schedule();
+            wakeUpAfterTask(queue);
+        }
+
+    }
+
 }
@@ -6,9 +6,9 @@ import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.util.event.ListenerManager;
 import org.javacord.core.DiscordApiImpl;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -48,7 +48,7 @@ public class ListenerManagerImpl<T> implements ListenerManager<T> {
     /**
      * The remove handlers.
      */
-    private final List<Runnable> removeHandlers = new ArrayList<>();
+    private final List<Runnable> removeHandlers = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a new listener manager for a global listener.
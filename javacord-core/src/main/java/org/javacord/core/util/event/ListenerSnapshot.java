@@ -0,0 +1,132 @@
+package org.javacord.core.util.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the listeners of one listener class, in the order of their addition.
+ * Adding or removing a listener creates a new snapshot, so events can be dispatched to the listeners without locking
+ * or copying them.
+ *
+ * @param <T> The type of the listeners.
+ */
+public final class ListenerSnapshot<T> {
+
+    /**
+     * A snapshot without listeners.
+     */
+    private static final ListenerSnapshot<?> EMPTY = new ListenerSnapshot<>(new ListenerManagerImpl<?>[0]);
+
+    /**
+     * The managers of the listeners.
+     */
+    private final ListenerManagerImpl<? extends T>[] managers;
+
+    /**
+     * An unmodifiable list of the listeners.
+     */
+    private final List<T> listeners;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param managers The managers of the listeners, must not be modified anymore.
+     */
+    @SuppressWarnings("unchecked")
+    private ListenerSnapshot(ListenerManagerImpl<?>[] managers) {
+        this.managers = (ListenerManagerImpl<? extends T>[]) managers;
+        Object[] listeners = new Object[managers.length];
+        for (int i = 0; i < managers.length; i++) {
+            listeners[i] = managers[i].getListener();
+        }
+        this.listeners = Collections.unmodifiableList(Arrays.asList((T[]) listeners));
+    }
+
+    /**
+     * Gets a snapshot without listeners.
+     *
+     * @param <T> The type of the listeners.
+     * @return A snapshot without listeners.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ListenerSnapshot<T> empty() {
+        return (ListenerSnapshot<T>) EMPTY;
+    }
+
+    /**
+     * Gets the listeners in the order of their addition.
+     *
+     * @return An unmodifiable list of the listeners.
+     */
+    public List<T> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Gets the managers of the listeners in the order of their addition.
+     *
+     * @return An unmodifiable list of the managers.
+     */
+    public List<ListenerManagerImpl<? extends T>> getManagers() {
+        return Collections.unmodifiableList(Arrays.asList(managers));
+    }
+
+    /**
+     * Gets the manager of the given listener.
+     *
+     * @param listener The listener.
+     * @return The manager of the listener or {@code null} if the listener is not part of this snapshot.
+     */
+    public ListenerManagerImpl<? extends T> getManager(Object listener) {
+        for (ListenerManagerImpl<? extends T> manager : managers) {
+            if (manager.getListener().equals(listener)) {
+                return manager;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if this snapshot has no listeners.
+     *
+     * @return Whether this snapshot has no listeners or not.
+     */
+    public boolean isEmpty() {
+        return managers.length == 0;
+    }
+
+    /**
+     * Creates a snapshot with the given listener added after the listeners of this snapshot.
+     *
+     * @param manager The manager of the listener, whose listener must not be part of this snapshot.
+     * @return The new snapshot.
+     */
+    public ListenerSnapshot<T> with(ListenerManagerImpl<? extends T> manager) {
+        ListenerManagerImpl<?>[] newManagers = Arrays.copyOf(managers, managers.length + 1);
+        newManagers[managers.length] = manager;
+        return new ListenerSnapshot<>(newManagers);
+    }
+
+    /**
+     * Creates a snapshot without the given listener.
+     *
+     * @param listener The listener.
+     * @return The new snapshot or this snapshot if the listener is not part of it.
+     */
+    public ListenerSnapshot<T> without(Object listener) {
+        for (int i = 0; i < managers.length; i++) {
+            if (managers[i].getListener().equals(listener)) {
+                if (managers.length == 1) {
+                    return empty();
+                }
+                ListenerManagerImpl<?>[] newManagers = new ListenerManagerImpl<?>[managers.length - 1];
+                System.arraycopy(managers, 0, newManagers, 0, i);
+                System.arraycopy(managers, i + 1, newManagers, i, managers.length - i - 1);
+                return new ListenerSnapshot<>(newManagers);
+            }
+        }
+        return this;
+    }
+
+}
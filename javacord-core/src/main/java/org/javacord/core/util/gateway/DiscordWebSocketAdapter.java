@@ -1,10 +1,12 @@
 package org.javacord.core.util.gateway;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.neovisionaries.ws.client.ProxySettings;
 import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketAdapter;
@@ -23,13 +25,15 @@ import org.javacord.api.event.connection.ReconnectEvent;
 import org.javacord.api.event.connection.ResumeEvent;
 import org.javacord.api.util.auth.Authenticator;
 import org.javacord.api.util.auth.Request;
+import org.javacord.api.util.gateway.GatewaySession;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.connection.LostConnectionEventImpl;
 import org.javacord.core.event.connection.ReconnectEventImpl;
 import org.javacord.core.event.connection.ResumeEventImpl;
 import org.javacord.core.util.auth.NvWebSocketResponseImpl;
 import org.javacord.core.util.auth.NvWebSocketRouteImpl;
-import org.javacord.core.util.concurrent.ThreadFactory;
+import org.javacord.core.util.cache.CacheSnapshot;
 import org.javacord.core.util.handler.ReadyHandler;
 import org.javacord.core.util.handler.ResumedHandler;
 import org.javacord.core.util.handler.channel.ChannelCreateHandler;
@@ -69,9 +73,7 @@ import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
 import java.net.Proxy;
@@ -79,6 +81,7 @@ import java.net.ProxySelector;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -87,13 +90,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -104,7 +103,6 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
 /**
  * The main websocket adapter.
@@ -135,6 +133,17 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
     private volatile boolean reconnect;
 
+    /**
+     * The lock which is held while a received packet is handled.
+     */
+    private final Object packetLock = new Object();
+
+    /**
+     * Whether received packets are ignored, because the session is stored while disconnecting.
+     * Guarded by {@link #packetLock}.
+     */
+    private boolean ignorePackets = false;
+
     private final AtomicMarkableReference<WebSocketFrame> lastSentFrameWasIdentify =
             new AtomicMarkableReference<>(null, false);
     private final AtomicReference<WebSocketFrame> nextHeartbeatFrame = new AtomicReference<>(null);
@@ -148,29 +157,10 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     // A queue which contains server ids for the "request guild members" packet
     private final BlockingQueue<Long> requestGuildMembersQueue = new LinkedBlockingQueue<>();
 
-    private static final Map<String, Long> lastIdentificationPerAccount = Collections.synchronizedMap(new HashMap<>());
-    private static final ConcurrentMap<String, Semaphore> connectionDelaySemaphorePerAccount =
-            new ConcurrentHashMap<>();
-
-    static {
-        // This scheduler makes sure that the semaphores get released after a while if it failed in the listener
-        // for whatever reason. It's just a fail-safe.
-        Executors.newSingleThreadScheduledExecutor(
-                new ThreadFactory("Javacord - Connection Delay Semaphores Starvation Protector", true)
-        ).scheduleWithFixedDelay(() -> {
-            try {
-                connectionDelaySemaphorePerAccount.forEach((token, semaphore) -> {
-                    if ((semaphore.availablePermits() == 0)
-                            && (System.currentTimeMillis() - lastIdentificationPerAccount.getOrDefault(token, 0L)
-                            >= 15000)) {
-                        semaphore.release();
-                    }
-                });
-            } catch (Throwable t) {
-                logger.error("Failed to do the backup semaphore releasing!", t);
-            }
-        }, 10, 10, TimeUnit.SECONDS);
-    }
+    /**
+     * The identify rate limit bucket of this shard, which is acquired before connecting.
+     */
+    private volatile IdentifyRateLimiter.Bucket identifyBucket;
 
     /**
      * Creates a new discord websocket adapter.
@@ -192,6 +182,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         this.reconnect = reconnect;
 
         registerHandlers();
+        loadStoredSession();
         connect();
 
         ExecutorService requestGuildMembersQueueConsumer =
@@ -291,7 +282,19 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
      */
     public void disconnect() {
         reconnect = false;
-        websocket.get().sendClose(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
+        if (api.getSessionStore().isPresent()) {
+            // Packets that are not handled anymore are replayed when the stored session is resumed
+            synchronized (packetLock) {
+                ignorePackets = true;
+            }
+            writeCacheSnapshot();
+            // Discord invalidates the session if the websocket is closed normally
+            saveSession();
+            websocket.get().sendClose(WebSocketCloseReason.DISCONNECT_RESUMABLE.getNumericCloseCode(),
+                                      WebSocketCloseReason.DISCONNECT_RESUMABLE.getCloseReason());
+        } else {
+            websocket.get().sendClose(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
+        }
         // cancel heartbeat timer if within one minute no disconnect event was dispatched
         api.getThreadPool().getDaemonScheduler().schedule(() -> heartbeatTimer.updateAndGet(future -> {
             if (future != null) {
@@ -302,12 +305,156 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     }
 
     /**
-     * Connects the websocket.
+     * Loads the stored session of this shard, so that it is resumed instead of identifying.
+     * The session is only resumed if the cache was restored from a snapshot of it, as the replayed events refer to
+     * cached entities.
+     */
+    private void loadStoredSession() {
+        api.getSessionStore().ifPresent(sessionStore -> {
+            try {
+                sessionStore.load(api.getCurrentShard(), api.getTotalShards()).ifPresent(session -> {
+                    logger.debug("Loaded stored session {}", session);
+                    lastSeq = session.getSequence();
+                    sessionId = session.getSessionId();
+                });
+            } catch (Throwable t) {
+                logger.warn("Failed to load the stored session, identifying instead", t);
+            }
+        });
+        if (sessionId != null && !restoreCacheSnapshot()) {
+            logger.info("Could not restore the cache of the stored session, identifying instead");
+            discardStoredSession();
+        }
+    }
+
+    /**
+     * Saves the current session of this shard to the session store, if there is one.
+     */
+    private void saveSession() {
+        String sessionId = this.sessionId;
+        if (sessionId == null) {
+            return;
+        }
+        api.getSessionStore().ifPresent(sessionStore -> {
+            try {
+                sessionStore.save(api.getCurrentShard(), api.getTotalShards(), new GatewaySession(sessionId, lastSeq));
+            } catch (Throwable t) {
+                logger.warn("Failed to save the session", t);
+            }
+        });
+    }
+
+    /**
+     * Deletes the stored session of this shard after Discord invalidated it.
+     */
+    private void deleteStoredSession() {
+        api.getSessionStore().ifPresent(sessionStore -> {
+            try {
+                sessionStore.delete(api.getCurrentShard(), api.getTotalShards());
+            } catch (Throwable t) {
+                logger.warn("Failed to delete the stored session", t);
+            }
+        });
+    }
+
+    /**
+     * Deletes the stored session of this shard and forgets it, so that the shard identifies instead of resuming it.
+     */
+    private void discardStoredSession() {
+        sessionId = null;
+        lastSeq = -1;
+        deleteStoredSession();
+    }
+
+    /**
+     * Restores the cache from the snapshot of the stored session, if there is one.
+     *
+     * @return Whether the cache was restored.
+     */
+    private boolean restoreCacheSnapshot() {
+        Path directory = api.getCacheSnapshotDirectory().orElse(null);
+        if (directory == null) {
+            return false;
+        }
+        CacheSnapshot snapshot = new CacheSnapshot(api);
+        try {
+            // After a crash, the snapshot is older than the stored session and does not match it anymore
+            Optional<List<ServerImpl>> servers =
+                    snapshot.restore(snapshot.getFile(directory), new GatewaySession(sessionId, lastSeq));
+            if (!servers.isPresent()) {
+                logger.info("No cache snapshot matching the stored session found");
+                return false;
+            }
+            logger.info("Restored {} servers from the cache snapshot", servers.get().size());
+            return true;
+        } catch (Throwable t) {
+            logger.warn("Failed to restore the cache snapshot", t);
+            // The snapshot may have been restored partially
+            api.purgeCache();
+            return false;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the cache for the current session, if a snapshot directory is set.
+     * Received packets must be ignored before, so the snapshot matches the sequence of the session.
+     */
+    private void writeCacheSnapshot() {
+        String sessionId = this.sessionId;
+        if (sessionId == null || !ready.getNow(false)) {
+            return;
+        }
+        api.getCacheSnapshotDirectory().ifPresent(directory -> {
+            CacheSnapshot snapshot = new CacheSnapshot(api);
+            try {
+                // Wait for the packets that were received before to be handled
+                api.getPacketHandlerExecutor().drain().get(1, TimeUnit.MINUTES);
+                snapshot.write(snapshot.getFile(directory), new GatewaySession(sessionId, lastSeq));
+                logger.debug("Wrote cache snapshot of {} servers", api.getAllServers().size());
+            } catch (Throwable t) {
+                logger.warn("Failed to write the cache snapshot", t);
+            }
+        });
+    }
+
+    /**
+     * Completes the startup after a stored session was resumed.
+     * There is no READY packet when resuming, so the own user is requested instead.
+     * The cache was restored from a snapshot before.
+     */
+    private void completeStartupAfterResume() {
+        new RestRequest<User>(api, RestMethod.GET, RestEndpoint.CURRENT_USER)
+                .execute(result -> api.getOrCreateUser(result.getJsonBody()))
+                .whenComplete((yourself, throwable) -> {
+                    if (throwable != null) {
+                        logger.warn("Failed to request the own user after resuming the stored session", throwable);
+                    } else {
+                        api.setYourself(yourself);
+                    }
+                    // Request the members of restored servers whose snapshot was written before they were ready
+                    api.getAllServers().stream()
+                            .filter(server -> !((ServerImpl) server).isReady())
+                            .forEach(this::queueRequestGuildMembers);
+                    ready.complete(true);
+                });
+    }
+
+    /**
+     * Connects the websocket once the identify rate limit bucket of this shard is acquired.
      */
     private void connect() {
+        acquireIdentifyBucket(this::connectWebSocket);
+    }
+
+    /**
+     * Connects the websocket while holding the identify rate limit bucket of this shard.
+     * The bucket is released if connecting fails.
+     */
+    private void connectWebSocket() {
         try {
             WebSocketFactory factory = new WebSocketFactory();
-            String webSocketUri = getGateway(api) + "?encoding=json&v=" + Javacord.DISCORD_GATEWAY_VERSION;
+            String webSocketUri = getGateway(api) + "?encoding=json&v=" + Javacord.DISCORD_GATEWAY_VERSION
+                    + "&compress=zlib-stream";
             Proxy proxy = api.getProxy().orElseGet(() -> {
                 List<Proxy> proxies = api.getProxySelector().orElseGet(ProxySelector::getDefault).select(URI.create(
                         webSocketUri.replace("wss://", "https://").replace("ws://", "http://")));
@@ -385,13 +532,22 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             }
             WebSocket websocket = factory.createSocket(webSocketUri);
             this.websocket.set(websocket);
+            // every websocket session has its own zlib context
+            ZlibStreamListener zlibStreamListener = new ZlibStreamListener();
             websocket.addHeader("Accept-Encoding", "gzip");
             websocket.addListener(this);
+            websocket.addListener(zlibStreamListener);
             websocket.addListener(new WebSocketLogger());
-            waitForIdentifyRateLimit();
-            websocket.connect();
+            try {
+                websocket.connect();
+            } catch (Throwable t) {
+                // the websocket never started reading, so onDisconnected will not be called
+                zlibStreamListener.close();
+                throw t;
+            }
         } catch (Throwable t) {
             logger.warn("An error occurred while connecting to websocket", t);
+            identifyBucket.release();
             if (reconnect) {
                 reconnectAttempt.incrementAndGet();
                 logger.info("Trying to reconnect/resume in {} seconds!", api.getReconnectDelay(reconnectAttempt.get()));
@@ -411,21 +567,26 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     }
 
     /**
-     * Identification is rate limited to once every 5 seconds,
-     * so don't try to more often per account, even in different instances.
-     * This method waits for the identification rate limit to be over, then returns.
+     * Identification is rate limited to once every 5 seconds per rate limit bucket of the account,
+     * so don't try to more often, even in different instances.
+     * This method acquires the bucket of this shard and runs the given action once its identification rate limit is
+     * over. No thread is blocked while waiting, the action is run by the connector thread of this shard, so shards
+     * that wait for their turn do not occupy the central executor service. If the action cannot be run, e.g. because
+     * the shard was disconnected meanwhile, the bucket is released again.
+     *
+     * @param action The action to run while holding the bucket.
      */
-    private void waitForIdentifyRateLimit() {
-        String token = api.getPrefixedToken();
-        connectionDelaySemaphorePerAccount.computeIfAbsent(token, key -> new Semaphore(1)).acquireUninterruptibly();
-        for (long delay = 5100 - (System.currentTimeMillis() - lastIdentificationPerAccount.getOrDefault(token, 0L));
-                delay > 0;
-                delay = 5100 - (System.currentTimeMillis() - lastIdentificationPerAccount.getOrDefault(token, 0L))) {
-            logger.debug("Delaying connecting by {}ms", delay);
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException ignored) { }
-        }
+    private void acquireIdentifyBucket(Runnable action) {
+        IdentifyRateLimiter.Bucket bucket =
+                IdentifyRateLimiter.forAccount(api.getPrefixedToken()).getBucket(api.getCurrentShard());
+        identifyBucket = bucket;
+        bucket.acquire()
+                .thenRunAsync(action, api.getThreadPool().getSingleThreadExecutorService("Websocket Connector"))
+                .exceptionally(t -> {
+                    logger.debug("Released the identify rate limit bucket without using it", t);
+                    bucket.release();
+                    return null;
+                });
     }
 
     @Override
@@ -477,27 +638,151 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
     @Override
     public void onTextMessage(WebSocket websocket, String text) throws Exception {
-        ObjectMapper mapper = api.getObjectMapper();
-        JsonNode packet = mapper.readTree(text);
+        try (JsonParser parser = api.getObjectMapper().getFactory().createParser(text)) {
+            handlePacket(websocket, parser);
+        }
+    }
+
+    /**
+     * Handles a received gateway packet.
+     * The envelope fields {@code op}, {@code s} and {@code t} are read from the token stream. The {@code d}-object
+     * of dispatch packets is handed to the responsible packet handler as token stream, so packets without handler
+     * are skipped without building a tree. Only if the {@code d}-object appears before the envelope fields, its
+     * tokens are buffered until the envelope is complete.
+     *
+     * @param websocket The websocket the packet was received from.
+     * @param parser The parser positioned before the packet.
+     * @throws IOException If the packet could not be read.
+     */
+    private void handlePacket(WebSocket websocket, JsonParser parser) throws IOException {
+        synchronized (packetLock) {
+            if (!ignorePackets) {
+                readPacket(websocket, parser);
+            }
+        }
+    }
+
+    /**
+     * Reads a received gateway packet and handles it.
+     *
+     * @param websocket The websocket the packet was received from.
+     * @param parser The parser positioned before the packet.
+     * @throws IOException If the packet could not be read.
+     */
+    private void readPacket(WebSocket websocket, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            logger.debug("Received packet that is not a json object (token: {})", parser.getCurrentToken());
+            return;
+        }
+
+        int op = -1;
+        int seq = lastSeq;
+        String type = null;
+        TokenBuffer bufferedData = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (fieldName) {
+                case "op":
+                    op = parser.getIntValue();
+                    break;
+                case "s":
+                    if (valueToken != JsonToken.VALUE_NULL) {
+                        seq = parser.getIntValue();
+                    }
+                    break;
+                case "t":
+                    type = (valueToken == JsonToken.VALUE_NULL) ? null : parser.getText();
+                    break;
+                case "d":
+                    if ((op == GatewayOpcode.DISPATCH.getCode()) && (type != null)) {
+                        dispatch(type, parser);
+                    } else {
+                        bufferedData = new TokenBuffer(parser);
+                        bufferedData.copyCurrentStructure(parser);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
 
-        int op = packet.get("op").asInt();
         Optional<GatewayOpcode> opcode = GatewayOpcode.fromCode(op);
         if (!opcode.isPresent()) {
-            logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+            logger.debug("Received unknown packet (op: {}, content: {})", op, readTree(bufferedData));
             return;
         }
 
-        switch (opcode.get()) {
-            case DISPATCH:
-                lastSeq = packet.get("s").asInt();
-                String type = packet.get("t").asText();
-                PacketHandler handler = handlers.get(type);
-                if (handler != null) {
-                    handler.handlePacket(packet.get("d"));
-                } else {
-                    logger.debug("Received unknown packet of type {} (packet: {})", type, packet);
-                }
+        if (opcode.get() != GatewayOpcode.DISPATCH) {
+            handleOpcode(websocket, opcode.get(), null, readTree(bufferedData));
+            return;
+        }
+        if (type == null) {
+            logger.debug("Received dispatch packet without type (seq: {})", seq);
+            return;
+        }
+        if (bufferedData != null) {
+            try (JsonParser dataParser = bufferedData.asParser()) {
+                dataParser.nextToken();
+                dispatch(type, dataParser);
+            }
+        }
+        lastSeq = seq;
+        handleOpcode(websocket, opcode.get(), type, null);
+    }
+
+    /**
+     * Hands the {@code d}-object of a dispatch packet to the responsible packet handler.
+     *
+     * @param type The type of the packet.
+     * @param data The parser positioned at the start of the {@code d}-object.
+     * @throws IOException If the {@code d}-object could not be read.
+     */
+    private void dispatch(String type, JsonParser data) throws IOException {
+        PacketHandler handler = handlers.get(type);
+        if (type.equals("READY")) {
+            // the session id is needed for resuming
+            JsonNode readyData = api.getObjectMapper().readTree(data);
+            sessionId = readyData.get("session_id").asText();
+            handler.handlePacket(readyData);
+        } else if (handler != null) {
+            handler.handlePacket(data);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Received unknown packet of type {} (data: {})",
+                    type, api.getObjectMapper().readTree(data));
+        } else {
+            data.skipChildren();
+        }
+    }
 
+    /**
+     * Reads the buffered {@code d}-object into a tree.
+     *
+     * @param bufferedData The buffered {@code d}-object. May be {@code null}.
+     * @return The {@code d}-object or {@code null} if it was not buffered.
+     * @throws IOException If the {@code d}-object could not be read.
+     */
+    private JsonNode readTree(TokenBuffer bufferedData) throws IOException {
+        if (bufferedData == null) {
+            return null;
+        }
+        try (JsonParser dataParser = bufferedData.asParser()) {
+            return api.getObjectMapper().readTree(dataParser);
+        }
+    }
+
+    /**
+     * Handles the opcode specific behavior after a packet was read.
+     *
+     * @param websocket The websocket the packet was received from.
+     * @param opcode The opcode of the packet.
+     * @param type The type of the packet. Only present for dispatch packets.
+     * @param data The {@code d}-object of the packet. Only present for non-dispatch packets.
+     */
+    private void handleOpcode(WebSocket websocket, GatewayOpcode opcode, String type, JsonNode data) {
+        switch (opcode) {
+            case DISPATCH:
                 if (type.equals("GUILD_MEMBERS_CHUNK")) {
                     lastGuildMembersChunkReceived = System.currentTimeMillis();
                 }
@@ -507,10 +792,14 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
                     ResumeEvent resumeEvent = new ResumeEventImpl(api);
                     api.getEventDispatcher().dispatchResumeEvent(null, resumeEvent);
+                    if (!ready.isDone()) {
+                        logger.info("Resumed the stored session");
+                        completeStartupAfterResume();
+                    }
                 }
                 if (type.equals("READY")) {
                     reconnectAttempt.set(0);
-                    sessionId = packet.get("d").get("session_id").asText();
+                    saveSession();
                     // Discord sends us GUILD_CREATE packets after logging in. We will wait for them.
                     api.getThreadPool().getSingleThreadExecutorService("Startup Servers Wait Thread").submit(() -> {
                         boolean allUsersLoaded = false;
@@ -566,15 +855,14 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                             () -> 1 + zeroToFourSeconds / 1000,
                             () -> 1 + zeroToFourSeconds / 100 % 10);
                     fakeLastIdentificationTime -= 4000 - zeroToFourSeconds;
+                    deleteStoredSession();
                 }
-                lastIdentificationPerAccount.put(api.getPrefixedToken(), fakeLastIdentificationTime);
-                waitForIdentifyRateLimit();
-                sendIdentify(websocket);
+                identifyBucket.setLastIdentification(fakeLastIdentificationTime);
+                acquireIdentifyBucket(() -> sendIdentify(websocket));
                 break;
             case HELLO:
                 logger.debug("Received HELLO packet");
 
-                JsonNode data = packet.get("d");
                 int heartbeatInterval = data.get("heartbeat_interval").asInt();
                 heartbeatTimer.updateAndGet(future -> {
                     if (future != null) {
@@ -586,7 +874,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 if (sessionId == null) {
                     sendIdentify(websocket);
                 } else {
-                    connectionDelaySemaphorePerAccount.get(api.getPrefixedToken()).release();
+                    identifyBucket.release();
                     sendResume(websocket);
                 }
                 break;
@@ -595,40 +883,11 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 heartbeatAckReceived.set(true);
                 break;
             default:
-                logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+                logger.debug("Received unknown packet (op: {}, content: {})", opcode.getCode(), data);
                 break;
         }
     }
 
-    @Override
-    public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
-        Inflater decompressor = new Inflater();
-        decompressor.setInput(binary);
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(binary.length);
-        byte[] buf = new byte[1024];
-        while (!decompressor.finished()) {
-            int count;
-            try {
-                count = decompressor.inflate(buf);
-            } catch (DataFormatException e) {
-                logger.warn("An error occurred while decompressing data", e);
-                return;
-            }
-            bos.write(buf, 0, count);
-        }
-        try {
-            bos.close();
-        } catch (IOException ignored) { }
-        byte[] decompressedData = bos.toByteArray();
-        try {
-            String message = new String(decompressedData, "UTF-8");
-            logger.trace("onTextMessage: text='{}'", message);
-            onTextMessage(websocket, message);
-        } catch (UnsupportedEncodingException e) {
-            logger.warn("An error occurred while decompressing data", e);
-        }
-    }
-
     /**
      * Starts the heartbeat.
      *
@@ -644,6 +903,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 if (heartbeatAckReceived.getAndSet(false)) {
                     sendHeartbeat(websocket);
                     logger.debug("Sent heartbeat (interval: {})", heartbeatInterval);
+                    saveSession();
                 } else {
                     websocket.sendClose(WebSocketCloseReason.HEARTBEAT_NOT_PROPERLY_ANSWERED.getNumericCloseCode(),
                                         WebSocketCloseReason.HEARTBEAT_NOT_PROPERLY_ANSWERED.getCloseReason());
@@ -695,7 +955,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         ObjectNode data = identifyPacket.putObject("d");
         String token = api.getPrefixedToken();
         data.put("token", token)
-                .put("compress", true)
+                .put("compress", false)
                 .put("large_threshold", 250)
                 .putObject("properties")
                 .put("$os", System.getProperty("os.name"))
@@ -711,6 +971,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             websocket.removeListeners(identifyFrameListeners);
             identifyFrameListeners.clear();
         }
+        IdentifyRateLimiter.Bucket bucket = identifyBucket;
         WebSocketFrame identifyFrame = WebSocketFrame.createTextFrame(identifyPacket.toString());
         lastSentFrameWasIdentify.set(identifyFrame, false);
         WebSocketAdapter identifyFrameListener = new WebSocketAdapter() {
@@ -726,8 +987,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 } else {
                     // identify frame is actually sent => set the mark
                     if (lastSentFrameWasIdentify.compareAndSet(frame, null, false, true)) {
-                        lastIdentificationPerAccount.put(token, System.currentTimeMillis());
-                        connectionDelaySemaphorePerAccount.get(token).release();
+                        bucket.identified();
                     }
                 }
             }
@@ -905,4 +1165,45 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     public void onConnectError(WebSocket websocket, WebSocketException exception) {
         logger.warn("Websocket onConnect error!", exception);
     }
+
+    /**
+     * Handles the binary messages of a single websocket with its own zlib-stream decompressor.
+     * Binary messages are only received by the reading thread of the websocket, so a websocket that is replaced
+     * while its reading thread still delivers messages never shares its zlib context with the new websocket.
+     */
+    private class ZlibStreamListener extends WebSocketAdapter {
+
+        private final ZlibStreamDecompressor decompressor = new ZlibStreamDecompressor();
+
+        @Override
+        public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
+            try {
+                if (!decompressor.decompress(binary)) {
+                    // the message is split across multiple frames
+                    return;
+                }
+            } catch (DataFormatException e) {
+                logger.warn("An error occurred while decompressing data", e);
+                return;
+            }
+            logger.trace("onBinaryMessage: text='{}'", decompressor::getDecompressedText);
+            try (JsonParser parser = decompressor.createParser(api.getObjectMapper().getFactory())) {
+                handlePacket(websocket, parser);
+            }
+        }
+
+        @Override
+        public void onDisconnected(WebSocket websocket, WebSocketFrame serverCloseFrame,
+                                   WebSocketFrame clientCloseFrame, boolean closedByServer) {
+            // the reading thread has already finished when the websocket is disconnected
+            close();
+        }
+
+        /**
+         * Releases the native resources of the decompressor.
+         */
+        private void close() {
+            decompressor.close();
+        }
+    }
 }
@@ -0,0 +1,339 @@
+package org.javacord.core.util.gateway;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.util.concurrent.ThreadFactory;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rate limiter for identifying shards of an account.
+ *
+ * <p>Discord allows one identify every 5 seconds per rate limit bucket. The bucket of a shard is
+ * {@code shard_id % max_concurrency}, where {@code max_concurrency} is part of the session start limit of the
+ * {@code /gateway/bot} endpoint. Shards of different buckets are identified in parallel, shards of the same bucket
+ * one after another.
+ *
+ * <p>The rate limit bucket of a shard is only resolved when it is its turn to identify, so the max concurrency can
+ * change while shards wait.
+ */
+public class IdentifyRateLimiter {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(IdentifyRateLimiter.class);
+
+    /**
+     * The time between two identifies of the same bucket, with a small safety margin.
+     */
+    private static final long IDENTIFY_INTERVAL_MILLIS = 5100;
+
+    /**
+     * The time after which a bucket is released if it was not released after acquiring it.
+     */
+    private static final long STARVATION_TIMEOUT_MILLIS = 15000;
+
+    /**
+     * The rate limiters by the prefixed token of their account.
+     */
+    private static final ConcurrentMap<String, IdentifyRateLimiter> rateLimiterPerAccount = new ConcurrentHashMap<>();
+
+    /**
+     * The scheduler which completes the acquisitions of buckets once their rate limit is over.
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactory("Javacord - Identify Rate Limiter", true));
+
+    static {
+        // This makes sure that the buckets get released after a while if it failed in the listener
+        // for whatever reason. It's just a fail-safe.
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rateLimiterPerAccount.values().forEach(IdentifyRateLimiter::releaseStarvedBuckets);
+            } catch (Throwable t) {
+                logger.error("Failed to do the backup semaphore releasing!", t);
+            }
+        }, 10, 10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The time between two identifies of the same bucket.
+     */
+    private final long identifyIntervalMillis;
+
+    /**
+     * The amount of shards that may identify at the same time.
+     */
+    private int maxConcurrency = 1;
+
+    /**
+     * The times of the last identifies as given by {@link System#currentTimeMillis()}, by the index of the rate limit
+     * bucket.
+     */
+    private long[] lastIdentifications = new long[1];
+
+    /**
+     * The amount of acquired buckets by the index of their rate limit bucket.
+     * It is usually {@code 0} or {@code 1}, but can be more for a while after the max concurrency changed.
+     */
+    private int[] acquiredBucketCounts = new int[1];
+
+    /**
+     * The buckets which are acquired.
+     */
+    private final Set<Bucket> acquiredBuckets = new HashSet<>();
+
+    /**
+     * The buckets which wait to be acquired, in the order they started waiting.
+     */
+    private final Queue<Bucket> waitingBuckets = new ArrayDeque<>();
+
+    /**
+     * Creates a new identify rate limiter.
+     *
+     * @param identifyIntervalMillis The time between two identifies of the same bucket.
+     */
+    IdentifyRateLimiter(long identifyIntervalMillis) {
+        this.identifyIntervalMillis = identifyIntervalMillis;
+    }
+
+    /**
+     * Gets the identify rate limiter of an account.
+     * The rate limiter is shared by all instances that use the same token, as the rate limit applies to the account.
+     *
+     * @param prefixedToken The prefixed token of the account.
+     * @return The identify rate limiter of the account.
+     */
+    public static IdentifyRateLimiter forAccount(String prefixedToken) {
+        return rateLimiterPerAccount.computeIfAbsent(
+                prefixedToken, key -> new IdentifyRateLimiter(IDENTIFY_INTERVAL_MILLIS));
+    }
+
+    /**
+     * Sets the amount of shards that may identify at the same time.
+     * Shards that already acquired their bucket keep it until they release it, and block the rate limit bucket they
+     * belong to with the new max concurrency until then.
+     *
+     * @param maxConcurrency The amount of shards that may identify at the same time.
+     */
+    public synchronized void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency cannot be less than 1!");
+        }
+        if (maxConcurrency == this.maxConcurrency) {
+            return;
+        }
+        // It is unknown which of the shards that identified recently belong to which new rate limit bucket, so every
+        // new rate limit bucket waits for the latest identify
+        long lastIdentification = Arrays.stream(lastIdentifications).max().orElse(0);
+        lastIdentifications = new long[maxConcurrency];
+        Arrays.fill(lastIdentifications, lastIdentification);
+        acquiredBucketCounts = new int[maxConcurrency];
+        for (Bucket bucket : acquiredBuckets) {
+            bucket.index = bucket.shard % maxConcurrency;
+            acquiredBucketCounts[bucket.index]++;
+        }
+        this.maxConcurrency = maxConcurrency;
+        logger.debug("Identifying up to {} shards at the same time", maxConcurrency);
+        acquireWaitingBuckets();
+    }
+
+    /**
+     * Gets the amount of shards that may identify at the same time.
+     *
+     * @return The amount of shards that may identify at the same time.
+     */
+    public synchronized int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the bucket of the given shard.
+     *
+     * @param shard The shard.
+     * @return The bucket of the shard.
+     */
+    public Bucket getBucket(int shard) {
+        return new Bucket(shard);
+    }
+
+    /**
+     * Acquires the waiting buckets whose rate limit bucket is not acquired.
+     * The caller must hold the lock of this rate limiter.
+     */
+    private void acquireWaitingBuckets() {
+        for (Iterator<Bucket> iterator = waitingBuckets.iterator(); iterator.hasNext(); ) {
+            Bucket bucket = iterator.next();
+            int index = bucket.shard % maxConcurrency;
+            if (acquiredBucketCounts[index] == 0) {
+                iterator.remove();
+                bucket.index = index;
+                acquiredBucketCounts[index]++;
+                acquiredBuckets.add(bucket);
+                // completing the acquisition runs dependent actions, so it must not happen while holding the lock
+                scheduler.execute(bucket::completeAcquisition);
+            }
+        }
+    }
+
+    /**
+     * Releases all buckets which were acquired, but neither released nor used to identify for a while.
+     */
+    private void releaseStarvedBuckets() {
+        List<Bucket> starvedBuckets = new ArrayList<>();
+        synchronized (this) {
+            for (Bucket bucket : acquiredBuckets) {
+                if ((bucket.acquiredAt != 0)
+                        && (System.currentTimeMillis() - bucket.acquiredAt >= STARVATION_TIMEOUT_MILLIS)) {
+                    starvedBuckets.add(bucket);
+                }
+            }
+        }
+        starvedBuckets.forEach(Bucket::release);
+    }
+
+    /**
+     * The rate limit bucket of a shard, which is acquired by one shard of a rate limit bucket at a time to identify.
+     * Acquiring it again is only possible after it was released.
+     */
+    public class Bucket {
+
+        /**
+         * The shard of the bucket.
+         */
+        private final int shard;
+
+        /**
+         * The index of the acquired rate limit bucket or {@code -1} if the bucket is not acquired.
+         * It is guarded by the lock of the rate limiter.
+         */
+        private int index = -1;
+
+        /**
+         * The future of the current acquisition or {@code null} if the bucket is neither waiting nor acquired.
+         * It is guarded by the lock of the rate limiter.
+         */
+        private CompletableFuture<Void> acquisition;
+
+        /**
+         * The time the acquisition was completed as given by {@link System#currentTimeMillis()}, or {@code 0} if it is
+         * not completed.
+         * It is guarded by the lock of the rate limiter.
+         */
+        private long acquiredAt;
+
+        /**
+         * Creates a new bucket.
+         *
+         * @param shard The shard of the bucket.
+         */
+        private Bucket(int shard) {
+            this.shard = shard;
+        }
+
+        /**
+         * Acquires this bucket.
+         * The returned future is completed once no other shard holds the rate limit bucket and the identify rate
+         * limit of it is over. It is completed by a thread of the rate limiter, so dependent actions that block should
+         * be run asynchronously.
+         * The bucket has to be released by either {@link #identified()} or {@link #release()}.
+         *
+         * @return A future which is completed once the bucket is acquired.
+         */
+        public CompletableFuture<Void> acquire() {
+            synchronized (IdentifyRateLimiter.this) {
+                if (acquisition != null) {
+                    throw new IllegalStateException("The bucket of shard " + shard + " is acquired already!");
+                }
+                acquisition = new CompletableFuture<>();
+                waitingBuckets.add(this);
+                acquireWaitingBuckets();
+                return acquisition;
+            }
+        }
+
+        /**
+         * Completes the acquisition of this bucket once the identify rate limit of its rate limit bucket is over.
+         */
+        private void completeAcquisition() {
+            CompletableFuture<Void> acquisition;
+            long delay;
+            synchronized (IdentifyRateLimiter.this) {
+                if (index < 0) {
+                    // released while waiting for the rate limit
+                    return;
+                }
+                acquisition = this.acquisition;
+                delay = identifyIntervalMillis - (System.currentTimeMillis() - lastIdentifications[index]);
+                if (delay <= 0) {
+                    acquiredAt = System.currentTimeMillis();
+                }
+            }
+            if (delay > 0) {
+                logger.debug("Delaying connecting by {}ms", delay);
+                scheduler.schedule(this::completeAcquisition, delay, TimeUnit.MILLISECONDS);
+            } else if (!acquisition.complete(null)) {
+                // the acquisition was cancelled
+                release();
+            }
+        }
+
+        /**
+         * Releases this bucket after the identify packet was sent.
+         */
+        public void identified() {
+            synchronized (IdentifyRateLimiter.this) {
+                if (index >= 0) {
+                    lastIdentifications[index] = Math.max(lastIdentifications[index], System.currentTimeMillis());
+                }
+                release();
+            }
+        }
+
+        /**
+         * Releases this bucket without identifying, e.g. because the session is resumed instead.
+         * If the bucket is still waiting, it stops waiting.
+         */
+        public void release() {
+            synchronized (IdentifyRateLimiter.this) {
+                if (index >= 0) {
+                    acquiredBucketCounts[index]--;
+                    acquiredBuckets.remove(this);
+                    index = -1;
+                    acquiredAt = 0;
+                } else {
+                    waitingBuckets.remove(this);
+                }
+                acquisition = null;
+                acquireWaitingBuckets();
+            }
+        }
+
+        /**
+         * Sets the time of the last identify, e.g. to delay the next identify after an invalid session.
+         *
+         * @param lastIdentification The time of the last identify as given by {@link System#currentTimeMillis()}.
+         */
+        public void setLastIdentification(long lastIdentification) {
+            synchronized (IdentifyRateLimiter.this) {
+                lastIdentifications[shard % maxConcurrency] = lastIdentification;
+            }
+        }
+
+    }
+
+}
@@ -1,12 +1,14 @@
 package org.javacord.core.util.gateway;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.concurrent.PartitionedExecutor;
 import org.javacord.core.util.logging.LoggerUtil;
 
-import java.util.concurrent.ExecutorService;
+import java.io.IOException;
 
 /**
  * This class is extended by all PacketHandlers.
@@ -21,7 +23,7 @@ public abstract class PacketHandler {
     protected final DiscordApiImpl api;
     private final String type;
     private final boolean async;
-    private ExecutorService executorService;
+    private PartitionedExecutor executor;
 
     /**
      * Creates a new instance of this class.
@@ -35,7 +37,7 @@ public abstract class PacketHandler {
         this.async = async;
         this.type = type;
         if (async) {
-            executorService = api.getThreadPool().getSingleThreadExecutorService("Handlers Processor");
+            executor = this.api.getPacketHandlerExecutor();
         }
     }
 
@@ -46,7 +48,7 @@ public abstract class PacketHandler {
      */
     public void handlePacket(final JsonNode packet) {
         if (async) {
-            executorService.submit(() -> {
+            executor.execute(getPartitionKey(packet), () -> {
                 try {
                     handle(packet);
                 } catch (Throwable t) {
@@ -64,6 +66,44 @@ public abstract class PacketHandler {
         }
     }
 
+    /**
+     * Handles the packet that is read from the given token stream.
+     * The default implementation reads the "d"-object into a tree and calls {@link #handlePacket(JsonNode)}.
+     * Handlers that ignore the packet or only need a few of its fields can override this method to avoid building
+     * the tree. This method is called in the websocket reading thread and must leave the parser at the end of the
+     * "d"-object.
+     *
+     * @param packet The parser positioned at the start of the "d"-object.
+     * @throws IOException If the packet could not be read.
+     */
+    public void handlePacket(JsonParser packet) throws IOException {
+        handlePacket(api.getObjectMapper().<JsonNode>readTree(packet));
+    }
+
+    /**
+     * Gets the key that determines the order in which asynchronous packets are handled.
+     * Packets with the same key are handled sequentially in the order they were received, packets with different
+     * keys may be handled in parallel.
+     *
+     * <p>The default implementation uses the {@code guild_id} of the packet. If the packet has no server, it belongs
+     * to a private channel and the {@code channel_id} is used. Packets that have neither are all handled in order
+     * with each other. Handlers for packets that carry the id of their server or private channel in a different
+     * field or that change the state of a user instead of a server should override this method.
+     * This method is called in the websocket reading thread and must not access the cache.
+     *
+     * @param packet The packet (the "d"-object).
+     * @return The partition key of the packet.
+     */
+    protected long getPartitionKey(JsonNode packet) {
+        if (packet.hasNonNull("guild_id")) {
+            return Long.parseLong(packet.get("guild_id").asText());
+        }
+        if (packet.hasNonNull("channel_id")) {
+            return Long.parseLong(packet.get("channel_id").asText());
+        }
+        return 0;
+    }
+
     /**
      * This method is called by the super class to handle the packet.
      *
@@ -6,6 +6,7 @@ package org.javacord.core.util.gateway;
 public enum WebSocketCloseReason {
 
     DISCONNECT(WebSocketCloseCode.NORMAL),
+    DISCONNECT_RESUMABLE(WebSocketCloseCode.COMMANDED_RECONNECT, "Disconnected to resume the session later"),
     HEARTBEAT_NOT_PROPERLY_ANSWERED(WebSocketCloseCode.UNKNOWN_ERROR, "Heartbeat was not answered properly"),
     COMMANDED_RECONNECT(WebSocketCloseCode.COMMANDED_RECONNECT, "Discord commanded a reconnect (Received opcode 7)");
 
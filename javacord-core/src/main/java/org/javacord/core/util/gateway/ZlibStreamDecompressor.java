@@ -0,0 +1,154 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A decompressor for the {@code zlib-stream} transport compression of the gateway.
+ *
+ * <p>With transport compression, the whole websocket session shares one zlib context. Every gateway message ends
+ * with a {@code Z_SYNC_FLUSH} suffix ({@code 00 00 ff ff}), but a message may be split across multiple websocket
+ * frames. This class therefore keeps one long-lived {@link Inflater}, collects frames until the suffix is seen and
+ * inflates the message into a reusable buffer that can be handed to Jackson directly.
+ *
+ * <p>Instances are not thread-safe and must only be used by the reading thread of a single websocket session.
+ */
+public class ZlibStreamDecompressor {
+
+    /**
+     * The length of the {@code Z_SYNC_FLUSH} suffix.
+     */
+    private static final int ZLIB_SUFFIX_LENGTH = 4;
+
+    /**
+     * The initial size of the input and output buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The inflater that holds the zlib context of the websocket session.
+     */
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * A buffer for frames that belong to a message that is not yet complete.
+     */
+    private byte[] input = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The amount of bytes in {@link #input}.
+     */
+    private int inputLength = 0;
+
+    /**
+     * The buffer that contains the last decompressed message.
+     */
+    private byte[] output = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The amount of bytes in {@link #output}.
+     */
+    private int outputLength = 0;
+
+    /**
+     * Adds a received binary frame to the decompressor.
+     * If the frame completes a message, the message is inflated and can be read with
+     * {@link #createParser(JsonFactory)} until the next call of this method.
+     *
+     * @param frame The payload of the received binary frame.
+     * @return Whether the frame completed a message.
+     * @throws DataFormatException If the compressed data is invalid.
+     */
+    public boolean decompress(byte[] frame) throws DataFormatException {
+        outputLength = 0;
+        byte[] data = frame;
+        int dataLength = frame.length;
+        if (inputLength > 0 || !endsWithZlibSuffix(frame, frame.length)) {
+            appendInput(frame);
+            if (!endsWithZlibSuffix(input, inputLength)) {
+                return false;
+            }
+            data = input;
+            dataLength = inputLength;
+            inputLength = 0;
+        }
+
+        inflater.setInput(data, 0, dataLength);
+        do {
+            if (outputLength == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            outputLength += inflater.inflate(output, outputLength, output.length - outputLength);
+            if (inflater.needsDictionary()) {
+                throw new DataFormatException("Received zlib data that requires a preset dictionary");
+            }
+        } while (!inflater.finished() && (!inflater.needsInput() || (outputLength == output.length)));
+        return true;
+    }
+
+    /**
+     * Creates a parser for the last decompressed message.
+     * The parser reads directly from the internal buffer, so it must not be used after the next call of
+     * {@link #decompress(byte[])}.
+     *
+     * @param jsonFactory The json factory to use.
+     * @return A parser for the last decompressed message.
+     * @throws IOException If the parser could not be created.
+     */
+    public JsonParser createParser(JsonFactory jsonFactory) throws IOException {
+        return jsonFactory.createParser(output, 0, outputLength);
+    }
+
+    /**
+     * Gets the last decompressed message as string.
+     * This is only meant to be used for logging purposes.
+     *
+     * @return The last decompressed message.
+     */
+    public String getDecompressedText() {
+        return new String(output, 0, outputLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Releases the native resources of the inflater.
+     * The decompressor must not be used afterwards.
+     */
+    public void close() {
+        inflater.end();
+    }
+
+    /**
+     * Appends the given frame to the input buffer.
+     *
+     * @param frame The frame to append.
+     */
+    private void appendInput(byte[] frame) {
+        if (inputLength + frame.length > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, inputLength + frame.length));
+        }
+        System.arraycopy(frame, 0, input, inputLength, frame.length);
+        inputLength += frame.length;
+    }
+
+    /**
+     * Checks whether the given data ends with the {@code Z_SYNC_FLUSH} suffix.
+     *
+     * @param data The data to check.
+     * @param length The amount of valid bytes in {@code data}.
+     * @return Whether the data ends with the {@code Z_SYNC_FLUSH} suffix.
+     */
+    private static boolean endsWithZlibSuffix(byte[] data, int length) {
+        return length >= ZLIB_SUFFIX_LENGTH
+                && data[length - 4] == 0x00
+                && data[length - 3] == 0x00
+                && data[length - 2] == (byte) 0xFF
+                && data[length - 1] == (byte) 0xFF;
+    }
+
+}
@@ -30,6 +30,8 @@ public class ReadyHandler extends PacketHandler {
     public void handle(JsonNode packet) {
         // Purge the cache first
         api.purgeCache();
+        // The own member is cached by the servers even if members are not cached, so the own user must be known first
+        api.setYourself(api.getOrCreateUser(packet.get("user")));
 
         JsonNode guilds = packet.get("guilds");
         for (JsonNode guildJson : guilds) {
@@ -59,8 +61,6 @@ public class ReadyHandler extends PacketHandler {
 
             }
         }
-
-        api.setYourself(api.getOrCreateUser(packet.get("user")));
     }
 
 }
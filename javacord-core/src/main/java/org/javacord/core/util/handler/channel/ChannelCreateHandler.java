@@ -38,6 +38,12 @@ public class ChannelCreateHandler extends PacketHandler {
         super(api, true, "CHANNEL_CREATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // private and group channels have no server, so the channel itself is used
+        return packet.hasNonNull("guild_id") ? super.getPartitionKey(packet) : packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         ChannelType type = ChannelType.fromId(packet.get("type").asInt());
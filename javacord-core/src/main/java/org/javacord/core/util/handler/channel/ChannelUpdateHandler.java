@@ -65,6 +65,12 @@ public class ChannelUpdateHandler extends PacketHandler {
         super(api, true, "CHANNEL_UPDATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // private and group channels have no server, so the channel itself is used
+        return packet.hasNonNull("guild_id") ? super.getPartitionKey(packet) : packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         ChannelType type = ChannelType.fromId(packet.get("type").asInt());
@@ -191,7 +197,7 @@ public class ChannelUpdateHandler extends PacketHandler {
                                 channel, newOverwrittenPermissions, oldOverwrittenPermissions, entity);
                         areYouAffected.compareAndSet(false, entity instanceof User && ((User) entity).isYourself());
                         areYouAffected.compareAndSet(false, entity instanceof Role
-                                && ((Role) entity).getUsers().stream().anyMatch(User::isYourself));
+                                && server.doYouHaveRole((Role) entity));
                     }
                 }
             }
@@ -230,11 +236,13 @@ public class ChannelUpdateHandler extends PacketHandler {
                 if (server.isReady()) {
                     dispatchServerChannelChangeOverwrittenPermissionsEvent(
                             channel, PermissionsImpl.EMPTY_PERMISSIONS, oldPermissions, role);
-                    areYouAffected.compareAndSet(false, role.getUsers().stream().anyMatch(User::isYourself));
+                    areYouAffected.compareAndSet(false, server.doYouHaveRole(role));
                 }
             });
         }
 
+        server.invalidatePermissions();
+
         if (areYouAffected.get() && !channel.canYouSee()) {
             api.forEachCachedMessageWhere(
                     msg -> msg.getChannel().getId() == channelId,
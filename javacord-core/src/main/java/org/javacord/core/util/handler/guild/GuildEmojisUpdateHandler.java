@@ -8,6 +8,7 @@ import org.javacord.api.event.server.emoji.KnownCustomEmojiChangeNameEvent;
 import org.javacord.api.event.server.emoji.KnownCustomEmojiChangeWhitelistedRolesEvent;
 import org.javacord.api.event.server.emoji.KnownCustomEmojiCreateEvent;
 import org.javacord.api.event.server.emoji.KnownCustomEmojiDeleteEvent;
+import org.javacord.api.util.cache.CacheMode;
 import org.javacord.core.entity.emoji.KnownCustomEmojiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.server.emoji.KnownCustomEmojiChangeNameEventImpl;
@@ -40,6 +41,9 @@ public class GuildEmojisUpdateHandler extends PacketHandler {
 
     @Override
     public void handle(JsonNode packet) {
+        if (api.getCachePolicy().getEmojis() == CacheMode.DISABLED) {
+            return;
+        }
         long id = packet.get("guild_id").asLong();
         api.getPossiblyUnreadyServerById(id).map(server -> (ServerImpl) server).ifPresent(server -> {
             HashMap<Long, JsonNode> emojis = new HashMap<>();
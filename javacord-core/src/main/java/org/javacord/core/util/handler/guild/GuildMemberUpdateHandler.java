@@ -8,7 +8,7 @@ import org.javacord.api.entity.user.User;
 import org.javacord.api.event.server.role.UserRoleAddEvent;
 import org.javacord.api.event.server.role.UserRoleRemoveEvent;
 import org.javacord.api.event.user.UserChangeNicknameEvent;
-import org.javacord.core.entity.permission.RoleImpl;
+import org.javacord.api.util.cache.CacheMode;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.server.role.UserRoleAddEventImpl;
 import org.javacord.core.event.server.role.UserRoleRemoveEventImpl;
@@ -43,7 +43,11 @@ public class GuildMemberUpdateHandler extends PacketHandler {
         api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong()).map(server -> (ServerImpl) server)
                 .ifPresent(server -> {
                     User user = api.getOrCreateUser(packet.get("user"));
-                    if (packet.has("nick")) {
+                    // Without cached members, there is no previous nickname or roles to compare with,
+                    // except for the own member, which is always cached
+                    boolean membersCached =
+                            api.getCachePolicy().getMembers() != CacheMode.DISABLED || user.isYourself();
+                    if (membersCached && packet.has("nick")) {
                         String newNickname = packet.get("nick").asText(null);
                         String oldNickname = server.getNickname(user).orElse(null);
                         if (!Objects.deepEquals(newNickname, oldNickname)) {
@@ -56,7 +60,7 @@ public class GuildMemberUpdateHandler extends PacketHandler {
                         }
                     }
 
-                    if (packet.has("roles")) {
+                    if (membersCached && packet.has("roles")) {
                         JsonNode jsonRoles = packet.get("roles");
                         Collection<Role> newRoles = new HashSet<>();
                         Collection<Role> oldRoles = server.getRoles(user);
@@ -70,6 +74,7 @@ public class GuildMemberUpdateHandler extends PacketHandler {
                                     .filter(oldRoles::contains)
                                     .ifPresent(intersection::add);
                         }
+                        server.setRoles(user, newRoles);
 
                         // Added roles
                         Collection<Role> addedRoles = new ArrayList<>(newRoles);
@@ -78,7 +83,6 @@ public class GuildMemberUpdateHandler extends PacketHandler {
                             if (role.isEveryoneRole()) {
                                 continue;
                             }
-                            ((RoleImpl) role).addUserToCache(user);
                             UserRoleAddEvent event = new UserRoleAddEventImpl(role, user);
 
                             api.getEventDispatcher().dispatchUserRoleAddEvent(
@@ -92,7 +96,6 @@ public class GuildMemberUpdateHandler extends PacketHandler {
                             if (role.isEveryoneRole()) {
                                 continue;
                             }
-                            ((RoleImpl) role).removeUserFromCache(user);
                             UserRoleRemoveEvent event = new UserRoleRemoveEventImpl(role, user);
 
                             api.getEventDispatcher().dispatchUserRoleRemoveEvent(
@@ -12,6 +12,7 @@ import org.javacord.api.event.user.UserChangeDeafenedEvent;
 import org.javacord.api.event.user.UserChangeMutedEvent;
 import org.javacord.api.event.user.UserChangeSelfDeafenedEvent;
 import org.javacord.api.event.user.UserChangeSelfMutedEvent;
+import org.javacord.api.util.cache.CacheMode;
 import org.javacord.core.entity.channel.GroupChannelImpl;
 import org.javacord.core.entity.channel.PrivateChannelImpl;
 import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
@@ -63,6 +64,9 @@ public class VoiceStateUpdateHandler extends PacketHandler {
     }
 
     private void handleServerVoiceChannel(JsonNode packet, long userId) {
+        if (api.getCachePolicy().getVoiceStates() == CacheMode.DISABLED) {
+            return;
+        }
         api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong())
                 .map(ServerImpl.class::cast).ifPresent(server -> {
                     Optional<ServerVoiceChannelImpl> oldChannel = server
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.channel.ServerTextChannel;
 import org.javacord.api.entity.permission.Permissions;
-import org.javacord.api.entity.user.User;
 import org.javacord.api.event.server.role.RoleChangeColorEvent;
 import org.javacord.api.event.server.role.RoleChangeHoistEvent;
 import org.javacord.api.event.server.role.RoleChangeMentionableEvent;
@@ -13,6 +12,7 @@ import org.javacord.api.event.server.role.RoleChangePermissionsEvent;
 import org.javacord.api.event.server.role.RoleChangePositionEvent;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
+import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.server.role.RoleChangeColorEventImpl;
 import org.javacord.core.event.server.role.RoleChangeHoistEventImpl;
 import org.javacord.core.event.server.role.RoleChangeMentionableEventImpl;
@@ -96,6 +96,7 @@ public class GuildRoleUpdateHandler extends PacketHandler {
             PermissionsImpl newPermissions = new PermissionsImpl(roleJson.get("permissions").asInt(), 0);
             if (!oldPermissions.equals(newPermissions)) {
                 role.setPermissions(newPermissions);
+                ((ServerImpl) role.getServer()).invalidatePermissions();
 
                 RoleChangePermissionsEvent event =
                         new RoleChangePermissionsEventImpl(role, newPermissions, oldPermissions);
@@ -103,7 +104,7 @@ public class GuildRoleUpdateHandler extends PacketHandler {
                 api.getEventDispatcher().dispatchRoleChangePermissionsEvent(
                         (DispatchQueueSelector) role.getServer(), role, role.getServer(), event);
                 // If bot is affected remove messages from cache that are no longer visible
-                if (role.getUsers().stream().anyMatch(User::isYourself)) {
+                if (((ServerImpl) role.getServer()).doYouHaveRole(role)) {
                     Set<Long> unreadableChannels = role.getServer().getTextChannels().stream()
                             .filter(((Predicate<ServerTextChannel>)ServerTextChannel::canYouSee).negate())
                             .map(ServerTextChannel::getId)
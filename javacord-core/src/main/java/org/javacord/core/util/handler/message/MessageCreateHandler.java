@@ -30,6 +30,9 @@ public class MessageCreateHandler extends PacketHandler {
     public void handle(JsonNode packet) {
         api.getTextChannelById(packet.get("channel_id").asText()).ifPresent(channel -> {
             Message message = api.getOrCreateMessage(channel, packet);
+            if (!api.getEventDispatcher().hasMessageCreateListeners()) {
+                return;
+            }
             MessageCreateEvent event = new MessageCreateEventImpl(message);
 
             Optional<Server> optionalServer = channel.asServerChannel().map(ServerChannel::getServer);
@@ -16,6 +16,7 @@ import org.javacord.core.entity.message.embed.EmbedImpl;
 import org.javacord.core.event.message.CachedMessagePinEventImpl;
 import org.javacord.core.event.message.CachedMessageUnpinEventImpl;
 import org.javacord.core.event.message.MessageEditEventImpl;
+import org.javacord.core.util.cache.MessageCacheImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.gateway.PacketHandler;
 import org.javacord.core.util.logging.LoggerUtil;
@@ -66,7 +67,8 @@ public class MessageUpdateHandler extends PacketHandler {
         long channelId = packet.get("channel_id").asLong();
 
         api.getTextChannelById(channelId).ifPresent(channel -> {
-            Optional<MessageImpl> message = api.getCachedMessageById(messageId).map(msg -> (MessageImpl) msg);
+            Optional<MessageImpl> message = ((MessageCacheImpl) channel.getMessageCache()).getMessageById(messageId)
+                    .map(msg -> (MessageImpl) msg);
 
             message.ifPresent(msg -> {
                 boolean newPinnedFlag = packet.hasNonNull("pinned") ? packet.get("pinned").asBoolean() : msg.isPinned();
@@ -11,6 +11,7 @@ import org.javacord.api.event.message.reaction.ReactionAddEvent;
 import org.javacord.core.entity.emoji.UnicodeEmojiImpl;
 import org.javacord.core.entity.message.MessageImpl;
 import org.javacord.core.event.message.reaction.ReactionAddEventImpl;
+import org.javacord.core.util.cache.MessageCacheImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.gateway.PacketHandler;
 
@@ -35,7 +36,7 @@ public class MessageReactionAddHandler extends PacketHandler {
         api.getTextChannelById(packet.get("channel_id").asText()).ifPresent(channel -> {
             long messageId = packet.get("message_id").asLong();
             User user = api.getCachedUserById(packet.get("user_id").asText()).orElseThrow(AssertionError::new);
-            Optional<Message> message = api.getCachedMessageById(messageId);
+            Optional<Message> message = ((MessageCacheImpl) channel.getMessageCache()).getMessageById(messageId);
 
             Emoji emoji;
             JsonNode emojiJson = packet.get("emoji");
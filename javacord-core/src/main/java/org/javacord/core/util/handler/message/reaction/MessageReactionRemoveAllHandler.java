@@ -8,6 +8,7 @@ import org.javacord.api.entity.server.Server;
 import org.javacord.api.event.message.reaction.ReactionRemoveAllEvent;
 import org.javacord.core.entity.message.MessageImpl;
 import org.javacord.core.event.message.reaction.ReactionRemoveAllEventImpl;
+import org.javacord.core.util.cache.MessageCacheImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.gateway.PacketHandler;
 
@@ -31,7 +32,7 @@ public class MessageReactionRemoveAllHandler extends PacketHandler {
     public void handle(JsonNode packet) {
         api.getTextChannelById(packet.get("channel_id").asText()).ifPresent(channel -> {
             long messageId = packet.get("message_id").asLong();
-            Optional<Message> message = api.getCachedMessageById(messageId);
+            Optional<Message> message = ((MessageCacheImpl) channel.getMessageCache()).getMessageById(messageId);
 
             message.ifPresent(msg -> ((MessageImpl) msg).removeAllReactionsFromCache());
 
@@ -11,8 +11,10 @@ import org.javacord.api.event.user.UserChangeAvatarEvent;
 import org.javacord.api.event.user.UserChangeDiscriminatorEvent;
 import org.javacord.api.event.user.UserChangeNameEvent;
 import org.javacord.api.event.user.UserChangeStatusEvent;
+import org.javacord.api.util.cache.CacheMode;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.user.UserImpl;
+import org.javacord.core.entity.user.UserState;
 import org.javacord.core.event.user.UserChangeActivityEventImpl;
 import org.javacord.core.event.user.UserChangeAvatarEventImpl;
 import org.javacord.core.event.user.UserChangeDiscriminatorEventImpl;
@@ -39,125 +41,142 @@ public class PresenceUpdateHandler extends PacketHandler {
         super(api, true, "PRESENCE_UPDATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // Presences change the user in all its servers, so they are handled in order per user instead of per server
+        return packet.get("user").get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         // ignore the guild_id and send to all mutual servers instead or we must track the properties per server
         // or all packets after the first do not detect a change and will not send around an event for the server
         long userId = packet.get("user").get("id").asLong();
         api.getCachedUserById(userId).map(UserImpl.class::cast).ifPresent(user -> {
-            if (packet.has("game")) {
-                Activity newActivity = null;
-                if (!packet.get("game").isNull()) {
-                    newActivity = new ActivityImpl(packet.get("game"));
-                }
-                Activity oldActivity = user.getActivity().orElse(null);
-                user.setActivity(newActivity);
-                if (!Objects.deepEquals(newActivity, oldActivity)) {
-                    dispatchUserActivityChangeEvent(user, newActivity, oldActivity);
-                }
+            // Changes are detected by the state this shard saw last, as the user might be shared with other shards
+            // which applied this presence update already
+            UserState oldState = user.getSeenState();
+            boolean presencesCached = api.getCachePolicy().getPresences() != CacheMode.DISABLED;
+            if (presencesCached) {
+                updatePresence(packet, user);
             }
-            UserStatus oldStatus = user.getStatus();
-            UserStatus newStatus = oldStatus;
-            if (packet.has("status")) {
-                newStatus = UserStatus.fromString(packet.get("status").asText(null));
-                user.setStatus(newStatus);
+            JsonNode userJson = packet.get("user");
+            if (userJson.has("username")) {
+                user.setName(userJson.get("username").asText());
             }
-            Map<DiscordClient, UserStatus> newClientStatus = new HashMap<>();
-            Map<DiscordClient, UserStatus> oldClientStatus = new HashMap<>();
-            for (DiscordClient client : DiscordClient.values()) {
-                oldClientStatus.put(client, user.getStatusOnClient(client));
-                if (packet.has("client_status")) {
-                    JsonNode clientStatus = packet.get("client_status");
-                    if (clientStatus.hasNonNull(client.getName())) {
-                        UserStatus status = UserStatus.fromString(clientStatus.get(client.getName()).asText());
-                        user.setClientStatus(client, status);
-                    } else {
-                        user.setClientStatus(client, UserStatus.OFFLINE);
-                    }
-                }
-                newClientStatus.put(client, user.getStatusOnClient(client));
+            if (userJson.has("discriminator")) {
+                user.setDiscriminator(userJson.get("discriminator").asText());
             }
+            if (userJson.has("avatar")) {
+                user.setAvatarHash(userJson.get("avatar").asText(null));
+            }
+            UserState newState = user.getSeenState();
 
-            dispatchUserStatusChangeEventIfChangeDetected(user, newStatus, oldStatus, newClientStatus, oldClientStatus);
-
-            if (packet.get("user").has("username")) {
-                String newName = packet.get("user").get("username").asText();
-                String oldName = user.getName();
-                if (!oldName.equals(newName)) {
-                    user.setName(newName);
-                    dispatchUserChangeNameEvent(user, newName, oldName);
+            if (presencesCached) {
+                if (!Objects.deepEquals(newState.getActivity(), oldState.getActivity())) {
+                    dispatchUserActivityChangeEvent(user, newState.getActivity(), oldState.getActivity());
                 }
-            }
-            if (packet.get("user").has("discriminator")) {
-                String newDiscriminator = packet.get("user").get("discriminator").asText();
-                String oldDiscriminator = user.getDiscriminator();
-                if (!oldDiscriminator.equals(newDiscriminator)) {
-                    user.setDiscriminator(newDiscriminator);
-                    dispatchUserChangeDiscriminatorEvent(user, newDiscriminator, oldDiscriminator);
+                if (newState.getStatus() != oldState.getStatus() || newState.hasOtherClientStatus(oldState)) {
+                    dispatchUserStatusChangeEvent(user, newState, oldState);
                 }
             }
-            if (packet.get("user").has("avatar")) {
-                String newAvatarHash = packet.get("user").get("avatar").asText(null);
-                String oldAvatarHash = user.getAvatarHash();
-                if (!Objects.deepEquals(newAvatarHash, oldAvatarHash)) {
-                    user.setAvatarHash(newAvatarHash);
-                    dispatchUserChangeAvatarEvent(user, newAvatarHash, oldAvatarHash);
-                }
+            if (!oldState.getName().equals(newState.getName())) {
+                dispatchUserChangeNameEvent(user, newState.getName(), oldState.getName());
+            }
+            if (!oldState.getDiscriminator().equals(newState.getDiscriminator())) {
+                dispatchUserChangeDiscriminatorEvent(user, newState.getDiscriminator(), oldState.getDiscriminator());
+            }
+            if (!Objects.deepEquals(newState.getAvatarHash(), oldState.getAvatarHash())) {
+                dispatchUserChangeAvatarEvent(user, newState.getAvatarHash(), oldState.getAvatarHash());
             }
         });
     }
 
+    /**
+     * Updates the activity and status of the user.
+     *
+     * @param packet The presence update packet.
+     * @param user The user of the presence.
+     */
+    private void updatePresence(JsonNode packet, UserImpl user) {
+        if (packet.has("game")) {
+            Activity newActivity = null;
+            if (!packet.get("game").isNull()) {
+                newActivity = new ActivityImpl(packet.get("game"));
+            }
+            user.setActivity(newActivity);
+        }
+        if (packet.has("status")) {
+            user.setStatus(UserStatus.fromString(packet.get("status").asText(null)));
+        }
+        if (packet.has("client_status")) {
+            JsonNode clientStatus = packet.get("client_status");
+            for (DiscordClient client : DiscordClient.values()) {
+                if (clientStatus.hasNonNull(client.getName())) {
+                    user.setClientStatus(client, UserStatus.fromString(clientStatus.get(client.getName()).asText()));
+                } else {
+                    user.setClientStatus(client, UserStatus.OFFLINE);
+                }
+            }
+        }
+    }
+
     private void dispatchUserActivityChangeEvent(User user, Activity newActivity, Activity oldActivity) {
+        if (!api.getEventDispatcher().hasUserChangeActivityListeners()) {
+            return;
+        }
         UserChangeActivityEvent event = new UserChangeActivityEventImpl(user, newActivity, oldActivity);
 
         api.getEventDispatcher().dispatchUserChangeActivityEvent(
-                api, user.getMutualServers(), Collections.singleton(user), event);
+                api, api.getMutualServers(user.getId()), Collections.singleton(user), event);
     }
 
-    private void dispatchUserStatusChangeEventIfChangeDetected(User user, UserStatus newStatus, UserStatus oldStatus,
-                                                               Map<DiscordClient, UserStatus> newClientStatus,
-                                                               Map<DiscordClient, UserStatus> oldClientStatus) {
-        // Only dispatch the event if something changed
-        boolean shouldDispatch = false;
-        if (newClientStatus != oldClientStatus) {
-            shouldDispatch = true;
+    private void dispatchUserStatusChangeEvent(User user, UserState newState, UserState oldState) {
+        if (!api.getEventDispatcher().hasUserChangeStatusListeners()) {
+            return;
         }
+        Map<DiscordClient, UserStatus> newClientStatus = new HashMap<>();
+        Map<DiscordClient, UserStatus> oldClientStatus = new HashMap<>();
         for (DiscordClient client : DiscordClient.values()) {
-            if (newClientStatus.get(client) != oldClientStatus.get(client)) {
-                shouldDispatch = true;
-            }
+            newClientStatus.put(client, newState.getStatusOnClient(client));
+            oldClientStatus.put(client, oldState.getStatusOnClient(client));
         }
-        if (!shouldDispatch) {
-            return;
-        }
-
-        UserChangeStatusEvent event =
-                new UserChangeStatusEventImpl(user, newStatus, oldStatus, newClientStatus, oldClientStatus);
+        UserChangeStatusEvent event = new UserChangeStatusEventImpl(
+                user, newState.getStatus(), oldState.getStatus(), newClientStatus, oldClientStatus);
 
         api.getEventDispatcher().dispatchUserChangeStatusEvent(
-                api, user.getMutualServers(), Collections.singleton(user), event);
+                api, api.getMutualServers(user.getId()), Collections.singleton(user), event);
     }
 
     private void dispatchUserChangeNameEvent(User user, String newName, String oldName) {
+        if (!api.getEventDispatcher().hasUserChangeNameListeners()) {
+            return;
+        }
         UserChangeNameEvent event = new UserChangeNameEventImpl(user, newName, oldName);
 
         api.getEventDispatcher().dispatchUserChangeNameEvent(
-                api, user.getMutualServers(), Collections.singleton(user), event);
+                api, api.getMutualServers(user.getId()), Collections.singleton(user), event);
     }
 
     private void dispatchUserChangeDiscriminatorEvent(User user, String newDiscriminator, String oldDiscriminator) {
+        if (!api.getEventDispatcher().hasUserChangeDiscriminatorListeners()) {
+            return;
+        }
         UserChangeDiscriminatorEvent event =
                 new UserChangeDiscriminatorEventImpl(user, newDiscriminator, oldDiscriminator);
 
         api.getEventDispatcher().dispatchUserChangeDiscriminatorEvent(
-                api, user.getMutualServers(), Collections.singleton(user), event);
+                api, api.getMutualServers(user.getId()), Collections.singleton(user), event);
     }
 
     private void dispatchUserChangeAvatarEvent(User user, String newAvatarHash, String oldAvatarHash) {
+        if (!api.getEventDispatcher().hasUserChangeAvatarListeners()) {
+            return;
+        }
         UserChangeAvatarEvent event = new UserChangeAvatarEventImpl(user, newAvatarHash, oldAvatarHash);
 
         api.getEventDispatcher().dispatchUserChangeAvatarEvent(
-                api, user.getMutualServers(), Collections.singleton(user), event);
+                api, api.getMutualServers(user.getId()), Collections.singleton(user), event);
     }
 
 }
@@ -1,9 +1,12 @@
 package org.javacord.core.util.handler.user;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.core.util.gateway.PacketHandler;
 
+import java.io.IOException;
+
 /**
  * Handles the presences replace packet.
  */
@@ -18,6 +21,12 @@ public class PresencesReplaceHandler extends PacketHandler {
         super(api, true, "PRESENCES_REPLACE");
     }
 
+    @Override
+    public void handlePacket(JsonParser packet) throws IOException {
+        // the packet is ignored, so there is no need to build a tree
+        packet.skipChildren();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         // This event is meant for client accounts but also is dispatched for bot account with
@@ -27,6 +27,9 @@ public class TypingStartHandler extends PacketHandler {
 
     @Override
     public void handle(JsonNode packet) {
+        if (!api.getEventDispatcher().hasUserStartTypingListeners()) {
+            return;
+        }
         long userId = packet.get("user_id").asLong();
         long channelId = packet.get("channel_id").asLong();
         api.getTextChannelById(channelId).ifPresent(channel -> api.getCachedUserById(userId).ifPresent(user -> {
@@ -18,6 +18,12 @@ public class UserUpdateHandler extends PacketHandler {
         super(api, true, "USER_UPDATE");
     }
 
+    @Override
+    protected long getPartitionKey(JsonNode packet) {
+        // The own user does not belong to a server, so its updates are handled in order with its presence updates
+        return packet.get("id").asLong();
+    }
+
     @Override
     public void handle(JsonNode packet) {
         // NOP
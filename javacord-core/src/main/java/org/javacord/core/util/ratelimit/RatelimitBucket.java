@@ -8,6 +8,7 @@ import org.javacord.core.util.rest.RestRequest;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class RatelimitBucket {
 
@@ -18,6 +19,8 @@ public class RatelimitBucket {
 
     private final ConcurrentLinkedQueue<RestRequest<?>> requestQueue = new ConcurrentLinkedQueue<>();
 
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
     private final RestEndpoint endpoint;
     private final String majorUrlParameter;
 
@@ -87,6 +90,32 @@ public class RatelimitBucket {
         return requestQueue.peek();
     }
 
+    /**
+     * Tries to claim this bucket for working off its queue.
+     * Only one thread at a time can hold the claim.
+     *
+     * @return Whether the bucket was claimed.
+     */
+    public boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases the claim of this bucket.
+     */
+    public void releaseClaim() {
+        claimed.set(false);
+    }
+
+    /**
+     * Checks if this bucket is currently claimed.
+     *
+     * @return Whether this bucket is currently claimed.
+     */
+    public boolean isClaimed() {
+        return claimed.get();
+    }
+
     /**
      * Sets the remaining requests till ratelimit.
      *
@@ -5,15 +5,19 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.exception.DiscordException;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestRequest;
 import org.javacord.core.util.rest.RestRequestResponseInformationImpl;
 import org.javacord.core.util.rest.RestRequestResult;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -32,9 +36,9 @@ public class RatelimitManager {
     private final DiscordApiImpl api;
 
     /**
-     * A set with all buckets.
+     * All buckets with queued requests, indexed by their endpoint and major url parameter.
      */
-    private final Set<RatelimitBucket> buckets = new HashSet<>();
+    private final ConcurrentMap<BucketKey, RatelimitBucket> buckets = new ConcurrentHashMap<>();
 
     /**
      * Creates a new ratelimit manager.
@@ -52,101 +56,141 @@ public class RatelimitManager {
      * @param request The request to queue.
      */
     public void queueRequest(RestRequest<?> request) {
-        final RatelimitBucket bucket;
-        final boolean alreadyInQueue;
-        synchronized (buckets) {
-            // Search for a bucket that fits to this request
-            bucket = buckets.stream()
-                    .filter(b -> b.equals(request.getEndpoint(), request.getMajorUrlParameter().orElse(null)))
-                    .findAny()
-                    .orElseGet(() -> new RatelimitBucket(
-                            api, request.getEndpoint(), request.getMajorUrlParameter().orElse(null)));
+        BucketKey key = new BucketKey(request.getEndpoint(), request.getMajorUrlParameter().orElse(null));
 
-            // Must be executed BEFORE adding the request to the queue
-            alreadyInQueue = bucket.peekRequestFromQueue() != null;
-
-            // Add the bucket to the set of buckets (does nothing if it's already in the set)
-            buckets.add(bucket);
+        // Adding the request must be atomic with the lookup, so that we never add it to a bucket that is just removed
+        RatelimitBucket bucket = buckets.compute(key, (k, existingBucket) -> {
+            RatelimitBucket result = existingBucket;
+            if (result == null) {
+                result = new RatelimitBucket(api, request.getEndpoint(), key.majorUrlParameter);
+            }
+            result.addRequestToQueue(request);
+            return result;
+        });
 
-            // Add the request to the bucket's queue
-            bucket.addRequestToQueue(request);
+        // If someone else is already working off the queue, there's nothing more to do
+        if (!bucket.claim()) {
+            return;
         }
 
-        // If the bucket is already in the queue, there's nothing more to do
-        if (alreadyInQueue) {
+        // Start working of the queue
+        processBucket(key, bucket);
+    }
+
+    /**
+     * Executes the first request of the given bucket as soon as there's space in the bucket.
+     * Waiting for space does not block a thread, but schedules the bucket for the time the ratelimit resets.
+     * The bucket must be claimed and its queue must not be empty.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     */
+    private void processBucket(BucketKey key, RatelimitBucket bucket) {
+        int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
+        if (sleepTime > 0) {
+            logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits", bucket, sleepTime);
+            // Check again afterwards in case something changed (e.g. because we hit a global ratelimit)
+            api.getThreadPool().getScheduler()
+                    .schedule(() -> processBucket(key, bucket), sleepTime, TimeUnit.MILLISECONDS);
             return;
         }
+        api.getThreadPool().getRestExecutorService().submit(() -> executeRequest(key, bucket));
+    }
 
-        // Start working of the queue
-        api.getThreadPool().getExecutorService().submit(() -> {
-            RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
-            RestRequestResult result = null;
-            long responseTimestamp = System.currentTimeMillis();
-            while (currentRequest != null) {
-                try {
-                    int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    if (sleepTime > 0) {
-                        logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits",
-                                bucket, sleepTime);
-                    }
-
-                    // Sleep until space is available
-                    while (sleepTime > 0) {
-                        try {
-                            Thread.sleep(sleepTime);
-                        } catch (InterruptedException e) {
-                            logger.warn("We got interrupted while waiting for a rate limit!", e);
-                        }
-                        // Update in case something changed (e.g. because we hit a global ratelimit)
-                        sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    }
-
-                    // Execute the request
-                    result = currentRequest.executeBlocking();
-
-                    // Calculate the time offset, if it wasn't done before
-                    responseTimestamp = System.currentTimeMillis();
-                } catch (Throwable t) {
-                    responseTimestamp = System.currentTimeMillis();
-                    if (currentRequest.getResult().isDone()) {
-                        logger.warn("Received exception for a request that is already done. "
-                                + "This should not be able to happen!", t);
-                    }
-                    // Try to get the response from the exception if it exists
-                    if (t instanceof DiscordException) {
-                        result = ((DiscordException) t).getResponse()
-                                .map(RestRequestResponseInformationImpl.class::cast)
-                                .map(RestRequestResponseInformationImpl::getRestRequestResult)
-                                .orElse(null);
-                    }
-                    // Complete the request
-                    currentRequest.getResult().completeExceptionally(t);
-                } finally {
-                    try {
-                        // Calculate offset
-                        calculateOffset(responseTimestamp, result);
-                        // Handle the response
-                        handleResponse(currentRequest, result, bucket, responseTimestamp);
-                    } catch (Throwable t) {
-                        logger.warn("Encountered unexpected exception.", t);
-                    }
-
-                    // The request didn't finish, so let's try again
-                    if (!currentRequest.getResult().isDone()) {
-                        continue;
-                    }
-
-                    // Poll a new quest
-                    synchronized (buckets) {
-                        bucket.pollRequestFromQueue();
-                        currentRequest = bucket.peekRequestFromQueue();
-                        if (currentRequest == null) {
-                            buckets.remove(bucket);
-                        }
-                    }
-                }
+    /**
+     * Executes the first request of the given bucket and continues with the next one once the response arrived.
+     * The bucket must be claimed and its queue must not be empty.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     */
+    private void executeRequest(BucketKey key, RatelimitBucket bucket) {
+        RestRequest<?> request = bucket.peekRequestFromQueue();
+        CompletableFuture<RestRequestResult> response;
+        try {
+            response = request.executeAsync();
+        } catch (Throwable t) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(t);
+        }
+        response.whenComplete((result, throwable) ->
+                handleResult(key, bucket, request, result, throwable, System.currentTimeMillis()));
+    }
+
+    /**
+     * Handles the result of the first request of the given bucket and continues with the next request.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     * @param request The executed request.
+     * @param result The result of the request. May be <code>null</code>.
+     * @param throwable The exception thrown while executing the request. May be <code>null</code>.
+     * @param responseTimestamp The timestamp directly after the response finished.
+     */
+    private void handleResult(BucketKey key, RatelimitBucket bucket, RestRequest<?> request,
+                              RestRequestResult result, Throwable throwable, long responseTimestamp) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable != null) {
+            if (request.getResult().isDone()) {
+                logger.warn("Received exception for a request that is already done. "
+                        + "This should not be able to happen!", throwable);
             }
-        });
+            // Try to get the response from the exception if it exists
+            if (throwable instanceof DiscordException) {
+                result = ((DiscordException) throwable).getResponse()
+                        .map(RestRequestResponseInformationImpl.class::cast)
+                        .map(RestRequestResponseInformationImpl::getRestRequestResult)
+                        .orElse(null);
+            }
+            // Complete the request
+            request.getResult().completeExceptionally(throwable);
+        }
+
+        try {
+            // Calculate offset
+            calculateOffset(responseTimestamp, result);
+            // Handle the response
+            handleResponse(request, result, bucket, responseTimestamp);
+        } catch (Throwable t) {
+            logger.warn("Encountered unexpected exception.", t);
+        }
+
+        // If the request didn't finish, we try it again, otherwise we continue with the next request
+        if (request.getResult().isDone()) {
+            bucket.pollRequestFromQueue();
+            if (!hasNextRequest(key, bucket)) {
+                return;
+            }
+        }
+        processBucket(key, bucket);
+    }
+
+    /**
+     * Checks if the given bucket has another request in its queue.
+     * If the queue is empty, the claim of the bucket gets released and the bucket is removed.
+     * Must only be called by the owner of the claim.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     * @return Whether the queue has another request and the bucket is still claimed.
+     */
+    private boolean hasNextRequest(BucketKey key, RatelimitBucket bucket) {
+        if (bucket.peekRequestFromQueue() != null) {
+            return true;
+        }
+        bucket.releaseClaim();
+
+        // A request might have been added before the claim was released, so it's up to us to work it off
+        if (bucket.peekRequestFromQueue() != null && bucket.claim()) {
+            return true;
+        }
+
+        // Only remove the bucket if nobody added a request in the meantime
+        buckets.computeIfPresent(key, (k, existingBucket) ->
+                existingBucket.peekRequestFromQueue() == null && !existingBucket.isClaimed() ? null : existingBucket);
+        return false;
     }
 
     /**
@@ -229,4 +273,47 @@ public class RatelimitManager {
         }
     }
 
+    /**
+     * The key of a bucket, consisting of the endpoint and the major url parameter.
+     */
+    private static class BucketKey {
+
+        /**
+         * The endpoint or <code>null</code> for global endpoints.
+         */
+        private final RestEndpoint endpoint;
+
+        /**
+         * The major url parameter. May be <code>null</code>.
+         */
+        private final String majorUrlParameter;
+
+        /**
+         * Creates a new bucket key.
+         *
+         * @param endpoint The endpoint.
+         * @param majorUrlParameter The major url parameter. May be <code>null</code>.
+         */
+        private BucketKey(RestEndpoint endpoint, String majorUrlParameter) {
+            // Global endpoints share one bucket
+            this.endpoint = endpoint.isGlobal() ? null : endpoint;
+            this.majorUrlParameter = majorUrlParameter;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey otherKey = (BucketKey) obj;
+            return endpoint == otherKey.endpoint && Objects.equals(majorUrlParameter, otherKey.majorUrlParameter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, majorUrlParameter);
+        }
+
+    }
+
 }
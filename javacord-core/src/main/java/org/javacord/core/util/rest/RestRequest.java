@@ -1,6 +1,8 @@
 package org.javacord.core.util.rest;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -10,11 +12,13 @@ import okhttp3.Response;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.exception.DiscordException;
+import org.javacord.api.util.rest.OriginTrackingMode;
 import org.javacord.api.util.rest.RestRequestInformation;
 import org.javacord.api.util.rest.RestRequestResponseInformation;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
@@ -72,7 +76,9 @@ public class RestRequest<T> {
         this.method = method;
         this.endpoint = endpoint;
 
-        this.origin = new Exception("origin of RestRequest call");
+        this.origin = this.api.getOriginTrackingMode() == OriginTrackingMode.DISABLED
+                ? null
+                : new Exception("origin of RestRequest call");
     }
 
     /**
@@ -143,7 +149,7 @@ public class RestRequest<T> {
     /**
      * Gets the origin of the rest request.
      *
-     * @return The origin of the rest request.
+     * @return The origin of the rest request or <code>null</code> if the origin is not tracked.
      */
     public Exception getOrigin() {
         return origin;
@@ -299,12 +305,12 @@ public class RestRequest<T> {
     }
 
     /**
-     * Executes the request blocking.
+     * Prepares the http request.
+     * This waits for the global ratelimiter, if there is one.
      *
-     * @return The result of the request.
-     * @throws Exception If something went wrong while executing the request.
+     * @return The http request.
      */
-    public RestRequestResult executeBlocking() throws Exception {
+    private Request prepareRequest() {
         api.getGlobalRatelimiter().ifPresent(ratelimiter -> {
             try {
                 ratelimiter.requestQuota();
@@ -351,69 +357,120 @@ public class RestRequest<T> {
         headers.forEach(requestBuilder::addHeader);
         logger.debug("Trying to send {} request to {}{}",
                 method::name, () -> endpoint.getFullUrl(urlParameters), () -> body != null ? " with body " + body : "");
+        return requestBuilder.build();
+    }
 
-        try (Response response = getApi().getHttpClient().newCall(requestBuilder.build()).execute()) {
-            RestRequestResult result = new RestRequestResult(this, response);
-            logger.debug("Sent {} request to {} and received status code {} with{} body{}",
-                    method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
-                    () -> result.getBody().map(b -> "").orElse(" empty"),
-                    () -> result.getStringBody().map(s -> " " + s).orElse(""));
-
-            if (response.code() >= 300 || response.code() < 200) {
-
-                RestRequestInformation requestInformation = asRestRequestInformation();
-                RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
-                        requestInformation, result);
-                Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
-                        .fromCode(response.code());
-
-                // Check if the response body contained a know error code
-                if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
-                    int code = result.getJsonBody().get("code").asInt();
-                    String message = result.getJsonBody().has("message")
-                            ? result.getJsonBody().get("message").asText()
-                            : null;
-                    Optional<? extends DiscordException> discordException =
-                            RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
-                                    .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
-                                            origin, (message == null) ? restRequestResultCode.getMeaning() : message,
-                                            requestInformation, responseInformation));
-                    // There's an exception for this specific response code
-                    if (discordException.isPresent()) {
-                        throw discordException.get();
+    /**
+     * Executes the request blocking.
+     *
+     * @return The result of the request.
+     * @throws Exception If something went wrong while executing the request.
+     */
+    public RestRequestResult executeBlocking() throws Exception {
+        try (Response response = getApi().getHttpClient().newCall(prepareRequest()).execute()) {
+            return createResult(response);
+        }
+    }
+
+    /**
+     * Executes the request asynchronously.
+     * The http call is enqueued to the http client, so no thread has to wait for the response.
+     *
+     * @return A future with the result of the request. It is completed exceptionally if something went wrong while
+     *         executing the request.
+     */
+    public CompletableFuture<RestRequestResult> executeAsync() {
+        CompletableFuture<RestRequestResult> future = new CompletableFuture<>();
+        try {
+            getApi().getHttpClient().newCall(prepareRequest()).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    future.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (Response closeableResponse = response) {
+                        future.complete(createResult(closeableResponse));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
                     }
                 }
+            });
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
 
-                switch (response.code()) {
-                    case 429:
-                        // A 429 will be handled in the RatelimitManager class
-                        return result;
-                    default:
-                        // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
-                        Optional<? extends DiscordException> discordException = responseCode
-                                .flatMap(restRequestHttpResponseCode ->
-                                                 restRequestHttpResponseCode.getDiscordException(
-                                                         origin,
-                                                         "Received a " + response.code() + " response from Discord with"
-                                                         + (result.getBody().isPresent() ? "" : " empty")
-                                                         + " body"
-                                                         + result.getStringBody().map(s -> " " + s).orElse("")
-                                                         + "!",
-                                                         requestInformation, responseInformation));
-                        if (discordException.isPresent()) {
-                            throw discordException.get();
-                        } else {
-                            // No specific exception was defined for the response code, so throw a "normal"
-                            throw new DiscordException(
-                                    origin, "Received a " + response.code() + " response from Discord with"
-                                            + (result.getBody().isPresent() ? "" : " empty") + " body"
-                                            + result.getStringBody().map(s -> " " + s).orElse("") + "!",
-                                    requestInformation, responseInformation);
-                        }
+    /**
+     * Creates the result for the given response.
+     *
+     * @param response The response of the request.
+     * @return The result of the request.
+     * @throws Exception If the response is an error response or could not be read.
+     */
+    private RestRequestResult createResult(Response response) throws Exception {
+        RestRequestResult result = new RestRequestResult(this, response);
+        logger.debug("Sent {} request to {} and received status code {} with{} body{}",
+                method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
+                () -> result.getBody().map(b -> "").orElse(" empty"),
+                () -> result.getStringBody().map(s -> " " + s).orElse(""));
+
+        if (response.code() >= 300 || response.code() < 200) {
+
+            RestRequestInformation requestInformation = asRestRequestInformation();
+            RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
+                    requestInformation, result);
+            Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
+                    .fromCode(response.code());
+
+            // Check if the response body contained a know error code
+            if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
+                int code = result.getJsonBody().get("code").asInt();
+                String message = result.getJsonBody().has("message")
+                        ? result.getJsonBody().get("message").asText()
+                        : null;
+                Optional<? extends DiscordException> discordException =
+                        RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
+                                .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
+                                        origin, (message == null) ? restRequestResultCode.getMeaning() : message,
+                                        requestInformation, responseInformation));
+                // There's an exception for this specific response code
+                if (discordException.isPresent()) {
+                    throw discordException.get();
                 }
             }
-            return result;
+
+            switch (response.code()) {
+                case 429:
+                    // A 429 will be handled in the RatelimitManager class
+                    return result;
+                default:
+                    // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
+                    Optional<? extends DiscordException> discordException = responseCode
+                            .flatMap(restRequestHttpResponseCode ->
+                                             restRequestHttpResponseCode.getDiscordException(
+                                                     origin,
+                                                     "Received a " + response.code() + " response from Discord with"
+                                                     + (result.getBody().isPresent() ? "" : " empty")
+                                                     + " body"
+                                                     + result.getStringBody().map(s -> " " + s).orElse("")
+                                                     + "!",
+                                                     requestInformation, responseInformation));
+                    if (discordException.isPresent()) {
+                        throw discordException.get();
+                    } else {
+                        // No specific exception was defined for the response code, so throw a "normal"
+                        throw new DiscordException(
+                                origin, "Received a " + response.code() + " response from Discord with"
+                                        + (result.getBody().isPresent() ? "" : " empty") + " body"
+                                        + result.getStringBody().map(s -> " " + s).orElse("") + "!",
+                                requestInformation, responseInformation);
+                    }
+            }
         }
+        return result;
     }
 
 }
@@ -0,0 +1,98 @@
+package org.javacord.api.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.file.Files
+
+@Subject(FileSessionStore)
+class FileSessionStoreTest extends Specification {
+
+    def directory = Files.createTempDirectory('javacord-session-store')
+
+    def store = new FileSessionStore(directory.resolve('sessions'))
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    def 'saved sessions are loaded again'() {
+        when:
+            store.save(0, 2, new GatewaySession('session', 42))
+
+        then:
+            store.load(0, 2).get() == new GatewaySession('session', 42)
+
+        and:
+            !store.load(1, 2).present
+            !store.load(0, 1).present
+    }
+
+    def 'saving a session replaces the previous one'() {
+        given:
+            store.save(0, 1, new GatewaySession('session', 42))
+
+        when:
+            store.save(0, 1, new GatewaySession('other', 43))
+
+        then:
+            store.load(0, 1).get() == new GatewaySession('other', 43)
+
+        and: 'no temporary files are left behind'
+            store.directory.toFile().list() as List == ['session-0-of-1.properties']
+    }
+
+    def 'deleted sessions are not loaded anymore'() {
+        given:
+            store.save(0, 1, new GatewaySession('session', 42))
+
+        when:
+            store.delete(0, 1)
+
+        then:
+            !store.load(0, 1).present
+
+        when: 'the session is deleted again'
+            store.delete(0, 1)
+
+        then:
+            noExceptionThrown()
+    }
+
+    def 'missing sessions are not loaded'() {
+        expect:
+            !store.load(0, 1).present
+    }
+
+    def 'malformed sessions are not loaded'() {
+        given:
+            Files.createDirectories(store.directory)
+            store.directory.resolve('session-0-of-1.properties').text = content
+
+        expect:
+            !store.load(0, 1).present
+
+        where:
+            content << [
+                    '',
+                    'session_id=session',
+                    'seq=42',
+                    'session_id=session\nseq=forty-two',
+                    'session_id=session\nseq=4294967296'
+            ]
+    }
+
+    def 'sessions require a session id'() {
+        when:
+            new GatewaySession(null, 42)
+
+        then:
+            thrown(NullPointerException)
+    }
+
+    def 'the session id is not part of the string representation'() {
+        expect:
+            !new GatewaySession('secret', 42).toString().contains('secret')
+    }
+
+}
@@ -7,6 +7,8 @@ import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.AccountType
 import org.javacord.api.entity.server.Server
 import org.javacord.api.exception.NotFoundException
+import org.javacord.api.listener.message.MessageCreateListener
+import org.javacord.api.listener.message.MessageDeleteListener
 import org.javacord.test.MockProxyManager
 import org.mockserver.configuration.ConfigurationProperties
 import org.mockserver.model.HttpRequest
@@ -28,8 +30,8 @@ class DiscordApiImplTest extends Specification {
         given:
             Server readyServer = Stub()
             Server nonReadyServer = Stub()
-            api.@servers << [0: readyServer]
-            api.@nonReadyServers << [1: nonReadyServer]
+            api.@servers.put(0, readyServer)
+            api.@nonReadyServers.put(1, nonReadyServer)
 
         expect:
             with(api.allServers) {
@@ -38,6 +40,71 @@ class DiscordApiImplTest extends Specification {
             }
     }
 
+    def 'listeners are returned as snapshots in the order of their addition'() {
+        given:
+            MessageCreateListener first = Mock()
+            MessageCreateListener second = Mock()
+            MessageCreateListener third = Mock()
+            api.addListener(MessageCreateListener, first)
+            api.addObjectListener(Server, 1, MessageCreateListener, third)
+            api.addObjectListener(Server, 1, MessageCreateListener, first)
+
+        when:
+            def globalSnapshot = api.getListeners(MessageCreateListener)
+            def objectSnapshot = api.getObjectListeners(Server, 1, MessageCreateListener)
+            def manager = api.addListener(MessageCreateListener, second)
+            api.addObjectListener(Server, 1, MessageCreateListener, second)
+            api.removeObjectListener(Server, 1, MessageCreateListener, third)
+
+        then:
+            globalSnapshot == [first]
+            objectSnapshot == [third, first]
+            api.getListeners(MessageCreateListener) == [first, second]
+            api.getObjectListeners(Server, 1, MessageCreateListener) == [first, second]
+            api.addListener(MessageCreateListener, second).is(manager)
+
+        when:
+            manager.remove()
+            api.removeObjectListeners(Server, 1)
+
+        then:
+            api.getListeners(MessageCreateListener) == [first]
+            api.getObjectListeners(Server, 1, MessageCreateListener).empty
+            api.getObjectListeners(Server, 1).isEmpty()
+    }
+
+    def 'listeners are counted per listener class'() {
+        given:
+            MessageCreateListener first = Mock()
+            MessageCreateListener second = Mock()
+
+        expect:
+            !api.hasListeners(MessageCreateListener)
+
+        when:
+            api.addListener(MessageCreateListener, first)
+            api.addListener(MessageCreateListener, first)
+            api.addObjectListener(Server, 1, MessageCreateListener, first)
+            api.addObjectListener(Server, 2, MessageCreateListener, second)
+
+        then:
+            api.hasListeners(MessageCreateListener)
+            !api.hasListeners(MessageDeleteListener)
+
+        when:
+            api.removeListener(MessageCreateListener, first)
+            api.removeObjectListener(Server, 1, MessageCreateListener, first)
+
+        then:
+            api.hasListeners(MessageCreateListener)
+
+        when:
+            api.removeObjectListeners(Server, 2)
+
+        then:
+            !api.hasListeners(MessageCreateListener)
+    }
+
     @Unroll
     def '#collectionGetter returns unmodifiable collection'() {
         when:
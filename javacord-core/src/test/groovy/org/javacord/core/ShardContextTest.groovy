@@ -0,0 +1,149 @@
+package org.javacord.core
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration
+import org.javacord.core.entity.user.UserImpl
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import org.javacord.core.util.handler.user.PresenceUpdateHandler
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.net.Proxy
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(ShardContext)
+class ShardContextTest extends Specification {
+
+    def 'shards of a shard context share their infrastructure'() {
+        given:
+            def shardContext = createShardContext(false)
+
+        when:
+            def first = createShard(shardContext, 0)
+            def second = createShard(shardContext, 1)
+
+        then:
+            first.httpClient.is(second.httpClient)
+            first.objectMapper.is(second.objectMapper)
+            first.threadPool.executorService.is(second.threadPool.executorService)
+            !first.eventDispatcher.is(second.eventDispatcher)
+
+        cleanup:
+            first?.disconnect()
+            second?.disconnect()
+    }
+
+    def 'shard context is closed once all shards left it'() {
+        given:
+            def shardContext = createShardContext(false)
+            def first = createShard(shardContext, 0)
+            def second = createShard(shardContext, 1)
+
+        when:
+            first.disconnect()
+
+        then:
+            !shardContext.closed
+            !shardContext.httpClient.dispatcher().executorService().shutdown
+
+        when:
+            second.disconnect()
+
+        then:
+            shardContext.closed
+            shardContext.httpClient.dispatcher().executorService().shutdown
+            !shardContext.join().present
+    }
+
+    def 'shards which share their users cache each user once and detect changes once per shard'() {
+        given:
+            def shardContext = createShardContext(true)
+            def first = createShard(shardContext, 0)
+            def second = createShard(shardContext, 1)
+            def userJson = new ObjectMapper().readTree('{"id": "1", "username": "old", "discriminator": "0001"}')
+            def firstUser = first.getOrCreateUser(userJson) as UserImpl
+            def secondUser = second.getOrCreateUser(userJson) as UserImpl
+            def firstNames = new LinkedBlockingQueue()
+            def secondNames = new LinkedBlockingQueue()
+            first.addUserChangeNameListener { firstNames << it.newName }
+            second.addUserChangeNameListener { secondNames << it.newName }
+            def packet = new ObjectMapper().readTree('{"user": {"id": "1", "username": "new"}}')
+
+        expect:
+            !firstUser.is(secondUser)
+            firstUser.api.is(first)
+            secondUser.api.is(second)
+
+        when:
+            new PresenceUpdateHandler(first).handle(packet)
+
+        then:
+            firstNames.poll(10, TimeUnit.SECONDS) == 'new'
+            secondUser.name == 'new'
+            secondUser.seenState.name == 'old'
+
+        when:
+            new PresenceUpdateHandler(second).handle(packet)
+            new PresenceUpdateHandler(first).handle(packet)
+
+        then:
+            secondNames.poll(10, TimeUnit.SECONDS) == 'new'
+            secondUser.seenState.name == 'new'
+            firstNames.poll(100, TimeUnit.MILLISECONDS) == null
+
+        cleanup:
+            first?.disconnect()
+            second?.disconnect()
+    }
+
+    def 'shards which do not share their users have their own user data'() {
+        given:
+            def shardContext = createShardContext(false)
+            def first = createShard(shardContext, 0)
+            def second = createShard(shardContext, 1)
+            def userJson = new ObjectMapper().readTree('{"id": "1", "username": "old", "discriminator": "0001"}')
+            def firstUser = first.getOrCreateUser(userJson) as UserImpl
+            def secondUser = second.getOrCreateUser(userJson) as UserImpl
+
+        when:
+            firstUser.name = 'new'
+
+        then:
+            secondUser.name == 'old'
+
+        cleanup:
+            first?.disconnect()
+            second?.disconnect()
+    }
+
+    def 'shard contexts know the settings they were created with'() {
+        given:
+            def shardContext = createShardContext(false)
+            def configuration = ThreadPoolConfiguration.unbounded().withShared(true)
+
+        expect:
+            shardContext.hasSettings(configuration, null, null, null, false, false)
+            !shardContext.hasSettings(configuration, null, Proxy.NO_PROXY, null, false, false)
+            !shardContext.hasSettings(configuration, null, null, null, true, false)
+            !shardContext.hasSettings(configuration, null, null, null, false, true)
+            !shardContext.hasSettings(ThreadPoolConfiguration.bounded(1, 0).withShared(true), null, null, null, false,
+                    false)
+    }
+
+    def createShardContext(boolean sharedUsers) {
+        new ShardContext(new ThreadPoolImpl(ThreadPoolConfiguration.unbounded().withShared(true)), null, null, null,
+                false, sharedUsers)
+    }
+
+    def createShard(ShardContext shardContext, int shard) {
+        createApi {
+            setShard(shard, 2)
+            setThreadPool(shardContext.join().get())
+            setShardContext(shardContext)
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.javacord.core.entity.permission
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(PermissionCache)
+class PermissionCacheTest extends Specification {
+
+    def cache = new PermissionCache()
+
+    def calculations = 0
+
+    def 'bitmasks are memoized until the cache is invalidated'() {
+        expect:
+            cache.get(1, PermissionCache.SERVER_SCOPE, this.&calculate) == 42
+            cache.get(1, PermissionCache.SERVER_SCOPE, this.&calculate) == 42
+            calculations == 1
+
+        when:
+            cache.invalidate()
+            cache.get(1, PermissionCache.SERVER_SCOPE, this.&calculate)
+
+        then:
+            calculations == 2
+    }
+
+    def 'invalidating a user keeps the bitmasks of other users'() {
+        given:
+            def userId = 1L
+            def otherUserId = (2L..1000L).find {
+                PermissionCache.userVersionIndex(it) != PermissionCache.userVersionIndex(userId)
+            }
+            [userId, otherUserId].each { id -> [PermissionCache.SERVER_SCOPE, 5L].each { scope ->
+                cache.get(id, scope, this.&calculate)
+            } }
+
+        when:
+            cache.invalidate(userId)
+            [userId, otherUserId].each { id -> [PermissionCache.SERVER_SCOPE, 5L].each { scope ->
+                cache.get(id, scope, this.&calculate)
+            } }
+
+        then:
+            calculations == 6
+    }
+
+    def 'bitmasks which were calculated while their user got invalidated are not memoized'() {
+        when:
+            cache.get(1, PermissionCache.SERVER_SCOPE) {
+                cache.invalidate(1)
+                calculate()
+            }
+            cache.get(1, PermissionCache.SERVER_SCOPE, this.&calculate)
+
+        then:
+            calculations == 2
+    }
+
+    private int calculate() {
+        calculations++
+        42
+    }
+
+}
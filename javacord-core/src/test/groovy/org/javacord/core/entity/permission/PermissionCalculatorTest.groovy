@@ -0,0 +1,82 @@
+package org.javacord.core.entity.permission
+
+import org.javacord.api.entity.permission.PermissionState
+import org.javacord.api.entity.permission.PermissionType
+import org.javacord.api.entity.permission.Permissions
+import org.javacord.api.entity.permission.PermissionsBuilder
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(PermissionCalculator)
+class PermissionCalculatorTest extends Specification {
+
+    def 'effective overwrites are the same as when setting the state of each type'() {
+        given:
+            def random = new Random(42)
+
+        expect:
+            1000.times {
+                def everyoneOverwrite = randomPermissions(random)
+                def roleOverwrites = (0..<random.nextInt(4)).collect { randomPermissions(random) }
+                def userOverwrite = randomPermissions(random)
+                def baseAllowed = random.nextInt() & PermissionCalculator.ALL_PERMISSIONS
+
+                def overwrites = PermissionCalculator.getEffectiveOverwrites(
+                        everyoneOverwrite, roleOverwrites, userOverwrite)
+                def expectedOverwrites = setStates(everyoneOverwrite, roleOverwrites, userOverwrite)
+                assert overwrites == expectedOverwrites
+
+                def expectedAllowed = new PermissionsBuilder(new PermissionsImpl(baseAllowed, 0))
+                PermissionType.values().each { type ->
+                    if (expectedOverwrites.getState(type) != PermissionState.UNSET) {
+                        expectedAllowed.setState(type, expectedOverwrites.getState(type))
+                    }
+                }
+                assert PermissionCalculator.getEffectiveAllowed(baseAllowed, overwrites) ==
+                        expectedAllowed.build().allowedBitmask
+            }
+    }
+
+    def 'bitmasks are checked for all and any types'() {
+        given:
+            def bitmask = PermissionCalculator.toBitmask(PermissionType.SEND_MESSAGES, PermissionType.READ_MESSAGES)
+
+        expect:
+            PermissionCalculator.hasAll(bitmask, PermissionType.SEND_MESSAGES, PermissionType.READ_MESSAGES)
+            !PermissionCalculator.hasAll(bitmask, PermissionType.SEND_MESSAGES, PermissionType.ADMINISTRATOR)
+            PermissionCalculator.hasAll(bitmask)
+            PermissionCalculator.hasAny(bitmask, PermissionType.SEND_MESSAGES, PermissionType.ADMINISTRATOR)
+            !PermissionCalculator.hasAny(bitmask, PermissionType.ADMINISTRATOR)
+            !PermissionCalculator.hasAny(bitmask)
+    }
+
+    private static Permissions randomPermissions(Random random) {
+        // Some types are both allowed and denied, they count as allowed
+        new PermissionsImpl(random.nextInt() & random.nextInt(), random.nextInt() & random.nextInt())
+    }
+
+    private static Permissions setStates(
+            Permissions everyoneOverwrite, List<Permissions> roleOverwrites, Permissions userOverwrite) {
+        def builder = new PermissionsBuilder(PermissionsImpl.EMPTY_PERMISSIONS)
+        PermissionType.values().each { type ->
+            if (everyoneOverwrite.getState(type) != PermissionState.UNSET) {
+                builder.setState(type, everyoneOverwrite.getState(type))
+            }
+        }
+        roleOverwrites.each { overwrite ->
+            PermissionType.values().findAll { overwrite.getState(it) == PermissionState.DENIED }
+                    .each { builder.setState(it, PermissionState.DENIED) }
+        }
+        roleOverwrites.each { overwrite ->
+            PermissionType.values().findAll { overwrite.getState(it) == PermissionState.ALLOWED }
+                    .each { builder.setState(it, PermissionState.ALLOWED) }
+        }
+        PermissionType.values().each { type ->
+            if (userOverwrite.getState(type) != PermissionState.UNSET) {
+                builder.setState(type, userOverwrite.getState(type))
+            }
+        }
+        builder.build()
+    }
+
+}
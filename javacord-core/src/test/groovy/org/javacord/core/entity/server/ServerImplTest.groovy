@@ -0,0 +1,255 @@
+package org.javacord.core.entity.server
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import groovy.json.JsonOutput
+import org.javacord.api.entity.permission.PermissionType
+import org.javacord.api.entity.user.UserStatus
+import org.javacord.api.util.cache.CacheMode
+import org.javacord.api.util.cache.CachePolicy
+import org.javacord.core.entity.permission.PermissionsImpl
+import org.javacord.core.entity.permission.RoleImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Instant
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(ServerImpl)
+class ServerImplTest extends Specification {
+
+    def 'members are cached depending on the cache policy'() {
+        given:
+            def api = createApi { setCachePolicy(CachePolicy.all().withMembers(members)) }
+
+        when:
+            def server = new ServerImpl(api, createGuildJson(large))
+
+        then:
+            server.members.size() == cachedMembers
+            api.getCachedUserById(2).flatMap { server.getNickname(it) }.orElse(null) == nickname
+            server.ready
+
+        cleanup:
+            api?.disconnect()
+
+        where:
+            members             | large || cachedMembers | nickname
+            CacheMode.FULL      | false || 2             | 'nick'
+            CacheMode.ON_DEMAND | true  || 2             | 'nick'
+            CacheMode.DISABLED  | false || 0             | null
+    }
+
+    def 'the own member is cached even if members are not cached'() {
+        given:
+            def api = createApi { setCachePolicy(CachePolicy.all().withMembers(CacheMode.DISABLED)) }
+            api.yourself = api.getOrCreateUser(new ObjectMapper().readTree(
+                    JsonOutput.toJson([id: '2', username: 'two', discriminator: '0002'])))
+
+        when:
+            def server = new ServerImpl(api, createGuildJson(false))
+
+        then:
+            server.members == [api.yourself]
+            server.getRoles(api.yourself) == [server.everyoneRole, server.getRoleById(200).get()]
+            server.getNickname(api.yourself).get() == 'nick'
+            !api.getCachedUserById(1).present
+            server.doYouHaveRole(server.everyoneRole)
+            server.doYouHaveRole(server.getRoleById(200).get())
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'presences, voice states and emojis are cached depending on the cache policy'() {
+        given:
+            def api = createApi {
+                setCachePolicy(CachePolicy.all()
+                        .withPresences(mode)
+                        .withVoiceStates(mode)
+                        .withEmojis(mode))
+            }
+
+        when:
+            def server = new ServerImpl(api, createGuildJson(false))
+
+        then:
+            (api.getCachedUserById(1).get().status == UserStatus.ONLINE) == cached
+            server.getVoiceChannelById(10).get().connectedUserIds.contains(1L) == cached
+            server.customEmojis.size() == (cached ? 1 : 0)
+
+        cleanup:
+            api?.disconnect()
+
+        where:
+            mode               || cached
+            CacheMode.FULL     || true
+            CacheMode.DISABLED || false
+    }
+
+    def 'member state is kept until the member is removed'() {
+        given:
+            def api = createApi()
+            def server = new ServerImpl(api, createGuildJson(false))
+            def user = server.getMemberById(2).get()
+            def role = server.getRoleById(200).get()
+
+        when:
+            server.setSelfMuted(2, true)
+            server.setDeafened(2, true)
+
+        then:
+            server.getRoles(user) == [server.everyoneRole, role]
+            role.users == [user]
+            server.getNickname(user).get() == 'nick'
+            server.getJoinedAtTimestamp(user).get() == Instant.parse('2019-01-01T00:00:00Z')
+            server.isSelfMuted(2)
+            !server.isSelfDeafened(2)
+            !server.isMuted(2)
+            server.isDeafened(2)
+
+        when: 'the member is added again'
+            server.addMember(new ObjectMapper().readTree(JsonOutput.toJson(
+                    [user: [id: '2', username: 'two', discriminator: '0002'], roles: ['200'], nick: 'other',
+                     joined_at: '2019-01-01T00:00:00+00:00', mute: true, deaf: true])))
+
+        then:
+            server.getNickname(user).get() == 'other'
+            server.isSelfMuted(2)
+            !server.isSelfDeafened(2)
+            server.isMuted(2)
+            server.isDeafened(2)
+
+        when:
+            server.setRoles(user, [])
+            server.setDeafened(2, false)
+
+        then:
+            server.getRoles(user) == [server.everyoneRole]
+            role.users.empty
+            server.isSelfMuted(2)
+            !server.isDeafened(2)
+
+        when:
+            server.removeMember(user)
+
+        then:
+            !server.isMember(user)
+            server.getRoles(user).empty
+            !server.getNickname(user).present
+            !server.getJoinedAtTimestamp(user).present
+            !server.isSelfMuted(2)
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'mutual servers are looked up in the index of members'() {
+        given:
+            def api = createApi()
+            def server = new ServerImpl(api, createGuildJson(false))
+            api.@servers.put(100, server)
+            def user = server.getMemberById(2).get()
+
+        expect:
+            user.mutualServers == [server]
+            api.getMutualServers(3).empty
+
+        when:
+            server.removeMember(user)
+
+        then:
+            user.mutualServers.empty
+
+        when:
+            server.cleanup()
+
+        then:
+            api.getCachedUserById(1).get().mutualServers.empty
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'memoized permissions are invalidated when roles change'() {
+        given:
+            def api = createApi()
+            def server = new ServerImpl(api, createGuildJson(false))
+            def channel = server.getVoiceChannelById(10).get()
+            def user = server.getMemberById(2).get()
+            def role = server.getRoleById(200).get() as RoleImpl
+
+        expect:
+            !server.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            !channel.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            server.hasPermission(server.owner, PermissionType.ADMINISTRATOR)
+
+        when:
+            role.setPermissions(new PermissionsImpl(PermissionType.MANAGE_MESSAGES.value, 0))
+            server.invalidatePermissions()
+
+        then:
+            server.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            channel.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            channel.getEffectiveDeniedPermissions(user).contains(PermissionType.ADMINISTRATOR)
+
+        when:
+            channel.internalOverwrittenRolePermissions.put(200L,
+                    new PermissionsImpl(0, PermissionType.MANAGE_MESSAGES.value))
+            server.invalidatePermissions()
+
+        then:
+            server.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            !channel.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+
+        when:
+            server.setRoles(user, [])
+
+        then:
+            !server.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+            !channel.hasPermission(user, PermissionType.MANAGE_MESSAGES)
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    private static createGuildJson(boolean large) {
+        new ObjectMapper().readTree(JsonOutput.toJson([
+                id                           : '100',
+                name                         : 'Test Server',
+                region                       : 'eu-central',
+                large                        : large,
+                member_count                 : large ? 1000 : 2,
+                owner_id                     : '1',
+                verification_level           : 0,
+                explicit_content_filter      : 0,
+                default_message_notifications: 0,
+                mfa_level                    : 0,
+                channels                     : [
+                        [id: '10', type: 2, name: 'Voice', position: 0, bitrate: 64000, user_limit: 0]
+                ],
+                roles                        : [
+                        [id: '100', name: '@everyone', position: 0, color: 0, hoist: false, mentionable: false,
+                         permissions: 0, managed: false],
+                        [id: '200', name: 'Moderator', position: 1, color: 0, hoist: false, mentionable: false,
+                         permissions: 0, managed: false]
+                ],
+                members                      : [
+                        [user: [id: '1', username: 'one', discriminator: '0001'], roles: [],
+                         joined_at: '2019-01-01T00:00:00+00:00', mute: false, deaf: false],
+                        [user: [id: '2', username: 'two', discriminator: '0002'], roles: ['200'], nick: 'nick',
+                         joined_at: '2019-01-01T00:00:00+00:00', mute: false, deaf: false]
+                ],
+                voice_states                 : [
+                        [channel_id: '10', user_id: '1', self_mute: false, self_deaf: false, mute: false, deaf: false]
+                ],
+                emojis                       : [
+                        [id: '20', name: 'emoji', roles: [], require_colons: true, managed: false, animated: false]
+                ],
+                presences                    : [
+                        [user: [id: '1'], status: 'online', game: null]
+                ]
+        ]))
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.javacord.core.entity.user
+
+import org.javacord.api.entity.DiscordClient
+import org.javacord.api.entity.user.UserStatus
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(UserState)
+class UserStateTest extends Specification {
+
+    def 'users are offline on all clients by default'() {
+        given:
+            def state = new UserState('name', '0001', null)
+
+        expect:
+            DiscordClient.values().every { state.getStatusOnClient(it) == UserStatus.OFFLINE }
+            state.status == UserStatus.OFFLINE
+    }
+
+    def 'client statuses are kept per client'() {
+        given:
+            def offline = new UserState('name', '0001', null)
+
+        when:
+            def state = offline
+                    .withClientStatus(DiscordClient.DESKTOP, UserStatus.DO_NOT_DISTURB)
+                    .withClientStatus(DiscordClient.WEB, UserStatus.IDLE)
+
+        then:
+            state.getStatusOnClient(DiscordClient.DESKTOP) == UserStatus.DO_NOT_DISTURB
+            state.getStatusOnClient(DiscordClient.MOBILE) == UserStatus.OFFLINE
+            state.getStatusOnClient(DiscordClient.WEB) == UserStatus.IDLE
+            state.hasOtherClientStatus(offline)
+            !state.withClientStatus(DiscordClient.MOBILE, UserStatus.OFFLINE).hasOtherClientStatus(state)
+            offline.getStatusOnClient(DiscordClient.DESKTOP) == UserStatus.OFFLINE
+    }
+
+}
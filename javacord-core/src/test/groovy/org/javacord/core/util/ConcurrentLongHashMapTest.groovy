@@ -0,0 +1,118 @@
+package org.javacord.core.util
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(ConcurrentLongHashMap)
+class ConcurrentLongHashMapTest extends Specification {
+
+    def map = new ConcurrentLongHashMap<String>()
+
+    def 'behaves like a map for many keys'() {
+        given:
+            def random = new Random(42)
+            def expected = [:]
+
+        when:
+            100_000.times {
+                long key = random.nextInt(20_000) - 10_000
+                switch (random.nextInt(3)) {
+                    case 0:
+                        assert map.put(key, "$it" as String) == expected.put(key, "$it" as String)
+                        break
+                    case 1:
+                        assert map.remove(key) == expected.remove(key)
+                        break
+                    default:
+                        assert map.get(key) == expected.get(key)
+                }
+            }
+
+        then:
+            map.size() == expected.size()
+            map.values().sort() == expected.values().sort()
+            expected.every { key, value -> map.get(key) == value }
+    }
+
+    def 'compute methods add, replace and remove values'() {
+        given:
+            map.put(1, 'one')
+
+        expect:
+            map.computeIfAbsent(1) { 'other' } == 'one'
+            map.computeIfAbsent(2) { "$it" as String } == '2'
+            map.computeIfAbsent(3) { null } == null
+            map.computeIfPresent(3) { 'three' } == null
+            map.computeIfPresent(1) { it * 2 } == 'oneone'
+            map.computeIfPresent(2) { null } == null
+
+        and:
+            map.size() == 1
+            !map.containsKey(2)
+            !map.containsKey(3)
+            map.get(1) == 'oneone'
+    }
+
+    def 'clear removes all values'() {
+        given:
+            1000.times { map.put(it, 'value') }
+
+        when:
+            map.clear()
+
+        then:
+            map.isEmpty()
+            map.values().isEmpty()
+            map.get(1) == null
+    }
+
+    def 'null values are rejected'() {
+        when:
+            map.put(1, null)
+
+        then:
+            NullPointerException npe = thrown()
+            npe.message == 'value cannot be null'
+    }
+
+    def 'readers always find values that are not modified while other values are added and removed'() {
+        given:
+            1000.times { map.put(it, 'stable') }
+            def running = new AtomicBoolean(true)
+            def misses = new AtomicInteger()
+            def readersDone = new CountDownLatch(4)
+
+        when:
+            4.times {
+                Thread.start {
+                    try {
+                        while (running.get()) {
+                            1000.times { key ->
+                                if (map.get(key) != 'stable') {
+                                    misses.incrementAndGet()
+                                }
+                            }
+                        }
+                    } finally {
+                        readersDone.countDown()
+                    }
+                }
+            }
+            20.times {
+                10_000.times { map.put(1000 + it, 'volatile') }
+                10_000.times { map.remove(1000 + it) }
+            }
+            running.set(false)
+
+        then:
+            readersDone.await(10, TimeUnit.SECONDS)
+            misses.get() == 0
+            map.size() == 1000
+    }
+
+}
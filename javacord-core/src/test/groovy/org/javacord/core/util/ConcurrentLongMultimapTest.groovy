@@ -0,0 +1,58 @@
+package org.javacord.core.util
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ConcurrentLongMultimap)
+class ConcurrentLongMultimapTest extends Specification {
+
+    def multimap = new ConcurrentLongMultimap()
+
+    def 'values are kept sorted and without duplicates'() {
+        when:
+            [5L, 1L, 3L, 5L, 2L].each { multimap.put(1, it) }
+            multimap.put(2, 4)
+
+        then:
+            multimap.get(1) == [1L, 2L, 3L, 5L] as long[]
+            multimap.get(2) == [4L] as long[]
+            multimap.get(3).length == 0
+            multimap.containsEntry(1, 3)
+            !multimap.containsEntry(2, 3)
+    }
+
+    def 'removing values keeps the others'() {
+        given:
+            [1L, 2L, 3L].each { multimap.put(1, it) }
+
+        when:
+            multimap.remove(1, 2)
+            multimap.remove(1, 4)
+            multimap.remove(2, 1)
+
+        then:
+            multimap.get(1) == [1L, 3L] as long[]
+
+        when:
+            multimap.remove(1, 1)
+            multimap.remove(1, 3)
+
+        then:
+            multimap.get(1).length == 0
+    }
+
+    def 'keys of all stripes are kept and cleared'() {
+        when:
+            (1L..1000L).each { multimap.put(it, it * 2) }
+
+        then:
+            (1L..1000L).every { multimap.get(it) == [it * 2] as long[] }
+
+        when:
+            multimap.clear()
+
+        then:
+            (1L..1000L).every { multimap.get(it).length == 0 }
+    }
+
+}
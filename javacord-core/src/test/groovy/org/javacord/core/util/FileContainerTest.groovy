@@ -1,9 +1,16 @@
 package org.javacord.core.util
 
+import com.sun.net.httpserver.HttpServer
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration
+import org.javacord.core.util.concurrent.ThreadPoolImpl
 import spock.lang.Specification
 import spock.lang.Subject
 
 import java.awt.image.BufferedImage
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static org.javacord.test.TestApis.createApi
 
 @Subject(FileContainer)
 class FileContainerTest extends Specification {
@@ -38,4 +45,33 @@ class FileContainerTest extends Specification {
             iae.message == 'No image writer found for format "txt"'
     }
 
+    def 'files are downloaded even if the executor service is saturated'() {
+        given:
+            def server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+            server.createContext('/file') { exchange ->
+                def content = 'content'.bytes
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, content.length)
+                exchange.responseBody.withCloseable { it.write(content) }
+            }
+            server.start()
+            def url = new URL("http://localhost:${server.address.port}/file")
+
+        and:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0))
+            def api = createApi { setThreadPool(threadPool) }
+            def release = new CountDownLatch(1)
+            threadPool.executorService.submit { release.await() }
+
+        when:
+            def bytes = new FileContainer(url).asByteArray(api).get(10, TimeUnit.SECONDS)
+
+        then:
+            new String(bytes) == 'content'
+
+        cleanup:
+            release.countDown()
+            api?.disconnect()
+            server?.stop(0)
+    }
+
 }
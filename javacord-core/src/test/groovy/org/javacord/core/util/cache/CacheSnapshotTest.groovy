@@ -0,0 +1,185 @@
+package org.javacord.core.util.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import groovy.json.JsonOutput
+import org.javacord.api.entity.DiscordClient
+import org.javacord.api.entity.activity.ActivityType
+import org.javacord.api.entity.permission.PermissionType
+import org.javacord.api.entity.user.UserStatus
+import org.javacord.api.util.gateway.GatewaySession
+import org.javacord.core.entity.server.ServerImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.file.Files
+import java.time.Instant
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(CacheSnapshot)
+class CacheSnapshotTest extends Specification {
+
+    def directory = Files.createTempDirectory('javacord-cache-snapshot')
+
+    def session = new GatewaySession('session', 42)
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    def 'restored servers match the written ones'() {
+        given:
+            def api = createApi()
+            def server = new ServerImpl(api, createGuildJson())
+            server.setSelfMuted(1, true)
+            api.yourself = server.getMemberById(2).get()
+            api.addUnavailableServerToCache(300)
+            def snapshot = new CacheSnapshot(api)
+            def file = snapshot.getFile(directory)
+
+        and:
+            def restoredApi = createApi()
+
+        when:
+            snapshot.write(file, session)
+            def restoredServers = new CacheSnapshot(restoredApi).restore(file, session).get()
+
+        then:
+            restoredServers.size() == 1
+            def restored = restoredServers[0]
+            restored.id == 100
+            restored.name == 'Test Server'
+            restored.ownerId == 1
+            restored.memberCount == 2
+            restored.iconHash == 'icon'
+            restored.afkChannel.map { it.id }.orElse(null) == 10L
+            restoredApi.unavailableServers as List == [300L]
+            restoredApi.yourself.id == 2
+
+        and:
+            def text = restored.getTextChannelById(11).get()
+            text.topic == 'Topic'
+            text.category.map { it.id }.orElse(null) == 12L
+            text.getOverwrittenPermissions(restored.getRoleById(200).get()).getState(PermissionType.SEND_MESSAGES) ==
+                    server.getTextChannelById(11).get().getOverwrittenPermissions(server.getRoleById(200).get())
+                            .getState(PermissionType.SEND_MESSAGES)
+            restored.getVoiceChannelById(10).get().connectedUserIds as List == [1L]
+            restored.roles*.name == server.roles*.name
+
+        and:
+            def user = restored.getMemberById(2).get()
+            restored.getNickname(user).get() == 'nick'
+            restored.getRoles(user)*.id == [100L, 200L]
+            restored.getJoinedAtTimestamp(user).get() == Instant.parse('2019-01-01T00:00:00Z')
+            restored.isSelfMuted(1)
+            !restored.isSelfMuted(2)
+
+        and:
+            def online = restoredApi.getCachedUserById(1).get()
+            online.status == UserStatus.ONLINE
+            online.getStatusOnClient(DiscordClient.DESKTOP) == UserStatus.ONLINE
+            online.activity.get().type == ActivityType.PLAYING
+            online.activity.get().name == 'Game'
+            restored.customEmojis*.name == ['emoji']
+
+        cleanup:
+            api?.disconnect()
+            restoredApi?.disconnect()
+    }
+
+    def 'snapshots of other sessions are not restored'() {
+        given:
+            def api = createApi()
+            new ServerImpl(api, createGuildJson())
+            def snapshot = new CacheSnapshot(api)
+            def file = snapshot.getFile(directory)
+            snapshot.write(file, session)
+
+        and:
+            def restoredApi = createApi()
+
+        expect:
+            !new CacheSnapshot(restoredApi).restore(file, resumedSession).present
+            restoredApi.allServers.empty
+
+        cleanup:
+            api?.disconnect()
+            restoredApi?.disconnect()
+
+        where:
+            resumedSession << [new GatewaySession('session', 43), new GatewaySession('other', 42)]
+    }
+
+    def 'missing snapshots are not restored'() {
+        given:
+            def api = createApi()
+            def snapshot = new CacheSnapshot(api)
+
+        expect:
+            !snapshot.restore(snapshot.getFile(directory), session).present
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'snapshots without servers are restored'() {
+        given:
+            def api = createApi()
+            def snapshot = new CacheSnapshot(api)
+            def file = snapshot.getFile(directory)
+            snapshot.write(file, session)
+
+        expect:
+            snapshot.restore(file, session).get().empty
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    private static createGuildJson() {
+        new ObjectMapper().readTree(JsonOutput.toJson([
+                id                           : '100',
+                name                         : 'Test Server',
+                region                       : 'eu-central',
+                large                        : false,
+                member_count                 : 2,
+                owner_id                     : '1',
+                verification_level           : 0,
+                explicit_content_filter      : 0,
+                default_message_notifications: 0,
+                mfa_level                    : 0,
+                icon                         : 'icon',
+                afk_channel_id               : '10',
+                afk_timeout                  : 300,
+                channels                     : [
+                        [id: '10', type: 2, name: 'Voice', position: 0, bitrate: 64000, user_limit: 0],
+                        [id: '11', type: 0, name: 'text', position: 0, topic: 'Topic', parent_id: '12',
+                         permission_overwrites: [[id: '200', type: 'role', allow: 0, deny: 0x800]]],
+                        [id: '12', type: 4, name: 'Category', position: 0]
+                ],
+                roles                        : [
+                        [id: '100', name: '@everyone', position: 0, color: 0, hoist: false, mentionable: false,
+                         permissions: 0, managed: false],
+                        [id: '200', name: 'Moderator', position: 1, color: 0xFF0000, hoist: true,
+                         mentionable: false, permissions: 8, managed: false]
+                ],
+                members                      : [
+                        [user: [id: '1', username: 'one', discriminator: '0001'], roles: [],
+                         joined_at: '2019-01-01T00:00:00+00:00', mute: false, deaf: false],
+                        [user: [id: '2', username: 'two', discriminator: '0002'], roles: ['200'], nick: 'nick',
+                         joined_at: '2019-01-01T00:00:00+00:00', mute: false, deaf: false]
+                ],
+                voice_states                 : [
+                        [channel_id: '10', user_id: '1', self_mute: false, self_deaf: false, mute: false, deaf: false]
+                ],
+                emojis                       : [
+                        [id: '20', name: 'emoji', roles: [], require_colons: true, managed: false, animated: false]
+                ],
+                presences                    : [
+                        [user: [id: '1'], status: 'online', client_status: [desktop: 'online'],
+                         game: [type: 0, name: 'Game']]
+                ]
+        ]))
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import org.javacord.api.util.cache.MessageCacheBudget
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(GlobalMessageCache)
+class GlobalMessageCacheTest extends Specification {
+
+    def 'the amount of messages stays within the budget'() {
+        given:
+            def cache = new GlobalMessageCache(MessageCacheBudget.ofMessages(100))
+            def evicted = []
+
+        when:
+            1000.times { evicted.addAll(cache.add(null, message(it))) }
+
+        then:
+            cache.size() == 100
+            cache.weight == 100
+            evicted.size() == 900
+            evicted*.messageId.toSet().size() == 900
+    }
+
+    def 'the estimated size of messages stays within the budget'() {
+        given:
+            def cache = new GlobalMessageCache(MessageCacheBudget.ofBytes(100_000))
+
+        when:
+            1000.times { cache.add(null, message(it, 'x' * 200)) }
+
+        then:
+            cache.weight <= 100_000
+            cache.size() == 100_000.intdiv(GlobalMessageCache.estimateSize(message(0, 'x' * 200)))
+    }
+
+    def 'messages which are used often survive a scan of new messages'() {
+        given:
+            def cache = new GlobalMessageCache(MessageCacheBudget.ofMessages(100))
+            def evicted = []
+            50.times { cache.add(null, message(it)) }
+            10.times { 50.times { id -> cache.recordAccess(id) } }
+
+        when:
+            (1000..2000).each { evicted.addAll(cache.add(null, message(it))) }
+
+        then:
+            evicted*.messageId.every { it >= 1000 }
+    }
+
+    def 'removed messages do not count towards the budget'() {
+        given:
+            def cache = new GlobalMessageCache(MessageCacheBudget.ofMessages(100))
+            100.times { cache.add(null, message(it)) }
+
+        when:
+            50.times { cache.remove(it) }
+
+        then:
+            cache.size() == 50
+            cache.add(null, message(100)).empty
+    }
+
+    def 'an unlimited budget is rejected'() {
+        when:
+            new GlobalMessageCache(MessageCacheBudget.unlimited())
+
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    private Message message(long id, String content = '') {
+        Stub(Message) {
+            getId() >> id
+            getContent() >> content
+            getEmbeds() >> []
+            getAttachments() >> []
+            getReactions() >> []
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import org.javacord.api.util.cache.MessageCacheBudget
+import spock.lang.Specification
+import spock.lang.Subject
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(MessageCacheImpl)
+class MessageCacheImplTest extends Specification {
+
+    def 'only messages of the own channel are cache hits'() {
+        given:
+            def api = createApi()
+            def cache = new MessageCacheImpl(api, 10, 3600, false)
+            def otherCache = new MessageCacheImpl(api, 10, 3600, false)
+            def message = message(1)
+            cache.addMessage(message)
+
+        expect:
+            otherCache.getMessageById(1).get() == message
+            otherCache.hitCount == 0
+            otherCache.missCount == 1
+            cache.getMessageById(1).get() == message
+            cache.hitCount == 1
+            cache.missCount == 0
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'messages which are cached forever are cache hits'() {
+        given:
+            def api = createApi()
+            def cache = new MessageCacheImpl(api, 0, 3600, false)
+            def message = message(1)
+            cache.addCacheForeverMessage(message)
+
+        expect:
+            cache.getMessageById(1).get() == message
+            cache.hitCount == 1
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'removed messages are removed from the global message cache'() {
+        given:
+            def api = createApi()
+            api.messageCacheBudget = MessageCacheBudget.ofMessages(100)
+            def cache = new MessageCacheImpl(api, 10, 3600, false)
+            def messages = (1..5).collect { message(it) }
+
+        when:
+            messages.each { cache.addMessage(it) }
+
+        then:
+            api.globalMessageCache.get().size() == 5
+
+        when:
+            messages.each { cache.removeMessage(it) }
+
+        then:
+            api.globalMessageCache.get().size() == 0
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'messages evicted by the global message cache are removed from their channel'() {
+        given:
+            def api = createApi()
+            api.messageCacheBudget = MessageCacheBudget.ofMessages(10)
+            def cache = new MessageCacheImpl(api, 100, 3600, false)
+            def messages = (1..50).collect { message(it) }
+
+        when:
+            messages.each { cache.addMessage(it) }
+            messages.each { cache.getMessageById(it.id) }
+
+        then:
+            api.globalMessageCache.get().size() == 10
+            cache.hitCount == 10
+            cache.missCount == 40
+            cache.evictionCount == 40
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    private Message message(long id) {
+        Stub(Message) {
+            getId() >> id
+            getContent() >> ''
+            getEmbeds() >> []
+            getAttachments() >> []
+            getReactions() >> []
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(SnowflakeRingBuffer)
+class SnowflakeRingBufferTest extends Specification {
+
+    def 'behaves like a sorted map that evicts the lowest ids'() {
+        given:
+            def random = new Random(42)
+            def buffer = new SnowflakeRingBuffer<String>(100)
+            def expected = new TreeMap<Long, String>()
+
+        when:
+            100_000.times {
+                long id = random.nextInt(1000)
+                int index = buffer.indexOf(id)
+                assert (index >= 0) == expected.containsKey(id)
+                if (index >= 0) {
+                    assert buffer.get(index) == expected.get(id)
+                    if (random.nextBoolean()) {
+                        assert buffer.remove(index) == expected.remove(id)
+                    }
+                } else {
+                    boolean added = buffer.add(id, "$id" as String)
+                    if (expected.size() < 100) {
+                        assert added
+                        expected.put(id, "$id" as String)
+                    } else if (id < expected.firstKey()) {
+                        assert !added
+                    } else {
+                        assert added
+                        expected.pollFirstEntry()
+                        expected.put(id, "$id" as String)
+                    }
+                }
+            }
+
+        then:
+            buffer.size() == expected.size()
+            (0..<buffer.size()).collect { buffer.getId(it) } == expected.keySet() as List
+            (0..<buffer.size()).collect { buffer.get(it) } == expected.values() as List
+    }
+
+    def 'appending to a full buffer evicts the oldest values'() {
+        given:
+            def buffer = new SnowflakeRingBuffer<String>(3)
+
+        when:
+            (1..5).each { buffer.add(it, "$it" as String) }
+
+        then:
+            buffer.size() == 3
+            (0..<3).collect { buffer.getId(it) } == [3L, 4L, 5L]
+            !buffer.add(1, '1')
+    }
+
+    def 'lowering the capacity removes the oldest values'() {
+        given:
+            def buffer = new SnowflakeRingBuffer<String>(50)
+            (1..50).each { buffer.add(it, "$it" as String) }
+
+        when:
+            buffer.capacity = 10
+
+        then:
+            buffer.size() == 10
+            buffer.getId(0) == 41
+
+        when:
+            buffer.capacity = 0
+
+        then:
+            buffer.size() == 0
+            !buffer.add(51, '51')
+
+        when:
+            buffer.capacity = 20
+            (52..100).each { buffer.add(it, "$it" as String) }
+
+        then:
+            buffer.size() == 20
+            buffer.getId(0) == 81
+    }
+
+    def 'adding an existing id fails'() {
+        given:
+            def buffer = new SnowflakeRingBuffer<String>(10)
+            buffer.add(1, 'one')
+
+        when:
+            buffer.add(1, 'other')
+
+        then:
+            thrown(IllegalArgumentException)
+            buffer.get(0) == 'one'
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(WeakEntityRegistry)
+class WeakEntityRegistryTest extends Specification {
+
+    def 'entities with the same id are created only once'() {
+        given:
+            def registry = new WeakEntityRegistry<Object>()
+            def created = new AtomicInteger()
+            def start = new CountDownLatch(1)
+            def executor = Executors.newFixedThreadPool(8)
+
+        when:
+            def futures = (1..8).collect {
+                executor.submit {
+                    start.await()
+                    (0..<1000).collect { id ->
+                        registry.getOrCreate(id) { key ->
+                            created.incrementAndGet()
+                            def entity = new Object()
+                            // Entities may add themselves while they are created
+                            registry.put(key, entity)
+                            entity
+                        }
+                    }
+                }
+            }
+            start.countDown()
+            def results = futures*.get()
+
+        then:
+            created.get() == 1000
+            results.every { it == results[0] }
+
+        cleanup:
+            executor?.shutdownNow()
+    }
+
+    def 'put replaces and putIfAbsent keeps the entity with the same id'() {
+        given:
+            def registry = new WeakEntityRegistry<String>()
+            def first = new String('first')
+            def second = new String('second')
+            def third = new String('third')
+
+        expect:
+            registry.put(1, first) == null
+            registry.put(1, second).is(first)
+            registry.putIfAbsent(1, third).is(second)
+            registry.get(1).is(second)
+            registry.values() == [second]
+            registry.remove(1).is(second)
+            registry.get(1) == null
+            registry.putIfAbsent(1, third).is(third)
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.javacord.core.util.concurrent
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(PartitionedExecutor)
+class PartitionedExecutorTest extends Specification {
+
+    @AutoCleanup('shutdown')
+    def threadPool = new ThreadPoolImpl()
+
+    def 'tasks with the same partition key are executed in the order of submission'() {
+        given:
+            def executor = new PartitionedExecutor(threadPool, 'Test Processor', 4)
+            def executionOrder = new ConcurrentHashMap<Long, List<Integer>>()
+            def done = new CountDownLatch(1000)
+
+        when:
+            1000.times { i ->
+                long key = i % 10
+                executor.execute(key) {
+                    executionOrder.computeIfAbsent(key) { new CopyOnWriteArrayList<>() } << i
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+            executionOrder.size() == 10
+            executionOrder.every { key, order -> order == order.sort(false) }
+    }
+
+    def 'draining waits for all previously submitted tasks'() {
+        given:
+            def executor = new PartitionedExecutor(threadPool, 'Test Processor', 4)
+            def executed = new AtomicInteger()
+
+        when:
+            100.times { i ->
+                executor.execute(i) {
+                    Thread.sleep(1)
+                    executed.incrementAndGet()
+                }
+            }
+            executor.drain().get(10, TimeUnit.SECONDS)
+
+        then:
+            executed.get() == 100
+    }
+
+    def 'creating an executor without lanes throws exception'() {
+        when:
+            new PartitionedExecutor(threadPool, 'Test Processor', 0)
+
+        then:
+            IllegalArgumentException iae = thrown()
+            iae.message == 'laneCount cannot be less than 1!'
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.javacord.core.util.concurrent
+
+import org.javacord.api.util.concurrent.RejectionPolicy
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(ThreadPoolImpl)
+class ThreadPoolImplTest extends Specification {
+
+    def 'bounded executor service does not start more than the maximum amount of threads'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(2, 100))
+            def release = new CountDownLatch(1)
+            def done = new CountDownLatch(10)
+            def threads = Collections.synchronizedSet(new HashSet<Thread>())
+
+        when:
+            10.times {
+                threadPool.executorService.submit {
+                    threads << Thread.currentThread()
+                    release.await()
+                    done.countDown()
+                }
+            }
+            release.countDown()
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+            threads.size() == 2
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'saturated bounded executor service rejects tasks by default'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0))
+            def release = new CountDownLatch(1)
+            threadPool.executorService.submit { release.await() }
+
+        when:
+            threadPool.executorService.submit { }
+
+        then:
+            thrown(RejectedExecutionException)
+
+        cleanup:
+            release.countDown()
+            threadPool?.shutdown()
+    }
+
+    def 'saturated bounded executor service with caller runs policy executes tasks in the submitting thread'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0)
+                    .withRejectionPolicy(RejectionPolicy.CALLER_RUNS))
+            def release = new CountDownLatch(1)
+            threadPool.executorService.submit { release.await() }
+            Thread executingThread = null
+
+        when:
+            threadPool.executorService.submit { executingThread = Thread.currentThread() }.get()
+
+        then:
+            executingThread == Thread.currentThread()
+
+        cleanup:
+            release.countDown()
+            threadPool?.shutdown()
+    }
+
+    def 'internal tasks of a saturated bounded executor service are run by the overflow executor service'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0))
+            def release = new CountDownLatch(1)
+            threadPool.executorService.submit { release.await() }
+            def done = new CountDownLatch(1)
+
+        when:
+            threadPool.internalExecutor.execute { done.countDown() }
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+
+        cleanup:
+            release.countDown()
+            threadPool?.shutdown()
+    }
+
+    def 'internal tasks are rejected once the thread pool is shut down'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0))
+            threadPool.shutdown()
+
+        when:
+            threadPool.internalExecutor.execute { }
+
+        then:
+            thrown(RejectedExecutionException)
+    }
+
+    def 'shared executor services are shut down when the last sharing thread pool is shut down'() {
+        given:
+            def sharedPool = new ThreadPoolImpl(ThreadPoolConfiguration.unbounded().withShared(true))
+            def first = sharedPool.share().get()
+            def second = sharedPool.share().get()
+
+        expect:
+            first.executorService.is(second.executorService)
+            !first.getSingleThreadExecutorService('Test').is(second.getSingleThreadExecutorService('Test'))
+
+        when:
+            first.shutdown()
+            first.shutdown()
+
+        then:
+            !second.executorService.shutdown
+            first.getSingleThreadExecutorService('Test').shutdown
+
+        when:
+            second.shutdown()
+
+        then:
+            sharedPool.shutdown
+            sharedPool.executorService.shutdown
+            !sharedPool.share().present
+    }
+
+    def 'periodic tasks of a sharing thread pool are cancelled when it is shut down'() {
+        given:
+            def sharedPool = new ThreadPoolImpl(ThreadPoolConfiguration.unbounded().withShared(true))
+            def first = sharedPool.share().get()
+            def second = sharedPool.share().get()
+            def firstTask = first.scheduler.scheduleAtFixedRate({ }, 1, 1, TimeUnit.HOURS)
+            def secondTask = second.daemonScheduler.scheduleWithFixedDelay({ }, 1, 1, TimeUnit.HOURS)
+
+        when:
+            first.shutdown()
+
+        then:
+            firstTask.cancelled
+            !secondTask.cancelled
+            first.scheduler.shutdown
+            !sharedPool.scheduler.shutdown
+
+        when:
+            first.scheduler.schedule({ }, 1, TimeUnit.SECONDS)
+
+        then:
+            thrown(RejectedExecutionException)
+
+        cleanup:
+            second?.shutdown()
+    }
+
+    def 'cancelled periodic tasks of a sharing thread pool are forgotten'() {
+        given:
+            def sharedPool = new ThreadPoolImpl(ThreadPoolConfiguration.unbounded().withShared(true))
+            def threadPool = sharedPool.share().get()
+
+        when:
+            100.times { threadPool.scheduler.scheduleAtFixedRate({ }, 1, 1, TimeUnit.HOURS).cancel(false) }
+            def task = threadPool.scheduler.scheduleAtFixedRate({ }, 1, 1, TimeUnit.HOURS)
+
+        then:
+            threadPool.scheduler.@periodicTasks == [task] as Set
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'shutdown listeners are called once the shared executor services are shut down'() {
+        given:
+            def sharedPool = new ThreadPoolImpl(ThreadPoolConfiguration.unbounded().withShared(true))
+            def threadPool = sharedPool.share().get()
+            def calls = new AtomicInteger()
+            sharedPool.addShutdownListener { calls.incrementAndGet() }
+
+        when:
+            threadPool.shutdown()
+
+        then:
+            calls.get() == 1
+
+        when:
+            sharedPool.addShutdownListener { calls.incrementAndGet() }
+
+        then:
+            calls.get() == 2
+    }
+
+    def 'virtual threads are used if available'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.virtualThreads())
+            def virtualThreadsAvailable = Thread.methods.any { it.name == 'ofVirtual' }
+
+        when:
+            def virtual = threadPool.executorService.submit({
+                virtualThreadsAvailable && Thread.currentThread().virtual
+            } as Callable<Boolean>).get(10, TimeUnit.SECONDS)
+
+        then:
+            virtual == virtualThreadsAvailable
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+}
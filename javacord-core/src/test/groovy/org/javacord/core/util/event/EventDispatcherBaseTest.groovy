@@ -0,0 +1,267 @@
+package org.javacord.core.util.event
+
+import org.javacord.api.util.concurrent.ThreadPoolConfiguration
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(EventDispatcherBase)
+class EventDispatcherBaseTest extends Specification {
+
+    def 'events with the same queue selector are dispatched in the order of dispatching'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            dispatcher.batchSize = batchSize
+            def selectors = (1..10).collect { new DispatchQueueSelector() { } }
+            def dispatchOrder = new ConcurrentHashMap<DispatchQueueSelector, List<Integer>>()
+            def done = new CountDownLatch(1000)
+
+        when:
+            1000.times { i ->
+                def selector = selectors[i % 10]
+                dispatcher.dispatch(selector, [i]) {
+                    dispatchOrder.computeIfAbsent(selector) { new CopyOnWriteArrayList<>() } << it
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+            dispatchOrder.size() == 10
+            dispatchOrder.every { selector, order -> order == order.sort(false) }
+
+        cleanup:
+            api?.disconnect()
+
+        where:
+            batchSize << [1, 32]
+    }
+
+    def 'lifecycle events are dispatched between the events dispatched before and after them'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            def selectors = (1..10).collect { new DispatchQueueSelector() { } }
+            def finishedBefore = new AtomicInteger()
+            def startedAfter = new AtomicInteger()
+            def observedByLifecycleEvent = []
+            def done = new CountDownLatch(200)
+
+        when:
+            100.times { i ->
+                dispatcher.dispatch(selectors[i % 10], [i]) {
+                    Thread.sleep(1)
+                    finishedBefore.incrementAndGet()
+                    done.countDown()
+                }
+            }
+            dispatcher.dispatch(null, [0]) {
+                observedByLifecycleEvent << finishedBefore.get() << startedAfter.get()
+            }
+            100.times { i ->
+                dispatcher.dispatch(selectors[i % 10], [i]) {
+                    startedAfter.incrementAndGet()
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+            observedByLifecycleEvent == [100, 0]
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'lifecycle events never run at the same time as object-dependent events'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            dispatcher.batchSize = 1
+            def selectors = (1..4).collect { new DispatchQueueSelector() { } }
+            def runningObjectEvents = new AtomicInteger()
+            def runningLifecycleEvents = new AtomicInteger()
+            def overlaps = new AtomicInteger()
+            def done = new CountDownLatch(2000 * (selectors.size() + 1))
+
+        when:
+            2000.times { i ->
+                selectors.each { selector ->
+                    dispatcher.dispatch(selector, [i]) {
+                        runningObjectEvents.incrementAndGet()
+                        if (runningLifecycleEvents.get() != 0) {
+                            overlaps.incrementAndGet()
+                        }
+                        runningObjectEvents.decrementAndGet()
+                        done.countDown()
+                    }
+                }
+                dispatcher.dispatch(null, [i]) {
+                    runningLifecycleEvents.incrementAndGet()
+                    if (runningObjectEvents.get() != 0) {
+                        overlaps.incrementAndGet()
+                    }
+                    runningLifecycleEvents.decrementAndGet()
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(30, TimeUnit.SECONDS)
+            overlaps.get() == 0
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'listeners rejected by a saturated executor service are called once it has a free thread'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolConfiguration.bounded(1, 0))
+            def api = createApi { setThreadPool(threadPool) }
+            def dispatcher = new TestEventDispatcher(api)
+            def release = new CountDownLatch(1)
+            threadPool.executorService.submit { release.await() }
+            def called = new CountDownLatch(1)
+
+        when:
+            dispatcher.dispatch(new DispatchQueueSelector() { }, [0]) { called.countDown() }
+            release.countDown()
+
+        then:
+            called.await(10, TimeUnit.SECONDS)
+
+        cleanup:
+            release.countDown()
+            api?.disconnect()
+    }
+
+    def 'events are dispatched after the dispatching of an earlier event failed'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            def selector = new DispatchQueueSelector() { }
+            def failingListeners = new ArrayList([0]) {
+                @Override
+                void forEach(Consumer action) {
+                    throw new IllegalStateException()
+                }
+            }
+            def called = new CountDownLatch(1)
+
+        when:
+            dispatcher.dispatch(selector, failingListeners) { }
+
+        then:
+            thrown(IllegalStateException)
+
+        when:
+            dispatcher.dispatch(selector, [0]) { called.countDown() }
+
+        then:
+            called.await(10, TimeUnit.SECONDS)
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'a task that starts while a lifecycle event is checked blocks the lifecycle event'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            def queue = dispatcher.createQueue(new DispatchQueueSelector() { })
+            dispatcher.startTaskOnPeek(queue, 1)
+
+        expect:
+            !dispatcher.canStart('canStartLifecycleEvent', 2)
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'a lifecycle event that starts while an object-dependent event is checked blocks the event'() {
+        given:
+            def api = createApi()
+            def dispatcher = new TestEventDispatcher(api)
+            dispatcher.startTaskOnPeek(TestEventDispatcher.getField(EventDispatcherBase, dispatcher, 'lifecycleQueue'), 1)
+
+        expect:
+            !dispatcher.canStart('canStartObjectDependentEvent', 2)
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    private static class TestEventDispatcher extends EventDispatcherBase {
+
+        TestEventDispatcher(DiscordApiImpl api) {
+            super(api)
+        }
+
+        def <T> void dispatch(DispatchQueueSelector queueSelector, List<T> listeners, Closure consumer) {
+            dispatchEvent(queueSelector, listeners, consumer as Consumer)
+        }
+
+        def createQueue(DispatchQueueSelector queueSelector) {
+            def queueClass = EventDispatcherBase.declaredClasses.find { it.simpleName == 'DispatchQueue' }
+            def constructor = queueClass.getDeclaredConstructor(EventDispatcherBase, DispatchQueueSelector)
+            constructor.accessible = true
+            def queue = constructor.newInstance(this, queueSelector)
+            getField(EventDispatcherBase, this, 'queues').put(queueSelector, queue)
+            queue
+        }
+
+        /**
+         * Queues a task that a runner starts as soon as the queue is peeked, like a runner that starts it between
+         * the reads of a check.
+         */
+        void startTaskOnPeek(queue, long sequence) {
+            def taskClass = EventDispatcherBase.declaredClasses.find { it.simpleName == 'ListenerTask' }
+            def constructor = taskClass.getDeclaredConstructor(long, Runnable)
+            constructor.accessible = true
+            def tasks = new ConcurrentLinkedQueue() {
+                @Override
+                Object peek() {
+                    def head = super.peek()
+                    if (head != null) {
+                        // Mark the task as running before it is dequeued, like the runner does
+                        def runningSequence = queue.class.getDeclaredField('runningSequence')
+                        runningSequence.accessible = true
+                        runningSequence.set(queue, getField(head.class, head, 'sequence'))
+                        poll()
+                    }
+                    super.peek()
+                }
+            }
+            tasks.add(constructor.newInstance(sequence, { } as Runnable))
+            def tasksField = queue.class.getDeclaredField('tasks')
+            tasksField.accessible = true
+            tasksField.set(queue, tasks)
+        }
+
+        boolean canStart(String check, long sequence) {
+            def method = EventDispatcherBase.getDeclaredMethod(check, long)
+            method.accessible = true
+            method.invoke(this, sequence)
+        }
+
+        static getField(Class type, owner, String name) {
+            def field = type.getDeclaredField(name)
+            field.accessible = true
+            field.get(owner)
+        }
+
+    }
+
+}
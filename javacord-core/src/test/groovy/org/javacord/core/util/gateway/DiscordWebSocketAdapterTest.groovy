@@ -19,6 +19,7 @@ import spock.lang.PendingFeature
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
 import spock.util.environment.RestoreSystemProperties
 
 import javax.net.ssl.SSLHandshakeException
@@ -56,11 +57,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             WebSocketException wse = thrown()
@@ -82,11 +79,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -112,11 +105,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -142,11 +131,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -174,11 +159,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -203,11 +184,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -245,11 +222,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -291,11 +264,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -331,11 +300,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -372,11 +337,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -425,11 +386,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -478,11 +435,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -530,11 +483,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -570,11 +519,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -620,11 +565,7 @@ class DiscordWebSocketAdapterTest extends Specification {
             }
 
         when:
-            new DiscordWebSocketAdapter(api, false)
-            new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
-                    .findAll { it.level == Level.WARN }
-                    .findAll { it.thrown }
-                    .each { throw it.thrown }
+            connect(api)
 
         then:
             OpeningHandshakeException ohe = thrown()
@@ -638,4 +579,23 @@ class DiscordWebSocketAdapterTest extends Specification {
             Authenticator.default = defaultAuthenticator
     }
 
+    /**
+     * Creates a websocket adapter and throws the exception of its connection attempt.
+     * The websocket is connected asynchronously once the identify rate limit bucket is acquired, so this waits for
+     * the warning that connecting failed.
+     */
+    private static void connect(DiscordApiImpl api) {
+        new DiscordWebSocketAdapter(api, false)
+        new PollingConditions(timeout: 10).eventually {
+            assert connectionWarnings()
+        }
+        connectionWarnings().each { throw it.thrown }
+    }
+
+    private static connectionWarnings() {
+        new ArrayList<>(ListAppender.getListAppender('Test Appender').events)
+                .findAll { it.level == Level.WARN }
+                .findAll { it.thrown }
+    }
+
 }
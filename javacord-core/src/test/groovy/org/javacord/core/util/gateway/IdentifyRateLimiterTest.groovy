@@ -0,0 +1,176 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(IdentifyRateLimiter)
+class IdentifyRateLimiterTest extends Specification {
+
+    static final long INTERVAL = 200
+
+    def 'shards are mapped to buckets by shard id modulo max concurrency'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            rateLimiter.maxConcurrency = 4
+            def bucket = rateLimiter.getBucket(1)
+            bucket.acquire().get(1, TimeUnit.SECONDS)
+
+        expect:
+            rateLimiter.maxConcurrency == 4
+
+        when:
+            def sameBucket = rateLimiter.getBucket(5).acquire()
+            def otherBuckets = [0, 2, 3].collect { rateLimiter.getBucket(it).acquire() }
+
+        then:
+            otherBuckets.every { it.get(1, TimeUnit.SECONDS) == null }
+            !sameBucket.done
+
+        when:
+            bucket.release()
+
+        then:
+            sameBucket.get(1, TimeUnit.SECONDS) == null
+    }
+
+    def 'max concurrency cannot be less than 1'() {
+        when:
+            new IdentifyRateLimiter(INTERVAL).maxConcurrency = 0
+
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def 'shards of different buckets identify in parallel and shards of the same bucket one after another'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            rateLimiter.maxConcurrency = 2
+            def identifications = Collections.synchronizedMap([:])
+            def done = new CountDownLatch(4)
+
+        when:
+            (0..3).each { shard ->
+                Thread.start {
+                    def bucket = rateLimiter.getBucket(shard)
+                    bucket.acquire().join()
+                    identifications[shard] = System.currentTimeMillis()
+                    bucket.identified()
+                    done.countDown()
+                }
+            }
+
+        then:
+            done.await(10, TimeUnit.SECONDS)
+            Math.abs(identifications[0] - identifications[2]) >= INTERVAL
+            Math.abs(identifications[1] - identifications[3]) >= INTERVAL
+            Math.abs(Math.min(identifications[0], identifications[2])
+                    - Math.min(identifications[1], identifications[3])) < INTERVAL
+    }
+
+    def 'released buckets do not delay the next identify'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            def bucket = rateLimiter.getBucket(0)
+
+        when:
+            bucket.acquire().join()
+            bucket.release()
+            def start = System.currentTimeMillis()
+            bucket.acquire().join()
+
+        then:
+            System.currentTimeMillis() - start < INTERVAL
+
+        cleanup:
+            bucket?.release()
+    }
+
+    def 'changing the max concurrency keeps the last identify'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            def bucket = rateLimiter.getBucket(0)
+            bucket.acquire().join()
+            bucket.identified()
+            def identification = System.currentTimeMillis()
+
+        when:
+            rateLimiter.maxConcurrency = 2
+            rateLimiter.getBucket(2).acquire().join()
+
+        then:
+            System.currentTimeMillis() - identification >= INTERVAL
+    }
+
+    def 'acquired buckets keep blocking their rate limit bucket after the max concurrency changed'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            def bucket = rateLimiter.getBucket(3)
+            bucket.acquire().join()
+
+        when:
+            rateLimiter.maxConcurrency = 2
+            def sameBucket = rateLimiter.getBucket(1).acquire()
+            def otherBucket = rateLimiter.getBucket(0).acquire()
+
+        then:
+            otherBucket.get(1, TimeUnit.SECONDS) == null
+            !sameBucket.done
+
+        when:
+            bucket.release()
+
+        then:
+            sameBucket.get(1, TimeUnit.SECONDS) == null
+    }
+
+    def 'starved buckets are released'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            def bucket = rateLimiter.getBucket(0)
+            bucket.acquire().join()
+            def waiting = rateLimiter.getBucket(1).acquire()
+
+        when:
+            rateLimiter.releaseStarvedBuckets()
+
+        then:
+            !waiting.done
+
+        when:
+            bucket.acquiredAt -= 20000
+            rateLimiter.releaseStarvedBuckets()
+
+        then:
+            waiting.get(1, TimeUnit.SECONDS) == null
+    }
+
+    def 'cancelled acquisitions release the bucket'() {
+        given:
+            def rateLimiter = new IdentifyRateLimiter(INTERVAL)
+            def bucket = rateLimiter.getBucket(0)
+            bucket.acquire().join()
+            bucket.identified()
+
+        when:
+            bucket.acquire().cancel(false)
+
+        then:
+            rateLimiter.getBucket(1).acquire().get(1, TimeUnit.SECONDS) == null
+    }
+
+    def 'buckets cannot be acquired twice'() {
+        given:
+            def bucket = new IdentifyRateLimiter(INTERVAL).getBucket(0)
+            bucket.acquire()
+
+        when:
+            bucket.acquire()
+
+        then:
+            thrown(IllegalStateException)
+    }
+
+}
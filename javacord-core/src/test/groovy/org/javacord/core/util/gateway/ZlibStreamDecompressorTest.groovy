@@ -0,0 +1,80 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.Deflater
+
+@Subject(ZlibStreamDecompressor)
+class ZlibStreamDecompressorTest extends Specification {
+
+    def deflater = new Deflater()
+
+    @Subject
+    def decompressor = new ZlibStreamDecompressor()
+
+    def cleanup() {
+        deflater.end()
+        decompressor.close()
+    }
+
+    def 'consecutive messages of one zlib stream are decompressed'() {
+        expect:
+            decompressor.decompress compress('{"op":10}')
+            decompressor.decompressedText == '{"op":10}'
+
+        and:
+            decompressor.decompress compress('{"op":11}')
+            decompressor.decompressedText == '{"op":11}'
+    }
+
+    def 'messages split across multiple frames are only decompressed after the last frame'() {
+        given:
+            def message = compress('{"op":0,"t":"READY"}')
+            def firstFrame = Arrays.copyOfRange(message, 0, 5)
+            def secondFrame = Arrays.copyOfRange(message, 5, message.length - 2)
+            def thirdFrame = Arrays.copyOfRange(message, message.length - 2, message.length)
+
+        expect:
+            !decompressor.decompress(firstFrame)
+            !decompressor.decompress(secondFrame)
+            decompressor.decompress thirdFrame
+            decompressor.decompressedText == '{"op":0,"t":"READY"}'
+    }
+
+    def 'messages larger than the initial buffer are decompressed completely'() {
+        given:
+            def text = '{"d":"' + ('x' * 100_000) + '"}'
+
+        expect:
+            decompressor.decompress compress(text)
+            decompressor.decompressedText == text
+    }
+
+    def 'the parser reads the decompressed message'() {
+        given:
+            def mapper = new ObjectMapper()
+            decompressor.decompress compress('{"op":0,"s":42}')
+
+        when:
+            def packet = decompressor.createParser(mapper.factory).withCloseable { mapper.readTree it }
+
+        then:
+            packet.get('op').asInt() == 0
+            packet.get('s').asInt() == 42
+    }
+
+    byte[] compress(String text) {
+        deflater.setInput text.getBytes(StandardCharsets.UTF_8)
+        def result = new ByteArrayOutputStream()
+        def buffer = new byte[1024]
+        int count
+        while ((count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            result.write buffer, 0, count
+        }
+        result.toByteArray()
+    }
+
+}
@@ -4,21 +4,27 @@ import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.exception.DiscordException
 import org.javacord.core.DiscordApiImpl
 import org.javacord.core.util.concurrent.ThreadPoolImpl
+import org.javacord.core.util.rest.RestEndpoint
 import org.javacord.core.util.rest.RestRequest
 import spock.lang.Specification
 import spock.lang.Subject
 
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @Subject(RatelimitManager)
 class RatelimitManagerTest extends Specification {
 
-    def 'executeBlocking() throwing a DiscordException without result does not cause an Exception'() {
+    def 'executeAsync() failing with a DiscordException without result does not cause an Exception'() {
         given:
+            def response = new CompletableFuture<>()
+            response.completeExceptionally new DiscordException(null, null, null, null)
             RestRequest request = Stub {
-                executeBlocking() >> { throw new DiscordException(null, null, null, null) }
+                executeAsync() >> response
                 getResult() >> new CompletableFuture<>()
             }
             def threadPool = new ThreadPoolImpl()
@@ -40,11 +46,95 @@ class RatelimitManagerTest extends Specification {
             // wait until the thread pool is shut down, so that the request processing
             // is finished and the message got logged if the exception happened
             threadPool.shutdown()
-            threadPool.executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)
+            threadPool.restExecutorService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)
             !new ArrayList<>(ListAppender.getListAppender('Test Appender').events).any { it.thrown }
 
         cleanup:
             threadPool?.shutdown()
     }
 
+    def 'requests of the same bucket are executed one after another in the order they were queued'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def executionOrder = new ConcurrentHashMap<String, List<Integer>>()
+            def activeRequests = new ConcurrentHashMap<String, AtomicInteger>()
+            def overlappingExecutions = new AtomicInteger()
+
+        and:
+            def requests = (0..<1000).collect { i ->
+                def channelId = (i % 10).toString()
+                def result = new CompletableFuture<>()
+                Stub(RestRequest) {
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of(channelId)
+                    getResult() >> result
+                    executeAsync() >> {
+                        def active = activeRequests.computeIfAbsent(channelId) { new AtomicInteger() }
+                        if (active.incrementAndGet() > 1) {
+                            overlappingExecutions.incrementAndGet()
+                        }
+                        executionOrder.computeIfAbsent(channelId) { new CopyOnWriteArrayList<>() } << i
+                        active.decrementAndGet()
+                        result.complete(null)
+                        CompletableFuture.completedFuture(null)
+                    }
+                }
+            }
+
+        when:
+            requests.each { ratelimitManager.queueRequest it }
+            CompletableFuture.allOf(*requests*.result).get(10, TimeUnit.SECONDS)
+
+        then:
+            overlappingExecutions.get() == 0
+            executionOrder.size() == 10
+            executionOrder.every { channelId, order -> order.size() == 100 && order == order.sort(false) }
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'requests queued concurrently are all executed'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def executions = new AtomicInteger()
+
+        and:
+            def requests = (0..<2000).collect { i ->
+                def result = new CompletableFuture<>()
+                Stub(RestRequest) {
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of((i % 3).toString())
+                    getResult() >> result
+                    executeAsync() >> {
+                        executions.incrementAndGet()
+                        result.complete(null)
+                        CompletableFuture.completedFuture(null)
+                    }
+                }
+            }
+
+        when:
+            requests.collate(500)
+                    .collect { part -> Thread.start { part.each { ratelimitManager.queueRequest it } } }
+                    *.join()
+            CompletableFuture.allOf(*requests*.result).get(10, TimeUnit.SECONDS)
+
+        then:
+            executions.get() == 2000
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
 }
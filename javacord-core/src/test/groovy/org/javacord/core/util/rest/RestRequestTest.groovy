@@ -0,0 +1,32 @@
+package org.javacord.core.util.rest
+
+import org.javacord.api.util.rest.OriginTrackingMode
+import spock.lang.Specification
+import spock.lang.Subject
+
+import static org.javacord.test.TestApis.createApi
+
+@Subject(RestRequest)
+class RestRequestTest extends Specification {
+
+    def 'origin is tracked depending on the origin tracking mode'() {
+        given:
+            def api = createApi { setOriginTrackingMode(originTrackingMode) }
+
+        when:
+            def request = new RestRequest(api, RestMethod.GET, RestEndpoint.GATEWAY)
+
+        then:
+            (request.origin != null) == tracked
+            !tracked || request.origin.stackTrace.any { it.className == RestRequestTest.name }
+
+        cleanup:
+            api?.disconnect()
+
+        where:
+            originTrackingMode          || tracked
+            OriginTrackingMode.DISABLED || false
+            OriginTrackingMode.FULL     || true
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.javacord.test
+
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.DiscordApiSettings
+
+class TestApis {
+
+    /**
+     * Creates an api instance with a fake token that does not connect to Discord.
+     * The closure is called with the settings as argument and delegate, but resolves names in its owner first, so
+     * e.g. {@code createApi { setCachePolicy(cachePolicy) }} uses the {@code cachePolicy} of the caller.
+     *
+     * @param configure Changes the settings of the api instance.
+     * @return The new api instance.
+     */
+    static DiscordApiImpl createApi(
+            @DelegatesTo(value = DiscordApiSettings, strategy = Closure.OWNER_FIRST) Closure configure = {}) {
+        def settings = new DiscordApiSettings().setToken('fakeBotToken')
+        configure = configure.rehydrate(settings, configure.owner, configure.thisObject)
+        configure.resolveStrategy = Closure.OWNER_FIRST
+        configure(settings)
+        new DiscordApiImpl(settings)
+    }
+
+}